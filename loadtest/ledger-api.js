@@ -0,0 +1,43 @@
+// k6 load test for the ledger API.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e PERSON_ID=1 loadtest/ledger-api.js
+//
+// Run it once against the default (platform thread) mode and once with
+// --spring.profiles.active=virtual-threads, then compare http_reqs/s and the p(99)
+// of http_req_duration in the two summaries.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const PERSON_ID = __ENV.PERSON_ID || '1';
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 200 },
+                { duration: '2m', target: 1000 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const res = http.get(`${BASE_URL}/v1/ledgers/${PERSON_ID}`);
+    check(res, { 'seed listing ok': (r) => r.status === 200 });
+    const ledgers = res.status === 200 ? res.json() : [];
+    return { ledgerIds: ledgers.map((l) => l.ledgerId) };
+}
+
+export default function (data) {
+    if (data.ledgerIds.length > 0 && Math.random() < 0.5) {
+        const ledgerId = data.ledgerIds[Math.floor(Math.random() * data.ledgerIds.length)];
+        check(http.get(`${BASE_URL}/v1/ledger/${ledgerId}`), { 'ledger ok': (r) => r.status === 200 });
+    } else {
+        check(http.get(`${BASE_URL}/v1/ledgers/${PERSON_ID}`), { 'listing ok': (r) => r.status === 200 });
+    }
+}
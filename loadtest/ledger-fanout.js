@@ -0,0 +1,53 @@
+// k6 fan-out test for comparing the servlet and reactive ledger stacks.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e PERSON_ID=1 loadtest/ledger-fanout.js
+//
+// Each iteration mimics a mobile home screen: one listing plus FANOUT ledger reads issued
+// in parallel. Run it once against the default profile and once with
+// --spring.profiles.active=reactive, pinned to the same number of cores (for example
+// `taskset -c 0-3 java -jar ...`). Compare the peak of `vus` that still passes the
+// thresholds divided by the core count (connections per core), and the p(99) and p(99.9)
+// of http_req_duration in the two summaries.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const PERSON_ID = __ENV.PERSON_ID || '1';
+const FANOUT = parseInt(__ENV.FANOUT || '8', 10);
+const MAX_VUS = parseInt(__ENV.MAX_VUS || '4000', 10);
+
+export const options = {
+    scenarios: {
+        fanout: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '1m', target: MAX_VUS / 4 },
+                { duration: '3m', target: MAX_VUS },
+                { duration: '30s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'p(99.9)', 'max'],
+};
+
+export function setup() {
+    const res = http.get(`${BASE_URL}/v1/ledgers/${PERSON_ID}`);
+    check(res, { 'seed listing ok': (r) => r.status === 200 });
+    const ledgers = res.status === 200 ? res.json() : [];
+    return { ledgerIds: ledgers.map((l) => l.ledgerId) };
+}
+
+export default function (data) {
+    const requests = [['GET', `${BASE_URL}/v1/ledgers/${PERSON_ID}`]];
+    for (let i = 0; i < FANOUT && data.ledgerIds.length > 0; i++) {
+        const ledgerId = data.ledgerIds[Math.floor(Math.random() * data.ledgerIds.length)];
+        requests.push(['GET', `${BASE_URL}/v1/ledger/${ledgerId}`]);
+    }
+    const responses = http.batch(requests);
+    check(responses, { 'fan-out ok': (rs) => rs.every((r) => r.status === 200) });
+}
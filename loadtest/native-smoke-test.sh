@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+# Boots the service and calls every LedgerController endpoint once, then reports time to
+# first response and resident memory. Works for the native binary and for the JVM build,
+# so both can be compared on the same machine:
+#
+#   ./gradlew nativeSmokeTest
+#   loadtest/native-smoke-test.sh build/native/nativeCompile/budget
+#   loadtest/native-smoke-test.sh java -jar build/libs/budget-0.0.1-SNAPSHOT.jar
+#
+# Needs the database from docker-compose.yaml. PSQL must run SQL read from stdin.
+set -euo pipefail
+
+[ $# -gt 0 ] || { echo "usage: $0 <command that starts the service>" >&2; exit 2; }
+PORT=${PORT:-18081}
+BASE_URL="http://localhost:$PORT"
+PSQL=${PSQL:-docker exec -i budgetappdb psql -U budgetapp -d budgetapp -qtA}
+SUFFIX=$(date +%s)
+BODY=$(mktemp)
+HEADERS=$(mktemp)
+
+started=$(date +%s%N)
+"$@" --server.port="$PORT" >"${LOG_FILE:-/dev/null}" 2>&1 &
+pid=$!
+trap 'kill "$pid" 2>/dev/null || true; rm -f "$BODY" "$HEADERS"' EXIT
+
+until [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/actuator/health")" != "000" ]; do
+    kill -0 "$pid" 2>/dev/null || { echo "service exited during startup" >&2; exit 1; }
+    sleep 0.02
+done
+first_response_ms=$(( ($(date +%s%N) - started) / 1000000 ))
+
+# call <expected status> <method> <path> [curl args...]; the body is left in $BODY
+call() {
+    local expected=$1 method=$2 path=$3
+    shift 3
+    local status
+    status=$(curl -s -o "$BODY" -D "$HEADERS" -w '%{http_code}' -X "$method" "$@" "$BASE_URL$path")
+    if [ "$status" != "$expected" ]; then
+        echo "FAIL $method $path: expected $expected, got $status" >&2
+        cat "$BODY" >&2
+        exit 1
+    fi
+    echo "ok   $method $path -> $status"
+}
+
+json() {
+    call "$@" -H 'Content-Type: application/json'
+}
+
+header() {
+    grep -i "^$1:" "$HEADERS" | head -1 | cut -d' ' -f2- | tr -d '\r'
+}
+
+person_id=$(echo "INSERT INTO person (username, email, password) VALUES ('smoke-$SUFFIX', 'smoke-$SUFFIX@example.com', 'x') RETURNING person_id;" | $PSQL | head -1)
+
+json 201 POST /v1/ledger -d "{\"personId\":$person_id,\"name\":\"smoke-$SUFFIX\",\"currency\":\"USD\"}"
+ledger_id=$(grep -o '"ledgerId":[0-9]*' "$BODY" | cut -d: -f2)
+
+call 200 GET "/v1/ledger/$ledger_id"
+etag=$(header ETag)
+call 304 GET "/v1/ledger/$ledger_id" -H "If-None-Match: $etag"
+call 200 GET "/v1/ledgers/$person_id"
+grep -q "smoke-$SUFFIX" "$BODY"
+call 200 GET "/v2/ledgers/$person_id?limit=10"
+call 200 GET "/v2/ledgers/$person_id/stream"
+grep -q "\"ledgerId\":$ledger_id" "$BODY"
+
+json 200 PUT /v1/ledger -H "If-Match: $etag" \
+    -d "{\"ledgerId\":$ledger_id,\"personId\":$person_id,\"name\":\"smoke-r-$SUFFIX\",\"currency\":\"EUR\"}"
+json 412 PUT /v1/ledger -H "If-Match: $etag" \
+    -d "{\"ledgerId\":$ledger_id,\"personId\":$person_id,\"name\":\"smoke-s-$SUFFIX\",\"currency\":\"EUR\"}"
+json 200 POST /v1/ledgers:batch -d "[{\"personId\":$person_id,\"name\":\"smoke-a-$SUFFIX\",\"currency\":\"USD\"},
+    {\"personId\":$person_id,\"name\":\"smoke-b-$SUFFIX\",\"currency\":\"GBP\"}]"
+grep -q '"succeeded":2' "$BODY"
+
+call 204 PUT "/v1/ledger/$ledger_id/delete"
+call 404 GET "/v1/ledger/$ledger_id"
+
+echo "first response after ${first_response_ms} ms"
+grep -E '^(VmRSS|VmHWM)' "/proc/$pid/status"
@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Time to first request of the plain boot jar against the fast-startup mode
+# (AOT bean definitions + CDS archive + fast-startup profile).
+#
+#   ./gradlew startupBenchmark
+#   loadtest/startup-benchmark.sh build/libs/budget-0.0.1-SNAPSHOT.jar build/cds
+#
+# Needs the database from docker-compose.yaml. Every run starts a fresh JVM, waits until
+# PROBE_PATH answers with any HTTP status and records the elapsed time.
+set -euo pipefail
+
+JAR=${1:?boot jar}
+CDS_DIR=${2:?directory written by ./gradlew cdsArchive}
+RUNS=${RUNS:-5}
+PORT=${PORT:-18080}
+PROBE_PATH=${PROBE_PATH:-/v1/ledgers/1}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+
+run_once() {
+    local directory=$1
+    shift
+    local started now pid
+    started=$(date +%s%N)
+    (cd "$directory" && exec java "$@" --server.port="$PORT") >/dev/null 2>&1 &
+    pid=$!
+    while true; do
+        if [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT$PROBE_PATH")" != "000" ]; then
+            now=$(date +%s%N)
+            break
+        fi
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "application exited before answering $PROBE_PATH" >&2
+            return 1
+        fi
+        if [ $(( ($(date +%s%N) - started) / 1000000000 )) -ge "$TIMEOUT_SECONDS" ]; then
+            kill "$pid"
+            echo "no answer on $PROBE_PATH within ${TIMEOUT_SECONDS}s" >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo $(( (now - started) / 1000000 ))
+}
+
+measure() {
+    local label=$1
+    shift
+    local samples=()
+    for _ in $(seq "$RUNS"); do
+        samples+=("$(run_once "$@")")
+    done
+    local sorted
+    sorted=$(printf '%s\n' "${samples[@]}" | sort -n)
+    printf '%-14s min %6s ms   median %6s ms   runs: %s\n' "$label" \
+        "$(echo "$sorted" | head -1)" "$(echo "$sorted" | sed -n "$(( (RUNS + 1) / 2 ))p")" "${samples[*]}"
+}
+
+JAR=$(cd "$(dirname "$JAR")" && pwd)/$(basename "$JAR")
+measure "plain jar" "$(dirname "$JAR")" -jar "$JAR"
+measure "fast-startup" "$CDS_DIR" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=fast-startup -jar "$(basename "$JAR")"
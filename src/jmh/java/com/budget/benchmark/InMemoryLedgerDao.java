@@ -0,0 +1,92 @@
+package com.budget.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.budget.dao.LedgerDao;
+import com.budget.model.Ledger;
+
+/**
+ * Database-free stand-in for {@link LedgerDao}. Only the queries used by the ledger
+ * write paths are implemented; the name index plays the role of the partial unique index.
+ */
+final class InMemoryLedgerDao {
+
+    private final Map<Long, Ledger> ledgers = new HashMap<>();
+    private final Map<String, Long> nameIndex = new HashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    static LedgerDao create() {
+        return new InMemoryLedgerDao().asLedgerDao();
+    }
+
+    @SuppressWarnings("unchecked")
+    private LedgerDao asLedgerDao() {
+        return (LedgerDao) Proxy.newProxyInstance(LedgerDao.class.getClassLoader(), new Class<?>[] { LedgerDao.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "existsActiveLedgerName" -> existsActiveLedgerName((Long) args[0], (String) args[1], (Long) args[2]);
+                    case "findByIdAndDeletedFalse" -> findActive((Long) args[0]);
+                    case "findAllByIdInAndDeletedFalse" -> ((Collection<Long>) args[0]).stream()
+                            .map(this::findActive)
+                            .flatMap(Optional::stream)
+                            .toList();
+                    case "findActiveByPersonIdsAndNormalizedNames" -> findByNames((Collection<Long>) args[0],
+                            (Collection<String>) args[1]);
+                    case "save", "saveAndFlush" -> save((Ledger) args[0]);
+                    case "saveAll" -> {
+                        ((Iterable<Ledger>) args[0]).forEach(this::save);
+                        yield args[0];
+                    }
+                    case "flush" -> null;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryLedgerDao";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private boolean existsActiveLedgerName(Long personId, String ledgerName, Long excludedLedgerId) {
+        Long ledgerId = nameIndex.get(nameKey(personId, Ledger.normalizeName(ledgerName)));
+        return ledgerId != null && !ledgerId.equals(excludedLedgerId);
+    }
+
+    private Optional<Ledger> findActive(Long ledgerId) {
+        return Optional.ofNullable(ledgers.get(ledgerId)).filter(ledger -> !ledger.getDeleted());
+    }
+
+    private List<Ledger> findByNames(Collection<Long> personIds, Collection<String> normalizedNames) {
+        return personIds.stream()
+                .flatMap(personId -> normalizedNames.stream().map(name -> nameIndex.get(nameKey(personId, name))))
+                .filter(Objects::nonNull)
+                .map(ledgers::get)
+                .toList();
+    }
+
+    private Ledger save(Ledger ledger) {
+        if (ledger.getLedgerId() == null) {
+            ledger.setLedgerId(sequence.incrementAndGet());
+        }
+
+        Ledger previous = ledgers.put(ledger.getLedgerId(), ledger);
+        if (previous != null) {
+            nameIndex.remove(nameKey(previous.getPersonId(), previous.getNormalizedName()));
+        }
+
+        ledger.setNormalizedName(Ledger.normalizeName(ledger.getName()));
+        if (!ledger.getDeleted()) {
+            nameIndex.put(nameKey(ledger.getPersonId(), ledger.getNormalizedName()), ledger.getLedgerId());
+        }
+        return ledger;
+    }
+
+    private static String nameKey(Long personId, String normalizedName) {
+        return personId + ":" + normalizedName;
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.budget.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.budget.dto.LedgerBatchResponse;
+import com.budget.model.Ledger;
+import com.budget.service.LedgerService;
+
+/**
+ * Batch ledger writes through the whole service stack against PostgreSQL, so the cost of
+ * the JDBC batches is part of the score. Runs against the database in
+ * {@code BENCHMARK_DATASOURCE_URL}, or the one from docker-compose.yaml when it is unset.
+ * Each trial writes under a person of its own and removes it again afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LedgerBatchJdbcBenchmark {
+
+    private static final String DEFAULT_URL = "jdbc:postgresql://localhost:5432/budgetapp?reWriteBatchedInserts=true";
+
+    @Param({ "10", "100", "1000" })
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private LedgerService ledgerService;
+    private JdbcTemplate jdbcTemplate;
+    private long personId;
+    private List<Ledger> batchUpdate;
+    private long nameCounter;
+    private boolean renamed;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws ClassNotFoundException {
+        String url = Objects.requireNonNullElse(System.getenv("BENCHMARK_DATASOURCE_URL"), DEFAULT_URL);
+        // BudgetApplication is package-private.
+        context = new SpringApplicationBuilder(Class.forName("com.budget.BudgetApplication"))
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=" + url, "spring.devtools.restart.enabled=false")
+                .run();
+        ledgerService = context.getBean(LedgerService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        String username = "jmh-" + System.nanoTime();
+        personId = jdbcTemplate.queryForObject(
+                "INSERT INTO person (username, email, password) VALUES (?, ?, 'jmh') RETURNING person_id", Long.class,
+                username, username + "@example.com");
+    }
+
+    @Setup(Level.Iteration)
+    public void seedLedgers() {
+        List<Ledger> ledgers = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            ledgers.add(newLedger(null, "Ledger " + i));
+        }
+        ledgerService.saveLedgers(ledgers);
+
+        batchUpdate = new ArrayList<>(batchSize);
+        for (Ledger ledger : ledgers) {
+            batchUpdate.add(newLedger(ledger.getLedgerId(), ledger.getName()));
+        }
+        nameCounter = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteLedgers() {
+        jdbcTemplate.update("DELETE FROM ledger WHERE person_id = ?", personId);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        jdbcTemplate.update("DELETE FROM person WHERE person_id = ?", personId);
+        context.close();
+    }
+
+    @Benchmark
+    public LedgerBatchResponse insertLedgersBatch() {
+        List<Ledger> ledgers = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            ledgers.add(newLedger(null, "New " + nameCounter++));
+        }
+        return ledgerService.saveLedgers(ledgers);
+    }
+
+    @Benchmark
+    public LedgerBatchResponse updateLedgersBatch() {
+        renamed = !renamed;
+        for (Ledger ledger : batchUpdate) {
+            ledger.setDescription(renamed ? "renamed" : null);
+        }
+        return ledgerService.saveLedgers(batchUpdate);
+    }
+
+    private Ledger newLedger(Long ledgerId, String name) {
+        Ledger ledger = new Ledger();
+        ledger.setLedgerId(ledgerId);
+        ledger.setPersonId(personId);
+        ledger.setName(name);
+        return ledger;
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.budget.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.budget.dto.LedgerListItem;
+import com.budget.model.Ledger;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Ledger JSON round trips through an ObjectMapper built the way Spring Boot builds its own.
+ * {@code serializeListItems} is the listing payload after the switch to projections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LedgerJsonBenchmark {
+
+    private static final TypeReference<List<Ledger>> LEDGER_LIST = new TypeReference<>() { };
+
+    @Param({ "1", "100", "1000" })
+    private int ledgerCount;
+
+    private ObjectMapper objectMapper;
+    private List<Ledger> ledgers;
+    private List<LedgerListItem> listItems;
+    private String ledgersJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        ledgers = new ArrayList<>(ledgerCount);
+        for (long i = 1; i <= ledgerCount; i++) {
+            Ledger ledger = new Ledger();
+            ledger.setLedgerId(i);
+            ledger.setPersonId(100L);
+            ledger.setName("Ledger " + i);
+            ledger.setDescription("Monthly household spending and recurring bills");
+            ledgers.add(ledger);
+        }
+        listItems = ledgers.stream()
+                .map(ledger -> new LedgerListItem(ledger.getLedgerId(), ledger.getPersonId(), ledger.getName(),
+                        ledger.getCurrency(), ledger.getCreatedAt(), ledger.getUpdatedAt(), ledger.getDeleted()))
+                .toList();
+        ledgersJson = objectMapper.writeValueAsString(ledgers);
+    }
+
+    @Benchmark
+    public String serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(ledgers);
+    }
+
+    @Benchmark
+    public String serializeListItems() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(listItems);
+    }
+
+    @Benchmark
+    public List<Ledger> deserialize() throws JsonProcessingException {
+        return objectMapper.readValue(ledgersJson, LEDGER_LIST);
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.budget.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.budget.dao.LedgerDao;
+import com.budget.dto.LedgerBatchResponse;
+import com.budget.exception.ApiException;
+import com.budget.model.Ledger;
+import com.budget.service.impl.LedgerServiceImpl;
+import com.budget.shard.SnowflakeIdGenerator;
+
+/**
+ * Measures the service-side cost of ledger writes, including duplicate-name detection,
+ * as the number of ledgers owned by the person grows. The DAO is in memory, so no JDBC
+ * work is measured here; {@link LedgerBatchJdbcBenchmark} covers that.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LedgerServiceBenchmark {
+
+    private static final long PERSON_ID = 100L;
+    private static final int BATCH_SIZE = 100;
+
+    @Param({ "10", "1000", "10000" })
+    private int ledgerCount;
+
+    private LedgerServiceImpl ledgerService;
+    private List<Ledger> batchUpdate;
+    private long nameCounter;
+    private boolean renamed;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        LedgerDao ledgerDao = InMemoryLedgerDao.create();
+        ledgerService = new LedgerServiceImpl(ledgerDao, event -> { }, new SnowflakeIdGenerator(0));
+
+        for (int i = 0; i < ledgerCount; i++) {
+            ledgerDao.save(newLedger(null, "Ledger " + i));
+        }
+
+        batchUpdate = new ArrayList<>(BATCH_SIZE);
+        for (long ledgerId = 1; ledgerId <= Math.min(BATCH_SIZE, ledgerCount); ledgerId++) {
+            batchUpdate.add(newLedger(ledgerId, "Ledger " + (ledgerId - 1)));
+        }
+        nameCounter = 0;
+    }
+
+    @Benchmark
+    public Ledger saveLedger() {
+        return ledgerService.saveLedger(newLedger(null, "New " + nameCounter++));
+    }
+
+    @Benchmark
+    public Object saveLedgerDuplicateName() {
+        try {
+            return ledgerService.saveLedger(newLedger(null, " ledger 0 "));
+        } catch (ApiException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Ledger updateLedger() {
+        renamed = !renamed;
+        return ledgerService.updateLedger(newLedger(1L, renamed ? "Renamed" : "Ledger 0"));
+    }
+
+    @Benchmark
+    public void saveLedgersBatch(Blackhole blackhole) {
+        renamed = !renamed;
+        for (Ledger ledger : batchUpdate) {
+            ledger.setDescription(renamed ? "renamed" : null);
+        }
+        LedgerBatchResponse response = ledgerService.saveLedgers(batchUpdate);
+        blackhole.consume(response);
+    }
+
+    private static Ledger newLedger(Long ledgerId, String name) {
+        Ledger ledger = new Ledger();
+        ledger.setLedgerId(ledgerId);
+        ledger.setPersonId(PERSON_ID);
+        ledger.setName(name);
+        return ledger;
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.budget.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Lives in the model package to reach the protected JPA lifecycle callbacks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BaseEntityCallbackBenchmark {
+
+    private final Ledger ledger = new Ledger();
+
+    @Benchmark
+    public Ledger onCreate() {
+        ledger.onCreate();
+        return ledger;
+    }
+
+    @Benchmark
+    public Ledger onUpdate() {
+        ledger.onUpdate();
+        return ledger;
+    }
+
+}
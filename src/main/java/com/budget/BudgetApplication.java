@@ -2,8 +2,12 @@ package com.budget;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.budget.config.LedgerRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(LedgerRuntimeHints.class)
 class BudgetApplication {
 
     private final SpringApplication springApplication;
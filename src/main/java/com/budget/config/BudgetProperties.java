@@ -0,0 +1,20 @@
+package com.budget.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ledger.budget")
+public class BudgetProperties {
+
+    /** Evaluates budget limits on every expense write and raises overspend alerts. */
+    private boolean enabled = true;
+
+    /** When set, every alert is appended to this file as NDJSON. */
+    private String alertFilePath;
+
+    /** When set, the latest this many alerts are kept in memory, for tests and local runs. */
+    private Integer alertBufferSize;
+
+}
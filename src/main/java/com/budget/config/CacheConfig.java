@@ -0,0 +1,47 @@
+package com.budget.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(LedgerCacheProperties.class)
+public class CacheConfig {
+
+    public static final String LEDGER_BY_ID = "ledgerById";
+    public static final String LEDGER_DETAIL_BY_ID = "ledgerDetailById";
+    public static final String LEDGERS_BY_PERSON_ID = "ledgersByPersonId";
+
+    /**
+     * Caffeine caches are registered up front so actuator binds their hit, miss and
+     * eviction statistics under the {@code cache.*} meters. Each one is an
+     * {@link InvalidationGuardedCache}, so a read racing a write cannot outlive the
+     * write's eviction.
+     */
+    @Bean
+    public CacheManager cacheManager(LedgerCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new InvalidationGuardedCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats());
+        cacheManager.setCacheNames(List.of(LEDGER_BY_ID, LEDGER_DETAIL_BY_ID, LEDGERS_BY_PERSON_ID));
+        return cacheManager;
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.budget.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ledger.import")
+public class ExpenseImportProperties {
+
+    /** Rows validated as one task and written in one transaction. */
+    private int chunkSize = 5000;
+
+    /** Rows per JDBC batch; the driver rewrites each batch into multi-row inserts. */
+    private int batchSize = 1000;
+
+    /** Chunks validated concurrently ahead of the writer. */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** Rejected rows listed in the report; the rest are only counted. */
+    private int maxReportedErrors = 1000;
+
+}
@@ -0,0 +1,39 @@
+package com.budget.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.budget.shard.ShardMigrator;
+import com.budget.shard.ShardRoutingDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Decides at runtime whether to migrate. Unlike {@code spring.flyway.enabled}, which is a
+     * bean condition, this still works when the bean definitions were generated ahead of time.
+     * With sharding, Flyway runs against the directory shard and then every other shard.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${ledger.migrations.enabled:true}") boolean migrationsEnabled,
+            ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource,
+            ObjectProvider<ShardingProperties> shardingProperties) {
+        return flyway -> {
+            if (migrationsEnabled) {
+                flyway.migrate();
+                shardRoutingDataSource.ifAvailable(shards -> ShardMigrator.migrate(flyway, shards,
+                        shardingProperties.getObject().expenseIdRanges()));
+            } else {
+                log.info("Skipping Flyway migrations, ledger.migrations.enabled is false");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.budget.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ledger.fx")
+public class FxRateProperties {
+
+    /** Currency the rates are quoted against: each rate is units per one unit of it. */
+    private String baseCurrency = "EUR";
+
+    /**
+     * CSV file with {@code date,currency,rate} rows. When unset, rates come from the
+     * fx_rate table.
+     */
+    private String filePath;
+
+}
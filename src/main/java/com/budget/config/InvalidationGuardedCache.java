@@ -0,0 +1,101 @@
+package com.budget.config;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Caffeine cache that drops a {@code @Cacheable} fill when its key was evicted while the
+ * value was being read. Without this, a reader that misses and queries before a writer
+ * commits puts the old row back after the writer's after-commit eviction, where it would
+ * stay until it expires.
+ * <p>
+ * Every eviction bumps a counter for the key's stripe. A miss remembers the counter on
+ * its thread, and the put that follows on that thread only lands if the counter has not
+ * moved. The checked put runs in Caffeine's {@code compute}, under the same per-key lock
+ * as the eviction, so an eviction cannot slip between the check and the write. Keys
+ * sharing a stripe only cost each other a skipped fill.
+ */
+class InvalidationGuardedCache extends CaffeineCache {
+
+    private static final int STRIPES = 1024;
+
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+    private final ThreadLocal<Miss> lastMiss = new ThreadLocal<>();
+
+    InvalidationGuardedCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+            boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (Objects.isNull(value)) {
+            lastMiss.set(new Miss(key, invalidations.get(stripe(key))));
+        }
+        return value;
+    }
+
+    /**
+     * A put that does not follow a miss on this thread is an explicit write and is stored
+     * as is. One that follows a miss for another key cannot be dated and is skipped.
+     */
+    @Override
+    public void put(Object key, Object value) {
+        Miss miss = lastMiss.get();
+        if (Objects.isNull(miss)) {
+            super.put(key, value);
+            return;
+        }
+
+        lastMiss.remove();
+        if (!miss.key().equals(key)) {
+            return;
+        }
+        Object storeValue = toStoreValue(value);
+        int stripe = stripe(key);
+        getNativeCache().asMap().compute(key,
+                (cachedKey, current) -> invalidations.get(stripe) == miss.invalidations() ? storeValue : current);
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidations.incrementAndGet(stripe(key));
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        invalidations.incrementAndGet(stripe(key));
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        invalidateAllStripes();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        invalidateAllStripes();
+        return super.invalidate();
+    }
+
+    private void invalidateAllStripes() {
+        for (int i = 0; i < STRIPES; i++) {
+            invalidations.incrementAndGet(i);
+        }
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    private record Miss(Object key, long invalidations) {
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.budget.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ledger.archive")
+public class LedgerArchiveProperties {
+
+    /** How long a soft-deleted ledger stays in the ledger table before it is archived. */
+    private Duration retention = Duration.ofDays(30);
+
+    /** Ledgers moved per transaction, together with all of their expenses. */
+    private int batchSize = 500;
+
+    /** Upper bound on batches per run, so one run cannot hold a connection indefinitely. */
+    private int maxBatchesPerRun = 200;
+
+}
@@ -0,0 +1,19 @@
+package com.budget.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ledger.cache")
+public class LedgerCacheProperties {
+
+    /** Maximum number of entries kept per cache before W-TinyLFU eviction kicks in. */
+    private long maximumSize = 10_000;
+
+    /** Entries are dropped this long after being written, bounding staleness from other instances' writes. */
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+}
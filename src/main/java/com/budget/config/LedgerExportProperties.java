@@ -0,0 +1,23 @@
+package com.budget.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ledger.export")
+public class LedgerExportProperties {
+
+    /** Rows the JDBC cursor fetches per round trip. */
+    private int fetchSize = 1000;
+
+    /** Bytes buffered before each write to the response or file channel. */
+    private int bufferSize = 64 * 1024;
+
+    /** Rows per group in the columnar format; the only rows an export holds at once. */
+    private int rowGroupSize = 4096;
+
+    /** Where admin exports are written. */
+    private String directory = System.getProperty("java.io.tmpdir");
+
+}
@@ -0,0 +1,42 @@
+package com.budget.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ledger.outbox")
+public class LedgerOutboxProperties {
+
+    /** Entries claimed per poll; also the depth of the dispatch queue. */
+    private int batchSize = 100;
+
+    /** Ledgers dispatched concurrently. Entries of one ledger always go in order. */
+    private int parallelism = 4;
+
+    /** Delivery attempts before an entry is parked as DEAD. */
+    private int maxAttempts = 10;
+
+    /** Delay before the first retry, doubled on each further failure. */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    private Duration maxRetryBackoff = Duration.ofMinutes(5);
+
+    /**
+     * How long one batch may take. Entries are leased for twice as long, after which
+     * another dispatcher delivers unfinished ones again.
+     */
+    private Duration dispatchTimeout = Duration.ofSeconds(30);
+
+    /** How long delivered entries are kept. DEAD entries are kept until removed by hand. */
+    private Duration retention = Duration.ofDays(7);
+
+    /** Delivered entries deleted per transaction when purging. */
+    private int purgeBatchSize = 10000;
+
+    /** When set, every change is also appended to this file as NDJSON. */
+    private String filePath;
+
+}
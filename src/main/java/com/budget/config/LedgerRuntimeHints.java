@@ -0,0 +1,67 @@
+package com.budget.config;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import com.budget.dao.BudgetLimitDao;
+import com.budget.dao.BudgetUsageDao;
+import com.budget.dao.ExpenseDao;
+import com.budget.dao.LedgerDao;
+import com.budget.dao.LedgerMonthlySummaryDao;
+import com.budget.dao.LedgerOutboxDao;
+import com.budget.dao.LedgerSummaryDao;
+import com.budget.dto.BudgetAlert;
+import com.budget.dto.LedgerBalance;
+import com.budget.dto.LedgerBatchResponse;
+import com.budget.dto.LedgerChangeMessage;
+import com.budget.dto.LedgerDetail;
+import com.budget.dto.LedgerListItem;
+import com.budget.dto.LedgerListVersion;
+import com.budget.dto.LedgerPage;
+import com.budget.dto.LedgerVersion;
+import com.budget.model.Ledger;
+
+/**
+ * Reflection and proxy hints for the native image that Spring AOT cannot infer. Spring
+ * already covers controller return types, entity mappings and repository proxies it
+ * discovers. This registrar adds the rest:
+ * <ul>
+ * <li>JPQL {@code SELECT new ...} projections, which Hibernate instantiates reflectively</li>
+ * <li>types Jackson writes outside a controller return value, such as NDJSON lines and
+ * outbox payloads, including their Lombok-generated accessors</li>
+ * <li>the JDK proxies behind the Spring Data repositories</li>
+ * </ul>
+ */
+public class LedgerRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] JPQL_PROJECTIONS = {
+            LedgerDetail.class, LedgerListItem.class, LedgerListVersion.class, LedgerVersion.class, LedgerBalance.class
+    };
+
+    private static final Class<?>[] JSON_TYPES = {
+            Ledger.class, LedgerDetail.class, LedgerListItem.class, LedgerPage.class, LedgerBatchResponse.class,
+            LedgerChangeMessage.class, BudgetAlert.class
+    };
+
+    private static final Class<?>[] REPOSITORIES = {
+            LedgerDao.class, ExpenseDao.class, LedgerSummaryDao.class, LedgerMonthlySummaryDao.class,
+            LedgerOutboxDao.class, BudgetLimitDao.class, BudgetUsageDao.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> projection : JPQL_PROJECTIONS) {
+            hints.reflection().registerType(projection, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), JSON_TYPES);
+
+        for (Class<?> repository : REPOSITORIES) {
+            hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(repository));
+        }
+    }
+
+}
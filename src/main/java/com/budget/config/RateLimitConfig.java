@@ -0,0 +1,62 @@
+package com.budget.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.budget.ratelimit.AdaptiveConcurrencyLimiter;
+import com.budget.ratelimit.RateLimitInterceptor;
+import com.budget.ratelimit.TokenBucketRateLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Puts the rate limit and load shedding interceptor in front of the endpoints of
+ * {@code LedgerController}. The other endpoints under {@code v1/ledger} and
+ * {@code v1/ledgers}, such as expenses, imports, exports, summaries and budgets, are left
+ * alone along with the admin endpoints. Imports and exports can run for minutes, and a
+ * concurrency slot held that long would shed the short ledger reads the limit protects.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ledger.rate-limit", name = "enabled")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    /** Matches single path segments only, so sub-resources of a ledger or person stay out. */
+    static final String[] LEDGER_PATHS = { "/v1/ledger", "/v1/ledger/*", "/v1/ledger/*/delete", "/v1/ledgers/*",
+            "/v1/ledgers:batch", "/v2/ledgers/*", "/v2/ledgers/*/stream" };
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitConfig(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter() {
+        return new TokenBucketRateLimiter(properties.getRequestsPerSecond(), properties.getBurst());
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter() {
+        return new AdaptiveConcurrencyLimiter(meterRegistry, properties.getMinConcurrency(),
+                properties.getMaxConcurrency(), properties.getTargetPoolWait());
+    }
+
+    @Bean
+    public RateLimitInterceptor rateLimitInterceptor() {
+        return new RateLimitInterceptor(tokenBucketRateLimiter(), adaptiveConcurrencyLimiter(), meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor())
+                .addPathPatterns(LEDGER_PATHS);
+    }
+
+}
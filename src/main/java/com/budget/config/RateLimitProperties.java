@@ -0,0 +1,33 @@
+package com.budget.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ledger.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled;
+
+    /** Sustained requests per second allowed for one person, principal or client address. */
+    private double requestsPerSecond = 20;
+
+    /** Requests a client may make at once after being idle. */
+    private int burst = 40;
+
+    /** Ceiling and starting point of the adaptive concurrency limit. */
+    private int maxConcurrency = 200;
+
+    /** The concurrency limit is never lowered below this. */
+    private int minConcurrency = 10;
+
+    /**
+     * Mean wait for a pooled connection above which the concurrency limit is cut. While the
+     * wait stays below it, the limit grows back by one per adjustment.
+     */
+    private Duration targetPoolWait = Duration.ofMillis(50);
+
+}
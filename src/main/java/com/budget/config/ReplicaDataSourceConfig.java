@@ -0,0 +1,86 @@
+package com.budget.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.budget.datasource.ReadYourWritesFilter;
+import com.budget.datasource.ReadYourWritesListener;
+import com.budget.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the auto-configured DataSource once {@code ledger.datasource.replicas} lists at
+ * least one replica. JPA, JdbcTemplate and Flyway all use the lazy proxy. Inside a
+ * {@code @Transactional(readOnly = true)} method it resolves to a replica pool, and
+ * everywhere else to the primary pool configured under {@code spring.datasource}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ledger.datasource", name = "replicas[0].url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+            DataSourceProperties dataSourceProperties, ReplicaDataSourceProperties properties, MeterRegistry meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReplicaDataSourceProperties.Replica replica : properties.getReplicas()) {
+            HikariDataSource replicaDataSource = new HikariDataSource();
+            replicaDataSource.setPoolName("replica-" + (replicas.size() + 1));
+            replicaDataSource.setJdbcUrl(replica.getUrl());
+            replicaDataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            replicaDataSource.setUsername(Objects.requireNonNullElse(replica.getUsername(),
+                    dataSourceProperties.determineUsername()));
+            replicaDataSource.setPassword(Objects.requireNonNullElse(replica.getPassword(),
+                    dataSourceProperties.determinePassword()));
+            replicaDataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            replicaDataSource.setReadOnly(true);
+            // Publishes hikaricp.connections.* tagged pool=replica-N next to the primary pool.
+            replicaDataSource.setMetricRegistry(meterRegistry);
+            replicas.add(replicaDataSource);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.getBalancing());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "ledger.datasource", name = "read-your-writes")
+    static class ReadYourWritesConfig {
+
+        @Bean
+        public ReadYourWritesListener readYourWritesListener(ReplicaDataSourceProperties properties) {
+            return new ReadYourWritesListener(properties.getReadYourWrites());
+        }
+
+        @Bean
+        public ReadYourWritesFilter readYourWritesFilter() {
+            return new ReadYourWritesFilter();
+        }
+
+    }
+
+}
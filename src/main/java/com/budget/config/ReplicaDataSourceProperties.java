@@ -0,0 +1,47 @@
+package com.budget.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ledger.datasource")
+public class ReplicaDataSourceProperties {
+
+    /** Read replicas; read-only transactions are spread over them. */
+    private List<Replica> replicas = new ArrayList<>();
+
+    private Balancing balancing = Balancing.ROUND_ROBIN;
+
+    /**
+     * After a client's write commits, its reads go to the primary for this long, so it does
+     * not read from a replica that has not caught up. Zero turns this off.
+     */
+    private Duration readYourWrites = Duration.ZERO;
+
+    public enum Balancing {
+        ROUND_ROBIN,
+        /** The replica whose pool has the fewest connections in use. */
+        LEAST_CONNECTIONS
+    }
+
+    @Data
+    public static class Replica {
+
+        private String url;
+
+        /** Defaults to spring.datasource.username. */
+        private String username;
+
+        /** Defaults to spring.datasource.password. */
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+    }
+
+}
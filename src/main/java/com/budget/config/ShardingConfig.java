@@ -0,0 +1,98 @@
+package com.budget.config;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.budget.job.ShardRebalanceJob;
+import com.budget.shard.ShardRouter;
+import com.budget.shard.ShardRoutingAspect;
+import com.budget.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the auto-configured DataSource once {@code ledger.sharding.shards} lists at
+ * least one shard. Service calls run on the shard of the person they concern, see
+ * {@link ShardRoutingAspect}; everything else, including Flyway, uses the first shard,
+ * which also holds the shard directory. Not combined with read replicas.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ledger.sharding", name = "shards[0].url")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties dataSourceProperties,
+            ShardingProperties properties, MeterRegistry meterRegistry) {
+        checkIdRanges(properties);
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource shardDataSource = new HikariDataSource();
+            shardDataSource.setPoolName("shard-" + shard.getName());
+            shardDataSource.setJdbcUrl(shard.getUrl());
+            shardDataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            shardDataSource.setUsername(Objects.requireNonNullElse(shard.getUsername(),
+                    dataSourceProperties.determineUsername()));
+            shardDataSource.setPassword(Objects.requireNonNullElse(shard.getPassword(),
+                    dataSourceProperties.determinePassword()));
+            shardDataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            // Publishes hikaricp.connections.* tagged pool=shard-<name>.
+            shardDataSource.setMetricRegistry(meterRegistry);
+            if (Objects.nonNull(shards.put(shard.getName(), shardDataSource))) {
+                throw new IllegalStateException("Shard " + shard.getName() + " is configured twice.");
+            }
+        }
+        return new ShardRoutingDataSource(shards, properties.getShards().get(0).getName());
+    }
+
+    private static void checkIdRanges(ShardingProperties properties) {
+        Set<Integer> idRanges = new HashSet<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            Integer idRange = shard.getIdRange();
+            if (Objects.isNull(idRange) || idRange < 0 || idRange > ShardingProperties.MAX_ID_RANGE) {
+                throw new IllegalStateException("Shard " + shard.getName() + " needs an id-range between 0 and "
+                        + ShardingProperties.MAX_ID_RANGE + ".");
+            }
+            if (!idRanges.add(idRange)) {
+                throw new IllegalStateException("Shard " + shard.getName() + " shares id-range " + idRange + " with another shard.");
+            }
+        }
+    }
+
+    @Bean
+    public ShardRouter shardRouter(ShardRoutingDataSource shardRoutingDataSource, ShardingProperties properties) {
+        List<String> joiningShards = properties.getShards().stream()
+                .filter(ShardingProperties.Shard::isJoining)
+                .map(ShardingProperties.Shard::getName)
+                .toList();
+        return new ShardRouter(shardRoutingDataSource, joiningShards, properties.getVirtualNodes(),
+                properties.getPlacementCacheTtl());
+    }
+
+    @Bean
+    public ShardRoutingAspect shardRoutingAspect(ShardRouter shardRouter) {
+        return new ShardRoutingAspect(shardRouter);
+    }
+
+    @Bean
+    public ShardRebalanceJob shardRebalanceJob(ShardRouter shardRouter, ShardingProperties properties,
+            MeterRegistry meterRegistry) {
+        return new ShardRebalanceJob(shardRouter, properties, meterRegistry);
+    }
+
+}
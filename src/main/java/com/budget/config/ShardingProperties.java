@@ -0,0 +1,67 @@
+package com.budget.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ledger.sharding")
+public class ShardingProperties {
+
+    /** Expense ids stay below 2^53 as long as the ranges of 2^48 ids start below this. */
+    public static final int MAX_ID_RANGE = 31;
+
+    /** Shards in a fixed order; the first one also holds the shard directory. */
+    private List<Shard> shards = new ArrayList<>();
+
+    /** Points per shard on the hash ring; more points spread persons more evenly. */
+    private int virtualNodes = 128;
+
+    /** How long an instance may keep routing a person by a directory entry it has cached. */
+    private Duration placementCacheTtl = Duration.ofSeconds(5);
+
+    /** Most persons one rebalance run moves. */
+    private int maxPersonsPerRebalance = 1000;
+
+    public Map<String, Integer> expenseIdRanges() {
+        Map<String, Integer> idRanges = new LinkedHashMap<>();
+        shards.forEach(shard -> idRanges.put(shard.getName(), shard.getIdRange()));
+        return idRanges;
+    }
+
+    @Data
+    public static class Shard {
+
+        private String name;
+
+        private String url;
+
+        /** Defaults to spring.datasource.username. */
+        private String username;
+
+        /** Defaults to spring.datasource.password. */
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        /**
+         * Which 2^48 block of expense ids the shard draws from. Unique per shard, and never
+         * changed once the shard holds expenses, so a moved person keeps its expense ids.
+         */
+        private Integer idRange;
+
+        /**
+         * A joining shard is on the target ring only: new persons are not placed on it until
+         * a rebalance has moved its share of persons over and the flag is removed.
+         */
+        private boolean joining;
+
+    }
+
+}
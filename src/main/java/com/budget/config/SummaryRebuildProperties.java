@@ -0,0 +1,21 @@
+package com.budget.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "ledger.summary.rebuild")
+public class SummaryRebuildProperties {
+
+    /**
+     * Ledgers per chunk; each chunk is verified and recomputed in its own transaction. A
+     * rebuilding chunk holds one advisory lock per ledger, so chunk size times parallelism
+     * has to fit PostgreSQL's lock table (max_locks_per_transaction times max_connections).
+     */
+    private int chunkSize = 1000;
+
+    /** Chunks processed concurrently, each holding one database connection. */
+    private int parallelism = 4;
+
+}
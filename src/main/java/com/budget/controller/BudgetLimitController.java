@@ -0,0 +1,93 @@
+package com.budget.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.budget.dto.BudgetLimitStatus;
+import com.budget.model.BudgetLimit;
+import com.budget.service.BudgetLimitService;
+
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@Profile("!reactive")
+public class BudgetLimitController {
+
+    private final BudgetLimitService budgetLimitService;
+
+    @Autowired
+    public BudgetLimitController(BudgetLimitService budgetLimitService) {
+        this.budgetLimitService = budgetLimitService;
+    }
+
+    @GetMapping("v1/ledger/{ledgerId}/budgets")
+    public ResponseEntity<List<BudgetLimit>> getBudgetLimits(@PathVariable Long ledgerId) {
+        log.debug("Retrieving budget limits for ledgerId {}", ledgerId);
+        List<BudgetLimit> budgetLimits = budgetLimitService.getBudgetLimits(ledgerId);
+        log.debug("Successfully retrieved {} budget limits for ledgerId {}", budgetLimits.size(), ledgerId);
+
+        return ResponseEntity.ok(budgetLimits);
+    }
+
+    /**
+     * Spending against every limit of the ledger in the month of {@code month}, by default
+     * the current month.
+     */
+    @GetMapping("v1/ledger/{ledgerId}/budgets/status")
+    public ResponseEntity<List<BudgetLimitStatus>> getBudgetStatus(@PathVariable Long ledgerId,
+            @RequestParam(name = "month", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate month) {
+        LocalDate statusMonth = Objects.isNull(month) ? LocalDate.now() : month;
+        log.debug("Retrieving budget status for ledgerId {} in {}", ledgerId, statusMonth);
+        List<BudgetLimitStatus> statuses = budgetLimitService.getBudgetStatus(ledgerId, statusMonth);
+        log.debug("Successfully retrieved budget status for ledgerId {}", ledgerId);
+
+        return ResponseEntity.ok(statuses);
+    }
+
+    @PostMapping("/v1/ledger/{ledgerId}/budgets")
+    public ResponseEntity<BudgetLimit> createBudgetLimit(@PathVariable Long ledgerId,
+            @Valid @RequestBody BudgetLimit budgetLimitModel) {
+        log.debug("Creating budget limit for category {} of ledgerId {}", budgetLimitModel.getCategory(), ledgerId);
+        BudgetLimit budgetLimitResponse = budgetLimitService.saveBudgetLimit(ledgerId, budgetLimitModel);
+        log.debug("Successfully created budget limit {} for ledgerId {}", budgetLimitResponse.getBudgetLimitId(), ledgerId);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(budgetLimitResponse);
+    }
+
+    @PutMapping("/v1/ledger/{ledgerId}/budgets/{budgetLimitId}")
+    public ResponseEntity<BudgetLimit> updateBudgetLimit(@PathVariable Long ledgerId, @PathVariable Long budgetLimitId,
+            @Valid @RequestBody BudgetLimit budgetLimitModel) {
+        log.debug("Updating budget limit {} of ledgerId {}", budgetLimitId, ledgerId);
+        budgetLimitModel.setBudgetLimitId(budgetLimitId);
+        BudgetLimit budgetLimitResponse = budgetLimitService.updateBudgetLimit(ledgerId, budgetLimitModel);
+        log.debug("Successfully updated budget limit {}", budgetLimitId);
+
+        return ResponseEntity.ok(budgetLimitResponse);
+    }
+
+    @PutMapping("v1/ledger/{ledgerId}/budgets/{budgetLimitId}/delete")
+    public ResponseEntity<Void> deleteBudgetLimit(@PathVariable Long ledgerId, @PathVariable Long budgetLimitId) {
+        log.debug("Deleting budget limit {} of ledgerId {}", budgetLimitId, ledgerId);
+        budgetLimitService.deleteBudgetLimit(ledgerId, budgetLimitId);
+        log.debug("Successfully deleted budget limit {}", budgetLimitId);
+
+        return ResponseEntity.noContent().build();
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.budget.controller;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.budget.model.Expense;
+import com.budget.service.ExpenseService;
+
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@Profile("!reactive")
+public class ExpenseController {
+
+    private final ExpenseService expenseService;
+
+    @Autowired
+    public ExpenseController(ExpenseService expenseService) {
+        this.expenseService = expenseService;
+    }
+
+    @GetMapping("v1/expense/{expenseId}")
+    public ResponseEntity<Expense> getExpenseById(@PathVariable Long expenseId) {
+        log.debug("Retrieving expense for expenseId {}", expenseId);
+        Expense expenseResponse = expenseService.getExpenseById(expenseId);
+        log.debug("Successfully retrieved expense for expenseId {}", expenseId);
+
+        return ResponseEntity.ok(expenseResponse);
+    }
+
+    @GetMapping("v1/ledger/{ledgerId}/expenses")
+    public ResponseEntity<List<Expense>> getExpensesByLedgerId(@PathVariable Long ledgerId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "limit", defaultValue = "500") int limit) {
+        log.debug("Retrieving expenses for ledgerId {} between {} and {}", ledgerId, from, to);
+        List<Expense> expenseList = expenseService.getExpensesByLedgerId(ledgerId, from, to, limit);
+        log.debug("Successfully retrieved {} expenses for ledgerId {}", expenseList.size(), ledgerId);
+
+        return ResponseEntity.ok(expenseList);
+    }
+
+    @PostMapping("/v1/expense")
+    public ResponseEntity<Expense> createExpense(@Valid @RequestBody Expense expenseModel) {
+        log.debug("Creating expense for ledgerId {}", expenseModel.getLedgerId());
+        Expense expenseResponse = expenseService.saveExpense(expenseModel);
+        log.debug("Successfully created expense {} for ledgerId {}", expenseResponse.getExpenseId(), expenseModel.getLedgerId());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(expenseResponse);
+    }
+
+    @PutMapping("/v1/expense")
+    public ResponseEntity<Expense> updateExpense(@Valid @RequestBody Expense expenseModel) {
+        log.debug("Updating expense {} for ledgerId {}", expenseModel.getExpenseId(), expenseModel.getLedgerId());
+        Expense expenseResponse = expenseService.updateExpense(expenseModel);
+        log.debug("Successfully updated expense {}", expenseModel.getExpenseId());
+
+        return ResponseEntity.ok(expenseResponse);
+    }
+
+    @PutMapping("v1/expense/{expenseId}/delete")
+    public ResponseEntity<Void> deleteExpense(@PathVariable Long expenseId) {
+        log.debug("Deleting expense for expenseId {}", expenseId);
+        expenseService.deleteExpense(expenseId);
+        log.debug("Successfully deleted expense for expenseId {}", expenseId);
+
+        return ResponseEntity.noContent().build();
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.budget.controller;
+
+import java.io.InputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.budget.dto.ExpenseImportReport;
+import com.budget.exception.ApiException;
+import com.budget.importer.ExpenseImportFormat;
+import com.budget.service.ExpenseImportService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@Profile("!reactive")
+public class ExpenseImportController {
+
+    private final ExpenseImportService expenseImportService;
+
+    @Autowired
+    public ExpenseImportController(ExpenseImportService expenseImportService) {
+        this.expenseImportService = expenseImportService;
+    }
+
+    /**
+     * Takes the file as the raw request body, e.g.
+     * {@code curl --data-binary @export.csv -H 'Content-Type: text/csv' .../expenses:import?format=csv},
+     * so it is parsed as it arrives instead of being buffered first. Passing an {@code importId}
+     * makes a retry after a failure continue where the committed rows end.
+     */
+    @PostMapping("v1/ledger/{ledgerId}/expenses:import")
+    public ResponseEntity<ExpenseImportReport> importExpenses(@PathVariable Long ledgerId,
+            @RequestParam(name = "format", defaultValue = "csv") String format,
+            @RequestParam(name = "importId", required = false) String importId, InputStream body) {
+        ExpenseImportFormat importFormat;
+        try {
+            importFormat = ExpenseImportFormat.of(format);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Import format must be csv or ofx.");
+        }
+
+        log.info("Importing {} expenses into ledgerId {}", importFormat, ledgerId);
+        ExpenseImportReport importReport = expenseImportService.importExpenses(ledgerId, importId, importFormat, body);
+        log.info("Finished import into ledgerId {}, {} imported and {} rejected", ledgerId, importReport.importedRows(),
+                importReport.rejectedRows());
+
+        return ResponseEntity.ok(importReport);
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.budget.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.budget.dto.LedgerArchiveReport;
+import com.budget.job.LedgerArchiveJob;
+import com.budget.model.Ledger;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@Profile("!reactive")
+public class LedgerArchiveController {
+
+    private final LedgerArchiveJob ledgerArchiveJob;
+
+    @Autowired
+    public LedgerArchiveController(LedgerArchiveJob ledgerArchiveJob) {
+        this.ledgerArchiveJob = ledgerArchiveJob;
+    }
+
+    @PostMapping("/v1/admin/ledgers:archive")
+    public ResponseEntity<LedgerArchiveReport> archiveLedgers() {
+        log.info("Archiving deleted ledgers");
+        LedgerArchiveReport report = ledgerArchiveJob.archive();
+        log.info("Ledger archival finished: {}", report);
+
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping("/v1/admin/ledgers/{ledgerId}:restore")
+    public ResponseEntity<Ledger> restoreLedger(@PathVariable Long ledgerId) {
+        log.info("Restoring deleted ledgerId {}", ledgerId);
+        Ledger ledger = ledgerArchiveJob.restore(ledgerId);
+        log.info("Successfully restored ledgerId {}", ledgerId);
+
+        return ResponseEntity.ok(ledger);
+    }
+
+}
@@ -1,77 +1,189 @@
 package com.budget.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.budget.dto.LedgerBatchResponse;
+import com.budget.dto.LedgerDetail;
+import com.budget.dto.LedgerListItem;
+import com.budget.dto.LedgerListVersion;
+import com.budget.dto.LedgerListing;
+import com.budget.dto.LedgerPage;
+import com.budget.dto.LedgerVersion;
+import com.budget.exception.ApiException;
 import com.budget.model.Ledger;
 import com.budget.service.LedgerService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @RestController
+@Profile("!reactive")
 public class LedgerController {
 
+    private static final String LEDGER_MODIFIED = "Ledger was modified by another request.";
+
     private final LedgerService ledgerService;
+    private final ObjectWriter ndjsonWriter;
 
     @Autowired
-    public LedgerController(LedgerService ledgerService) {
+    public LedgerController(LedgerService ledgerService, ObjectMapper objectMapper) {
         this.ledgerService = ledgerService;
+        this.ndjsonWriter = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @GetMapping("v1/ledger/{ledgerId}")
-    public ResponseEntity<Ledger> getLedgerById(@PathVariable Long ledgerId) {
-        log.info("Retrieving ledger for ledgerId {}", ledgerId);    
-        Ledger ledgerResponse = ledgerService.getLedgerById(ledgerId);
-        log.info("Successfully retrieved ledger for ledgerId {}", ledgerId);
+    public ResponseEntity<LedgerDetail> getLedgerById(@PathVariable Long ledgerId, WebRequest webRequest) {
+        log.debug("Retrieving ledger for ledgerId {}", ledgerId);    
+        LedgerVersion ledgerVersion = ledgerService.getLedgerVersion(ledgerId);
+        if (webRequest.checkNotModified(ledgerVersion.etag(), ledgerVersion.lastModified())) {
+            log.debug("Ledger for ledgerId {} not modified", ledgerId);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        LedgerDetail ledgerResponse = ledgerService.getLedgerDetail(ledgerId);
+        if (!ledgerVersion.equals(LedgerVersion.of(ledgerResponse))) {
+            // Cached before a write, possibly one served by another instance. The refreshed
+            // body is read after the version, so it is never older than the ETag it goes out with.
+            log.debug("Cached ledger for ledgerId {} is not current, refreshing it", ledgerId);
+            ledgerResponse = ledgerService.refreshLedgerDetail(ledgerId);
+        }
+        log.debug("Successfully retrieved ledger for ledgerId {}", ledgerId);
 
         return ResponseEntity.ok(ledgerResponse);
     }
 
     @GetMapping("v1/ledgers/{personId}")
-    public ResponseEntity<List<Ledger>> getAllLedgersByPersonId(@PathVariable Long personId) {
-        log.info("Retrieving ledgers for personId {}", personId);
-        List<Ledger> ledgerList = ledgerService.getAllLedgersByPersonId(personId);
-        log.info("Successfully retrieved ledgers for personId {}", personId);
+    public ResponseEntity<List<LedgerListItem>> getAllLedgersByPersonId(@PathVariable Long personId, WebRequest webRequest) {
+        log.debug("Retrieving ledgers for personId {}", personId);
+        LedgerListVersion listVersion = ledgerService.getLedgerListVersion(personId);
+        if (webRequest.checkNotModified(listVersion.etag(), listVersion.lastModified())) {
+            log.debug("Ledgers for personId {} not modified", personId);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        LedgerListing ledgerListing = ledgerService.getAllLedgersByPersonId(personId);
+        if (!listVersion.equals(ledgerListing.version())) {
+            log.debug("Cached ledgers for personId {} are not current, refreshing them", personId);
+            ledgerListing = ledgerService.refreshLedgersByPersonId(personId);
+        }
+        log.debug("Successfully retrieved ledgers for personId {}", personId);
+
+        return ResponseEntity.ok(ledgerListing.ledgers());
+    }
+
+    @GetMapping("v2/ledgers/{personId}")
+    public ResponseEntity<LedgerPage> getLedgersPage(@PathVariable Long personId,
+            @RequestParam(name = "after", required = false) Long afterLedgerId,
+            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        log.debug("Retrieving ledgers for personId {} after ledgerId {}", personId, afterLedgerId);
+        LedgerPage ledgerPage = ledgerService.getLedgersPage(personId, afterLedgerId, limit);
+        log.debug("Successfully retrieved {} ledgers for personId {}", ledgerPage.ledgers().size(), personId);
 
-        return ResponseEntity.ok(ledgerList);
+        return ResponseEntity.ok(ledgerPage);
+    }
+
+    @GetMapping(value = "v2/ledgers/{personId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamLedgers(@PathVariable Long personId) {
+        log.debug("Streaming ledgers for personId {}", personId);
+        StreamingResponseBody responseBody = outputStream ->
+                ledgerService.streamLedgersByPersonId(personId, ledger -> writeNdjsonLine(outputStream, ledger));
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(responseBody);
     }
 
     @PostMapping("/v1/ledger")
     public ResponseEntity<Ledger> createLedger(@Valid @RequestBody Ledger ledgerModel) {
-        log.info("Creating ledger for personId {}", ledgerModel.getPersonId());
+        log.debug("Creating ledger for personId {}", ledgerModel.getPersonId());
         Ledger ledgerResponse = ledgerService.saveLedger(ledgerModel);
-        log.info("Successfully created ledger {} for personId {}", ledgerModel.getName(), ledgerModel.getPersonId());
+        log.debug("Successfully created ledger {} for personId {}", ledgerModel.getName(), ledgerModel.getPersonId());
 
         return ResponseEntity.status(HttpStatus.CREATED).body(ledgerResponse);
     }
 
     @PutMapping("/v1/ledger")
-    public ResponseEntity<Ledger> updateLedger(@Valid @RequestBody Ledger ledgerModel) {
-        log.info("Updating ledger for personId {}", ledgerModel.getPersonId());
+    public ResponseEntity<Ledger> updateLedger(@Valid @RequestBody Ledger ledgerModel,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("Updating ledger for personId {}", ledgerModel.getPersonId());
+        if (Objects.nonNull(ifMatch)) {
+            // The matched version travels with the update, so a write that lands between
+            // this check and the service call is still rejected by the version column.
+            LedgerVersion ledgerVersion = ledgerService.getLedgerVersion(ledgerModel.getLedgerId());
+            if (!matchesAny(ifMatch, ledgerVersion.etag())) {
+                log.error("Ledger {} update rejected, If-Match {} is stale", ledgerModel.getLedgerId(), ifMatch);
+                throw new ApiException(HttpStatus.PRECONDITION_FAILED, LEDGER_MODIFIED);
+            }
+            ledgerModel.setVersion(ledgerVersion.version());
+        }
+
         Ledger ledgerResponse = ledgerService.updateLedger(ledgerModel);
-        log.info("Successfully updated ledger {} for personId {}", ledgerModel.getName(), ledgerModel.getPersonId());
+        log.debug("Successfully updated ledger {} for personId {}", ledgerModel.getName(), ledgerModel.getPersonId());
 
-        return ResponseEntity.ok(ledgerResponse);
+        return ResponseEntity.ok().eTag(LedgerVersion.of(ledgerResponse).etag()).body(ledgerResponse);
+    }
+
+    @PostMapping("/v1/ledgers:batch")
+    public ResponseEntity<LedgerBatchResponse> saveLedgers(@RequestBody List<Ledger> ledgerModels) {
+        log.debug("Saving batch of {} ledgers", ledgerModels.size());
+        LedgerBatchResponse batchResponse = ledgerService.saveLedgers(ledgerModels);
+        log.debug("Saved ledger batch, {} succeeded and {} failed", batchResponse.succeeded(), batchResponse.failed());
+
+        return ResponseEntity.ok(batchResponse);
     }
 
     @PutMapping("v1/ledger/{ledgerId}/delete")
     public ResponseEntity<Void> deleteLedger(@PathVariable Long ledgerId) {
-        log.info("Deleting ledger for ledgerId {}", ledgerId);
+        log.debug("Deleting ledger for ledgerId {}", ledgerId);
         ledgerService.deleteLedger(ledgerId);
-        log.info("Successfully deleted ledger for ledgerId {}", ledgerId);
+        log.debug("Successfully deleted ledger for ledgerId {}", ledgerId);
 
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Strong comparison against an If-Match list; weak tags never match.
+     */
+    private static boolean matchesAny(String ifMatch, String etag) {
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(tag -> "*".equals(tag) || tag.equals(etag));
+    }
+
+    private void writeNdjsonLine(OutputStream outputStream, LedgerListItem ledger) {
+        try {
+            ndjsonWriter.writeValue(outputStream, ledger);
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
 }
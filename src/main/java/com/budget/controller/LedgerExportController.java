@@ -0,0 +1,103 @@
+package com.budget.controller;
+
+import java.nio.channels.Channels;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.budget.dto.LedgerExportReport;
+import com.budget.exception.ApiException;
+import com.budget.export.LedgerExportFormat;
+import com.budget.service.LedgerExportService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@Profile("!reactive")
+public class LedgerExportController {
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final LedgerExportService ledgerExportService;
+
+    @Autowired
+    public LedgerExportController(LedgerExportService ledgerExportService) {
+        this.ledgerExportService = ledgerExportService;
+    }
+
+    /**
+     * Streams the ledgers in ascending id order. A client whose download breaks calls again
+     * with {@code after} set to the last ledger id it received in full.
+     */
+    @GetMapping("v1/ledgers/{personId}/export")
+    public ResponseEntity<StreamingResponseBody> exportLedgers(@PathVariable Long personId,
+            @RequestParam(name = "format", defaultValue = "csv") String format,
+            @RequestParam(name = "gzip", defaultValue = "false") boolean gzip,
+            @RequestParam(name = "after", required = false) Long afterLedgerId,
+            @RequestParam(name = "limit", required = false) Long limit) {
+        LedgerExportFormat exportFormat = toExportFormat(format);
+        validateLimit(limit);
+
+        log.debug("Exporting ledgers for personId {} as {} after ledgerId {}", personId, exportFormat, afterLedgerId);
+        StreamingResponseBody responseBody = outputStream -> {
+            LedgerExportReport exportReport = ledgerExportService.exportLedgers(personId, exportFormat, gzip,
+                    afterLedgerId, limit, Channels.newChannel(outputStream));
+            log.debug("Exported {} ledgers for personId {} in {} ms", exportReport.rows(), personId,
+                    exportReport.elapsedMillis());
+        };
+
+        String fileName = exportFormat.fileName("ledgers-" + personId, gzip);
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(responseBody);
+    }
+
+    /**
+     * Full dump of every ledger to the export directory. Large dumps can be taken in slices
+     * of {@code limit} rows, each starting after the previous report's {@code lastLedgerId}.
+     */
+    @PostMapping("/v1/admin/ledgers:export")
+    public ResponseEntity<LedgerExportReport> exportAllLedgers(
+            @RequestParam(name = "format", defaultValue = "columnar") String format,
+            @RequestParam(name = "gzip", defaultValue = "true") boolean gzip,
+            @RequestParam(name = "after", required = false) Long afterLedgerId,
+            @RequestParam(name = "limit", required = false) Long limit) {
+        LedgerExportFormat exportFormat = toExportFormat(format);
+        validateLimit(limit);
+
+        log.info("Exporting all ledgers as {} after ledgerId {}", exportFormat, afterLedgerId);
+        LedgerExportReport exportReport = ledgerExportService.exportAllLedgersToFile(exportFormat, gzip, afterLedgerId, limit);
+        log.info("Exported {} ledgers to {}", exportReport.rows(), exportReport.file());
+
+        return ResponseEntity.ok(exportReport);
+    }
+
+    private static LedgerExportFormat toExportFormat(String format) {
+        try {
+            return LedgerExportFormat.of(format);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Export format must be csv, ndjson or columnar.");
+        }
+    }
+
+    private static void validateLimit(Long limit) {
+        if (Objects.nonNull(limit) && limit < 1) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Export limit must be positive.");
+        }
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.budget.controller;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.budget.dto.LedgerListItem;
+import com.budget.dto.LedgerVersion;
+import com.budget.exception.ApiException;
+import com.budget.model.Ledger;
+import com.budget.service.ReactiveLedgerService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Functional counterpart of {@link LedgerController} for the {@code reactive} profile: the
+ * same paths, status codes, validators and error bodies, without blocking a thread.
+ */
+@Slf4j
+@Component
+@Profile("reactive")
+public class LedgerHandler {
+
+    private static final String LEDGER_MODIFIED = "Ledger was modified by another request.";
+    private static final String API_EXCEPTIONS_METRIC = "ledger.api.exceptions";
+
+    private final ReactiveLedgerService ledgerService;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public LedgerHandler(ReactiveLedgerService ledgerService, Validator validator, MeterRegistry meterRegistry) {
+        this.ledgerService = ledgerService;
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Mono<ServerResponse> getLedgerById(ServerRequest request) {
+        return handle(() -> {
+            Long ledgerId = pathId(request, "ledgerId");
+            return ledgerService.getLedgerVersion(ledgerId).flatMap(version ->
+                    request.checkNotModified(Instant.ofEpochMilli(version.lastModified()), version.etag())
+                            .switchIfEmpty(Mono.defer(() -> ledgerService.getLedgerDetail(ledgerId)
+                                    .flatMap(detail -> ServerResponse.ok()
+                                            .eTag(version.etag())
+                                            .lastModified(Instant.ofEpochMilli(version.lastModified()))
+                                            .bodyValue(detail)))));
+        });
+    }
+
+    public Mono<ServerResponse> getAllLedgersByPersonId(ServerRequest request) {
+        return handle(() -> {
+            Long personId = pathId(request, "personId");
+            return ledgerService.getLedgerListVersion(personId).flatMap(listVersion -> {
+                Mono<ServerResponse> notModified = listVersion.lastModified() < 0
+                        ? request.checkNotModified(listVersion.etag())
+                        : request.checkNotModified(Instant.ofEpochMilli(listVersion.lastModified()), listVersion.etag());
+                return notModified.switchIfEmpty(Mono.defer(() -> ledgerService.getAllLedgersByPersonId(personId)
+                        .collectList()
+                        .flatMap(ledgers -> {
+                            ServerResponse.BodyBuilder ok = ServerResponse.ok().eTag(listVersion.etag());
+                            if (listVersion.lastModified() >= 0) {
+                                ok.lastModified(Instant.ofEpochMilli(listVersion.lastModified()));
+                            }
+                            return ok.bodyValue(ledgers);
+                        })));
+            });
+        });
+    }
+
+    public Mono<ServerResponse> getLedgersPage(ServerRequest request) {
+        return handle(() -> {
+            Long personId = pathId(request, "personId");
+            Long afterLedgerId = request.queryParam("after").map(value -> parseId(value, "after")).orElse(null);
+            int limit = request.queryParam("limit").map(value -> parseId(value, "limit").intValue()).orElse(50);
+            return ledgerService.getLedgersPage(personId, afterLedgerId, limit)
+                    .flatMap(page -> ServerResponse.ok().bodyValue(page));
+        });
+    }
+
+    public Mono<ServerResponse> streamLedgers(ServerRequest request) {
+        return handle(() -> ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ledgerService.getAllLedgersByPersonId(pathId(request, "personId")), LedgerListItem.class));
+    }
+
+    public Mono<ServerResponse> createLedger(ServerRequest request) {
+        return handle(() -> request.bodyToMono(Ledger.class)
+                .map(this::validate)
+                .flatMap(ledgerService::saveLedger)
+                .flatMap(ledger -> ServerResponse.status(HttpStatus.CREATED).bodyValue(ledger)));
+    }
+
+    public Mono<ServerResponse> updateLedger(ServerRequest request) {
+        Optional<String> ifMatch = Optional.ofNullable(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+        return handle(() -> request.bodyToMono(Ledger.class)
+                .map(this::validate)
+                .flatMap(ledgerModel -> ifMatch.isEmpty() ? Mono.just(ledgerModel)
+                        // The matched version travels with the update, as in LedgerController.
+                        : ledgerService.getLedgerVersion(ledgerModel.getLedgerId()).flatMap(version -> {
+                            if (!matchesAny(ifMatch.get(), version.etag())) {
+                                log.error("Ledger {} update rejected, If-Match {} is stale", ledgerModel.getLedgerId(),
+                                        ifMatch.get());
+                                return Mono.error(new ApiException(HttpStatus.PRECONDITION_FAILED, LEDGER_MODIFIED));
+                            }
+                            ledgerModel.setVersion(version.version());
+                            return Mono.just(ledgerModel);
+                        }))
+                .flatMap(ledgerService::updateLedger)
+                .flatMap(ledger -> ServerResponse.ok().eTag(LedgerVersion.of(ledger).etag()).bodyValue(ledger)));
+    }
+
+    public Mono<ServerResponse> saveLedgers(ServerRequest request) {
+        return handle(() -> request.bodyToFlux(Ledger.class)
+                .collectList()
+                .flatMap(ledgerService::saveLedgers)
+                .flatMap(batchResponse -> ServerResponse.ok().bodyValue(batchResponse)));
+    }
+
+    public Mono<ServerResponse> deleteLedger(ServerRequest request) {
+        return handle(() -> ledgerService.deleteLedger(pathId(request, "ledgerId"))
+                .then(Mono.defer(() -> ServerResponse.noContent().build())));
+    }
+
+    /**
+     * Same status and plain-text body as {@link com.budget.exception.GlobalExceptionHandler}.
+     */
+    private Mono<ServerResponse> handle(Supplier<Mono<ServerResponse>> response) {
+        return Mono.defer(response).onErrorResume(ApiException.class, e -> {
+            HttpStatus status = e.getStatus() != null ? e.getStatus() : HttpStatus.INTERNAL_SERVER_ERROR;
+            meterRegistry.counter(API_EXCEPTIONS_METRIC, "status", String.valueOf(status.value())).increment();
+            return ServerResponse.status(status).bodyValue(e.getMessage());
+        });
+    }
+
+    /**
+     * Bean validation that {@code @Valid} applies in {@link LedgerController}.
+     */
+    private Ledger validate(Ledger ledger) {
+        Set<ConstraintViolation<Ledger>> violations = validator.validate(ledger);
+        if (!violations.isEmpty()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, violations.iterator().next().getMessage());
+        }
+        return ledger;
+    }
+
+    private static Long pathId(ServerRequest request, String name) {
+        return parseId(request.pathVariable(name), name);
+    }
+
+    private static Long parseId(String value, String name) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid " + name + ": " + value);
+        }
+    }
+
+    /**
+     * Strong comparison against an If-Match list; weak tags never match.
+     */
+    private static boolean matchesAny(String ifMatch, String etag) {
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(tag -> "*".equals(tag) || Objects.equals(tag, etag));
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.budget.controller;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Ledger routes of the {@code reactive} profile, mirroring {@link LedgerController}.
+ */
+@Configuration
+@Profile("reactive")
+public class LedgerRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> ledgerRoutes(LedgerHandler ledgerHandler) {
+        return route()
+                .GET("/v1/ledger/{ledgerId}", ledgerHandler::getLedgerById)
+                .GET("/v1/ledgers/{personId}", ledgerHandler::getAllLedgersByPersonId)
+                .GET("/v2/ledgers/{personId}/stream", ledgerHandler::streamLedgers)
+                .GET("/v2/ledgers/{personId}", ledgerHandler::getLedgersPage)
+                .POST("/v1/ledger", ledgerHandler::createLedger)
+                .PUT("/v1/ledger", ledgerHandler::updateLedger)
+                .POST("/v1/ledgers:batch", ledgerHandler::saveLedgers)
+                .PUT("/v1/ledger/{ledgerId}/delete", ledgerHandler::deleteLedger)
+                .build();
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.budget.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.budget.dto.LedgerSummaryResponse;
+import com.budget.dto.PersonTotalsResponse;
+import com.budget.dto.SummaryRebuildReport;
+import com.budget.job.LedgerSummaryRebuildJob;
+import com.budget.service.LedgerSummaryService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@Profile("!reactive")
+public class LedgerSummaryController {
+
+    private final LedgerSummaryService ledgerSummaryService;
+    private final LedgerSummaryRebuildJob ledgerSummaryRebuildJob;
+
+    @Autowired
+    public LedgerSummaryController(LedgerSummaryService ledgerSummaryService, LedgerSummaryRebuildJob ledgerSummaryRebuildJob) {
+        this.ledgerSummaryService = ledgerSummaryService;
+        this.ledgerSummaryRebuildJob = ledgerSummaryRebuildJob;
+    }
+
+    @GetMapping("v1/ledger/{ledgerId}/summary")
+    public ResponseEntity<LedgerSummaryResponse> getLedgerSummary(@PathVariable Long ledgerId) {
+        log.debug("Retrieving summary for ledgerId {}", ledgerId);
+        LedgerSummaryResponse summaryResponse = ledgerSummaryService.getLedgerSummary(ledgerId);
+        log.debug("Successfully retrieved summary for ledgerId {}", ledgerId);
+
+        return ResponseEntity.ok(summaryResponse);
+    }
+
+    /**
+     * Balances of all of a person's ledgers in one currency, by default the person's home
+     * currency.
+     */
+    @GetMapping("v1/ledgers/{personId}/totals")
+    public ResponseEntity<PersonTotalsResponse> getPersonTotals(@PathVariable Long personId,
+            @RequestParam(name = "currency", required = false) String currency) {
+        log.debug("Retrieving totals for personId {} in {}", personId, currency);
+        PersonTotalsResponse totalsResponse = ledgerSummaryService.getPersonTotals(personId, currency);
+        log.debug("Successfully retrieved totals for personId {}", personId);
+
+        return ResponseEntity.ok(totalsResponse);
+    }
+
+    @PostMapping("/v1/admin/ledger-summaries:rebuild")
+    public ResponseEntity<SummaryRebuildReport> rebuildLedgerSummaries(
+            @RequestParam(name = "verifyOnly", defaultValue = "false") boolean verifyOnly) {
+        log.info("Rebuilding ledger summaries, verifyOnly {}", verifyOnly);
+        SummaryRebuildReport report = ledgerSummaryRebuildJob.rebuild(verifyOnly);
+        log.info("Ledger summary rebuild finished: {}", report);
+
+        return ResponseEntity.ok(report);
+    }
+
+}
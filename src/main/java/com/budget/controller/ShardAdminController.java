@@ -0,0 +1,48 @@
+package com.budget.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.budget.dto.ShardMoveReport;
+import com.budget.dto.ShardRebalanceReport;
+import com.budget.job.ShardRebalanceJob;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "ledger.sharding", name = "shards[0].url")
+public class ShardAdminController {
+
+    private final ShardRebalanceJob shardRebalanceJob;
+
+    @Autowired
+    public ShardAdminController(ShardRebalanceJob shardRebalanceJob) {
+        this.shardRebalanceJob = shardRebalanceJob;
+    }
+
+    @PostMapping("/v1/admin/persons/{personId}:move")
+    public ResponseEntity<ShardMoveReport> movePerson(@PathVariable Long personId, @RequestParam String shard) {
+        log.info("Moving personId {} to shard {}", personId, shard);
+        ShardMoveReport report = shardRebalanceJob.move(personId, shard);
+        log.info("Shard move finished: {}", report);
+
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping("/v1/admin/shards:rebalance")
+    public ResponseEntity<ShardRebalanceReport> rebalanceShards() {
+        log.info("Rebalancing persons across shards");
+        ShardRebalanceReport report = shardRebalanceJob.rebalance();
+
+        return ResponseEntity.ok(report);
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.budget.currency;
+
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * ISO 4217 currencies known to the JDK, loaded once into an array indexed by the three
+ * letters of the code. Lookups do no hashing or allocation. Ledgers store the table's
+ * interned code, so every ledger in one currency shares one string.
+ */
+public final class CurrencyTable {
+
+    private static final CurrencyUnit[] BY_CODE = new CurrencyUnit[26 * 26 * 26];
+    private static final CurrencyUnit[] BY_INDEX;
+
+    static {
+        // Precious metals and testing codes have no minor unit (-1) and are left out.
+        List<Currency> currencies = Currency.getAvailableCurrencies().stream()
+                .filter(currency -> currency.getDefaultFractionDigits() >= 0)
+                .sorted(Comparator.comparing(Currency::getCurrencyCode))
+                .toList();
+
+        BY_INDEX = new CurrencyUnit[currencies.size()];
+        for (int i = 0; i < BY_INDEX.length; i++) {
+            Currency currency = currencies.get(i);
+            CurrencyUnit unit = new CurrencyUnit(currency.getCurrencyCode().intern(), currency.getDefaultFractionDigits(), i);
+            BY_INDEX[i] = unit;
+            BY_CODE[slot(unit.code())] = unit;
+        }
+    }
+
+    private CurrencyTable() {
+    }
+
+    /**
+     * @return the currency for a code in any letter case, or null if it is not ISO 4217
+     */
+    public static CurrencyUnit find(String code) {
+        int slot = slot(code);
+        return slot < 0 ? null : BY_CODE[slot];
+    }
+
+    /**
+     * @throws IllegalArgumentException if the code is not ISO 4217
+     */
+    public static CurrencyUnit of(String code) {
+        CurrencyUnit unit = find(code);
+        if (Objects.isNull(unit)) {
+            throw new IllegalArgumentException("'" + code + "' is not an ISO 4217 currency code.");
+        }
+        return unit;
+    }
+
+    static int size() {
+        return BY_INDEX.length;
+    }
+
+    private static int slot(String code) {
+        if (Objects.isNull(code) || code.length() != 3) {
+            return -1;
+        }
+        int slot = 0;
+        for (int i = 0; i < 3; i++) {
+            char c = code.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                c -= 'a' - 'A';
+            }
+            if (c < 'A' || c > 'Z') {
+                return -1;
+            }
+            slot = slot * 26 + (c - 'A');
+        }
+        return slot;
+    }
+
+}
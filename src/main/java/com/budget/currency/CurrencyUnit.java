@@ -0,0 +1,10 @@
+package com.budget.currency;
+
+/**
+ * An ISO 4217 currency from {@link CurrencyTable}. There is exactly one instance per code.
+ *
+ * @param fractionDigits minor unit digits, e.g. 2 for USD and 0 for JPY
+ * @param index          dense position in the table, used to index rate arrays
+ */
+public record CurrencyUnit(String code, int fractionDigits, int index) {
+}
@@ -0,0 +1,124 @@
+package com.budget.currency;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.budget.config.FxRateProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the current {@link FxRateSnapshot}. A refresh builds a complete new snapshot and
+ * swaps it in with one atomic write, so a conversion never sees a mix of two days' rates.
+ * If a refresh fails, the previous snapshot stays in use.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(FxRateProperties.class)
+public class ExchangeRates {
+
+    private static final String LATEST_RATES_SQL = "SELECT rate_date, currency, rate FROM fx_rate "
+            + "WHERE rate_date = (SELECT MAX(rate_date) FROM fx_rate)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FxRateProperties properties;
+    private final AtomicReference<FxRateSnapshot> snapshot = new AtomicReference<>(FxRateSnapshot.EMPTY);
+
+    @Autowired
+    public ExchangeRates(JdbcTemplate jdbcTemplate, FxRateProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    public FxRateSnapshot current() {
+        return snapshot.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${ledger.fx.refresh-cron:0 30 16 * * *}")
+    public void refresh() {
+        try {
+            CurrencyUnit base = CurrencyTable.of(properties.getBaseCurrency());
+            RateCollector rates = new RateCollector();
+            if (Objects.nonNull(properties.getFilePath())) {
+                readFile(Path.of(properties.getFilePath()), rates);
+            } else {
+                jdbcTemplate.query(LATEST_RATES_SQL, resultSet -> {
+                    rates.add(resultSet.getObject("rate_date", LocalDate.class), resultSet.getString("currency"),
+                            resultSet.getBigDecimal("rate"));
+                });
+            }
+
+            if (rates.rates.isEmpty()) {
+                log.warn("No exchange rates found, keeping rates as of {}", current().asOf());
+                return;
+            }
+            FxRateSnapshot loaded = FxRateSnapshot.of(rates.asOf, base, rates.rates);
+            snapshot.set(loaded);
+            log.info("Loaded {} exchange rates against {} as of {}", rates.rates.size(), base.code(), loaded.asOf());
+        } catch (IOException | DataAccessException | IllegalArgumentException | DateTimeParseException e) {
+            log.error("Exchange rate refresh failed, keeping rates as of {}", current().asOf(), e);
+        }
+    }
+
+    private static void readFile(Path file, RateCollector rates) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length != 3) {
+                    throw new IllegalArgumentException("Rate line '" + line + "' is not date,currency,rate.");
+                }
+                rates.add(LocalDate.parse(fields[0].trim()), fields[1].trim(), new BigDecimal(fields[2].trim()));
+            }
+        }
+    }
+
+    /**
+     * Keeps only the most recent date's rows, so a file may hold history.
+     */
+    private static final class RateCollector {
+
+        private LocalDate asOf;
+        private final Map<CurrencyUnit, BigDecimal> rates = new HashMap<>();
+
+        private void add(LocalDate date, String code, BigDecimal rate) {
+            CurrencyUnit currency = CurrencyTable.find(code);
+            if (Objects.isNull(currency)) {
+                log.warn("Skipping exchange rate for unknown currency {}", code);
+                return;
+            }
+            if (Objects.isNull(asOf) || date.isAfter(asOf)) {
+                asOf = date;
+                rates.clear();
+            }
+            if (date.equals(asOf)) {
+                rates.put(currency, rate);
+            }
+        }
+
+    }
+
+}
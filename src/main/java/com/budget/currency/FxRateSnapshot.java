@@ -0,0 +1,120 @@
+package com.budget.currency;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One day's exchange rates, immutable once built so readers never lock. Each rate is held
+ * as picos (10^-12) of the base currency per minor unit of the currency. A conversion is
+ * then one exact long multiply and one rounded divide: EUR cents to JPY is
+ * {@code amount * picos[EUR] / picos[JPY]}. Amounts too large for a long product take a
+ * BigInteger path instead.
+ */
+public final class FxRateSnapshot {
+
+    public static final FxRateSnapshot EMPTY = new FxRateSnapshot(null, null, new long[0]);
+
+    private static final BigDecimal PICOS = BigDecimal.TEN.pow(12);
+
+    private final LocalDate asOf;
+    private final CurrencyUnit base;
+    private final long[] picosPerMinor;
+
+    private FxRateSnapshot(LocalDate asOf, CurrencyUnit base, long[] picosPerMinor) {
+        this.asOf = asOf;
+        this.base = base;
+        this.picosPerMinor = picosPerMinor;
+    }
+
+    /**
+     * @param unitsPerBase units of each currency bought by one unit of the base currency,
+     *                     as published in daily reference rates; the base itself is implied
+     */
+    public static FxRateSnapshot of(LocalDate asOf, CurrencyUnit base, Map<CurrencyUnit, BigDecimal> unitsPerBase) {
+        long[] picosPerMinor = new long[CurrencyTable.size()];
+        picosPerMinor[base.index()] = toPicosPerMinor(base, BigDecimal.ONE);
+        unitsPerBase.forEach((currency, rate) -> picosPerMinor[currency.index()] = toPicosPerMinor(currency, rate));
+        return new FxRateSnapshot(asOf, base, picosPerMinor);
+    }
+
+    public LocalDate asOf() {
+        return asOf;
+    }
+
+    public CurrencyUnit base() {
+        return base;
+    }
+
+    public boolean isEmpty() {
+        return Objects.isNull(asOf);
+    }
+
+    public boolean hasRate(CurrencyUnit currency) {
+        return currency.index() < picosPerMinor.length && picosPerMinor[currency.index()] != 0;
+    }
+
+    /**
+     * Converts minor units of one currency to minor units of another, rounding half away
+     * from zero. Same-currency conversions need no rate.
+     *
+     * @throws IllegalArgumentException if either currency has no rate in this snapshot, or
+     *                                  the converted amount does not fit in a long
+     */
+    public long convert(long amountMinor, CurrencyUnit from, CurrencyUnit to) {
+        if (from.index() == to.index()) {
+            return amountMinor;
+        }
+        long fromPicos = picosPerMinor(from);
+        long toPicos = picosPerMinor(to);
+        try {
+            return divideRounded(Math.multiplyExact(amountMinor, fromPicos), toPicos);
+        } catch (ArithmeticException e) {
+            return convertWide(amountMinor, from, to, fromPicos, toPicos);
+        }
+    }
+
+    private static long convertWide(long amountMinor, CurrencyUnit from, CurrencyUnit to, long fromPicos, long toPicos) {
+        try {
+            return new BigDecimal(BigInteger.valueOf(amountMinor).multiply(BigInteger.valueOf(fromPicos)))
+                    .divide(BigDecimal.valueOf(toPicos), 0, RoundingMode.HALF_UP)
+                    .longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                    "Amount of " + amountMinor + " " + from.code() + " minor units is out of range in " + to.code() + ".");
+        }
+    }
+
+    private long picosPerMinor(CurrencyUnit currency) {
+        if (!hasRate(currency)) {
+            throw new IllegalArgumentException("No exchange rate for " + currency.code() + ".");
+        }
+        return picosPerMinor[currency.index()];
+    }
+
+    private static long toPicosPerMinor(CurrencyUnit currency, BigDecimal unitsPerBase) {
+        if (unitsPerBase.signum() <= 0) {
+            throw new IllegalArgumentException("Exchange rate for " + currency.code() + " must be positive.");
+        }
+        long picos = PICOS.divide(unitsPerBase.movePointRight(currency.fractionDigits()), 0, RoundingMode.HALF_UP)
+                .longValueExact();
+        if (picos == 0) {
+            throw new IllegalArgumentException("Exchange rate for " + currency.code() + " is out of range.");
+        }
+        return picos;
+    }
+
+    /** Half away from zero; the divisor is positive and far below Long.MAX_VALUE / 2. */
+    private static long divideRounded(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.budget.dao;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.budget.model.BudgetLimit;
+
+@Repository
+public interface BudgetLimitDao extends JpaRepository<BudgetLimit, Long> {
+
+    @Query("SELECT b FROM BudgetLimit b WHERE b.ledgerId = :ledgerId ORDER BY b.budgetLimitId")
+    List<BudgetLimit> findAllByLedgerId(@Param("ledgerId") Long ledgerId);
+
+    @Query("SELECT b FROM BudgetLimit b WHERE b.budgetLimitId = :budgetLimitId AND b.ledgerId = :ledgerId")
+    Optional<BudgetLimit> findByIdAndLedgerId(@Param("budgetLimitId") Long budgetLimitId, @Param("ledgerId") Long ledgerId);
+
+}
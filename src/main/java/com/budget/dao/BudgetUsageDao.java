@@ -0,0 +1,22 @@
+package com.budget.dao;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.budget.model.BudgetUsage;
+import com.budget.model.BudgetUsageId;
+
+@Repository
+public interface BudgetUsageDao extends JpaRepository<BudgetUsage, BudgetUsageId> {
+
+    @Query("SELECT u FROM BudgetUsage u WHERE u.budgetLimitId IN :budgetLimitIds AND u.month = :month")
+    List<BudgetUsage> findAllByBudgetLimitIdsAndMonth(@Param("budgetLimitIds") Collection<Long> budgetLimitIds,
+            @Param("month") LocalDate month);
+
+}
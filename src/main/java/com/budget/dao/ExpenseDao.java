@@ -0,0 +1,26 @@
+package com.budget.dao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.budget.model.Expense;
+
+@Repository
+public interface ExpenseDao extends JpaRepository<Expense, Long> {
+
+    @Query("SELECT e FROM Expense e WHERE e.expenseId = :expenseId AND e.deleted = false")
+    Optional<Expense> findByIdAndDeletedFalse(@Param("expenseId") Long expenseId);
+
+    @Query("SELECT e FROM Expense e WHERE e.ledgerId = :ledgerId AND e.deleted = false "
+            + "AND e.occurredAt >= :from AND e.occurredAt < :to ORDER BY e.occurredAt, e.expenseId")
+    List<Expense> findByLedgerIdAndOccurredAtBetween(@Param("ledgerId") Long ledgerId, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to, Pageable pageable);
+
+}
@@ -1,15 +1,26 @@
 package com.budget.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.budget.dto.LedgerDetail;
+import com.budget.dto.LedgerListItem;
+import com.budget.dto.LedgerListVersion;
+import com.budget.dto.LedgerVersion;
 import com.budget.model.Ledger;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface LedgerDao extends JpaRepository<Ledger, Long>{
 
@@ -19,7 +30,50 @@ public interface LedgerDao extends JpaRepository<Ledger, Long>{
     @Query("SELECT l FROM Ledger l WHERE l.personId = :personId AND l.name = :ledgerName AND l.deleted = false")
     Optional<Ledger> findByPersonIdAndNameAndDeletedFalse(@Param("personId") Long personId, @Param("ledgerName") String ledgerName);
 
-    @Query("SELECT l FROM Ledger l WHERE l.personId = :personId AND l.deleted = false ORDER BY l.ledgerId")
-    List<Ledger> findAllByPersonIdAndDeletedFalse(@Param("personId") Long personId);
+    @Query("SELECT CASE WHEN COUNT(l) > 0 THEN true ELSE false END FROM Ledger l WHERE l.personId = :personId "
+            + "AND l.normalizedName = LOWER(TRIM(:ledgerName)) AND l.deleted = false "
+            + "AND (:excludedLedgerId IS NULL OR l.ledgerId <> :excludedLedgerId)")
+    boolean existsActiveLedgerName(@Param("personId") Long personId, @Param("ledgerName") String ledgerName,
+            @Param("excludedLedgerId") Long excludedLedgerId);
+
+    @Query("SELECT l FROM Ledger l WHERE l.personId IN :personIds AND l.normalizedName IN :normalizedNames AND l.deleted = false")
+    List<Ledger> findActiveByPersonIdsAndNormalizedNames(@Param("personIds") Collection<Long> personIds,
+            @Param("normalizedNames") Collection<String> normalizedNames);
+
+    @Query("SELECT l FROM Ledger l WHERE l.ledgerId IN :ledgerIds AND l.deleted = false")
+    List<Ledger> findAllByIdInAndDeletedFalse(@Param("ledgerIds") Collection<Long> ledgerIds);
+
+    @Query("SELECT new com.budget.dto.LedgerDetail(l.ledgerId, l.personId, l.name, l.description, l.currency, "
+            + "l.version, l.createdAt, l.updatedAt, l.deleted) FROM Ledger l "
+            + "WHERE l.ledgerId = :ledgerId AND l.deleted = false")
+    Optional<LedgerDetail> findDetailById(@Param("ledgerId") Long ledgerId);
+
+    @Query("SELECT new com.budget.dto.LedgerVersion(l.ledgerId, l.version, l.updatedAt) FROM Ledger l "
+            + "WHERE l.ledgerId = :ledgerId AND l.deleted = false")
+    Optional<LedgerVersion> findVersionById(@Param("ledgerId") Long ledgerId);
+
+    @Query("SELECT new com.budget.dto.LedgerListVersion(COALESCE(SUM(CASE WHEN l.deleted = false THEN 1L ELSE 0L END), 0L), "
+            + "MAX(l.updatedAt)) FROM Ledger l WHERE l.personId = :personId")
+    LedgerListVersion findListVersionByPersonId(@Param("personId") Long personId);
+
+    @Query("SELECT new com.budget.dto.LedgerListItem(l.ledgerId, l.personId, l.name, l.currency, l.createdAt, "
+            + "l.updatedAt, l.deleted) FROM Ledger l "
+            + "WHERE l.personId = :personId AND l.deleted = false ORDER BY l.ledgerId")
+    List<LedgerListItem> findListItemsByPersonId(@Param("personId") Long personId);
+
+    @Query("SELECT new com.budget.dto.LedgerListItem(l.ledgerId, l.personId, l.name, l.currency, l.createdAt, "
+            + "l.updatedAt, l.deleted) FROM Ledger l "
+            + "WHERE l.personId = :personId AND l.deleted = false AND l.ledgerId > :afterLedgerId ORDER BY l.ledgerId")
+    List<LedgerListItem> findListItemPageByPersonId(@Param("personId") Long personId, @Param("afterLedgerId") Long afterLedgerId,
+            Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.budget.dto.LedgerListItem(l.ledgerId, l.personId, l.name, l.currency, l.createdAt, "
+            + "l.updatedAt, l.deleted) FROM Ledger l "
+            + "WHERE l.personId = :personId AND l.deleted = false ORDER BY l.ledgerId")
+    Stream<LedgerListItem> streamListItemsByPersonId(@Param("personId") Long personId);
 
 }
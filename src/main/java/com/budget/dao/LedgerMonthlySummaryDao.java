@@ -0,0 +1,35 @@
+package com.budget.dao;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.budget.model.LedgerMonthlySummary;
+import com.budget.model.LedgerMonthlySummaryId;
+
+@Repository
+public interface LedgerMonthlySummaryDao extends JpaRepository<LedgerMonthlySummary, LedgerMonthlySummaryId> {
+
+    @Query("SELECT s FROM LedgerMonthlySummary s WHERE s.ledgerId = :ledgerId AND s.entryCount <> 0 "
+            + "ORDER BY s.month DESC, s.category")
+    List<LedgerMonthlySummary> findAllByLedgerId(@Param("ledgerId") Long ledgerId);
+
+    @Query("SELECT s FROM LedgerMonthlySummary s WHERE s.ledgerId = :ledgerId AND s.month = :month")
+    List<LedgerMonthlySummary> findAllByLedgerIdAndMonth(@Param("ledgerId") Long ledgerId, @Param("month") LocalDate month);
+
+    @Modifying
+    @Query(value = "INSERT INTO ledger_monthly_summary (ledger_id, month, category, total_minor, entry_count) "
+            + "VALUES (:ledgerId, :month, :category, :amountMinor, :entryCount) "
+            + "ON CONFLICT (ledger_id, month, category) DO UPDATE SET "
+            + "total_minor = ledger_monthly_summary.total_minor + EXCLUDED.total_minor, "
+            + "entry_count = ledger_monthly_summary.entry_count + EXCLUDED.entry_count", nativeQuery = true)
+    void addToMonthlySummary(@Param("ledgerId") Long ledgerId, @Param("month") LocalDate month,
+            @Param("category") String category, @Param("amountMinor") long amountMinor,
+            @Param("entryCount") long entryCount);
+
+}
@@ -0,0 +1,58 @@
+package com.budget.dao;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.budget.model.LedgerOutboxEntry;
+
+@Repository
+public interface LedgerOutboxDao extends JpaRepository<LedgerOutboxEntry, Long> {
+
+    /**
+     * Locks the oldest pending entry of up to {@code limit} ledgers whose next change is due
+     * and not leased. That entry stands for its ledger: while one dispatcher holds it, locked
+     * here or leased afterwards, no other dispatcher claims any entry of the ledger.
+     */
+    @Query(value = "SELECT o.ledger_id FROM ledger_outbox o "
+            + "WHERE o.status = 'PENDING' AND o.available_at <= CURRENT_TIMESTAMP "
+            + "AND (o.leased_until IS NULL OR o.leased_until < CURRENT_TIMESTAMP) "
+            + "AND NOT EXISTS (SELECT 1 FROM ledger_outbox e WHERE e.ledger_id = o.ledger_id "
+            + "AND e.status = 'PENDING' AND e.outbox_id < o.outbox_id) "
+            + "ORDER BY o.outbox_id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> claimLedgers(@Param("limit") int limit);
+
+    /**
+     * Cutting the id-ordered list at {@code limit} leaves each ledger an unbroken run from
+     * its oldest pending entry.
+     */
+    @Query(value = "SELECT o.* FROM ledger_outbox o "
+            + "WHERE o.status = 'PENDING' AND o.ledger_id IN (:ledgerIds) "
+            + "ORDER BY o.outbox_id LIMIT :limit", nativeQuery = true)
+    List<LedgerOutboxEntry> findPendingByLedgerIds(@Param("ledgerIds") Collection<Long> ledgerIds, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE LedgerOutboxEntry o SET o.status = :status, o.processedAt = :processedAt, o.leasedUntil = NULL "
+            + "WHERE o.outboxId IN :outboxIds")
+    int markProcessed(@Param("outboxIds") Collection<Long> outboxIds, @Param("status") LedgerOutboxEntry.Status status,
+            @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Query("UPDATE LedgerOutboxEntry o SET o.leasedUntil = NULL WHERE o.outboxId IN :outboxIds")
+    int releaseLeases(@Param("outboxIds") Collection<Long> outboxIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM ledger_outbox WHERE outbox_id IN (SELECT outbox_id FROM ledger_outbox "
+            + "WHERE status = 'DONE' AND processed_at < :cutoff LIMIT :limit)", nativeQuery = true)
+    int deleteDeliveredBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Query("SELECT COUNT(o) FROM LedgerOutboxEntry o WHERE o.status = :status")
+    long countByStatus(@Param("status") LedgerOutboxEntry.Status status);
+
+}
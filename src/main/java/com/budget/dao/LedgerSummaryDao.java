@@ -0,0 +1,47 @@
+package com.budget.dao;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.budget.dto.LedgerBalance;
+import com.budget.model.LedgerSummary;
+
+@Repository
+public interface LedgerSummaryDao extends JpaRepository<LedgerSummary, Long> {
+
+    @Query("SELECT s FROM LedgerSummary s WHERE s.ledgerId = :ledgerId")
+    Optional<LedgerSummary> findByLedgerId(@Param("ledgerId") Long ledgerId);
+
+    @Query("SELECT new com.budget.dto.LedgerBalance(l.ledgerId, l.name, l.currency, COALESCE(s.balanceMinor, 0L)) "
+            + "FROM Ledger l LEFT JOIN LedgerSummary s ON s.ledgerId = l.ledgerId "
+            + "WHERE l.personId = :personId AND l.deleted = false ORDER BY l.ledgerId")
+    List<LedgerBalance> findBalancesByPersonId(@Param("personId") Long personId);
+
+    @Query(value = "SELECT home_currency FROM person WHERE person_id = :personId AND deleted = false", nativeQuery = true)
+    Optional<String> findHomeCurrencyByPersonId(@Param("personId") Long personId);
+
+    /**
+     * Shared advisory lock on the ledger until the transaction ends. Summary writers hold it
+     * together; a summary rebuild takes it exclusively while it replaces the ledger's rows.
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock_shared(:ledgerId)) locked", nativeQuery = true)
+    int lockForSummaryWrite(@Param("ledgerId") Long ledgerId);
+
+    /** Atomic increment, so concurrent writers to one ledger never lose an update. */
+    @Modifying
+    @Query(value = "INSERT INTO ledger_summary (ledger_id, balance_minor, entry_count, updated_at) "
+            + "VALUES (:ledgerId, :amountMinor, :entryCount, CURRENT_TIMESTAMP) "
+            + "ON CONFLICT (ledger_id) DO UPDATE SET "
+            + "balance_minor = ledger_summary.balance_minor + EXCLUDED.balance_minor, "
+            + "entry_count = ledger_summary.entry_count + EXCLUDED.entry_count, "
+            + "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    void addToLedgerSummary(@Param("ledgerId") Long ledgerId, @Param("amountMinor") long amountMinor,
+            @Param("entryCount") long entryCount);
+
+}
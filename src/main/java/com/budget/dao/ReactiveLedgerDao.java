@@ -0,0 +1,192 @@
+package com.budget.dao;
+
+import java.time.LocalDateTime;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+
+import com.budget.dto.LedgerDetail;
+import com.budget.dto.LedgerListItem;
+import com.budget.dto.LedgerListVersion;
+import com.budget.dto.LedgerVersion;
+import com.budget.event.LedgerChangedEvent.ChangeType;
+import com.budget.model.Ledger;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC counterpart of {@link LedgerDao} for the {@code reactive} profile. It runs the same
+ * queries as the JPQL ones, and every active-row filter can use the same partial indexes.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveLedgerDao {
+
+    private static final String LEDGER_COLUMNS = "ledger_id, person_id, name, description, currency, deleted, "
+            + "version, created_at, updated_at";
+    private static final String LIST_ITEM_COLUMNS = "ledger_id, person_id, name, currency, created_at, updated_at, deleted";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveLedgerDao(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Ledger> findByIdAndDeletedFalse(Long ledgerId) {
+        return databaseClient.sql("SELECT " + LEDGER_COLUMNS + " FROM ledger WHERE ledger_id = :ledgerId AND deleted = false")
+                .bind("ledgerId", ledgerId)
+                .map(ReactiveLedgerDao::toLedger)
+                .one();
+    }
+
+    public Mono<LedgerDetail> findDetailById(Long ledgerId) {
+        return databaseClient.sql("SELECT ledger_id, person_id, name, description, currency, version, created_at, "
+                        + "updated_at, deleted FROM ledger WHERE ledger_id = :ledgerId AND deleted = false")
+                .bind("ledgerId", ledgerId)
+                .map(row -> new LedgerDetail(row.get("ledger_id", Long.class), row.get("person_id", Long.class),
+                        row.get("name", String.class), row.get("description", String.class),
+                        row.get("currency", String.class), row.get("version", Long.class),
+                        row.get("created_at", LocalDateTime.class),
+                        row.get("updated_at", LocalDateTime.class), row.get("deleted", Boolean.class)))
+                .one();
+    }
+
+    public Mono<LedgerVersion> findVersionById(Long ledgerId) {
+        return databaseClient.sql("SELECT ledger_id, version, updated_at FROM ledger "
+                        + "WHERE ledger_id = :ledgerId AND deleted = false")
+                .bind("ledgerId", ledgerId)
+                .map(row -> new LedgerVersion(row.get("ledger_id", Long.class), row.get("version", Long.class),
+                        row.get("updated_at", LocalDateTime.class)))
+                .one();
+    }
+
+    public Mono<LedgerListVersion> findListVersionByPersonId(Long personId) {
+        return databaseClient.sql("SELECT COUNT(*) FILTER (WHERE deleted = false) AS active_count, "
+                        + "MAX(updated_at) AS last_updated_at FROM ledger WHERE person_id = :personId")
+                .bind("personId", personId)
+                .map(row -> new LedgerListVersion(row.get("active_count", Long.class),
+                        row.get("last_updated_at", LocalDateTime.class)))
+                .one();
+    }
+
+    public Flux<LedgerListItem> findListItemsByPersonId(Long personId) {
+        return databaseClient.sql("SELECT " + LIST_ITEM_COLUMNS + " FROM ledger "
+                        + "WHERE person_id = :personId AND deleted = false ORDER BY ledger_id")
+                .bind("personId", personId)
+                .map(ReactiveLedgerDao::toListItem)
+                .all();
+    }
+
+    public Flux<LedgerListItem> findListItemPageByPersonId(Long personId, Long afterLedgerId, int limit) {
+        return databaseClient.sql("SELECT " + LIST_ITEM_COLUMNS + " FROM ledger "
+                        + "WHERE person_id = :personId AND deleted = false AND ledger_id > :afterLedgerId "
+                        + "ORDER BY ledger_id LIMIT :limit")
+                .bind("personId", personId)
+                .bind("afterLedgerId", afterLedgerId)
+                .bind("limit", limit)
+                .map(ReactiveLedgerDao::toListItem)
+                .all();
+    }
+
+    /**
+     * @param excludedLedgerId ledger allowed to hold the name already, null when creating
+     */
+    public Mono<Boolean> existsActiveLedgerName(Long personId, String ledgerName, Long excludedLedgerId) {
+        return databaseClient.sql("SELECT EXISTS (SELECT 1 FROM ledger WHERE person_id = :personId "
+                        + "AND normalized_name = LOWER(TRIM(:ledgerName)) AND deleted = false "
+                        + "AND ledger_id <> :excludedLedgerId)")
+                .bind("personId", personId)
+                .bind("ledgerName", ledgerName)
+                // Ledger ids start at 1, so 0 excludes nothing.
+                .bind("excludedLedgerId", excludedLedgerId == null ? 0L : excludedLedgerId)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    public Mono<Ledger> insert(Ledger ledger, LocalDateTime now) {
+        GenericExecuteSpec spec = databaseClient.sql("INSERT INTO ledger (ledger_id, person_id, name, description, "
+                        + "currency, deleted, version, created_at, updated_at) "
+                        + "VALUES (:ledgerId, :personId, :name, :description, :currency, false, 0, :now, :now) "
+                        + "RETURNING " + LEDGER_COLUMNS)
+                .bind("ledgerId", ledger.getLedgerId())
+                .bind("personId", ledger.getPersonId())
+                .bind("name", ledger.getName())
+                .bind("currency", ledger.getCurrency())
+                .bind("now", now);
+        return bindDescription(spec, ledger).map(ReactiveLedgerDao::toLedger).one();
+    }
+
+    /**
+     * @return the updated ledger, empty when it is deleted or no longer at {@code expectedVersion}
+     */
+    public Mono<Ledger> update(Ledger ledger, Long expectedVersion, LocalDateTime now) {
+        GenericExecuteSpec spec = databaseClient.sql("UPDATE ledger SET person_id = :personId, name = :name, "
+                        + "description = :description, currency = :currency, version = version + 1, updated_at = :now "
+                        + "WHERE ledger_id = :ledgerId AND version = :version AND deleted = false "
+                        + "RETURNING " + LEDGER_COLUMNS)
+                .bind("personId", ledger.getPersonId())
+                .bind("name", ledger.getName())
+                .bind("currency", ledger.getCurrency())
+                .bind("now", now)
+                .bind("ledgerId", ledger.getLedgerId())
+                .bind("version", expectedVersion);
+        return bindDescription(spec, ledger).map(ReactiveLedgerDao::toLedger).one();
+    }
+
+    /**
+     * @return the deleted ledger, empty when there was no active ledger to delete
+     */
+    public Mono<Ledger> softDelete(Long ledgerId, LocalDateTime now) {
+        return databaseClient.sql("UPDATE ledger SET deleted = true, version = version + 1, updated_at = :now "
+                        + "WHERE ledger_id = :ledgerId AND deleted = false RETURNING " + LEDGER_COLUMNS)
+                .bind("ledgerId", ledgerId)
+                .bind("now", now)
+                .map(ReactiveLedgerDao::toLedger)
+                .one();
+    }
+
+    /**
+     * Same row as {@link com.budget.event.LedgerOutboxWriter} writes, so the outbox dispatcher
+     * delivers changes from either stack.
+     */
+    public Mono<Void> insertOutboxEntry(Long ledgerId, ChangeType changeType, String payload, LocalDateTime now) {
+        return databaseClient.sql("INSERT INTO ledger_outbox (ledger_id, change_type, payload, created_at, available_at) "
+                        + "VALUES (:ledgerId, :changeType, :payload, :now, :now)")
+                .bind("ledgerId", ledgerId)
+                .bind("changeType", changeType.name())
+                .bind("payload", payload)
+                .bind("now", now)
+                .then();
+    }
+
+    private static GenericExecuteSpec bindDescription(GenericExecuteSpec spec, Ledger ledger) {
+        return ledger.getDescription() == null
+                ? spec.bindNull("description", String.class)
+                : spec.bind("description", ledger.getDescription());
+    }
+
+    private static LedgerListItem toListItem(Readable row) {
+        return new LedgerListItem(row.get("ledger_id", Long.class), row.get("person_id", Long.class),
+                row.get("name", String.class), row.get("currency", String.class), row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class), row.get("deleted", Boolean.class));
+    }
+
+    private static Ledger toLedger(Readable row) {
+        Ledger ledger = new Ledger();
+        ledger.setLedgerId(row.get("ledger_id", Long.class));
+        ledger.setPersonId(row.get("person_id", Long.class));
+        ledger.setName(row.get("name", String.class));
+        ledger.setDescription(row.get("description", String.class));
+        ledger.setCurrency(row.get("currency", String.class));
+        ledger.setDeleted(Boolean.TRUE.equals(row.get("deleted", Boolean.class)));
+        ledger.setVersion(row.get("version", Long.class));
+        ledger.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        ledger.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return ledger;
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.budget.datasource;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * After a write transaction commits on a request thread, pins the rest of the request to
+ * the primary and sets a cookie that keeps the client's next requests there for the
+ * read-your-writes window. Writes from jobs and other non-request threads are ignored.
+ */
+public class ReadYourWritesListener implements TransactionExecutionListener {
+
+    private final Duration window;
+
+    public ReadYourWritesListener(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (Objects.nonNull(commitFailure) || transaction.isReadOnly() || !transaction.isNewTransaction()) {
+            return;
+        }
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+
+        ReplicaRoutingContext.pinToPrimary();
+        HttpServletResponse response = attributes.getResponse();
+        if (Objects.nonNull(response) && !response.isCommitted()) {
+            Cookie cookie = new Cookie(ReadYourWritesFilter.COOKIE_NAME,
+                    Long.toString(System.currentTimeMillis() + window.toMillis()));
+            cookie.setMaxAge((int) Math.max(1, (window.toMillis() + 999) / 1000));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+    }
+
+}
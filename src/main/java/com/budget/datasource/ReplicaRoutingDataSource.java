@@ -0,0 +1,110 @@
+package com.budget.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.budget.config.ReplicaDataSourceProperties.Balancing;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends connections for read-only transactions to a replica and everything else to the
+ * primary. The read-only flag is only known once the transaction has started, so this
+ * must sit behind a {@code LazyConnectionDataSourceProxy}, which fetches the connection
+ * at the first statement. A replica that cannot hand out a connection is skipped in
+ * favour of the primary rather than failing the read.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final Balancing balancing;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Balancing balancing) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.balancing = balancing;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    @Override
+    public void close() {
+        replicas.stream()
+                .filter(HikariDataSource.class::isInstance)
+                .map(HikariDataSource.class::cast)
+                .forEach(HikariDataSource::close);
+    }
+
+    private Connection route(ConnectionSource connectionSource) throws SQLException {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReplicaRoutingContext.isPinnedToPrimary()) {
+            return connectionSource.connect(primary);
+        }
+
+        DataSource replica = selectReplica();
+        try {
+            return connectionSource.connect(replica);
+        } catch (SQLException e) {
+            log.warn("Replica unavailable, reading from the primary: {}", e.getMessage());
+            return connectionSource.connect(primary);
+        }
+    }
+
+    DataSource selectReplica() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        if (balancing == Balancing.ROUND_ROBIN) {
+            return replicas.get(start);
+        }
+
+        // Scanning from a rotating start spreads ties, e.g. when every pool is idle.
+        DataSource selected = replicas.get(start);
+        int fewest = activeConnections(selected);
+        for (int i = 1; i < replicas.size() && fewest > 0; i++) {
+            DataSource replica = replicas.get((start + i) % replicas.size());
+            int active = activeConnections(replica);
+            if (active < fewest) {
+                fewest = active;
+                selected = replica;
+            }
+        }
+        return selected;
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikariDataSource) {
+            // The pool MXBean only exists once the pool has started.
+            HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+            return Objects.isNull(pool) ? 0 : pool.getActiveConnections();
+        }
+        return 0;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+
+        Connection connect(DataSource dataSource) throws SQLException;
+
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.budget.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.budget.model.BudgetUsage;
+
+/**
+ * Raised when a write takes a month's spending across the warning threshold or the limit
+ * of a budget.
+ *
+ * @param category   null for a limit on the whole ledger
+ * @param month      first day of the month the spending falls in
+ * @param spentMinor total after the write, in minor units of the ledger currency
+ */
+public record BudgetAlert(Long ledgerId, Long budgetLimitId, String category, LocalDate month, BudgetUsage.Level level,
+        long spentMinor, long limitMinor, LocalDateTime raisedAt) {
+}
@@ -0,0 +1,16 @@
+package com.budget.dto;
+
+import java.time.LocalDate;
+
+import com.budget.model.BudgetUsage;
+
+/**
+ * A budget limit with what was spent against it in one month.
+ *
+ * @param category   null for a limit on the whole ledger
+ * @param spentMinor from ledger_monthly_summary, in minor units of the ledger currency
+ * @param alertLevel highest level alerted for the month and not since fallen below
+ */
+public record BudgetLimitStatus(Long budgetLimitId, String category, long limitMinor, int warnPercent, LocalDate month,
+        long spentMinor, BudgetUsage.Level alertLevel) {
+}
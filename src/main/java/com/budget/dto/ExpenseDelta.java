@@ -0,0 +1,30 @@
+package com.budget.dto;
+
+import java.time.LocalDate;
+
+import com.budget.model.Expense;
+
+/**
+ * Change an expense write makes to its ledger's running totals.
+ *
+ * @param month first day of the month the expense occurred in
+ */
+public record ExpenseDelta(Long ledgerId, LocalDate month, String category, long amountMinor, long entryCount) {
+
+    public static ExpenseDelta added(Expense expense) {
+        return new ExpenseDelta(expense.getLedgerId(), monthOf(expense), expense.getCategory(), expense.getAmountMinor(), 1);
+    }
+
+    public static ExpenseDelta removed(Expense expense) {
+        return new ExpenseDelta(expense.getLedgerId(), monthOf(expense), expense.getCategory(), -expense.getAmountMinor(), -1);
+    }
+
+    public ExpenseDelta plus(ExpenseDelta other) {
+        return new ExpenseDelta(ledgerId, month, category, amountMinor + other.amountMinor, entryCount + other.entryCount);
+    }
+
+    private static LocalDate monthOf(Expense expense) {
+        return expense.getOccurredAt().toLocalDate().withDayOfMonth(1);
+    }
+
+}
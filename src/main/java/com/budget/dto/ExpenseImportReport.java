@@ -0,0 +1,17 @@
+package com.budget.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk expense import.
+ *
+ * @param skippedRows rows an earlier request with the same import id already committed; not part of {@code totalRows}
+ * @param errors      rejected rows in file order, capped at the configured maximum; {@code rejectedRows} counts all of them
+ */
+public record ExpenseImportReport(long totalRows, long importedRows, long rejectedRows, long skippedRows,
+        List<RowError> errors, long elapsedMillis) {
+
+    public record RowError(long line, String message) {
+    }
+
+}
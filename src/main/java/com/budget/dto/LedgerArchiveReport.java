@@ -0,0 +1,8 @@
+package com.budget.dto;
+
+/**
+ * @param ledgers  ledgers moved to ledger_archive
+ * @param expenses expenses moved to expense_archive along with them
+ */
+public record LedgerArchiveReport(int batches, long ledgers, long expenses, long elapsedMillis) {
+}
@@ -0,0 +1,7 @@
+package com.budget.dto;
+
+/**
+ * A ledger's balance from ledger_summary, zero for ledgers without entries.
+ */
+public record LedgerBalance(Long ledgerId, String name, String currency, Long balanceMinor) {
+}
@@ -0,0 +1,12 @@
+package com.budget.dto;
+
+import java.util.List;
+
+public record LedgerBatchResponse(int succeeded, int failed, List<LedgerBatchResult> results) {
+
+    public static LedgerBatchResponse of(List<LedgerBatchResult> results) {
+        int succeeded = (int) results.stream().filter(LedgerBatchResult::succeeded).count();
+        return new LedgerBatchResponse(succeeded, results.size() - succeeded, results);
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.budget.dto;
+
+import org.springframework.http.HttpStatus;
+
+import com.budget.model.Ledger;
+
+/**
+ * Outcome of one item of a batch write.
+ *
+ * @param index  position of the item in the request
+ * @param status HTTP status the item would have received on its own
+ * @param ledger the written ledger, null when the item failed
+ * @param error  failure reason, null when the item succeeded
+ */
+public record LedgerBatchResult(int index, int status, Ledger ledger, String error) {
+
+    public static LedgerBatchResult success(int index, HttpStatus status, Ledger ledger) {
+        return new LedgerBatchResult(index, status.value(), ledger, null);
+    }
+
+    public static LedgerBatchResult failure(int index, HttpStatus status, String error) {
+        return new LedgerBatchResult(index, status.value(), null, error);
+    }
+
+    public boolean succeeded() {
+        return error == null;
+    }
+
+}
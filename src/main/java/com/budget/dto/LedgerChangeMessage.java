@@ -0,0 +1,22 @@
+package com.budget.dto;
+
+import java.time.LocalDateTime;
+
+import com.budget.event.LedgerChangedEvent;
+import com.budget.event.LedgerChangedEvent.ChangeType;
+import com.budget.model.Ledger;
+
+/**
+ * Outbox payload delivered to {@link com.budget.event.LedgerChangeConsumer}s. Delivery is
+ * at least once, so consumers should ignore a message whose version they have already seen.
+ */
+public record LedgerChangeMessage(ChangeType changeType, Long ledgerId, Long personId, Long previousPersonId,
+        String name, String currency, Long version, LocalDateTime changedAt) {
+
+    public static LedgerChangeMessage of(LedgerChangedEvent event) {
+        Ledger ledger = event.ledger();
+        return new LedgerChangeMessage(event.changeType(), ledger.getLedgerId(), ledger.getPersonId(),
+                event.previousPersonId(), ledger.getName(), ledger.getCurrency(), ledger.getVersion(), ledger.getUpdatedAt());
+    }
+
+}
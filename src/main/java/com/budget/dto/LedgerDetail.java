@@ -0,0 +1,12 @@
+package com.budget.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a single ledger, selected straight into the record so no entity is
+ * hydrated or snapshotted for dirty checking. It carries the version, so a cached copy
+ * can be checked against the row before it is sent under the row's ETag.
+ */
+public record LedgerDetail(Long ledgerId, Long personId, String name, String description, String currency,
+        Long version, LocalDateTime createdAt, LocalDateTime updatedAt, Boolean deleted) {
+}
@@ -0,0 +1,10 @@
+package com.budget.dto;
+
+/**
+ * Outcome of a ledger export.
+ *
+ * @param file         path of the written file, null when the export was streamed
+ * @param lastLedgerId cursor to pass as {@code after} to continue the export, null when no rows were written
+ */
+public record LedgerExportReport(String file, long rows, Long lastLedgerId, long elapsedMillis) {
+}
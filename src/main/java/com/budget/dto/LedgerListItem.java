@@ -0,0 +1,11 @@
+package com.budget.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ledger row for listings, selected without the description column. The other fields
+ * match what listings returned when they were entities.
+ */
+public record LedgerListItem(Long ledgerId, Long personId, String name, String currency, LocalDateTime createdAt,
+        LocalDateTime updatedAt, Boolean deleted) {
+}
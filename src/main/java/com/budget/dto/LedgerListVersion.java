@@ -0,0 +1,36 @@
+package com.budget.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * Validator fields of a person's ledger listing. The latest update is taken over deleted
+ * rows too, since a soft delete bumps updated_at; the active count changes when a ledger
+ * moves to another person.
+ *
+ * @param lastUpdatedAt null when the person has never had a ledger
+ */
+public record LedgerListVersion(Long activeCount, LocalDateTime lastUpdatedAt) {
+
+    /** Uses microseconds, the precision of the column, so two writes in one millisecond still differ. */
+    public String etag() {
+        if (Objects.isNull(lastUpdatedAt)) {
+            return "\"" + activeCount + "\"";
+        }
+        Instant instant = toInstant();
+        long micros = instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+        return "\"" + activeCount + "-" + Long.toHexString(micros) + "\"";
+    }
+
+    /** Epoch milliseconds, or -1 when there is nothing to compare against. */
+    public long lastModified() {
+        return Objects.isNull(lastUpdatedAt) ? -1L : toInstant().toEpochMilli();
+    }
+
+    private Instant toInstant() {
+        return lastUpdatedAt.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+}
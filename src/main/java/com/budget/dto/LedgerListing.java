@@ -0,0 +1,13 @@
+package com.budget.dto;
+
+import java.util.List;
+
+/**
+ * A person's active ledgers together with the list version read just before them, so a
+ * cached listing can be checked against the database before it is sent under its ETag.
+ * The version is read first, so it is never newer than the ledgers.
+ *
+ * @param ledgers ledgers ordered by ledgerId
+ */
+public record LedgerListing(LedgerListVersion version, List<LedgerListItem> ledgers) {
+}
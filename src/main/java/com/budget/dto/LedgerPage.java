@@ -0,0 +1,12 @@
+package com.budget.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of a person's ledgers.
+ *
+ * @param ledgers    ledgers ordered by ledgerId
+ * @param nextCursor value to pass as {@code after} for the next page, null on the last page
+ */
+public record LedgerPage(List<LedgerListItem> ledgers, Long nextCursor) {
+}
@@ -0,0 +1,9 @@
+package com.budget.dto;
+
+import java.util.List;
+
+import com.budget.model.LedgerMonthlySummary;
+
+public record LedgerSummaryResponse(Long ledgerId, String currency, long balanceMinor, long entryCount,
+        List<LedgerMonthlySummary> months) {
+}
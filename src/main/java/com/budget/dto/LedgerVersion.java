@@ -0,0 +1,29 @@
+package com.budget.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import com.budget.model.Ledger;
+
+/**
+ * Validator fields of a single ledger, read without hydrating the entity.
+ */
+public record LedgerVersion(Long ledgerId, Long version, LocalDateTime updatedAt) {
+
+    public static LedgerVersion of(Ledger ledger) {
+        return new LedgerVersion(ledger.getLedgerId(), ledger.getVersion(), ledger.getUpdatedAt());
+    }
+
+    public static LedgerVersion of(LedgerDetail ledger) {
+        return new LedgerVersion(ledger.ledgerId(), ledger.version(), ledger.updatedAt());
+    }
+
+    public String etag() {
+        return "\"" + ledgerId + "-" + version + "-" + Long.toHexString(lastModified()) + "\"";
+    }
+
+    public long lastModified() {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+}
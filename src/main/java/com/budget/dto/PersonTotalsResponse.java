@@ -0,0 +1,17 @@
+package com.budget.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A person's ledger balances converted to one currency.
+ *
+ * @param ratesAsOf date of the exchange rates used, null when no conversion was needed and no rates are loaded
+ */
+public record PersonTotalsResponse(Long personId, String currency, LocalDate ratesAsOf, long totalMinor,
+        List<ConvertedBalance> ledgers) {
+
+    public record ConvertedBalance(Long ledgerId, String name, String currency, long balanceMinor, long convertedMinor) {
+    }
+
+}
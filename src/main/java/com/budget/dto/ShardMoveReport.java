@@ -0,0 +1,9 @@
+package com.budget.dto;
+
+/**
+ * @param ledgers  live ledgers copied; archived ledgers move too but are not counted
+ * @param expenses live expenses copied along with them
+ */
+public record ShardMoveReport(Long personId, String fromShard, String toShard, long ledgers, long expenses,
+        long elapsedMillis) {
+}
@@ -0,0 +1,8 @@
+package com.budget.dto;
+
+/**
+ * @param failed persons whose copy failed; they stay where they were and are retried next run
+ * @param pruned directory entries dropped because the hash ring now places the person there anyway
+ */
+public record ShardRebalanceReport(int moved, int failed, int pruned, long elapsedMillis) {
+}
@@ -0,0 +1,8 @@
+package com.budget.dto;
+
+/**
+ * @param driftedLedgers ledgers whose stored summaries disagreed with their entries
+ * @param repaired       whether drifted chunks were recomputed or only reported
+ */
+public record SummaryRebuildReport(int chunks, long driftedLedgers, boolean repaired, long elapsedMillis) {
+}
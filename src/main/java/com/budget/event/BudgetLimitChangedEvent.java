@@ -0,0 +1,8 @@
+package com.budget.event;
+
+/**
+ * Published by the budget limit service when a limit of the ledger is created, changed or
+ * removed.
+ */
+public record BudgetLimitChangedEvent(Long ledgerId) {
+}
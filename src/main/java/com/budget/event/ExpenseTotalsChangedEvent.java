@@ -0,0 +1,12 @@
+package com.budget.event;
+
+import java.util.Collection;
+
+import com.budget.dto.ExpenseDelta;
+
+/**
+ * Published by the summary service for every expense write, with the deltas folded per
+ * ledger, month and category exactly as they were added to ledger_monthly_summary.
+ */
+public record ExpenseTotalsChangedEvent(Collection<ExpenseDelta> deltas) {
+}
@@ -0,0 +1,55 @@
+package com.budget.event;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.budget.config.CacheConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class LedgerCacheEvictionListener {
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public LedgerCacheEvictionListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Evicts only after commit so a reader can never repopulate the cache with a row
+     * the writing transaction is about to change or soft delete. A reader that loaded the
+     * old row before the commit cannot put it back either: the caches from
+     * {@link CacheConfig} drop fills whose key was evicted while they were being read.
+     * Runs before the other after-commit listeners, so anything they trigger reads past
+     * the evicted entries.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        evict(CacheConfig.LEDGER_BY_ID, event.ledgerId());
+        evict(CacheConfig.LEDGER_DETAIL_BY_ID, event.ledgerId());
+        evict(CacheConfig.LEDGERS_BY_PERSON_ID, event.personId());
+
+        if (event.ownerChanged()) {
+            evict(CacheConfig.LEDGERS_BY_PERSON_ID, event.previousPersonId());
+        }
+    }
+
+    private void evict(String cacheName, Long key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            log.debug("Evicting {} from cache {}", key, cacheName);
+            cache.evict(key);
+        }
+    }
+
+}
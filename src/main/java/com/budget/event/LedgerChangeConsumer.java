@@ -0,0 +1,13 @@
+package com.budget.event;
+
+import com.budget.dto.LedgerChangeMessage;
+
+/**
+ * Receives ledger changes from the outbox dispatcher, off the request thread and after
+ * commit. Throwing schedules the message for a retry with backoff.
+ */
+public interface LedgerChangeConsumer {
+
+    void accept(LedgerChangeMessage message) throws Exception;
+
+}
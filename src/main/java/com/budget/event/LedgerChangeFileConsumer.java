@@ -0,0 +1,58 @@
+package com.budget.event;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.budget.config.LedgerOutboxProperties;
+import com.budget.dto.LedgerChangeMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Appends each change as one NDJSON line, a local stand-in for a message queue.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ledger.outbox", name = "file-path")
+public class LedgerChangeFileConsumer implements LedgerChangeConsumer {
+
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @Autowired
+    public LedgerChangeFileConsumer(ObjectMapper objectMapper, LedgerOutboxProperties properties) throws IOException {
+        this.objectMapper = objectMapper;
+        this.channel = FileChannel.open(Path.of(properties.getFilePath()),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void accept(LedgerChangeMessage message) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(message);
+        ByteBuffer line = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        // Lines from concurrent dispatcher threads must not interleave.
+        writeLock.lock();
+        try {
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.budget.event;
+
+import com.budget.model.Ledger;
+
+/**
+ * Published by the ledger service for every committed create, update or soft delete.
+ *
+ * @param changeType       what happened to the ledger
+ * @param ledger           the ledger as written
+ * @param previousPersonId owner before the write, differs from the ledger's personId when an update moved it
+ */
+public record LedgerChangedEvent(ChangeType changeType, Ledger ledger, Long previousPersonId) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static LedgerChangedEvent created(Ledger ledger) {
+        return new LedgerChangedEvent(ChangeType.CREATED, ledger, ledger.getPersonId());
+    }
+
+    public static LedgerChangedEvent updated(Ledger ledger, Long previousPersonId) {
+        return new LedgerChangedEvent(ChangeType.UPDATED, ledger, previousPersonId);
+    }
+
+    public static LedgerChangedEvent deleted(Ledger ledger) {
+        return new LedgerChangedEvent(ChangeType.DELETED, ledger, ledger.getPersonId());
+    }
+
+    public Long ledgerId() {
+        return ledger.getLedgerId();
+    }
+
+    public Long personId() {
+        return ledger.getPersonId();
+    }
+
+    public boolean ownerChanged() {
+        return previousPersonId != null && !previousPersonId.equals(ledger.getPersonId());
+    }
+
+}
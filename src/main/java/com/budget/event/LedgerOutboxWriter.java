@@ -0,0 +1,49 @@
+package com.budget.event;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.budget.dao.LedgerOutboxDao;
+import com.budget.dto.LedgerChangeMessage;
+import com.budget.model.LedgerOutboxEntry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class LedgerOutboxWriter {
+
+    private final LedgerOutboxDao ledgerOutboxDao;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public LedgerOutboxWriter(LedgerOutboxDao ledgerOutboxDao, ObjectMapper objectMapper) {
+        this.ledgerOutboxDao = ledgerOutboxDao;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Runs inside the writing transaction, so the outbox row commits or rolls back
+     * together with the ledger change it describes.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onLedgerChanged(LedgerChangedEvent event) throws JsonProcessingException {
+        LocalDateTime now = LocalDateTime.now();
+        LedgerOutboxEntry entry = new LedgerOutboxEntry();
+        entry.setLedgerId(event.ledgerId());
+        entry.setChangeType(event.changeType());
+        entry.setPayload(objectMapper.writeValueAsString(LedgerChangeMessage.of(event)));
+        entry.setCreatedAt(now);
+        entry.setAvailableAt(now);
+
+        log.debug("Queueing {} of ledgerId {} in the outbox", event.changeType(), event.ledgerId());
+        ledgerOutboxDao.save(entry);
+    }
+
+}
@@ -1,16 +1,29 @@
 package com.budget.exception;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final String API_EXCEPTIONS_METRIC = "ledger.api.exceptions";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(ApiException.class)
     public ResponseEntity<String> handleException(ApiException e) {
         HttpStatus status = e.getStatus() != null ? e.getStatus() : HttpStatus.INTERNAL_SERVER_ERROR;
+        meterRegistry.counter(API_EXCEPTIONS_METRIC, "status", String.valueOf(status.value())).increment();
         return ResponseEntity.status(status).body(e.getMessage());
     }
 }
@@ -0,0 +1,133 @@
+package com.budget.export;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import com.budget.dto.LedgerDetail;
+
+/**
+ * Reads files written by {@link ColumnarLedgerExportWriter}, one row group in memory at a
+ * time. Gzipped files must be unwrapped by the caller.
+ */
+public class ColumnarLedgerExportReader implements Closeable {
+
+    private final DataInputStream in;
+
+    private LedgerDetail[] group = new LedgerDetail[0];
+    private int position;
+    private long rowsRead;
+    private boolean finished;
+
+    public ColumnarLedgerExportReader(InputStream inputStream) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(inputStream));
+        byte[] magic = new byte[ColumnarLedgerExportWriter.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, ColumnarLedgerExportWriter.MAGIC) || in.readByte() != ColumnarLedgerExportWriter.VERSION) {
+            throw new IOException("Not a columnar ledger export.");
+        }
+    }
+
+    /**
+     * @return the next ledger, or null after the trailer
+     * @throws EOFException if the file ends inside a group or before the trailer
+     */
+    public LedgerDetail next() throws IOException {
+        if (position == group.length) {
+            if (finished || !readGroup()) {
+                return null;
+            }
+        }
+        return group[position++];
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean readGroup() throws IOException {
+        int size = (int) readVarLong();
+        if (size == 0) {
+            long totalRows = readVarLong();
+            if (totalRows != rowsRead) {
+                throw new IOException("Trailer counts " + totalRows + " rows but " + rowsRead + " were read.");
+            }
+            finished = true;
+            return false;
+        }
+
+        long[] ledgerIds = new long[size];
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += readVarLong();
+            ledgerIds[i] = previous;
+        }
+        long[] personIds = new long[size];
+        previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += ColumnarLedgerExportWriter.unzigzag(readVarLong());
+            personIds[i] = previous;
+        }
+        String[] names = readStrings(size);
+        String[] descriptions = readStrings(size);
+        String[] currencies = readStrings(size);
+        LocalDateTime[] createdAt = readTimestamps(size);
+        LocalDateTime[] updatedAt = readTimestamps(size);
+
+        group = new LedgerDetail[size];
+        for (int i = 0; i < size; i++) {
+            // Exports only hold active ledgers, and this format does not keep their versions.
+            group[i] = new LedgerDetail(ledgerIds[i], personIds[i], names[i], descriptions[i], currencies[i], null,
+                    createdAt[i], updatedAt[i], Boolean.FALSE);
+        }
+        position = 0;
+        rowsRead += size;
+        return true;
+    }
+
+    private String[] readStrings(int size) throws IOException {
+        String[] column = new String[size];
+        for (int i = 0; i < size; i++) {
+            long length = readVarLong();
+            if (length > 0) {
+                byte[] bytes = new byte[(int) (length - 1)];
+                in.readFully(bytes);
+                column[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return column;
+    }
+
+    private LocalDateTime[] readTimestamps(int size) throws IOException {
+        LocalDateTime[] column = new LocalDateTime[size];
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            long encoded = readVarLong();
+            if (encoded != 0) {
+                previous += ColumnarLedgerExportWriter.unzigzag(encoded - 1);
+                column[i] = ColumnarLedgerExportWriter.fromEpochMicros(previous);
+            }
+        }
+        return column;
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint.");
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.budget.export;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.budget.dto.LedgerDetail;
+
+/**
+ * Compact column-oriented binary format for large exports. Rows are buffered into groups of
+ * {@code rowGroupSize} and each group is written column by column, so similar values sit
+ * next to each other and ids and timestamps shrink to small deltas:
+ *
+ * <pre>
+ * file      = "LCOL" version:u8 group* 0:varint totalRows:varint
+ * group     = rowCount:varint ledgerId* personId* name* description* currency* createdAt* updatedAt*
+ * ledgerId  = varint delta from the previous row (ids ascend)
+ * personId  = zigzag varint delta from the previous row
+ * string    = varint (UTF-8 length + 1) then the bytes, 0 for null
+ * timestamp = varint (zigzag delta of UTC epoch micros + 1), 0 for null
+ * </pre>
+ *
+ * Deltas restart at zero in every group, so each group decodes on its own. The last
+ * ledger id of the last complete group is the cursor a truncated export resumes from.
+ */
+public class ColumnarLedgerExportWriter implements LedgerExportWriter {
+
+    static final byte[] MAGIC = { 'L', 'C', 'O', 'L' };
+    static final byte VERSION = 1;
+
+    private final ExportChannel out;
+    private final long[] ledgerIds;
+    private final long[] personIds;
+    private final String[] names;
+    private final String[] descriptions;
+    private final String[] currencies;
+    private final LocalDateTime[] createdAt;
+    private final LocalDateTime[] updatedAt;
+
+    private int size;
+    private long totalRows;
+
+    ColumnarLedgerExportWriter(ExportChannel out, int rowGroupSize) throws IOException {
+        this.out = out;
+        this.ledgerIds = new long[rowGroupSize];
+        this.personIds = new long[rowGroupSize];
+        this.names = new String[rowGroupSize];
+        this.descriptions = new String[rowGroupSize];
+        this.currencies = new String[rowGroupSize];
+        this.createdAt = new LocalDateTime[rowGroupSize];
+        this.updatedAt = new LocalDateTime[rowGroupSize];
+        out.put(MAGIC);
+        out.put(VERSION);
+    }
+
+    @Override
+    public void write(LedgerDetail ledger) throws IOException {
+        ledgerIds[size] = ledger.ledgerId();
+        personIds[size] = ledger.personId();
+        names[size] = ledger.name();
+        descriptions[size] = ledger.description();
+        currencies[size] = ledger.currency();
+        createdAt[size] = ledger.createdAt();
+        updatedAt[size] = ledger.updatedAt();
+        if (++size == ledgerIds.length) {
+            writeGroup();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (size > 0) {
+            writeGroup();
+        }
+        out.putVarLong(0);
+        out.putVarLong(totalRows);
+        out.finish();
+    }
+
+    private void writeGroup() throws IOException {
+        out.putVarLong(size);
+
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            out.putVarLong(ledgerIds[i] - previous);
+            previous = ledgerIds[i];
+        }
+        previous = 0;
+        for (int i = 0; i < size; i++) {
+            out.putVarLong(zigzag(personIds[i] - previous));
+            previous = personIds[i];
+        }
+        writeStrings(names);
+        writeStrings(descriptions);
+        writeStrings(currencies);
+        writeTimestamps(createdAt);
+        writeTimestamps(updatedAt);
+
+        totalRows += size;
+        size = 0;
+        // Drop references so the previous group's strings can be collected.
+        Arrays.fill(names, null);
+        Arrays.fill(descriptions, null);
+        Arrays.fill(currencies, null);
+    }
+
+    private void writeStrings(String[] column) throws IOException {
+        for (int i = 0; i < size; i++) {
+            if (Objects.isNull(column[i])) {
+                out.putVarLong(0);
+            } else {
+                byte[] bytes = column[i].getBytes(StandardCharsets.UTF_8);
+                out.putVarLong(bytes.length + 1L);
+                out.put(bytes);
+            }
+        }
+    }
+
+    private void writeTimestamps(LocalDateTime[] column) throws IOException {
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            if (Objects.isNull(column[i])) {
+                out.putVarLong(0);
+            } else {
+                long micros = toEpochMicros(column[i]);
+                out.putVarLong(zigzag(micros - previous) + 1);
+                previous = micros;
+            }
+            column[i] = null;
+        }
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static long toEpochMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.budget.export;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.budget.dto.LedgerDetail;
+
+/**
+ * RFC 4180 CSV with a header row. Timestamps are ISO-8601 and null values are empty fields.
+ */
+public class CsvLedgerExportWriter implements LedgerExportWriter {
+
+    static final String HEADER = "ledgerId,personId,name,description,currency,createdAt,updatedAt\r\n";
+
+    private final ExportChannel out;
+    private final StringBuilder line = new StringBuilder(256);
+
+    CsvLedgerExportWriter(ExportChannel out) throws IOException {
+        this.out = out;
+        out.put(HEADER.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void write(LedgerDetail ledger) throws IOException {
+        line.setLength(0);
+        line.append(ledger.ledgerId()).append(',').append(ledger.personId()).append(',');
+        appendText(ledger.name()).append(',');
+        appendText(ledger.description()).append(',');
+        appendText(ledger.currency()).append(',');
+        appendTimestamp(ledger.createdAt()).append(',');
+        appendTimestamp(ledger.updatedAt()).append("\r\n");
+        out.put(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.finish();
+    }
+
+    private StringBuilder appendText(String value) {
+        if (Objects.isNull(value)) {
+            return line;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return line.append(value);
+        }
+        return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private StringBuilder appendTimestamp(LocalDateTime value) {
+        return Objects.isNull(value) ? line : line.append(value);
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.budget.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Fixed-size direct buffer in front of the target channel, optionally through gzip. It is
+ * the only place export bytes are held, so memory use does not grow with the row count.
+ * The target channel is never closed here; it belongs to the caller.
+ */
+final class ExportChannel {
+
+    private final WritableByteChannel target;
+    private final GZIPOutputStream gzip;
+    private final ByteBuffer buffer;
+
+    ExportChannel(WritableByteChannel channel, boolean gzip, int bufferSize) throws IOException {
+        if (gzip) {
+            this.gzip = new GZIPOutputStream(Channels.newOutputStream(channel), bufferSize);
+            this.target = Channels.newChannel(this.gzip);
+        } else {
+            this.gzip = null;
+            this.target = channel;
+        }
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    void put(byte value) throws IOException {
+        ensureRemaining(1);
+        buffer.put(value);
+    }
+
+    void put(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /** Unsigned LEB128, 1 to 10 bytes. */
+    void putVarLong(long value) throws IOException {
+        ensureRemaining(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes the buffer and writes the gzip trailer.
+     */
+    void finish() throws IOException {
+        flush();
+        if (Objects.nonNull(gzip)) {
+            gzip.finish();
+        }
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.budget.export;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.Locale;
+
+import com.budget.config.LedgerExportProperties;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+public enum LedgerExportFormat {
+
+    CSV("text/csv", "csv") {
+        @Override
+        LedgerExportWriter create(ExportChannel out, LedgerExportProperties properties, ObjectWriter jsonWriter)
+                throws IOException {
+            return new CsvLedgerExportWriter(out);
+        }
+    },
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        LedgerExportWriter create(ExportChannel out, LedgerExportProperties properties, ObjectWriter jsonWriter) {
+            return new NdjsonLedgerExportWriter(out, jsonWriter);
+        }
+    },
+    COLUMNAR("application/octet-stream", "lcol") {
+        @Override
+        LedgerExportWriter create(ExportChannel out, LedgerExportProperties properties, ObjectWriter jsonWriter)
+                throws IOException {
+            return new ColumnarLedgerExportWriter(out, properties.getRowGroupSize());
+        }
+    };
+
+    private final String contentType;
+    private final String extension;
+
+    LedgerExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String fileName(String baseName, boolean gzip) {
+        return baseName + "." + extension + (gzip ? ".gz" : "");
+    }
+
+    public LedgerExportWriter open(WritableByteChannel channel, boolean gzip, LedgerExportProperties properties,
+            ObjectWriter jsonWriter) throws IOException {
+        return create(new ExportChannel(channel, gzip, properties.getBufferSize()), properties, jsonWriter);
+    }
+
+    abstract LedgerExportWriter create(ExportChannel out, LedgerExportProperties properties, ObjectWriter jsonWriter)
+            throws IOException;
+
+    /**
+     * @throws IllegalArgumentException for an unknown format name
+     */
+    public static LedgerExportFormat of(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+}
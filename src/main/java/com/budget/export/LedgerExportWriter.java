@@ -0,0 +1,21 @@
+package com.budget.export;
+
+import java.io.IOException;
+
+import com.budget.dto.LedgerDetail;
+
+/**
+ * Encodes ledgers one at a time onto a channel. Rows must arrive in ascending ledger id
+ * order, which is the order exports resume in.
+ */
+public interface LedgerExportWriter {
+
+    void write(LedgerDetail ledger) throws IOException;
+
+    /**
+     * Writes buffered rows and the format's trailer. An export that fails part way is never
+     * finished, so a missing trailer tells the reader it is truncated.
+     */
+    void finish() throws IOException;
+
+}
@@ -0,0 +1,32 @@
+package com.budget.export;
+
+import java.io.IOException;
+
+import com.budget.dto.LedgerDetail;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * One JSON object per line, in the same shape as {@code GET v1/ledger/{ledgerId}}.
+ */
+public class NdjsonLedgerExportWriter implements LedgerExportWriter {
+
+    private final ExportChannel out;
+    private final ObjectWriter jsonWriter;
+
+    NdjsonLedgerExportWriter(ExportChannel out, ObjectWriter jsonWriter) {
+        this.out = out;
+        this.jsonWriter = jsonWriter;
+    }
+
+    @Override
+    public void write(LedgerDetail ledger) throws IOException {
+        out.put(jsonWriter.writeValueAsBytes(ledger));
+        out.put((byte) '\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.finish();
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.budget.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.budget.model.Expense;
+
+/**
+ * RFC 4180 reader for CSV exports. The first record is the header; {@code date} (or
+ * {@code occurredAt}), {@code amount} and {@code category} are required, {@code payee} and
+ * {@code description} are optional. Amounts are decimal and use the expense sign: positive
+ * for spending, negative for refunds.
+ */
+public class CsvExpenseRowReader implements ExpenseRowReader {
+
+    private final BufferedReader reader;
+    private final Long ledgerId;
+    private final int fractionDigits;
+
+    private long lineNumber;
+    private int dateColumn = -1;
+    private int amountColumn = -1;
+    private int categoryColumn = -1;
+    private int payeeColumn = -1;
+    private int descriptionColumn = -1;
+
+    public CsvExpenseRowReader(BufferedReader reader, Long ledgerId, String currency) throws IOException {
+        this.reader = reader;
+        this.ledgerId = ledgerId;
+        this.fractionDigits = ImportAmounts.fractionDigits(currency);
+        readHeader();
+    }
+
+    @Override
+    public ImportedRow next() throws IOException {
+        List<String> fields;
+        long recordLine;
+        do {
+            recordLine = lineNumber + 1;
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        try {
+            Expense expense = new Expense();
+            expense.setLedgerId(ledgerId);
+            expense.setOccurredAt(ImportAmounts.toDateTime(field(fields, dateColumn)));
+            expense.setAmountMinor(ImportAmounts.toMinorUnits(field(fields, amountColumn), fractionDigits));
+            expense.setCategory(optionalField(fields, categoryColumn));
+            expense.setPayee(optionalField(fields, payeeColumn));
+            expense.setDescription(optionalField(fields, descriptionColumn));
+            return ImportedRow.parsed(recordLine, expense);
+        } catch (IllegalArgumentException e) {
+            return ImportedRow.rejected(recordLine, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty.");
+        }
+
+        for (int i = 0; i < header.size(); i++) {
+            switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "date", "occurredat", "occurred_at" -> dateColumn = i;
+                case "amount" -> amountColumn = i;
+                case "category" -> categoryColumn = i;
+                case "payee" -> payeeColumn = i;
+                case "description" -> descriptionColumn = i;
+                default -> {
+                    // Extra columns of bank exports are ignored.
+                }
+            }
+        }
+
+        if (dateColumn < 0 || amountColumn < 0 || categoryColumn < 0) {
+            throw new IllegalArgumentException("CSV header must contain date, amount and category columns.");
+        }
+    }
+
+    /**
+     * Reads one record, continuing onto the next line while a quoted field is open.
+     */
+    private List<String> readRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                line = reader.readLine();
+                if (line == null) {
+                    throw new IllegalArgumentException("Unterminated quoted field at line " + lineNumber + ".");
+                }
+                lineNumber++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String field(List<String> fields, int column) {
+        if (column >= fields.size() || fields.get(column).isBlank()) {
+            throw new IllegalArgumentException("Record has no value in column " + (column + 1) + ".");
+        }
+        return fields.get(column);
+    }
+
+    private static String optionalField(List<String> fields, int column) {
+        if (column < 0 || column >= fields.size() || fields.get(column).isBlank()) {
+            return null;
+        }
+        return fields.get(column).trim();
+    }
+
+}
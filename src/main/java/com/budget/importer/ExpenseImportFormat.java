@@ -0,0 +1,31 @@
+package com.budget.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Locale;
+
+public enum ExpenseImportFormat {
+
+    CSV {
+        @Override
+        public ExpenseRowReader open(BufferedReader reader, Long ledgerId, String currency) throws IOException {
+            return new CsvExpenseRowReader(reader, ledgerId, currency);
+        }
+    },
+    OFX {
+        @Override
+        public ExpenseRowReader open(BufferedReader reader, Long ledgerId, String currency) {
+            return new OfxExpenseRowReader(reader, ledgerId, currency);
+        }
+    };
+
+    public abstract ExpenseRowReader open(BufferedReader reader, Long ledgerId, String currency) throws IOException;
+
+    /**
+     * @throws IllegalArgumentException for an unknown format name
+     */
+    public static ExpenseImportFormat of(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.budget.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pulls one record at a time from an import file, so memory use does not depend on the
+ * file size.
+ */
+public interface ExpenseRowReader extends Closeable {
+
+    /**
+     * @return the next record, or null at the end of the file
+     */
+    ImportedRow next() throws IOException;
+
+}
@@ -0,0 +1,52 @@
+package com.budget.importer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+import com.budget.currency.CurrencyTable;
+import com.budget.currency.CurrencyUnit;
+
+final class ImportAmounts {
+
+    private ImportAmounts() {
+    }
+
+    /** Minor unit digits of an ISO 4217 currency, e.g. 2 for USD and 0 for JPY. */
+    static int fractionDigits(String currency) {
+        CurrencyUnit unit = CurrencyTable.find(currency);
+        if (Objects.isNull(unit)) {
+            throw new IllegalArgumentException("Ledger currency '" + currency + "' is not an ISO 4217 code.");
+        }
+        return unit.fractionDigits();
+    }
+
+    /**
+     * Converts a decimal amount to minor units of the ledger currency, rejecting amounts
+     * with more decimals than the currency has.
+     */
+    static long toMinorUnits(String amount, int fractionDigits) {
+        try {
+            return new BigDecimal(amount.trim()).movePointRight(fractionDigits).longValueExact();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Amount '" + amount + "' is not a number.");
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount '" + amount + "' has more than " + fractionDigits + " decimals.");
+        }
+    }
+
+    /**
+     * Accepts an ISO date (taken as the start of the day) or an ISO date-time.
+     */
+    static LocalDateTime toDateTime(String value) {
+        String trimmed = value.trim();
+        try {
+            return trimmed.length() == 10 ? LocalDate.parse(trimmed).atStartOfDay() : LocalDateTime.parse(trimmed);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Date '" + value + "' is not an ISO date or date-time.");
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.budget.importer;
+
+import com.budget.model.Expense;
+
+/**
+ * One record of an import file.
+ *
+ * @param line    1-based line the record starts on
+ * @param expense parsed expense, null when the record could not be parsed
+ * @param error   parse error, null when the record was parsed
+ */
+public record ImportedRow(long line, Expense expense, String error) {
+
+    public static ImportedRow parsed(long line, Expense expense) {
+        return new ImportedRow(line, expense, null);
+    }
+
+    public static ImportedRow rejected(long line, String error) {
+        return new ImportedRow(line, null, error);
+    }
+
+}
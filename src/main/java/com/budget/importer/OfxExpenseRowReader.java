@@ -0,0 +1,165 @@
+package com.budget.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import com.budget.model.Expense;
+
+/**
+ * Streaming reader for OFX bank statements, both SGML (1.x, unclosed leaf tags) and XML
+ * (2.x). Each {@code STMTTRN} becomes one expense: {@code TRNAMT} is negated, since OFX
+ * debits are negative and expenses are positive spending. {@code NAME} becomes the payee,
+ * {@code MEMO} the description and {@code TRNTYPE} the category.
+ */
+public class OfxExpenseRowReader implements ExpenseRowReader {
+
+    private static final DateTimeFormatter OFX_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final String TRANSACTION = "STMTTRN";
+
+    private final BufferedReader reader;
+    private final Long ledgerId;
+    private final String currency;
+    private final int fractionDigits;
+    private final StringBuilder token = new StringBuilder();
+
+    private long lineNumber = 1;
+    private int pending = -2;
+
+    public OfxExpenseRowReader(BufferedReader reader, Long ledgerId, String currency) {
+        this.reader = reader;
+        this.ledgerId = ledgerId;
+        this.currency = currency;
+        this.fractionDigits = ImportAmounts.fractionDigits(currency);
+    }
+
+    @Override
+    public ImportedRow next() throws IOException {
+        Map<String, String> fields = null;
+        long transactionLine = 0;
+        String tag;
+        while ((tag = nextTag()) != null) {
+            if (tag.equals(TRANSACTION)) {
+                fields = new HashMap<>();
+                transactionLine = lineNumber;
+            } else if (tag.equals("/" + TRANSACTION) && Objects.nonNull(fields)) {
+                return toRow(transactionLine, fields);
+            } else if (tag.equals("CURDEF")) {
+                checkCurrency(readValue());
+            } else if (Objects.nonNull(fields) && !tag.startsWith("/")) {
+                fields.put(tag, readValue());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ImportedRow toRow(long line, Map<String, String> fields) {
+        try {
+            String amount = fields.get("TRNAMT");
+            String posted = fields.get("DTPOSTED");
+            if (Objects.isNull(amount) || Objects.isNull(posted)) {
+                throw new IllegalArgumentException("Transaction has no TRNAMT or DTPOSTED.");
+            }
+
+            Expense expense = new Expense();
+            expense.setLedgerId(ledgerId);
+            expense.setAmountMinor(Math.negateExact(ImportAmounts.toMinorUnits(amount, fractionDigits)));
+            expense.setOccurredAt(toDateTime(posted));
+            expense.setCategory(blankToNull(fields.get("TRNTYPE")));
+            expense.setPayee(blankToNull(fields.get("NAME")));
+            expense.setDescription(blankToNull(fields.get("MEMO")));
+            return ImportedRow.parsed(line, expense);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return ImportedRow.rejected(line, e.getMessage());
+        }
+    }
+
+    private void checkCurrency(String statementCurrency) {
+        if (!currency.equalsIgnoreCase(statementCurrency)) {
+            throw new IllegalArgumentException("Statement currency " + statementCurrency
+                    + " does not match ledger currency " + currency + ".");
+        }
+    }
+
+    /**
+     * @return the next tag name in upper case, prefixed with '/' for closing tags
+     */
+    private String nextTag() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '<') {
+            // Skip header lines and whitespace between tags.
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        token.setLength(0);
+        while ((c = read()) != -1 && c != '>') {
+            token.append((char) c);
+        }
+        String tag = token.toString().trim();
+        return tag.startsWith("?") || tag.startsWith("!") ? nextTag() : tag.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Reads the text after a tag up to the next tag, which is left unread.
+     */
+    private String readValue() throws IOException {
+        token.setLength(0);
+        int c;
+        while ((c = read()) != -1 && c != '<') {
+            token.append((char) c);
+        }
+        pending = c;
+        return decodeEntities(token.toString().trim());
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pending != -2) {
+            c = pending;
+            pending = -2;
+            return c;
+        }
+        c = reader.read();
+        if (c == '\n') {
+            lineNumber++;
+        }
+        return c;
+    }
+
+    private static LocalDateTime toDateTime(String posted) {
+        // DTPOSTED is YYYYMMDD[HHMMSS[.XXX]][[offset:TZ]]; the time zone part is dropped.
+        String digits = posted.length() >= 14 ? posted.substring(0, 14) : posted.substring(0, Math.min(posted.length(), 8));
+        try {
+            return digits.length() == 14 ? LocalDateTime.parse(digits, OFX_DATE_TIME)
+                    : LocalDate.parse(digits, DateTimeFormatter.BASIC_ISO_DATE).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("DTPOSTED '" + posted + "' is not an OFX date.");
+        }
+    }
+
+    private static String decodeEntities(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"").replace("&apos;", "'").replace("&amp;", "&");
+    }
+
+    private static String blankToNull(String value) {
+        return Objects.isNull(value) || value.isBlank() ? null : value;
+    }
+
+}
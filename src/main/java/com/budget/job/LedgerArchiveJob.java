@@ -0,0 +1,245 @@
+package com.budget.job;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.budget.config.LedgerArchiveProperties;
+import com.budget.dao.LedgerDao;
+import com.budget.dto.LedgerArchiveReport;
+import com.budget.event.LedgerChangedEvent;
+import com.budget.exception.ApiException;
+import com.budget.model.Ledger;
+import com.budget.shard.ForEachShard;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves soft-deleted ledgers past their retention, with all of their expenses, budget
+ * limits and budget usage, into the archive tables. Each batch claims its ledgers with
+ * {@code FOR UPDATE SKIP LOCKED}, so several nodes can archive at once without waiting on
+ * or moving the same rows. Summaries of archived ledgers are dropped; a restore rebuilds
+ * them from the restored expenses.
+ * <p>
+ * The archive tables reference their archived parent, so parents are copied first and
+ * deleted from the live tables last, once nothing references them any more.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(LedgerArchiveProperties.class)
+public class LedgerArchiveJob {
+
+    private static final String CLAIM_BATCH_SQL = "SELECT ledger_id FROM ledger "
+            + "WHERE deleted = true AND updated_at < ? ORDER BY updated_at LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String DELETE_MONTHLY_SQL = "DELETE FROM ledger_monthly_summary WHERE ledger_id = ANY (?)";
+
+    private static final String DELETE_SUMMARY_SQL = "DELETE FROM ledger_summary WHERE ledger_id = ANY (?)";
+
+    private static final String ARCHIVE_EXPENSES_SQL = "WITH moved AS ("
+            + "DELETE FROM expense WHERE ledger_id = ANY (?) RETURNING *) "
+            + "INSERT INTO expense_archive (expense_id, ledger_id, amount_minor, category, payee, description, "
+            + "occurred_at, deleted, created_at, updated_at) "
+            + "SELECT expense_id, ledger_id, amount_minor, category, payee, description, "
+            + "occurred_at, deleted, created_at, updated_at FROM moved";
+
+    private static final String COPY_LEDGERS_SQL = "INSERT INTO ledger_archive (ledger_id, person_id, name, "
+            + "description, currency, version, created_at, updated_at) "
+            + "SELECT ledger_id, person_id, name, description, currency, version, created_at, updated_at "
+            + "FROM ledger WHERE ledger_id = ANY (?)";
+
+    private static final String COPY_BUDGET_LIMITS_SQL = "INSERT INTO budget_limit_archive (budget_limit_id, ledger_id, "
+            + "category, limit_minor, warn_percent, created_at, updated_at) "
+            + "SELECT budget_limit_id, ledger_id, category, limit_minor, warn_percent, created_at, updated_at "
+            + "FROM budget_limit WHERE ledger_id = ANY (?)";
+
+    private static final String ARCHIVE_BUDGET_USAGE_SQL = "WITH moved AS ("
+            + "DELETE FROM budget_usage WHERE budget_limit_id IN "
+            + "(SELECT budget_limit_id FROM budget_limit WHERE ledger_id = ANY (?)) RETURNING *) "
+            + "INSERT INTO budget_usage_archive (budget_limit_id, month, spent_minor, alert_level, updated_at) "
+            + "SELECT budget_limit_id, month, spent_minor, alert_level, updated_at FROM moved";
+
+    private static final String DELETE_BUDGET_LIMITS_SQL = "DELETE FROM budget_limit WHERE ledger_id = ANY (?)";
+
+    private static final String DELETE_LEDGERS_SQL = "DELETE FROM ledger WHERE ledger_id = ANY (?)";
+
+    private static final String UNDELETE_SQL = "UPDATE ledger SET deleted = false, version = version + 1, "
+            + "updated_at = CURRENT_TIMESTAMP WHERE ledger_id = ? AND deleted = true";
+
+    private static final String RESTORE_LEDGER_SQL = "INSERT INTO ledger (ledger_id, person_id, name, description, "
+            + "currency, deleted, version, created_at, updated_at) "
+            + "SELECT ledger_id, person_id, name, description, currency, false, version + 1, created_at, "
+            + "CURRENT_TIMESTAMP FROM ledger_archive WHERE ledger_id = ?";
+
+    private static final String RESTORE_EXPENSES_SQL = "WITH moved AS ("
+            + "DELETE FROM expense_archive WHERE ledger_id = ? RETURNING *) "
+            + "INSERT INTO expense (expense_id, ledger_id, amount_minor, category, payee, description, "
+            + "occurred_at, deleted, created_at, updated_at) "
+            + "SELECT expense_id, ledger_id, amount_minor, category, payee, description, "
+            + "occurred_at, deleted, created_at, updated_at FROM moved";
+
+    private static final String RESTORE_BUDGET_LIMITS_SQL = "INSERT INTO budget_limit (budget_limit_id, ledger_id, "
+            + "category, limit_minor, warn_percent, created_at, updated_at) "
+            + "SELECT budget_limit_id, ledger_id, category, limit_minor, warn_percent, created_at, updated_at "
+            + "FROM budget_limit_archive WHERE ledger_id = ?";
+
+    private static final String RESTORE_BUDGET_USAGE_SQL = "WITH moved AS ("
+            + "DELETE FROM budget_usage_archive WHERE budget_limit_id IN "
+            + "(SELECT budget_limit_id FROM budget_limit_archive WHERE ledger_id = ?) RETURNING *) "
+            + "INSERT INTO budget_usage (budget_limit_id, month, spent_minor, alert_level, updated_at) "
+            + "SELECT budget_limit_id, month, spent_minor, alert_level, updated_at FROM moved";
+
+    /** Also drops the archived expenses and budget limits, which are restored by then. */
+    private static final String DELETE_ARCHIVED_LEDGER_SQL = "DELETE FROM ledger_archive WHERE ledger_id = ?";
+
+    private static final String RESTORE_MONTHLY_SQL = "INSERT INTO ledger_monthly_summary "
+            + "(ledger_id, month, category, total_minor, entry_count) "
+            + "SELECT ledger_id, DATE_TRUNC('month', occurred_at)::date, category, SUM(amount_minor), COUNT(*) "
+            + "FROM expense WHERE deleted = false AND ledger_id = ? GROUP BY 1, 2, 3";
+
+    private static final String RESTORE_SUMMARY_SQL = "INSERT INTO ledger_summary "
+            + "(ledger_id, balance_minor, entry_count, updated_at) "
+            + "SELECT ledger_id, SUM(amount_minor), COUNT(*), CURRENT_TIMESTAMP "
+            + "FROM expense WHERE deleted = false AND ledger_id = ? GROUP BY ledger_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerDao ledgerDao;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LedgerArchiveProperties properties;
+    private final DistributionSummary archivedLedgers;
+    private final DistributionSummary archivedExpenses;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public LedgerArchiveJob(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, LedgerDao ledgerDao,
+            ApplicationEventPublisher eventPublisher, LedgerArchiveProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ledgerDao = ledgerDao;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.archivedLedgers = archivedRows("ledger");
+        this.archivedExpenses = archivedRows("expense");
+    }
+
+    private DistributionSummary archivedRows(String table) {
+        return DistributionSummary.builder("ledger.archive.rows")
+                .description("Rows moved to the archive tables per archival run")
+                .tag("table", table)
+                .register(meterRegistry);
+    }
+
+    @ForEachShard
+    @Scheduled(cron = "${ledger.archive.cron:-}")
+    public void scheduledArchive() {
+        LedgerArchiveReport report = archive();
+        log.info("Ledger archival finished: {}", report);
+    }
+
+    public LedgerArchiveReport archive() {
+        long startedAt = System.currentTimeMillis();
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(properties.getRetention()));
+
+        int batches = 0;
+        long ledgers = 0;
+        long expenses = 0;
+        while (batches < properties.getMaxBatchesPerRun()) {
+            BatchResult batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            if (batch == null || batch.ledgers() == 0) {
+                break;
+            }
+            batches++;
+            ledgers += batch.ledgers();
+            expenses += batch.expenses();
+            if (batch.ledgers() < properties.getBatchSize()) {
+                break;
+            }
+        }
+
+        archivedLedgers.record(ledgers);
+        archivedExpenses.record(expenses);
+        return new LedgerArchiveReport(batches, ledgers, expenses, System.currentTimeMillis() - startedAt);
+    }
+
+    private BatchResult archiveBatch(Timestamp cutoff) {
+        List<Long> ledgerIds = jdbcTemplate.queryForList(CLAIM_BATCH_SQL, Long.class, cutoff, properties.getBatchSize());
+        if (ledgerIds.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        Long[] ids = ledgerIds.toArray(Long[]::new);
+        int ledgers = updateByIds(COPY_LEDGERS_SQL, ids);
+        updateByIds(DELETE_MONTHLY_SQL, ids);
+        updateByIds(DELETE_SUMMARY_SQL, ids);
+        int expenses = updateByIds(ARCHIVE_EXPENSES_SQL, ids);
+        int budgetLimits = updateByIds(COPY_BUDGET_LIMITS_SQL, ids);
+        updateByIds(ARCHIVE_BUDGET_USAGE_SQL, ids);
+        updateByIds(DELETE_BUDGET_LIMITS_SQL, ids);
+        updateByIds(DELETE_LEDGERS_SQL, ids);
+        log.debug("Archived {} ledgers, {} expenses and {} budget limits", ledgers, expenses, budgetLimits);
+        return new BatchResult(ledgers, expenses);
+    }
+
+    private int updateByIds(String sql, Long[] ids) {
+        return jdbcTemplate.update(sql, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)));
+    }
+
+    /**
+     * Brings a deleted ledger back, whether it is still soft-deleted or already archived.
+     * Consumers see the restored ledger as created.
+     */
+    public Ledger restore(Long ledgerId) {
+        return transactionTemplate.execute(status -> {
+            try {
+                if (jdbcTemplate.update(UNDELETE_SQL, ledgerId) == 0) {
+                    restoreArchived(ledgerId);
+                }
+            } catch (DuplicateKeyException e) {
+                log.error("Ledger {} cannot be restored, its name is taken by an active ledger.", ledgerId);
+                throw new ApiException(HttpStatus.BAD_REQUEST, "Ledger name already exists.", e);
+            }
+
+            Ledger ledger = ledgerDao.findById(ledgerId)
+                    .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Ledger not found."));
+            eventPublisher.publishEvent(LedgerChangedEvent.created(ledger));
+            meterRegistry.counter("ledger.archive.restored").increment();
+            return ledger;
+        });
+    }
+
+    private void restoreArchived(Long ledgerId) {
+        if (jdbcTemplate.update(RESTORE_LEDGER_SQL, ledgerId) == 0) {
+            if (ledgerDao.existsById(ledgerId)) {
+                throw new ApiException(HttpStatus.BAD_REQUEST, "Ledger is not deleted.");
+            }
+            throw new ApiException(HttpStatus.NOT_FOUND, "Ledger not found.");
+        }
+
+        int expenses = jdbcTemplate.update(RESTORE_EXPENSES_SQL, ledgerId);
+        jdbcTemplate.update(RESTORE_BUDGET_LIMITS_SQL, ledgerId);
+        jdbcTemplate.update(RESTORE_BUDGET_USAGE_SQL, ledgerId);
+        jdbcTemplate.update(DELETE_ARCHIVED_LEDGER_SQL, ledgerId);
+        jdbcTemplate.update(RESTORE_MONTHLY_SQL, ledgerId);
+        jdbcTemplate.update(RESTORE_SUMMARY_SQL, ledgerId);
+        log.info("Restored archived ledger {} with {} expenses", ledgerId, expenses);
+    }
+
+    private record BatchResult(int ledgers, int expenses) {
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.budget.job;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.budget.config.LedgerOutboxProperties;
+import com.budget.dao.LedgerOutboxDao;
+import com.budget.dto.LedgerChangeMessage;
+import com.budget.event.LedgerChangeConsumer;
+import com.budget.model.LedgerOutboxEntry;
+import com.budget.shard.ForEachShard;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains ledger_outbox to the registered {@link LedgerChangeConsumer}s. Each poll claims
+ * whole ledgers with SKIP LOCKED and leases their pending entries, then delivers them
+ * outside the claiming transaction, ledgers in parallel and each ledger in order, and
+ * records the outcomes in a second short transaction. Several instances can drain the
+ * table together without holding connections or row locks while consumers run. The
+ * dispatch queue is as deep as one batch and overflow runs on the polling thread, which
+ * stops further claims until consumers catch up.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(LedgerOutboxProperties.class)
+public class LedgerOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final LedgerOutboxDao ledgerOutboxDao;
+    private final List<LedgerChangeConsumer> consumers;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerOutboxProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public LedgerOutboxDispatcher(LedgerOutboxDao ledgerOutboxDao, ObjectProvider<LedgerChangeConsumer> consumers,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager, LedgerOutboxProperties properties,
+            MeterRegistry meterRegistry) {
+        this.ledgerOutboxDao = ledgerOutboxDao;
+        this.consumers = consumers.orderedStream().toList();
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(properties.getParallelism(), properties.getParallelism(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getBatchSize()), new CustomizableThreadFactory("ledger-outbox-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        Gauge.builder("ledger.outbox.pending", ledgerOutboxDao, dao -> dao.countByStatus(LedgerOutboxEntry.Status.PENDING))
+                .description("Outbox entries waiting for delivery")
+                .register(meterRegistry);
+    }
+
+    @ForEachShard
+    @Scheduled(fixedDelayString = "${ledger.outbox.poll-delay-millis:500}")
+    public void dispatchPending() {
+        // Keep draining while batches come back full instead of waiting for the next tick.
+        while (dispatchBatch() == properties.getBatchSize()) {
+            log.debug("Outbox batch was full, claiming the next one");
+        }
+    }
+
+    /**
+     * @return number of entries claimed
+     */
+    public int dispatchBatch() {
+        List<LedgerOutboxEntry> entries = claim();
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, List<LedgerOutboxEntry>> entriesByLedger = new LinkedHashMap<>();
+        for (LedgerOutboxEntry entry : entries) {
+            entriesByLedger.computeIfAbsent(entry.getLedgerId(), ledgerId -> new ArrayList<>()).add(entry);
+        }
+
+        List<List<LedgerOutboxEntry>> ledgers = new ArrayList<>(entriesByLedger.values());
+        List<Future<LedgerOutboxEntry>> dispatches = new ArrayList<>(ledgers.size());
+        for (List<LedgerOutboxEntry> ledgerEntries : ledgers) {
+            dispatches.add(executor.submit(() -> dispatchInOrder(ledgerEntries)));
+        }
+
+        long deadline = System.nanoTime() + properties.getDispatchTimeout().toNanos();
+        List<LedgerOutboxEntry> settled = new ArrayList<>(entries.size());
+        List<LedgerOutboxEntry> failed = new ArrayList<>();
+        for (int i = 0; i < dispatches.size(); i++) {
+            if (awaitDispatch(dispatches.get(i), deadline, failed)) {
+                settled.addAll(ledgers.get(i));
+            }
+        }
+        record(settled, failed);
+        return entries.size();
+    }
+
+    /**
+     * Deletes delivered entries older than the retention in batches.
+     */
+    @ForEachShard
+    @Scheduled(cron = "${ledger.outbox.purge-cron:-}")
+    public void purgeDelivered() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        long purged = 0;
+        int deleted;
+        do {
+            Integer batch = transactionTemplate.execute(
+                    status -> ledgerOutboxDao.deleteDeliveredBefore(cutoff, properties.getPurgeBatchSize()));
+            deleted = batch == null ? 0 : batch;
+            purged += deleted;
+        } while (deleted == properties.getPurgeBatchSize());
+        log.info("Purged {} delivered outbox entries processed before {}", purged, cutoff);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * The lease outlives the dispatch timeout, so a ledger is only taken over from a
+     * dispatcher that stopped, not from one still waiting on its consumers.
+     */
+    private List<LedgerOutboxEntry> claim() {
+        List<LedgerOutboxEntry> entries = transactionTemplate.execute(status -> {
+            List<Long> ledgerIds = ledgerOutboxDao.claimLedgers(properties.getBatchSize());
+            if (ledgerIds.isEmpty()) {
+                return List.<LedgerOutboxEntry>of();
+            }
+            List<LedgerOutboxEntry> claimed = ledgerOutboxDao.findPendingByLedgerIds(ledgerIds, properties.getBatchSize());
+            LocalDateTime leasedUntil = LocalDateTime.now().plus(properties.getDispatchTimeout().multipliedBy(2));
+            claimed.forEach(entry -> entry.setLeasedUntil(leasedUntil));
+            return claimed;
+        });
+        return entries == null ? List.of() : entries;
+    }
+
+    /**
+     * @return whether the ledger's entries may be recorded; a dispatch that timed out may
+     *         still be running, so its entries keep their lease and are delivered again
+     *         once it expires
+     */
+    private boolean awaitDispatch(Future<LedgerOutboxEntry> dispatch, long deadline, List<LedgerOutboxEntry> failed) {
+        try {
+            LedgerOutboxEntry failedEntry = dispatch.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (Objects.nonNull(failedEntry)) {
+                failed.add(failedEntry);
+            }
+            return true;
+        } catch (TimeoutException e) {
+            log.warn("Outbox dispatch timed out after {}", properties.getDispatchTimeout());
+            dispatch.cancel(true);
+        } catch (ExecutionException e) {
+            log.error("Outbox dispatch failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dispatch.cancel(true);
+        }
+        return false;
+    }
+
+    /**
+     * Delivered entries are closed in one statement and the failed one of each ledger is
+     * saved with its retry state. The rest were never attempted and give up their lease.
+     */
+    private void record(List<LedgerOutboxEntry> settled, List<LedgerOutboxEntry> failed) {
+        List<Long> delivered = new ArrayList<>();
+        List<Long> unattempted = new ArrayList<>();
+        for (LedgerOutboxEntry entry : settled) {
+            if (entry.getStatus() == LedgerOutboxEntry.Status.DONE) {
+                delivered.add(entry.getOutboxId());
+            } else if (!failed.contains(entry)) {
+                unattempted.add(entry.getOutboxId());
+            }
+        }
+        failed.forEach(entry -> entry.setLeasedUntil(null));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                ledgerOutboxDao.markProcessed(delivered, LedgerOutboxEntry.Status.DONE, LocalDateTime.now());
+            }
+            if (!unattempted.isEmpty()) {
+                ledgerOutboxDao.releaseLeases(unattempted);
+            }
+            ledgerOutboxDao.saveAll(failed);
+        });
+    }
+
+    /**
+     * Stops at the first failure so later changes of the ledger wait behind the one
+     * being retried.
+     *
+     * @return the entry that failed, or {@code null} when all were delivered
+     */
+    private LedgerOutboxEntry dispatchInOrder(List<LedgerOutboxEntry> entries) {
+        for (LedgerOutboxEntry entry : entries) {
+            try {
+                LedgerChangeMessage message = objectMapper.readValue(entry.getPayload(), LedgerChangeMessage.class);
+                for (LedgerChangeConsumer consumer : consumers) {
+                    consumer.accept(message);
+                }
+                markDone(entry);
+            } catch (Exception e) {
+                markFailed(entry, e);
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private void markDone(LedgerOutboxEntry entry) {
+        entry.setStatus(LedgerOutboxEntry.Status.DONE);
+        entry.setProcessedAt(LocalDateTime.now());
+        meterRegistry.counter("ledger.outbox.dispatched", "outcome", "done").increment();
+    }
+
+    private void markFailed(LedgerOutboxEntry entry, Exception e) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        entry.setLastError(truncate(String.valueOf(e)));
+
+        if (attempts >= properties.getMaxAttempts()) {
+            log.error("Outbox entry {} for ledgerId {} parked after {} attempts", entry.getOutboxId(), entry.getLedgerId(), attempts, e);
+            entry.setStatus(LedgerOutboxEntry.Status.DEAD);
+            entry.setProcessedAt(LocalDateTime.now());
+            meterRegistry.counter("ledger.outbox.dispatched", "outcome", "dead").increment();
+            return;
+        }
+
+        Duration backoff = retryBackoff(attempts);
+        log.warn("Outbox entry {} for ledgerId {} failed, retrying in {}", entry.getOutboxId(), entry.getLedgerId(), backoff, e);
+        entry.setAvailableAt(LocalDateTime.now().plus(backoff));
+        meterRegistry.counter("ledger.outbox.dispatched", "outcome", "retry").increment();
+    }
+
+    private Duration retryBackoff(int attempts) {
+        Duration backoff = properties.getRetryBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxRetryBackoff()) > 0 ? properties.getMaxRetryBackoff() : backoff;
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.budget.job;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.budget.config.SummaryRebuildProperties;
+import com.budget.dao.LedgerSummaryDao;
+import com.budget.dto.SummaryRebuildReport;
+import com.budget.shard.ForEachShard;
+import com.budget.shard.ShardRoutingContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recomputes ledger_summary and ledger_monthly_summary from the expense table. The ledger
+ * id space is split into chunks of {@code chunkSize} ledgers, and up to {@code parallelism}
+ * chunks run at once, each in its own transaction. A chunk holds an advisory lock per
+ * ledger while it rebuilds, see {@link LedgerSummaryDao#lockForSummaryWrite}.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(SummaryRebuildProperties.class)
+public class LedgerSummaryRebuildJob {
+
+    private static final String CHUNK_STARTS_SQL = "SELECT ledger_id FROM ("
+            + "SELECT ledger_id, ROW_NUMBER() OVER (ORDER BY ledger_id) AS rn FROM ledger) ordered "
+            + "WHERE (rn - 1) % ? = 0 ORDER BY ledger_id";
+
+    private static final String MAX_LEDGER_ID_SQL = "SELECT MAX(ledger_id) FROM ledger";
+
+    /**
+     * Waits out the expense writers of every ledger in the chunk and keeps new ones out until
+     * commit. Without it, a writer could insert a monthly row between the rebuild's delete and
+     * insert, and the insert would fail on the unique key. Locks are taken in ledger order,
+     * as writers take theirs.
+     */
+    private static final String LOCK_LEDGERS_SQL = "SELECT COUNT(*) FROM ("
+            + "SELECT pg_advisory_xact_lock(ledger_id) FROM ledger WHERE ledger_id BETWEEN ? AND ? "
+            + "ORDER BY ledger_id) locked";
+
+    private static final String COUNT_DRIFT_SQL = "WITH actual AS ("
+            + "SELECT ledger_id, DATE_TRUNC('month', occurred_at)::date AS month, category, "
+            + "SUM(amount_minor) AS total_minor, COUNT(*) AS entry_count FROM expense "
+            + "WHERE deleted = false AND ledger_id BETWEEN ? AND ? GROUP BY 1, 2, 3), "
+            + "stored AS (SELECT ledger_id, month, category, total_minor, entry_count FROM ledger_monthly_summary "
+            + "WHERE ledger_id BETWEEN ? AND ? AND (entry_count <> 0 OR total_minor <> 0)), "
+            + "actual_totals AS (SELECT ledger_id, SUM(total_minor) AS balance_minor, SUM(entry_count) AS entry_count "
+            + "FROM actual GROUP BY ledger_id), "
+            + "drift AS ("
+            + "SELECT COALESCE(a.ledger_id, s.ledger_id) AS ledger_id FROM actual a FULL OUTER JOIN stored s "
+            + "ON a.ledger_id = s.ledger_id AND a.month = s.month AND a.category = s.category "
+            + "WHERE a.ledger_id IS NULL OR s.ledger_id IS NULL "
+            + "OR a.total_minor <> s.total_minor OR a.entry_count <> s.entry_count "
+            + "UNION "
+            + "SELECT COALESCE(t.ledger_id, ls.ledger_id) FROM actual_totals t FULL OUTER JOIN "
+            + "(SELECT * FROM ledger_summary WHERE ledger_id BETWEEN ? AND ?) ls ON t.ledger_id = ls.ledger_id "
+            + "WHERE COALESCE(t.balance_minor, 0) <> COALESCE(ls.balance_minor, 0) "
+            + "OR COALESCE(t.entry_count, 0) <> COALESCE(ls.entry_count, 0)) "
+            + "SELECT COUNT(*) FROM drift";
+
+    private static final String DELETE_MONTHLY_SQL = "DELETE FROM ledger_monthly_summary WHERE ledger_id BETWEEN ? AND ?";
+
+    private static final String INSERT_MONTHLY_SQL = "INSERT INTO ledger_monthly_summary "
+            + "(ledger_id, month, category, total_minor, entry_count) "
+            + "SELECT ledger_id, DATE_TRUNC('month', occurred_at)::date, category, SUM(amount_minor), COUNT(*) "
+            + "FROM expense WHERE deleted = false AND ledger_id BETWEEN ? AND ? GROUP BY 1, 2, 3";
+
+    private static final String DELETE_SUMMARY_SQL = "DELETE FROM ledger_summary WHERE ledger_id BETWEEN ? AND ?";
+
+    private static final String INSERT_SUMMARY_SQL = "INSERT INTO ledger_summary "
+            + "(ledger_id, balance_minor, entry_count, updated_at) "
+            + "SELECT ledger_id, SUM(amount_minor), COUNT(*), CURRENT_TIMESTAMP "
+            + "FROM expense WHERE deleted = false AND ledger_id BETWEEN ? AND ? GROUP BY ledger_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SummaryRebuildProperties properties;
+
+    @Autowired
+    public LedgerSummaryRebuildJob(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            SummaryRebuildProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @ForEachShard
+    @Scheduled(cron = "${ledger.summary.rebuild.cron:-}")
+    public void scheduledRebuild() {
+        SummaryRebuildReport report = rebuild(false);
+        log.info("Ledger summary rebuild finished: {}", report);
+    }
+
+    /**
+     * @param verifyOnly only count drifted ledgers, leave the summaries untouched
+     */
+    public SummaryRebuildReport rebuild(boolean verifyOnly) {
+        long startedAt = System.currentTimeMillis();
+        List<Long> chunkStarts = jdbcTemplate.queryForList(CHUNK_STARTS_SQL, Long.class, properties.getChunkSize());
+        // Stop at the newest ledger, so one created during the run is never rebuilt without its lock.
+        Long maxLedgerId = jdbcTemplate.queryForObject(MAX_LEDGER_ID_SQL, Long.class);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()));
+        try {
+            List<Future<Long>> chunks = new ArrayList<>(chunkStarts.size());
+            for (int i = 0; i < chunkStarts.size(); i++) {
+                long firstLedgerId = chunkStarts.get(i);
+                long lastLedgerId = i + 1 < chunkStarts.size() ? chunkStarts.get(i + 1) - 1 : maxLedgerId;
+                chunks.add(executor.submit(
+                        ShardRoutingContext.propagate(() -> processChunk(firstLedgerId, lastLedgerId, verifyOnly))));
+            }
+
+            long driftedLedgers = 0;
+            for (Future<Long> chunk : chunks) {
+                driftedLedgers += chunk.get();
+            }
+            return new SummaryRebuildReport(chunks.size(), driftedLedgers, !verifyOnly,
+                    System.currentTimeMillis() - startedAt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ledger summary rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ledger summary rebuild failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long processChunk(long firstLedgerId, long lastLedgerId, boolean verifyOnly) {
+        return transactionTemplate.execute(status -> {
+            if (!verifyOnly) {
+                jdbcTemplate.queryForObject(LOCK_LEDGERS_SQL, Long.class, firstLedgerId, lastLedgerId);
+            }
+            Long drifted = jdbcTemplate.queryForObject(COUNT_DRIFT_SQL, Long.class,
+                    firstLedgerId, lastLedgerId, firstLedgerId, lastLedgerId, firstLedgerId, lastLedgerId);
+            if (drifted != null && drifted > 0) {
+                log.warn("{} ledgers between {} and {} have drifted summaries", drifted, firstLedgerId, lastLedgerId);
+            }
+
+            if (!verifyOnly) {
+                jdbcTemplate.update(DELETE_MONTHLY_SQL, firstLedgerId, lastLedgerId);
+                jdbcTemplate.update(INSERT_MONTHLY_SQL, firstLedgerId, lastLedgerId);
+                jdbcTemplate.update(DELETE_SUMMARY_SQL, firstLedgerId, lastLedgerId);
+                jdbcTemplate.update(INSERT_SUMMARY_SQL, firstLedgerId, lastLedgerId);
+            }
+            return drifted == null ? 0L : drifted;
+        });
+    }
+
+}
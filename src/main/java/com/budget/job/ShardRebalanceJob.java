@@ -0,0 +1,277 @@
+package com.budget.job;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.budget.config.ShardingProperties;
+import com.budget.dto.ShardMoveReport;
+import com.budget.dto.ShardRebalanceReport;
+import com.budget.exception.ApiException;
+import com.budget.shard.ShardRouter;
+import com.budget.shard.ShardRouter.Placement;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves persons' rows from one shard to another while the service keeps running:
+ * <ol>
+ * <li>each person is pinned to its current shard with {@code moving = true}, which turns
+ * its writes away with 503 once every instance's placement cache has expired;</li>
+ * <li>its rows are copied to the target shard in one transaction per person;</li>
+ * <li>the directory entry switches to the target, and after another cache period the
+ * rows are deleted from the source.</li>
+ * </ol>
+ * Reads keep working throughout, from whichever shard an instance still routes to. Moves
+ * are done in batches so a rebalance waits out the cache twice per batch, not per person.
+ * Undelivered outbox entries stay on the source shard and are dispatched from there.
+ */
+@Slf4j
+public class ShardRebalanceJob {
+
+    private static final List<MovedTable> MOVED_TABLES = List.of(
+            new MovedTable("ledger", "person_id = ?",
+                    "ledger_id, person_id, name, description, currency, deleted, version, created_at, updated_at"),
+            new MovedTable("expense", "ledger_id IN (SELECT ledger_id FROM ledger WHERE person_id = ?)",
+                    "expense_id, ledger_id, amount_minor, category, payee, description, occurred_at, deleted, "
+                            + "created_at, updated_at"),
+            new MovedTable("ledger_summary", "ledger_id IN (SELECT ledger_id FROM ledger WHERE person_id = ?)",
+                    "ledger_id, balance_minor, entry_count, updated_at"),
+            new MovedTable("ledger_monthly_summary", "ledger_id IN (SELECT ledger_id FROM ledger WHERE person_id = ?)",
+                    "ledger_id, month, category, total_minor, entry_count"),
+            new MovedTable("budget_limit", "ledger_id IN (SELECT ledger_id FROM ledger WHERE person_id = ?)",
+                    "budget_limit_id, ledger_id, category, limit_minor, warn_percent, created_at, updated_at"),
+            new MovedTable("budget_usage", "budget_limit_id IN (SELECT budget_limit_id FROM budget_limit "
+                    + "WHERE ledger_id IN (SELECT ledger_id FROM ledger WHERE person_id = ?))",
+                    "budget_limit_id, month, spent_minor, alert_level, updated_at"),
+            new MovedTable("ledger_archive", "person_id = ?",
+                    "ledger_id, person_id, name, description, currency, version, created_at, updated_at, archived_at"),
+            new MovedTable("expense_archive", "ledger_id IN (SELECT ledger_id FROM ledger_archive WHERE person_id = ?)",
+                    "expense_id, ledger_id, amount_minor, category, payee, description, occurred_at, deleted, "
+                            + "created_at, updated_at, archived_at"),
+            new MovedTable("budget_limit_archive", "ledger_id IN (SELECT ledger_id FROM ledger_archive WHERE person_id = ?)",
+                    "budget_limit_id, ledger_id, category, limit_minor, warn_percent, created_at, updated_at, archived_at"),
+            new MovedTable("budget_usage_archive", "budget_limit_id IN (SELECT budget_limit_id FROM budget_limit_archive "
+                    + "WHERE ledger_id IN (SELECT ledger_id FROM ledger_archive WHERE person_id = ?))",
+                    "budget_limit_id, month, spent_minor, alert_level, updated_at, archived_at"));
+
+    /** Ledgers reference the person, so its row has to exist on the target first. */
+    private static final MovedTable PERSON_TABLE = new MovedTable("person", "person_id = ?",
+            "person_id, username, email, password, home_currency, deleted, created_at, updated_at");
+
+    private static final String PERSONS_ON_SHARD_SQL = "SELECT person_id FROM ledger WHERE person_id > ? "
+            + "UNION SELECT person_id FROM ledger_archive WHERE person_id > ? ORDER BY person_id LIMIT ?";
+
+    private static final String PINNED_PERSONS_SQL = "SELECT person_id, shard FROM ledger_person_shard WHERE moving = false";
+
+    private static final int PERSONS_PER_BATCH = 100;
+
+    private final ShardRouter shardRouter;
+    private final ShardingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public ShardRebalanceJob(ShardRouter shardRouter, ShardingProperties properties, MeterRegistry meterRegistry) {
+        this.shardRouter = shardRouter;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ShardMoveReport move(Long personId, String targetShard) {
+        shardRouter.jdbcTemplate(targetShard);
+        Placement placement = shardRouter.placement(personId);
+        if (placement.moving()) {
+            throw new ApiException(HttpStatus.CONFLICT, "Person " + personId + " is already being moved.");
+        }
+        if (placement.shard().equals(targetShard)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Person " + personId + " is already on shard " + targetShard + ".");
+        }
+
+        List<ShardMoveReport> reports = moveBatch(List.of(new PlannedMove(personId, placement.shard(), targetShard)));
+        if (reports.isEmpty()) {
+            throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Moving person " + personId + " failed, it stays on shard " + placement.shard() + ".");
+        }
+        return reports.get(0);
+    }
+
+    /**
+     * Moves persons whose shard on the target ring, which includes joining shards, differs
+     * from where they are now, then drops directory entries that only repeat the ring.
+     */
+    public ShardRebalanceReport rebalance() {
+        long startedAt = System.currentTimeMillis();
+        int moved = 0;
+        int failed = 0;
+        for (String shard : shardRouter.getShards()) {
+            long afterPersonId = 0L;
+            List<Long> persons;
+            do {
+                persons = shardRouter.jdbcTemplate(shard).queryForList(PERSONS_ON_SHARD_SQL, Long.class, afterPersonId,
+                        afterPersonId, PERSONS_PER_BATCH);
+                List<PlannedMove> moves = new ArrayList<>();
+                for (Long personId : persons) {
+                    String targetShard = shardRouter.targetShard(personId);
+                    Placement placement = shardRouter.placement(personId);
+                    if (!placement.moving() && placement.shard().equals(shard) && !targetShard.equals(shard)
+                            && moved + failed + moves.size() < properties.getMaxPersonsPerRebalance()) {
+                        moves.add(new PlannedMove(personId, shard, targetShard));
+                    }
+                    afterPersonId = personId;
+                }
+
+                int succeeded = moves.isEmpty() ? 0 : moveBatch(moves).size();
+                moved += succeeded;
+                failed += moves.size() - succeeded;
+            } while (!persons.isEmpty() && moved + failed < properties.getMaxPersonsPerRebalance());
+        }
+
+        ShardRebalanceReport report = new ShardRebalanceReport(moved, failed, prunePlacements(),
+                System.currentTimeMillis() - startedAt);
+        log.info("Shard rebalance finished: {}", report);
+        return report;
+    }
+
+    /**
+     * @return reports of the persons that were moved; a person whose copy failed stays on its shard
+     */
+    private List<ShardMoveReport> moveBatch(List<PlannedMove> moves) {
+        long startedAt = System.currentTimeMillis();
+        moves.forEach(move -> shardRouter.pin(move.personId(), move.sourceShard(), true));
+        try {
+            awaitPlacementCaches();
+        } catch (ApiException e) {
+            moves.forEach(move -> restorePlacement(move.personId(), move.sourceShard()));
+            throw e;
+        }
+
+        List<PlannedMove> copiedMoves = new ArrayList<>();
+        List<long[]> copiedRows = new ArrayList<>();
+        for (PlannedMove move : moves) {
+            try {
+                JdbcTemplate target = shardRouter.jdbcTemplate(move.targetShard());
+                copiedRows.add(inTransaction(target,
+                        () -> copyRows(shardRouter.jdbcTemplate(move.sourceShard()), target, move.personId())));
+                copiedMoves.add(move);
+            } catch (RuntimeException e) {
+                restorePlacement(move.personId(), move.sourceShard());
+                meterRegistry.counter("ledger.shard.moves", "outcome", "failed").increment();
+                log.error("Moving personId {} to shard {} failed, it stays on shard {}", move.personId(),
+                        move.targetShard(), move.sourceShard(), e);
+            }
+        }
+
+        copiedMoves.forEach(move -> restorePlacement(move.personId(), move.targetShard()));
+        awaitPlacementCaches();
+
+        List<ShardMoveReport> reports = new ArrayList<>(copiedMoves.size());
+        for (int i = 0; i < copiedMoves.size(); i++) {
+            PlannedMove move = copiedMoves.get(i);
+            JdbcTemplate source = shardRouter.jdbcTemplate(move.sourceShard());
+            inTransaction(source, () -> deleteRows(source, move.personId()));
+            meterRegistry.counter("ledger.shard.moves", "outcome", "moved").increment();
+
+            ShardMoveReport report = new ShardMoveReport(move.personId(), move.sourceShard(), move.targetShard(),
+                    copiedRows.get(i)[0], copiedRows.get(i)[1], System.currentTimeMillis() - startedAt);
+            log.info("Moved personId {}: {}", move.personId(), report);
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    private int prunePlacements() {
+        int pruned = 0;
+        for (Map<String, Object> pin : shardRouter.directory().queryForList(PINNED_PERSONS_SQL)) {
+            Long personId = ((Number) pin.get("person_id")).longValue();
+            if (Objects.equals(pin.get("shard"), shardRouter.activeShard(personId))) {
+                shardRouter.unpin(personId);
+                pruned++;
+            }
+        }
+        return pruned;
+    }
+
+    /**
+     * @return ledgers and expenses copied
+     */
+    private static long[] copyRows(JdbcTemplate source, JdbcTemplate target, Long personId) {
+        copyTable(source, target, PERSON_TABLE, " ON CONFLICT (person_id) DO NOTHING", personId);
+        long ledgers = copyTable(source, target, MOVED_TABLES.get(0), "", personId);
+        long expenses = copyTable(source, target, MOVED_TABLES.get(1), "", personId);
+        for (MovedTable table : MOVED_TABLES.subList(2, MOVED_TABLES.size())) {
+            copyTable(source, target, table, "", personId);
+        }
+        return new long[] { ledgers, expenses };
+    }
+
+    private static int copyTable(JdbcTemplate source, JdbcTemplate target, MovedTable table, String onConflict,
+            Long personId) {
+        List<Object[]> rows = new ArrayList<>();
+        source.query("SELECT " + table.columns() + " FROM " + table.name() + " WHERE " + table.filter(), rs -> {
+            int columnCount = rs.getMetaData().getColumnCount();
+            Object[] row = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            rows.add(row);
+        }, personId);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(rows.get(0).length, "?"));
+        target.batchUpdate("INSERT INTO " + table.name() + " (" + table.columns() + ") VALUES (" + placeholders + ")"
+                + onConflict, rows);
+        return rows.size();
+    }
+
+    /**
+     * Children first. The person row stays, since other tables on the source may still
+     * reference it.
+     */
+    private static int deleteRows(JdbcTemplate source, Long personId) {
+        int deleted = 0;
+        for (MovedTable table : MOVED_TABLES.reversed()) {
+            deleted += source.update("DELETE FROM " + table.name() + " WHERE " + table.filter(), personId);
+        }
+        return deleted;
+    }
+
+    private void restorePlacement(Long personId, String shard) {
+        if (shard.equals(shardRouter.activeShard(personId))) {
+            shardRouter.unpin(personId);
+        } else {
+            shardRouter.pin(personId, shard, false);
+        }
+    }
+
+    private void awaitPlacementCaches() {
+        try {
+            Thread.sleep(properties.getPlacementCacheTtl().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "Shard move was interrupted.", e);
+        }
+    }
+
+    private static <T> T inTransaction(JdbcTemplate jdbcTemplate, Supplier<T> work) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                new DataSourceTransactionManager(Objects.requireNonNull(jdbcTemplate.getDataSource())));
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    private record MovedTable(String name, String filter, String columns) {
+    }
+
+    private record PlannedMove(Long personId, String sourceShard, String targetShard) {
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.budget.limit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.budget.config.BudgetProperties;
+import com.budget.dto.BudgetAlert;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Appends each alert as one NDJSON line, a local stand-in for a notification service.
+ */
+@Component
+@EnableConfigurationProperties(BudgetProperties.class)
+@ConditionalOnProperty(prefix = "ledger.budget", name = "alert-file-path")
+public class BudgetAlertFileSink implements BudgetAlertSink {
+
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @Autowired
+    public BudgetAlertFileSink(ObjectMapper objectMapper, BudgetProperties properties) throws IOException {
+        this.objectMapper = objectMapper;
+        this.channel = FileChannel.open(Path.of(properties.getAlertFilePath()),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void accept(BudgetAlert alert) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(alert);
+        ByteBuffer line = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        // Alerts of concurrent writes must not interleave.
+        writeLock.lock();
+        try {
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.budget.limit;
+
+import com.budget.dto.BudgetAlert;
+
+/**
+ * Receives every alert the budget rule engine raises, after the write that caused it has
+ * committed and on that write's thread, so slow deliveries should be handed off. A failure
+ * is logged and counted; the alert is not retried.
+ */
+public interface BudgetAlertSink {
+
+    void accept(BudgetAlert alert) throws Exception;
+
+}
@@ -0,0 +1,189 @@
+package com.budget.limit;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.budget.dto.BudgetAlert;
+import com.budget.dto.ExpenseDelta;
+import com.budget.event.BudgetLimitChangedEvent;
+import com.budget.event.ExpenseTotalsChangedEvent;
+import com.budget.service.BudgetLimitService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evaluates budget limits on every committed expense write against running totals held in
+ * memory, instead of summing the ledger's history. A ledger's rules and a month's totals
+ * are read once, from ledger_monthly_summary, on the first write after startup or after a
+ * flush. From then on a write adds its delta and checks at most two rules, its category's
+ * and the ledger's. Crossing the warning threshold or the limit raises one alert per level
+ * and month, delivered to every {@link BudgetAlertSink}.
+ *
+ * <p>Writes served by other instances are picked up when the totals are reseeded after a
+ * flush, so with several instances an alert can come up to one flush interval late. A
+ * write that commits while its ledger is being seeded can be counted twice until then.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "ledger.budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BudgetRuleEngine {
+
+    private final BudgetLimitService budgetLimitService;
+    private final List<BudgetAlertSink> sinks;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Long, LedgerBudget> budgets = new ConcurrentHashMap<>();
+    private final Deque<BudgetUsageSnapshot> pending = new ConcurrentLinkedDeque<>();
+
+    @Autowired
+    public BudgetRuleEngine(BudgetLimitService budgetLimitService, ObjectProvider<BudgetAlertSink> sinks,
+            MeterRegistry meterRegistry) {
+        this.budgetLimitService = budgetLimitService;
+        this.sinks = sinks.orderedStream().toList();
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("budget.ledgers", budgets, Map::size)
+                .description("Ledgers whose budget rules and running totals are held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs after commit, so a rolled back write never counts and the summary read while
+     * seeding already contains the write.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onExpenseTotalsChanged(ExpenseTotalsChangedEvent event) {
+        apply(event.deltas());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBudgetLimitChanged(BudgetLimitChangedEvent event) {
+        LedgerBudget budget = budgets.get(event.ledgerId());
+        if (Objects.isNull(budget)) {
+            return;
+        }
+        budget.lock().lock();
+        try {
+            budget.markStale();
+        } finally {
+            budget.lock().unlock();
+        }
+    }
+
+    /**
+     * Never throws: the write has committed already, so a failed evaluation is logged and
+     * the ledger is seeded again on its next write.
+     */
+    public void apply(Collection<ExpenseDelta> deltas) {
+        List<BudgetAlert> alerts = new ArrayList<>();
+        Set<LedgerMonth> seeded = new HashSet<>();
+        for (ExpenseDelta delta : deltas) {
+            if (delta.amountMinor() == 0) {
+                continue;
+            }
+            try {
+                applyDelta(delta, seeded, alerts);
+            } catch (RuntimeException e) {
+                log.error("Evaluating budgets of ledgerId {} failed", delta.ledgerId(), e);
+                meterRegistry.counter("budget.evaluation.failed").increment();
+            }
+        }
+        alerts.forEach(this::raise);
+    }
+
+    /**
+     * Hands over the totals changed since the last call, for the flusher. Ledgers not
+     * written since then are dropped from memory; the rest are reseeded on their next write.
+     */
+    List<BudgetUsageSnapshot> drain() {
+        List<BudgetUsageSnapshot> rows = new ArrayList<>();
+        for (BudgetUsageSnapshot row = pending.poll(); Objects.nonNull(row); row = pending.poll()) {
+            rows.add(row);
+        }
+        for (LedgerBudget budget : budgets.values()) {
+            budget.lock().lock();
+            try {
+                if (budget.retireIfIdle(rows)) {
+                    budgets.remove(budget.ledgerId(), budget);
+                }
+            } finally {
+                budget.lock().unlock();
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Takes back rows a flush could not write, ahead of anything changed since, so the next
+     * flush writes them in their original order.
+     */
+    void requeue(List<BudgetUsageSnapshot> rows) {
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            pending.addFirst(rows.get(i));
+        }
+    }
+
+    private void applyDelta(ExpenseDelta delta, Set<LedgerMonth> seeded, List<BudgetAlert> alerts) {
+        LedgerMonth ledgerMonth = new LedgerMonth(delta.ledgerId(), delta.month());
+        while (true) {
+            LedgerBudget budget = budgets.computeIfAbsent(delta.ledgerId(), LedgerBudget::new);
+            budget.lock().lock();
+            try {
+                if (budget.isRetired()) {
+                    // Dropped by a flush after the lookup; the next lookup creates a fresh one.
+                    continue;
+                }
+                if (budget.needsLoad(delta.month())) {
+                    List<BudgetUsageSnapshot> dropped = new ArrayList<>();
+                    budget.load(delta.month(), budgetLimitService.getBudgetStatus(delta.ledgerId(), delta.month()), dropped);
+                    pending.addAll(dropped);
+                    seeded.add(ledgerMonth);
+                }
+                if (seeded.contains(ledgerMonth)) {
+                    budget.evaluate(delta, alerts);
+                } else {
+                    budget.add(delta, alerts);
+                }
+                return;
+            } finally {
+                budget.lock().unlock();
+            }
+        }
+    }
+
+    private void raise(BudgetAlert alert) {
+        log.info("Budget {} of ledgerId {} {} for {}: spent {} of {}", alert.budgetLimitId(), alert.ledgerId(),
+                alert.level(), alert.month(), alert.spentMinor(), alert.limitMinor());
+        meterRegistry.counter("budget.alerts", "level", alert.level().name()).increment();
+        for (BudgetAlertSink sink : sinks) {
+            try {
+                sink.accept(alert);
+            } catch (Exception e) {
+                log.error("Delivering budget alert {} to {} failed", alert, sink.getClass().getSimpleName(), e);
+                meterRegistry.counter("budget.alerts.failed").increment();
+            }
+        }
+    }
+
+    private record LedgerMonth(Long ledgerId, LocalDate month) {
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.budget.limit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.budget.shard.ShardRouter;
+import com.budget.shard.ShardRoutingContext;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes the running totals the rule engine changed to budget_usage every
+ * {@code ledger.budget.flush-delay-millis} and once more on shutdown, in one JDBC batch
+ * per shard. Rows of a shard that cannot be written are handed back and retried with the
+ * next flush.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "ledger.budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BudgetUsageFlusher {
+
+    /** Skips limits deleted since the write, which would otherwise fail the whole batch. */
+    private static final String UPSERT_USAGE_SQL = "INSERT INTO budget_usage "
+            + "(budget_limit_id, month, spent_minor, alert_level, updated_at) "
+            + "SELECT ?, ?, ?, ?, CURRENT_TIMESTAMP WHERE EXISTS "
+            + "(SELECT 1 FROM budget_limit WHERE budget_limit_id = ?) "
+            + "ON CONFLICT (budget_limit_id, month) DO UPDATE SET spent_minor = EXCLUDED.spent_minor, "
+            + "alert_level = EXCLUDED.alert_level, updated_at = EXCLUDED.updated_at";
+
+    /** Stable, so a requeued row stays ahead of a newer one for the same key. */
+    private static final Comparator<BudgetUsageSnapshot> ROW_ORDER = Comparator.comparing(BudgetUsageSnapshot::budgetLimitId)
+            .thenComparing(BudgetUsageSnapshot::month);
+
+    private final BudgetRuleEngine budgetRuleEngine;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<ShardRouter> shardRouter;
+    private final DistributionSummary flushedRows;
+
+    @Autowired
+    public BudgetUsageFlusher(BudgetRuleEngine budgetRuleEngine, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, ObjectProvider<ShardRouter> shardRouter,
+            MeterRegistry meterRegistry) {
+        this.budgetRuleEngine = budgetRuleEngine;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.flushedRows = DistributionSummary.builder("budget.usage.flushed")
+                .description("Budget usage rows written per flush")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.budget.flush-delay-millis:60000}")
+    public void flush() {
+        List<BudgetUsageSnapshot> rows = budgetRuleEngine.drain();
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<BudgetUsageSnapshot>> rowsByShard;
+        try {
+            rowsByShard = rowsByShard(rows);
+        } catch (RuntimeException e) {
+            log.error("Routing {} budget usage rows failed, retrying with the next flush", rows.size(), e);
+            budgetRuleEngine.requeue(rows);
+            return;
+        }
+
+        int written = 0;
+        for (Map.Entry<String, List<BudgetUsageSnapshot>> shard : rowsByShard.entrySet()) {
+            List<BudgetUsageSnapshot> shardRows = shard.getValue();
+            try {
+                write(shard.getKey(), shardRows);
+                written += shardRows.size();
+            } catch (RuntimeException e) {
+                log.error("Flushing {} budget usage rows to shard {} failed, retrying with the next flush",
+                        shardRows.size(), shard.getKey(), e);
+                budgetRuleEngine.requeue(shardRows);
+            }
+        }
+        flushedRows.record(written);
+        log.debug("Flushed {} of {} budget usage rows", written, rows.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private Map<String, List<BudgetUsageSnapshot>> rowsByShard(List<BudgetUsageSnapshot> rows) {
+        ShardRouter router = shardRouter.getIfAvailable();
+        Map<String, List<BudgetUsageSnapshot>> rowsByShard = new HashMap<>();
+        for (BudgetUsageSnapshot row : rows) {
+            String shard = Objects.isNull(router) ? null : router.shardForLedger(row.ledgerId(), false);
+            rowsByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(row);
+        }
+        // Rows go in key order so concurrent flushes of several instances cannot deadlock.
+        rowsByShard.values().forEach(shardRows -> shardRows.sort(ROW_ORDER));
+        return rowsByShard;
+    }
+
+    private void write(String shard, List<BudgetUsageSnapshot> rows) {
+        String previous = ShardRoutingContext.route(shard);
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_USAGE_SQL, rows, rows.size(),
+                    (statement, row) -> {
+                        statement.setLong(1, row.budgetLimitId());
+                        statement.setObject(2, row.month());
+                        statement.setLong(3, row.spentMinor());
+                        statement.setString(4, row.alertLevel().name());
+                        statement.setLong(5, row.budgetLimitId());
+                    }));
+        } finally {
+            ShardRoutingContext.restore(previous);
+        }
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.budget.limit;
+
+import java.time.LocalDate;
+
+import com.budget.model.BudgetUsage;
+
+/**
+ * A running total changed since the last flush, as handed from the engine to the flusher.
+ */
+record BudgetUsageSnapshot(Long ledgerId, Long budgetLimitId, LocalDate month, long spentMinor,
+        BudgetUsage.Level alertLevel) {
+}
@@ -0,0 +1,74 @@
+package com.budget.limit;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.budget.config.BudgetProperties;
+import com.budget.dto.BudgetAlert;
+
+/**
+ * Keeps the latest alerts in memory, oldest dropped first, for tests and local runs.
+ */
+@Component
+@EnableConfigurationProperties(BudgetProperties.class)
+@ConditionalOnProperty(prefix = "ledger.budget", name = "alert-buffer-size")
+public class InMemoryBudgetAlertSink implements BudgetAlertSink {
+
+    private final int capacity;
+    private final ArrayDeque<BudgetAlert> alerts;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Autowired
+    public InMemoryBudgetAlertSink(BudgetProperties properties) {
+        this(properties.getAlertBufferSize());
+    }
+
+    public InMemoryBudgetAlertSink(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Alert buffer size must be positive.");
+        }
+        this.capacity = capacity;
+        this.alerts = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public void accept(BudgetAlert alert) {
+        lock.lock();
+        try {
+            if (alerts.size() == capacity) {
+                alerts.removeFirst();
+            }
+            alerts.addLast(alert);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the buffered alerts, oldest first
+     */
+    public List<BudgetAlert> getAlerts() {
+        lock.lock();
+        try {
+            return List.copyOf(alerts);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            alerts.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
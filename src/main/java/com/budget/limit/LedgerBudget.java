@@ -0,0 +1,269 @@
+package com.budget.limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.budget.dto.BudgetAlert;
+import com.budget.dto.BudgetLimitStatus;
+import com.budget.dto.ExpenseDelta;
+import com.budget.model.BudgetUsage;
+
+/**
+ * The budget rules of one ledger with their running totals per month. Category rules are
+ * found through one hash lookup and the ledger-wide rule sits in a field, so applying a
+ * delta costs the same however many limits the ledger has. Callers hold {@link #lock()}
+ * around every other method.
+ */
+final class LedgerBudget {
+
+    private static final int NO_RULE = -1;
+
+    private final Long ledgerId;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<LocalDate, MonthUsage> months = new HashMap<>();
+
+    private long[] budgetLimitIds = new long[0];
+    private String[] categories = new String[0];
+    private long[] limits = new long[0];
+    private long[] warnThresholds = new long[0];
+    private Map<String, Integer> categoryRules = Map.of();
+    private int ledgerRule = NO_RULE;
+
+    private boolean loaded;
+    private boolean stale;
+    private boolean touched;
+    private boolean retired;
+
+    LedgerBudget(Long ledgerId) {
+        this.ledgerId = ledgerId;
+    }
+
+    Long ledgerId() {
+        return ledgerId;
+    }
+
+    ReentrantLock lock() {
+        return lock;
+    }
+
+    boolean isRetired() {
+        return retired;
+    }
+
+    /**
+     * Whether rules or totals have to be read before a delta for the month can be applied.
+     * A ledger without limits is only checked again once it goes stale.
+     */
+    boolean needsLoad(LocalDate month) {
+        if (!loaded) {
+            return true;
+        }
+        if (budgetLimitIds.length == 0) {
+            return stale;
+        }
+        MonthUsage usage = months.get(month);
+        return usage == null || usage.stale;
+    }
+
+    /**
+     * Takes the rules and the month's totals from freshly read statuses. When the rules
+     * changed, every month is dropped and its unsaved totals go to {@code dropped}. Alert
+     * levels already held for the month win over the stored ones, which may lag a flush.
+     */
+    void load(LocalDate month, List<BudgetLimitStatus> statuses, List<BudgetUsageSnapshot> dropped) {
+        MonthUsage previous = months.get(month);
+        long[] previousIds = budgetLimitIds;
+        if (!loaded || !sameRules(statuses)) {
+            collectDirty(dropped);
+            months.clear();
+            setRules(statuses);
+        }
+
+        MonthUsage usage = new MonthUsage(statuses.size());
+        for (int i = 0; i < statuses.size(); i++) {
+            BudgetLimitStatus status = statuses.get(i);
+            usage.spent[i] = status.spentMinor();
+            usage.levels[i] = status.alertLevel();
+            int j = Objects.isNull(previous) ? NO_RULE : indexOf(previousIds, status.budgetLimitId());
+            if (j != NO_RULE) {
+                usage.levels[i] = previous.levels[j];
+                usage.dirty[i] = previous.dirty[j];
+            }
+        }
+        if (statuses.isEmpty()) {
+            months.clear();
+        } else {
+            months.put(month, usage);
+        }
+        loaded = true;
+        stale = false;
+    }
+
+    /**
+     * Adds a committed delta to the totals of its category's rule and the ledger-wide rule
+     * and evaluates both.
+     */
+    void add(ExpenseDelta delta, List<BudgetAlert> alerts) {
+        update(delta, true, alerts);
+    }
+
+    /**
+     * Evaluates the rules a delta touches without adding it, for a delta the totals were
+     * just loaded with.
+     */
+    void evaluate(ExpenseDelta delta, List<BudgetAlert> alerts) {
+        update(delta, false, alerts);
+    }
+
+    /**
+     * Hands over the totals changed since the last call. An idle budget is retired and the
+     * caller drops it; any other is marked stale so its next write reseeds it.
+     *
+     * @return whether the budget was retired
+     */
+    boolean retireIfIdle(List<BudgetUsageSnapshot> rows) {
+        collectDirty(rows);
+        if (!touched) {
+            retired = true;
+            return true;
+        }
+        touched = false;
+        markStale();
+        return false;
+    }
+
+    void markStale() {
+        stale = true;
+        for (MonthUsage usage : months.values()) {
+            usage.stale = true;
+        }
+    }
+
+    private void update(ExpenseDelta delta, boolean add, List<BudgetAlert> alerts) {
+        touched = true;
+        MonthUsage usage = months.get(delta.month());
+        if (usage == null) {
+            return;
+        }
+
+        Integer categoryRule = categoryRules.get(delta.category());
+        if (categoryRule != null) {
+            apply(usage, categoryRule, delta, add, alerts);
+        }
+        if (ledgerRule != NO_RULE) {
+            apply(usage, ledgerRule, delta, add, alerts);
+        }
+    }
+
+    /**
+     * Alerts once per level on the way up. A total that falls back lowers the level, so
+     * crossing the threshold again alerts again.
+     */
+    private void apply(MonthUsage usage, int rule, ExpenseDelta delta, boolean add, List<BudgetAlert> alerts) {
+        if (add) {
+            usage.spent[rule] += delta.amountMinor();
+            usage.dirty[rule] = true;
+        }
+
+        BudgetUsage.Level level = levelOf(rule, usage.spent[rule]);
+        if (level == usage.levels[rule]) {
+            return;
+        }
+        if (level.compareTo(usage.levels[rule]) > 0) {
+            alerts.add(new BudgetAlert(ledgerId, budgetLimitIds[rule], categories[rule], delta.month(), level,
+                    usage.spent[rule], limits[rule], LocalDateTime.now()));
+        }
+        usage.levels[rule] = level;
+        usage.dirty[rule] = true;
+    }
+
+    private BudgetUsage.Level levelOf(int rule, long spentMinor) {
+        if (spentMinor >= limits[rule]) {
+            return BudgetUsage.Level.EXCEEDED;
+        }
+        return spentMinor >= warnThresholds[rule] ? BudgetUsage.Level.WARNING : BudgetUsage.Level.NONE;
+    }
+
+    private void collectDirty(List<BudgetUsageSnapshot> rows) {
+        for (Map.Entry<LocalDate, MonthUsage> month : months.entrySet()) {
+            MonthUsage usage = month.getValue();
+            for (int i = 0; i < usage.dirty.length; i++) {
+                if (usage.dirty[i]) {
+                    rows.add(new BudgetUsageSnapshot(ledgerId, budgetLimitIds[i], month.getKey(), usage.spent[i],
+                            usage.levels[i]));
+                    usage.dirty[i] = false;
+                }
+            }
+        }
+    }
+
+    private boolean sameRules(List<BudgetLimitStatus> statuses) {
+        if (statuses.size() != budgetLimitIds.length) {
+            return false;
+        }
+        for (int i = 0; i < statuses.size(); i++) {
+            BudgetLimitStatus status = statuses.get(i);
+            if (status.budgetLimitId() != budgetLimitIds[i] || status.limitMinor() != limits[i]
+                    || warnThreshold(status) != warnThresholds[i] || !Objects.equals(status.category(), categories[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void setRules(List<BudgetLimitStatus> statuses) {
+        int size = statuses.size();
+        budgetLimitIds = new long[size];
+        categories = new String[size];
+        limits = new long[size];
+        warnThresholds = new long[size];
+        Map<String, Integer> rules = new HashMap<>();
+        ledgerRule = NO_RULE;
+        for (int i = 0; i < size; i++) {
+            BudgetLimitStatus status = statuses.get(i);
+            budgetLimitIds[i] = status.budgetLimitId();
+            categories[i] = status.category();
+            limits[i] = status.limitMinor();
+            warnThresholds[i] = warnThreshold(status);
+            if (Objects.isNull(status.category())) {
+                ledgerRule = i;
+            } else {
+                rules.put(status.category(), i);
+            }
+        }
+        categoryRules = rules;
+    }
+
+    /** Rounded up, so a warning never comes before the configured share is reached. */
+    private static long warnThreshold(BudgetLimitStatus status) {
+        return (status.limitMinor() * status.warnPercent() + 99) / 100;
+    }
+
+    /** Rules arrive ordered by id, so the previous rules can be searched by halving. */
+    private static int indexOf(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index < 0 ? NO_RULE : index;
+    }
+
+    private static final class MonthUsage {
+
+        private final long[] spent;
+        private final BudgetUsage.Level[] levels;
+        private final boolean[] dirty;
+        private boolean stale;
+
+        private MonthUsage(int rules) {
+            spent = new long[rules];
+            levels = new BudgetUsage.Level[rules];
+            dirty = new boolean[rules];
+        }
+
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.budget.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Table(name = "budget_limit")
+@Entity
+public class BudgetLimit extends BaseEntity {
+
+    /** Assigned by {@link com.budget.shard.SnowflakeIdGenerator} before the insert. */
+    @Id
+    @Column(name = "budget_limit_id")
+    private Long budgetLimitId;
+
+    @Column(name = "ledger_id", nullable = false)
+    private Long ledgerId;
+
+    /** Expense category the limit applies to, or null for everything spent in the ledger. */
+    @Column(name = "category", length = 50)
+    private String category;
+
+    /** Spending allowed per calendar month, in minor units of the ledger currency. */
+    @NotNull(message = "Budget limitMinor is required.")
+    @Column(name = "limit_minor", nullable = false)
+    private Long limitMinor;
+
+    /** Share of the limit, in percent, at which a warning is raised before the limit itself. */
+    @Column(name = "warn_percent", nullable = false)
+    private Integer warnPercent = 80;
+
+}
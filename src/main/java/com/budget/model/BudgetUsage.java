@@ -0,0 +1,50 @@
+package com.budget.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Data
+@IdClass(BudgetUsageId.class)
+@Table(name = "budget_usage")
+@Entity
+public class BudgetUsage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** In increasing order of severity. */
+    public enum Level {
+        NONE,
+        WARNING,
+        EXCEEDED
+    }
+
+    @Id
+    @Column(name = "budget_limit_id")
+    private Long budgetLimitId;
+
+    /** First day of the month the spending falls in. */
+    @Id
+    @Column(name = "month")
+    private LocalDate month;
+
+    @Column(name = "spent_minor", nullable = false)
+    private Long spentMinor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "alert_level", nullable = false, length = 10)
+    private Level alertLevel;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+}
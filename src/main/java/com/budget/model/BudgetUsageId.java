@@ -0,0 +1,20 @@
+package com.budget.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetUsageId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long budgetLimitId;
+    private LocalDate month;
+
+}
@@ -0,0 +1,49 @@
+package com.budget.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Table(name = "expense")
+@Entity
+public class Expense extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_id_seq")
+    @SequenceGenerator(name = "expense_id_seq", sequenceName = "expense_expense_id_seq", allocationSize = 50)
+    @Column(name = "expense_id")
+    private Long expenseId;
+
+    @NotNull(message = "Expense ledgerId is required.")
+    @Column(name = "ledger_id", nullable = false)
+    private Long ledgerId;
+
+    /** Amount in minor units of the ledger currency, e.g. cents; negative for refunds. */
+    @NotNull(message = "Expense amount is required.")
+    @Column(name = "amount_minor", nullable = false)
+    private Long amountMinor;
+
+    @NotBlank(message = "Expense category is required.")
+    @Column(name = "category", nullable = false, length = 50)
+    private String category;
+
+    @Column(name = "payee", length = 100)
+    private String payee;
+
+    @Column(name = "description")
+    private String description;
+
+    @NotNull(message = "Expense occurredAt is required.")
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "deleted", nullable = false)
+    private Boolean deleted = false;
+
+}
@@ -1,5 +1,9 @@
 package com.budget.model;
 
+import java.util.Locale;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
@@ -11,8 +15,8 @@ import lombok.EqualsAndHashCode;
 @Entity
 public class Ledger extends BaseEntity {
 
+    /** Assigned by {@link com.budget.shard.SnowflakeIdGenerator} before the insert. */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "ledger_id")
     private Long ledgerId;
 
@@ -23,6 +27,10 @@ public class Ledger extends BaseEntity {
     @Column(name = "name", nullable = false, length = 20)
     private String name;
 
+    @JsonIgnore
+    @Column(name = "normalized_name", insertable = false, updatable = false)
+    private String normalizedName;
+
     @Column(name = "description")
     private String description;
 
@@ -33,4 +41,24 @@ public class Ledger extends BaseEntity {
     @Column(name = "deleted", nullable = false)
     private Boolean deleted = false;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Mirrors the {@code lower(trim(name))} expression of the normalized_name column,
+     * which trims spaces only.
+     */
+    public static String normalizeName(String name) {
+        int start = 0;
+        int end = name.length();
+        while (start < end && name.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && name.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return name.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+
 }
@@ -0,0 +1,40 @@
+package com.budget.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Data
+@IdClass(LedgerMonthlySummaryId.class)
+@Table(name = "ledger_monthly_summary")
+@Entity
+public class LedgerMonthlySummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "ledger_id")
+    private Long ledgerId;
+
+    /** First day of the month the entries occurred in. */
+    @Id
+    @Column(name = "month")
+    private LocalDate month;
+
+    @Id
+    @Column(name = "category", length = 50)
+    private String category;
+
+    @Column(name = "total_minor", nullable = false)
+    private Long totalMinor;
+
+    @Column(name = "entry_count", nullable = false)
+    private Long entryCount;
+
+}
@@ -0,0 +1,21 @@
+package com.budget.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerMonthlySummaryId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long ledgerId;
+    private LocalDate month;
+    private String category;
+
+}
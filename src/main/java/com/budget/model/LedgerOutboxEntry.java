@@ -0,0 +1,74 @@
+package com.budget.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import com.budget.event.LedgerChangedEvent.ChangeType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Data
+@Table(name = "ledger_outbox")
+@Entity
+public class LedgerOutboxEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        PENDING,
+        DONE,
+        DEAD
+    }
+
+    /**
+     * Drawn by the insert itself, which runs after the change has read its ledger's version.
+     * A change of the same ledger that commits later therefore gets a higher id, and
+     * dispatchers deliver a ledger's entries in this order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Column(name = "ledger_id", nullable = false)
+    private Long ledgerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private ChangeType changeType;
+
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    private Status status = Status.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    /** Set while a dispatcher delivers the entry; no other dispatcher claims the ledger until then. */
+    @Column(name = "leased_until")
+    private LocalDateTime leasedUntil;
+
+}
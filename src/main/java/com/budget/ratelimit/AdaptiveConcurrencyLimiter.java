@@ -0,0 +1,97 @@
+package com.budget.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Caps requests in flight with an AIMD limit driven by connection pool wait. Once per
+ * adjustment it reads the Hikari acquire timers: if the mean wait since the last adjustment
+ * is above target, the limit is cut by a fifth, otherwise it grows by one. Requests over
+ * the limit are shed before they queue for a connection, which keeps latency flat for the
+ * requests that are admitted.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final String POOL_ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    private final MeterRegistry meterRegistry;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetWaitNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile int limit;
+    private long lastAcquireCount;
+    private double lastAcquireNanos;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry, int minLimit, int maxLimit, Duration targetWait) {
+        this.meterRegistry = meterRegistry;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.targetWaitNanos = targetWait.toNanos();
+        this.limit = this.maxLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.rate-limit.adjust-delay-millis:1000}")
+    public void adjust() {
+        lock.lock();
+        try {
+            doAdjust();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void doAdjust() {
+        long acquireCount = 0;
+        double acquireNanos = 0;
+        for (Timer timer : meterRegistry.find(POOL_ACQUIRE_TIMER).timers()) {
+            acquireCount += timer.count();
+            acquireNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+
+        long acquires = acquireCount - lastAcquireCount;
+        double meanWaitNanos = acquires > 0 ? (acquireNanos - lastAcquireNanos) / acquires : 0;
+        lastAcquireCount = acquireCount;
+        lastAcquireNanos = acquireNanos;
+
+        if (meanWaitNanos > targetWaitNanos) {
+            limit = Math.max(minLimit, limit - Math.max(1, limit / 5));
+        } else if (limit < maxLimit) {
+            limit = limit + 1;
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.budget.ratelimit;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Admits ledger API requests in two steps. The per-client token bucket answers 429 with
+ * Retry-After. The shared concurrency limit answers 503 while the connection pool is
+ * saturated. A request is only counted once, on its first dispatch; streaming responses
+ * keep their concurrency slot until the async body completes.
+ * <p>
+ * Requests for one person's ledgers share that person's bucket, whichever address they come
+ * from. Other requests are told apart by their authenticated principal, else by remote
+ * address, which is the forwarded client address when the request came through a trusted
+ * proxy. A client that walks through person ids gets a fresh bucket for each one, so only
+ * the shared concurrency limit bounds it. Headers are never used.
+ */
+@Slf4j
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SLOT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".slot";
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Counter rateLimited;
+    private final Counter overloaded;
+
+    public RateLimitInterceptor(TokenBucketRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter,
+            MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.rateLimited = rejectedCounter(meterRegistry, "rate_limited");
+        this.overloaded = rejectedCounter(meterRegistry, "overloaded");
+        Gauge.builder("ledger.requests.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("ledger.requests.in.flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("ledger.requests.rejected")
+                .description("Ledger API requests rejected before reaching a controller")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(clientKey(request));
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            long retryAfter = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests.");
+            return false;
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            overloaded.increment();
+            log.debug("Shedding {} {}, {} requests in flight", request.getMethod(), request.getRequestURI(),
+                    concurrencyLimiter.getInFlight());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is busy, try again shortly.");
+            return false;
+        }
+        request.setAttribute(SLOT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(SLOT_ATTRIBUTE) != null) {
+            request.removeAttribute(SLOT_ATTRIBUTE);
+            concurrencyLimiter.release();
+        }
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        // Set by the handler mapping, which runs before any interceptor.
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request
+                .getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables != null && pathVariables.get("personId") != null) {
+            return "person:" + pathVariables.get("personId");
+        }
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.budget.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Token bucket per client, kept in the GCRA form: the whole bucket is one long, the time at
+ * which it will be full again. Admitting a request is a single compare-and-set on that
+ * client's long, and buckets live in a ConcurrentHashMap, whose bins spread contention
+ * across keys. Neither step takes a lock.
+ */
+public class TokenBucketRateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier clock;
+
+    public TokenBucketRateLimiter(double requestsPerSecond, int burst) {
+        this(requestsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double requestsPerSecond, int burst, LongSupplier clock) {
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / requestsPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.clock = clock;
+    }
+
+    /**
+     * @return 0 if the request is admitted, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long fullAt = bucket.get();
+            long nextFullAt = Math.max(fullAt, now) + intervalNanos;
+            long excess = nextFullAt - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(fullAt, nextFullAt)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely, which behave exactly like a new bucket.
+     * A request racing with the removal may update a dropped bucket and go uncounted.
+     */
+    @Scheduled(fixedDelayString = "${ledger.rate-limit.evict-delay-millis:60000}")
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.budget.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.budget.dto.BudgetLimitStatus;
+import com.budget.model.BudgetLimit;
+
+@Service
+public interface BudgetLimitService {
+
+    public List<BudgetLimit> getBudgetLimits(Long ledgerId);
+
+    public List<BudgetLimitStatus> getBudgetStatus(Long ledgerId, LocalDate month);
+
+    public BudgetLimit saveBudgetLimit(Long ledgerId, BudgetLimit budgetLimitModel);
+
+    public BudgetLimit updateBudgetLimit(Long ledgerId, BudgetLimit budgetLimitModel);
+
+    public void deleteBudgetLimit(Long ledgerId, Long budgetLimitId);
+
+}
@@ -0,0 +1,19 @@
+package com.budget.service;
+
+import java.io.InputStream;
+
+import org.springframework.stereotype.Service;
+
+import com.budget.dto.ExpenseImportReport;
+import com.budget.importer.ExpenseImportFormat;
+
+@Service
+public interface ExpenseImportService {
+
+    /**
+     * @param importId optional client-chosen id; an import sent again under the same id continues after the lines
+     *                 already committed
+     */
+    public ExpenseImportReport importExpenses(Long ledgerId, String importId, ExpenseImportFormat format, InputStream inputStream);
+
+}
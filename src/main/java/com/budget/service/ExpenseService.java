@@ -0,0 +1,23 @@
+package com.budget.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.budget.model.Expense;
+
+@Service
+public interface ExpenseService {
+
+    public Expense getExpenseById(Long expenseId);
+
+    public List<Expense> getExpensesByLedgerId(Long ledgerId, LocalDateTime from, LocalDateTime to, int limit);
+
+    public Expense saveExpense(Expense expenseModel);
+
+    public Expense updateExpense(Expense expenseModel);
+
+    public void deleteExpense(Long expenseId);
+
+}
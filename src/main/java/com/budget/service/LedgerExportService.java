@@ -0,0 +1,19 @@
+package com.budget.service;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+import org.springframework.stereotype.Service;
+
+import com.budget.dto.LedgerExportReport;
+import com.budget.export.LedgerExportFormat;
+
+@Service
+public interface LedgerExportService {
+
+    public LedgerExportReport exportLedgers(Long personId, LedgerExportFormat format, boolean gzip, Long afterLedgerId,
+            Long limit, WritableByteChannel channel) throws IOException;
+
+    public LedgerExportReport exportAllLedgersToFile(LedgerExportFormat format, boolean gzip, Long afterLedgerId, Long limit);
+
+}
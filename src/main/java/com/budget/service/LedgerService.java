@@ -1,22 +1,46 @@
 package com.budget.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Service;
 
+import com.budget.dto.LedgerBatchResponse;
+import com.budget.dto.LedgerDetail;
+import com.budget.dto.LedgerListItem;
+import com.budget.dto.LedgerListing;
+import com.budget.dto.LedgerListVersion;
+import com.budget.dto.LedgerPage;
+import com.budget.dto.LedgerVersion;
 import com.budget.model.Ledger;
 
 @Service
 public interface LedgerService {
 
     public Ledger getLedgerById(Long ledgerId);
+
+    public LedgerDetail getLedgerDetail(Long ledgerId);
+
+    public LedgerDetail refreshLedgerDetail(Long ledgerId);
+
+    public LedgerVersion getLedgerVersion(Long ledgerId);
+
+    public LedgerListVersion getLedgerListVersion(Long personId);
     
-    public List<Ledger> getAllLedgersByPersonId(Long personId);
+    public LedgerListing getAllLedgersByPersonId(Long personId);
+
+    public LedgerListing refreshLedgersByPersonId(Long personId);
+
+    public LedgerPage getLedgersPage(Long personId, Long afterLedgerId, int limit);
+
+    public void streamLedgersByPersonId(Long personId, Consumer<LedgerListItem> ledgerConsumer);
 
     public Ledger saveLedger(Ledger ledgerModel);
 
     public Ledger updateLedger(Ledger ledgerModel);
 
+    public LedgerBatchResponse saveLedgers(List<Ledger> ledgerModels);
+
     public void deleteLedger(Long ledgerId);
 
 }
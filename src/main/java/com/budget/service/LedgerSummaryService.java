@@ -0,0 +1,20 @@
+package com.budget.service;
+
+import java.util.Collection;
+
+import org.springframework.stereotype.Service;
+
+import com.budget.dto.ExpenseDelta;
+import com.budget.dto.LedgerSummaryResponse;
+import com.budget.dto.PersonTotalsResponse;
+
+@Service
+public interface LedgerSummaryService {
+
+    public void applyDeltas(Collection<ExpenseDelta> deltas);
+
+    public LedgerSummaryResponse getLedgerSummary(Long ledgerId);
+
+    public PersonTotalsResponse getPersonTotals(Long personId, String currency);
+
+}
@@ -0,0 +1,42 @@
+package com.budget.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.budget.dto.LedgerBatchResponse;
+import com.budget.dto.LedgerDetail;
+import com.budget.dto.LedgerListItem;
+import com.budget.dto.LedgerListVersion;
+import com.budget.dto.LedgerPage;
+import com.budget.dto.LedgerVersion;
+import com.budget.model.Ledger;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link LedgerService}, served under the {@code reactive} profile.
+ */
+@Service
+public interface ReactiveLedgerService {
+
+    public Mono<LedgerDetail> getLedgerDetail(Long ledgerId);
+
+    public Mono<LedgerVersion> getLedgerVersion(Long ledgerId);
+
+    public Mono<LedgerListVersion> getLedgerListVersion(Long personId);
+
+    public Flux<LedgerListItem> getAllLedgersByPersonId(Long personId);
+
+    public Mono<LedgerPage> getLedgersPage(Long personId, Long afterLedgerId, int limit);
+
+    public Mono<Ledger> saveLedger(Ledger ledgerModel);
+
+    public Mono<Ledger> updateLedger(Ledger ledgerModel);
+
+    public Mono<LedgerBatchResponse> saveLedgers(List<Ledger> ledgerModels);
+
+    public Mono<Void> deleteLedger(Long ledgerId);
+
+}
@@ -0,0 +1,192 @@
+package com.budget.service.impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.budget.dao.BudgetLimitDao;
+import com.budget.dao.BudgetUsageDao;
+import com.budget.dao.LedgerMonthlySummaryDao;
+import com.budget.dto.BudgetLimitStatus;
+import com.budget.event.BudgetLimitChangedEvent;
+import com.budget.exception.ApiException;
+import com.budget.model.BudgetLimit;
+import com.budget.model.BudgetUsage;
+import com.budget.model.LedgerMonthlySummary;
+import com.budget.service.BudgetLimitService;
+import com.budget.service.LedgerService;
+import com.budget.shard.ShardKey;
+import com.budget.shard.ShardKey.Kind;
+import com.budget.shard.SnowflakeIdGenerator;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class BudgetLimitServiceImpl implements BudgetLimitService {
+
+    static final String BUDGET_LIMIT_NOT_FOUND = "Budget limit not found.";
+    static final String BUDGET_LIMIT_EXISTS = "Budget limit already exists for this category.";
+    static final int MAX_CATEGORY_LENGTH = 50;
+    /** Keeps the warning threshold, limit times percent, within a long. */
+    static final long MAX_LIMIT_MINOR = Long.MAX_VALUE / 100;
+
+    private final BudgetLimitDao budgetLimitDao;
+    private final BudgetUsageDao budgetUsageDao;
+    private final LedgerMonthlySummaryDao ledgerMonthlySummaryDao;
+    private final LedgerService ledgerService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SnowflakeIdGenerator budgetLimitIdGenerator;
+
+    @Autowired
+    public BudgetLimitServiceImpl(BudgetLimitDao budgetLimitDao, BudgetUsageDao budgetUsageDao,
+            LedgerMonthlySummaryDao ledgerMonthlySummaryDao, LedgerService ledgerService,
+            ApplicationEventPublisher eventPublisher, SnowflakeIdGenerator budgetLimitIdGenerator) {
+        this.budgetLimitDao = budgetLimitDao;
+        this.budgetUsageDao = budgetUsageDao;
+        this.ledgerMonthlySummaryDao = ledgerMonthlySummaryDao;
+        this.ledgerService = ledgerService;
+        this.eventPublisher = eventPublisher;
+        this.budgetLimitIdGenerator = budgetLimitIdGenerator;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BudgetLimit> getBudgetLimits(@ShardKey(Kind.LEDGER) Long ledgerId) {
+        ledgerService.getLedgerById(ledgerId);
+        return budgetLimitDao.findAllByLedgerId(ledgerId);
+    }
+
+    /**
+     * Reads the month's spending from ledger_monthly_summary, one row per category, so the
+     * cost does not grow with the ledger's history. Also seeds the budget rule engine.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<BudgetLimitStatus> getBudgetStatus(@ShardKey(Kind.LEDGER) Long ledgerId, LocalDate month) {
+        if (Objects.isNull(month)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Budget month cannot be null.");
+        }
+
+        ledgerService.getLedgerById(ledgerId);
+        List<BudgetLimit> budgetLimits = budgetLimitDao.findAllByLedgerId(ledgerId);
+        if (budgetLimits.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDate firstDay = month.withDayOfMonth(1);
+        Map<String, Long> spentByCategory = new HashMap<>();
+        long spentInLedger = 0;
+        for (LedgerMonthlySummary summary : ledgerMonthlySummaryDao.findAllByLedgerIdAndMonth(ledgerId, firstDay)) {
+            spentByCategory.put(summary.getCategory(), summary.getTotalMinor());
+            spentInLedger += summary.getTotalMinor();
+        }
+
+        Map<Long, BudgetUsage.Level> alertLevels = new HashMap<>();
+        List<Long> budgetLimitIds = budgetLimits.stream().map(BudgetLimit::getBudgetLimitId).toList();
+        for (BudgetUsage usage : budgetUsageDao.findAllByBudgetLimitIdsAndMonth(budgetLimitIds, firstDay)) {
+            alertLevels.put(usage.getBudgetLimitId(), usage.getAlertLevel());
+        }
+
+        List<BudgetLimitStatus> statuses = new ArrayList<>(budgetLimits.size());
+        for (BudgetLimit budgetLimit : budgetLimits) {
+            long spentMinor = Objects.isNull(budgetLimit.getCategory())
+                    ? spentInLedger
+                    : spentByCategory.getOrDefault(budgetLimit.getCategory(), 0L);
+            statuses.add(new BudgetLimitStatus(budgetLimit.getBudgetLimitId(), budgetLimit.getCategory(),
+                    budgetLimit.getLimitMinor(), budgetLimit.getWarnPercent(), firstDay, spentMinor,
+                    alertLevels.getOrDefault(budgetLimit.getBudgetLimitId(), BudgetUsage.Level.NONE)));
+        }
+        return statuses;
+    }
+
+    @Transactional
+    @Override
+    public BudgetLimit saveBudgetLimit(@ShardKey(Kind.LEDGER) Long ledgerId, BudgetLimit budgetLimitModel) {
+        validateBudgetLimit(budgetLimitModel);
+        ledgerService.getLedgerById(ledgerId);
+        budgetLimitModel.setBudgetLimitId(budgetLimitIdGenerator.nextId());
+        budgetLimitModel.setLedgerId(ledgerId);
+        BudgetLimit savedBudgetLimit = saveAndFlush(budgetLimitModel);
+
+        eventPublisher.publishEvent(new BudgetLimitChangedEvent(ledgerId));
+        return savedBudgetLimit;
+    }
+
+    @Transactional
+    @Override
+    public BudgetLimit updateBudgetLimit(@ShardKey(Kind.LEDGER) Long ledgerId, BudgetLimit budgetLimitModel) {
+        validateBudgetLimit(budgetLimitModel);
+        BudgetLimit budgetLimit = getBudgetLimit(ledgerId, budgetLimitModel.getBudgetLimitId());
+
+        budgetLimit.setCategory(budgetLimitModel.getCategory());
+        budgetLimit.setLimitMinor(budgetLimitModel.getLimitMinor());
+        budgetLimit.setWarnPercent(budgetLimitModel.getWarnPercent());
+        BudgetLimit savedBudgetLimit = saveAndFlush(budgetLimit);
+
+        eventPublisher.publishEvent(new BudgetLimitChangedEvent(ledgerId));
+        return savedBudgetLimit;
+    }
+
+    @Transactional
+    @Override
+    public void deleteBudgetLimit(@ShardKey(Kind.LEDGER) Long ledgerId, Long budgetLimitId) {
+        BudgetLimit budgetLimit = getBudgetLimit(ledgerId, budgetLimitId);
+
+        budgetLimitDao.delete(budgetLimit);
+        eventPublisher.publishEvent(new BudgetLimitChangedEvent(ledgerId));
+    }
+
+    static void validateBudgetLimit(BudgetLimit budgetLimit) {
+        if (Objects.isNull(budgetLimit) || Objects.isNull(budgetLimit.getLimitMinor())) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Budget limit or limitMinor cannot be null.");
+        }
+
+        if (budgetLimit.getLimitMinor() <= 0 || budgetLimit.getLimitMinor() > MAX_LIMIT_MINOR) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Budget limitMinor must be between 1 and " + MAX_LIMIT_MINOR + ".");
+        }
+
+        if (Objects.isNull(budgetLimit.getWarnPercent()) || budgetLimit.getWarnPercent() < 1 || budgetLimit.getWarnPercent() > 100) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Budget warnPercent must be between 1 and 100.");
+        }
+
+        if (Objects.nonNull(budgetLimit.getCategory())
+                && (budgetLimit.getCategory().isBlank() || budgetLimit.getCategory().length() > MAX_CATEGORY_LENGTH)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST,
+                    "Budget category must be null or 1 to " + MAX_CATEGORY_LENGTH + " characters.");
+        }
+    }
+
+    private BudgetLimit getBudgetLimit(Long ledgerId, Long budgetLimitId) {
+        ledgerService.getLedgerById(ledgerId);
+        return budgetLimitDao.findByIdAndLedgerId(budgetLimitId, ledgerId).orElseThrow(() -> {
+            log.error("Budget limit {} not found for ledgerId {}", budgetLimitId, ledgerId);
+            return new ApiException(HttpStatus.NOT_FOUND, BUDGET_LIMIT_NOT_FOUND);
+        });
+    }
+
+    /**
+     * Flushes immediately so a second limit on the same category, rejected by the unique
+     * index, surfaces here as a 400.
+     */
+    private BudgetLimit saveAndFlush(BudgetLimit budgetLimit) {
+        try {
+            return budgetLimitDao.saveAndFlush(budgetLimit);
+        } catch (DataIntegrityViolationException e) {
+            log.error("Budget limit for category {} of ledgerId {} already exists.", budgetLimit.getCategory(),
+                    budgetLimit.getLedgerId());
+            throw new ApiException(HttpStatus.BAD_REQUEST, BUDGET_LIMIT_EXISTS, e);
+        }
+    }
+
+}
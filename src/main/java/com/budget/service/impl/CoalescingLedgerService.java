@@ -0,0 +1,138 @@
+package com.budget.service.impl;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.budget.dto.LedgerBatchResponse;
+import com.budget.dto.LedgerDetail;
+import com.budget.dto.LedgerListItem;
+import com.budget.dto.LedgerListing;
+import com.budget.dto.LedgerListVersion;
+import com.budget.dto.LedgerPage;
+import com.budget.dto.LedgerVersion;
+import com.budget.event.LedgerChangedEvent;
+import com.budget.model.Ledger;
+import com.budget.service.LedgerService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sits in front of {@link LedgerServiceImpl} and lets concurrent identical
+ * {@code getLedgerById} and {@code getAllLedgersByPersonId} calls share one query. All
+ * other calls pass straight through.
+ * <p>
+ * Calls made inside a caller's transaction are not coalesced, since they must see that
+ * transaction's own writes. After a write commits, its keys are dropped from the running
+ * flights, so a read that starts after the commit never joins a query that started
+ * before it.
+ */
+@Primary
+@Service
+@ConditionalOnProperty(prefix = "ledger.coalescing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingLedgerService implements LedgerService {
+
+    private final LedgerServiceImpl delegate;
+    private final SingleFlight<Long, Ledger> ledgerById;
+    private final SingleFlight<Long, LedgerListing> ledgersByPersonId;
+
+    @Autowired
+    public CoalescingLedgerService(LedgerServiceImpl delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.ledgerById = new SingleFlight<>("getLedgerById", meterRegistry);
+        this.ledgersByPersonId = new SingleFlight<>("getAllLedgersByPersonId", meterRegistry);
+    }
+
+    @Override
+    public Ledger getLedgerById(Long ledgerId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || Objects.isNull(ledgerId)) {
+            return delegate.getLedgerById(ledgerId);
+        }
+        return ledgerById.execute(ledgerId, () -> delegate.getLedgerById(ledgerId));
+    }
+
+    @Override
+    public LedgerListing getAllLedgersByPersonId(Long personId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || Objects.isNull(personId)) {
+            return delegate.getAllLedgersByPersonId(personId);
+        }
+        return ledgersByPersonId.execute(personId, () -> delegate.getAllLedgersByPersonId(personId));
+    }
+
+    /**
+     * The cache eviction listener runs before this one, so a flight started once this
+     * returns cannot read the evicted entry from the cache either.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLedgerChanged(LedgerChangedEvent event) {
+        ledgerById.forget(event.ledgerId());
+        ledgersByPersonId.forget(event.personId());
+        if (event.ownerChanged()) {
+            ledgersByPersonId.forget(event.previousPersonId());
+        }
+    }
+
+    @Override
+    public LedgerDetail getLedgerDetail(Long ledgerId) {
+        return delegate.getLedgerDetail(ledgerId);
+    }
+
+    @Override
+    public LedgerDetail refreshLedgerDetail(Long ledgerId) {
+        return delegate.refreshLedgerDetail(ledgerId);
+    }
+
+    @Override
+    public LedgerListing refreshLedgersByPersonId(Long personId) {
+        return delegate.refreshLedgersByPersonId(personId);
+    }
+
+    @Override
+    public LedgerVersion getLedgerVersion(Long ledgerId) {
+        return delegate.getLedgerVersion(ledgerId);
+    }
+
+    @Override
+    public LedgerListVersion getLedgerListVersion(Long personId) {
+        return delegate.getLedgerListVersion(personId);
+    }
+
+    @Override
+    public LedgerPage getLedgersPage(Long personId, Long afterLedgerId, int limit) {
+        return delegate.getLedgersPage(personId, afterLedgerId, limit);
+    }
+
+    @Override
+    public void streamLedgersByPersonId(Long personId, Consumer<LedgerListItem> ledgerConsumer) {
+        delegate.streamLedgersByPersonId(personId, ledgerConsumer);
+    }
+
+    @Override
+    public Ledger saveLedger(Ledger ledgerModel) {
+        return delegate.saveLedger(ledgerModel);
+    }
+
+    @Override
+    public Ledger updateLedger(Ledger ledgerModel) {
+        return delegate.updateLedger(ledgerModel);
+    }
+
+    @Override
+    public LedgerBatchResponse saveLedgers(List<Ledger> ledgerModels) {
+        return delegate.saveLedgers(ledgerModels);
+    }
+
+    @Override
+    public void deleteLedger(Long ledgerId) {
+        delegate.deleteLedger(ledgerId);
+    }
+
+}
@@ -0,0 +1,279 @@
+package com.budget.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.budget.config.ExpenseImportProperties;
+import com.budget.dto.ExpenseDelta;
+import com.budget.dto.ExpenseImportReport;
+import com.budget.exception.ApiException;
+import com.budget.importer.ExpenseImportFormat;
+import com.budget.importer.ExpenseRowReader;
+import com.budget.importer.ImportedRow;
+import com.budget.model.Expense;
+import com.budget.model.Ledger;
+import com.budget.service.ExpenseImportService;
+import com.budget.service.LedgerService;
+import com.budget.service.LedgerSummaryService;
+import com.budget.shard.ShardKey;
+import com.budget.shard.ShardKey.Kind;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@EnableConfigurationProperties(ExpenseImportProperties.class)
+public class ExpenseImportServiceImpl implements ExpenseImportService {
+
+    private static final String INSERT_EXPENSE_SQL = "INSERT INTO expense "
+            + "(expense_id, ledger_id, amount_minor, category, payee, description, occurred_at, deleted, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, false, ?, ?)";
+
+    private static final String NEXT_EXPENSE_IDS_SQL = "SELECT nextval('expense_expense_id_seq') FROM generate_series(1, ?)";
+
+    /** The sequence's INCREMENT BY, and the allocationSize of the generator on Expense. */
+    private static final int EXPENSE_ID_BLOCK_SIZE = 50;
+
+    private static final String FIND_PROGRESS_SQL = "SELECT last_line FROM expense_import WHERE ledger_id = ? AND import_id = ?";
+
+    /**
+     * Only moves forward from the line before the chunk, so a second request running the
+     * same import cannot commit a chunk the first one already wrote.
+     */
+    private static final String RECORD_PROGRESS_SQL = "INSERT INTO expense_import "
+            + "(ledger_id, import_id, last_line, imported_rows, updated_at) VALUES (?, ?, ?, ?, ?) "
+            + "ON CONFLICT (ledger_id, import_id) DO UPDATE SET last_line = EXCLUDED.last_line, "
+            + "imported_rows = expense_import.imported_rows + EXCLUDED.imported_rows, updated_at = EXCLUDED.updated_at "
+            + "WHERE expense_import.last_line < ?";
+
+    private static final int MAX_IMPORT_ID_LENGTH = 64;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerService ledgerService;
+    private final LedgerSummaryService ledgerSummaryService;
+    private final ExpenseImportProperties properties;
+    private final ForkJoinPool validationPool;
+
+    @Autowired
+    public ExpenseImportServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            LedgerService ledgerService, LedgerSummaryService ledgerSummaryService, ExpenseImportProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ledgerService = ledgerService;
+        this.ledgerSummaryService = ledgerSummaryService;
+        this.properties = properties;
+        this.validationPool = new ForkJoinPool(Math.max(1, properties.getParallelism()));
+    }
+
+    /**
+     * Parses on the calling thread, validates chunks on the fork-join pool while earlier
+     * chunks are written, and commits each chunk on its own. At most {@code parallelism}
+     * chunks are held in memory, whatever the size of the file. A failure stops the import;
+     * chunks committed before it stay imported and the error says how far they reach.
+     * <p>
+     * With an import id, each chunk also records its last line in the same transaction,
+     * and sending the file again under that id skips the lines already committed.
+     */
+    @Override
+    public ExpenseImportReport importExpenses(@ShardKey(Kind.LEDGER) Long ledgerId, String importId, ExpenseImportFormat format,
+            InputStream inputStream) {
+        long startedAt = System.currentTimeMillis();
+        Ledger ledger = ledgerService.getLedgerById(ledgerId);
+        if (Objects.nonNull(importId) && (importId.isBlank() || importId.length() > MAX_IMPORT_ID_LENGTH)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Import id must be 1 to " + MAX_IMPORT_ID_LENGTH + " characters.");
+        }
+        long resumeAfterLine = Objects.isNull(importId) ? 0L : findProgress(ledger.getLedgerId(), importId);
+        ImportTally tally = new ImportTally(properties.getMaxReportedErrors(), resumeAfterLine);
+        Deque<CompletableFuture<ValidatedChunk>> validating = new ArrayDeque<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        try (ExpenseRowReader rows = format.open(reader, ledger.getLedgerId(), ledger.getCurrency())) {
+            List<ImportedRow> chunk = new ArrayList<>(properties.getChunkSize());
+            ImportedRow row;
+            while ((row = rows.next()) != null) {
+                if (row.line() <= resumeAfterLine) {
+                    tally.skippedRows++;
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == properties.getChunkSize()) {
+                    validating.add(validateAsync(chunk));
+                    chunk = new ArrayList<>(properties.getChunkSize());
+                    if (validating.size() > properties.getParallelism()) {
+                        writeChunk(ledger.getLedgerId(), importId, validating.poll().join(), tally);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                validating.add(validateAsync(chunk));
+            }
+            while (!validating.isEmpty()) {
+                writeChunk(ledger.getLedgerId(), importId, validating.poll().join(), tally);
+            }
+        } catch (IOException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Import file could not be read. " + tally.progress(), e);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, e.getMessage() + " " + tally.progress(), e);
+        } finally {
+            validating.forEach(pending -> pending.cancel(false));
+        }
+
+        ExpenseImportReport report = tally.report(System.currentTimeMillis() - startedAt);
+        log.info("Imported {} of {} rows into ledgerId {} in {} ms", report.importedRows(), report.totalRows(), ledgerId,
+                report.elapsedMillis());
+        return report;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationPool.shutdown();
+    }
+
+    private CompletableFuture<ValidatedChunk> validateAsync(List<ImportedRow> chunk) {
+        return CompletableFuture.supplyAsync(() -> validate(chunk), validationPool);
+    }
+
+    private long findProgress(Long ledgerId, String importId) {
+        List<Long> lastLines = jdbcTemplate.queryForList(FIND_PROGRESS_SQL, Long.class, ledgerId, importId);
+        return lastLines.isEmpty() ? 0L : lastLines.get(0);
+    }
+
+    private static ValidatedChunk validate(List<ImportedRow> chunk) {
+        List<Expense> expenses = new ArrayList<>(chunk.size());
+        List<ExpenseImportReport.RowError> errors = new ArrayList<>();
+        for (ImportedRow row : chunk) {
+            if (row.error() != null) {
+                errors.add(new ExpenseImportReport.RowError(row.line(), row.error()));
+                continue;
+            }
+            try {
+                ExpenseValidator.validate(row.expense());
+                expenses.add(row.expense());
+            } catch (ApiException e) {
+                errors.add(new ExpenseImportReport.RowError(row.line(), e.getMessage()));
+            }
+        }
+        return new ValidatedChunk(chunk.size(), chunk.get(0).line(), chunk.get(chunk.size() - 1).line(), expenses, errors);
+    }
+
+    private void writeChunk(Long ledgerId, String importId, ValidatedChunk chunk, ImportTally tally) {
+        if (!chunk.expenses().isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (Objects.nonNull(importId) && jdbcTemplate.update(RECORD_PROGRESS_SQL, ledgerId, importId,
+                            chunk.lastLine(), chunk.expenses().size(), now, chunk.firstLine()) == 0) {
+                        throw new ApiException(HttpStatus.CONFLICT, "Import " + importId
+                                + " is running in another request or already went past line " + chunk.firstLine() + ". "
+                                + tally.progress());
+                    }
+                    List<Long> expenseIds = reserveExpenseIds(chunk.expenses().size());
+                    for (int i = 0; i < expenseIds.size(); i++) {
+                        chunk.expenses().get(i).setExpenseId(expenseIds.get(i));
+                    }
+                    jdbcTemplate.batchUpdate(INSERT_EXPENSE_SQL, chunk.expenses(), properties.getBatchSize(), (ps, expense) -> {
+                        ps.setLong(1, expense.getExpenseId());
+                        ps.setLong(2, expense.getLedgerId());
+                        ps.setLong(3, expense.getAmountMinor());
+                        ps.setString(4, expense.getCategory());
+                        ps.setString(5, expense.getPayee());
+                        ps.setString(6, expense.getDescription());
+                        ps.setTimestamp(7, Timestamp.valueOf(expense.getOccurredAt()));
+                        ps.setTimestamp(8, now);
+                        ps.setTimestamp(9, now);
+                    });
+                    ledgerSummaryService.applyDeltas(chunk.expenses().stream().map(ExpenseDelta::added).toList());
+                });
+            } catch (DataAccessException e) {
+                log.error("Import stopped after {} rows were imported, through line {}", tally.importedRows, tally.lastLine, e);
+                throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Import failed. " + tally.progress(), e);
+            }
+        }
+        tally.add(chunk);
+    }
+
+    /**
+     * Takes ids the way Hibernate's pooled optimizer does for Expense: each sequence value is
+     * the top of a block of {@link #EXPENSE_ID_BLOCK_SIZE} ids. Letting the column default
+     * call nextval per row would use up a whole block for every row.
+     */
+    private List<Long> reserveExpenseIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + EXPENSE_ID_BLOCK_SIZE - 1) / EXPENSE_ID_BLOCK_SIZE;
+            for (Long top : jdbcTemplate.queryForList(NEXT_EXPENSE_IDS_SQL, Long.class, blocks)) {
+                // The first value of a new sequence is 1, which tops a block of one id.
+                for (long id = Math.max(1L, top - EXPENSE_ID_BLOCK_SIZE + 1); id <= top && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private record ValidatedChunk(int rows, long firstLine, long lastLine, List<Expense> expenses,
+            List<ExpenseImportReport.RowError> errors) {
+    }
+
+    private static final class ImportTally {
+
+        private final int maxReportedErrors;
+        private final List<ExpenseImportReport.RowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long importedRows;
+        private long rejectedRows;
+        private long skippedRows;
+        private long lastLine;
+
+        private ImportTally(int maxReportedErrors, long resumeAfterLine) {
+            this.maxReportedErrors = maxReportedErrors;
+            this.lastLine = resumeAfterLine;
+        }
+
+        private void add(ValidatedChunk chunk) {
+            totalRows += chunk.rows();
+            lastLine = chunk.lastLine();
+            importedRows += chunk.expenses().size();
+            rejectedRows += chunk.errors().size();
+            for (ExpenseImportReport.RowError error : chunk.errors()) {
+                if (errors.size() == maxReportedErrors) {
+                    break;
+                }
+                errors.add(error);
+            }
+        }
+
+        private String progress() {
+            return importedRows + " rows were imported, through line " + lastLine + ".";
+        }
+
+        private ExpenseImportReport report(long elapsedMillis) {
+            return new ExpenseImportReport(totalRows, importedRows, rejectedRows, skippedRows, errors, elapsedMillis);
+        }
+
+    }
+
+}
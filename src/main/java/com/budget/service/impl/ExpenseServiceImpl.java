@@ -0,0 +1,118 @@
+package com.budget.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.budget.dao.ExpenseDao;
+import com.budget.dto.ExpenseDelta;
+import com.budget.exception.ApiException;
+import com.budget.model.Expense;
+import com.budget.service.ExpenseService;
+import com.budget.service.LedgerService;
+import com.budget.service.LedgerSummaryService;
+import com.budget.shard.ShardKey;
+import com.budget.shard.ShardKey.Kind;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@Timed(value = "expense.service", description = "Expense service calls by method")
+public class ExpenseServiceImpl implements ExpenseService {
+
+    private static final String EXPENSE_NOT_FOUND = "Expense not found.";
+    private static final int MAX_RANGE_SIZE = 5000;
+
+    private final ExpenseDao expenseDao;
+    private final LedgerService ledgerService;
+    private final LedgerSummaryService ledgerSummaryService;
+
+    @Autowired
+    public ExpenseServiceImpl(ExpenseDao expenseDao, LedgerService ledgerService, LedgerSummaryService ledgerSummaryService) {
+        this.expenseDao = expenseDao;
+        this.ledgerService = ledgerService;
+        this.ledgerSummaryService = ledgerSummaryService;
+    }
+
+    @Override
+    public Expense getExpenseById(@ShardKey(value = Kind.EXPENSE, readOnly = true) Long expenseId) {
+        return expenseDao.findByIdAndDeletedFalse(expenseId).orElseThrow(() -> {
+            log.error("Expense not found for expenseId {}", expenseId);
+            return new ApiException(HttpStatus.NOT_FOUND, EXPENSE_NOT_FOUND);
+        });
+    }
+
+    /**
+     * Returns entries in {@code [from, to)} ordered by time, served by the
+     * (ledger_id, occurred_at) index. Defaults to the month before {@code to}.
+     */
+    @Override
+    public List<Expense> getExpensesByLedgerId(@ShardKey(value = Kind.LEDGER, readOnly = true) Long ledgerId, LocalDateTime from, LocalDateTime to, int limit) {
+        if (limit < 1 || limit > MAX_RANGE_SIZE) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_RANGE_SIZE + ".");
+        }
+
+        LocalDateTime rangeEnd = Objects.isNull(to) ? LocalDateTime.now() : to;
+        LocalDateTime rangeStart = Objects.isNull(from) ? rangeEnd.minusMonths(1) : from;
+        if (!rangeStart.isBefore(rangeEnd)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Range start must be before range end.");
+        }
+
+        ledgerService.getLedgerById(ledgerId);
+        return expenseDao.findByLedgerIdAndOccurredAtBetween(ledgerId, rangeStart, rangeEnd, PageRequest.of(0, limit));
+    }
+
+    @Transactional
+    @Override
+    public Expense saveExpense(@ShardKey Expense expenseModel) {
+        ExpenseValidator.validate(expenseModel);
+        ledgerService.getLedgerById(expenseModel.getLedgerId());
+        Expense expense = expenseDao.save(expenseModel);
+
+        ledgerSummaryService.applyDeltas(List.of(ExpenseDelta.added(expense)));
+        return expense;
+    }
+
+    @Transactional
+    @Override
+    public Expense updateExpense(@ShardKey Expense expenseModel) {
+        ExpenseValidator.validate(expenseModel);
+        Expense expense = getExpenseById(expenseModel.getExpenseId());
+        if (!Objects.equals(expense.getLedgerId(), expenseModel.getLedgerId())) {
+            ledgerService.getLedgerById(expenseModel.getLedgerId());
+        }
+
+        // Computed before the managed entity is overwritten; the summary service folds both
+        // deltas, so an update that only touches the payee writes nothing.
+        ExpenseDelta removed = ExpenseDelta.removed(expense);
+        expense.setLedgerId(expenseModel.getLedgerId());
+        expense.setAmountMinor(expenseModel.getAmountMinor());
+        expense.setCategory(expenseModel.getCategory());
+        expense.setPayee(expenseModel.getPayee());
+        expense.setDescription(expenseModel.getDescription());
+        expense.setOccurredAt(expenseModel.getOccurredAt());
+        Expense updated = expenseDao.save(expense);
+
+        ledgerSummaryService.applyDeltas(List.of(removed, ExpenseDelta.added(updated)));
+        return updated;
+    }
+
+    @Transactional
+    @Override
+    public void deleteExpense(@ShardKey(Kind.EXPENSE) Long expenseId) {
+        Expense expense = getExpenseById(expenseId);
+
+        expense.setDeleted(true);
+        expenseDao.save(expense);
+        ledgerSummaryService.applyDeltas(List.of(ExpenseDelta.removed(expense)));
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.budget.service.impl;
+
+import java.util.Objects;
+
+import org.springframework.http.HttpStatus;
+
+import com.budget.exception.ApiException;
+import com.budget.model.Expense;
+
+/**
+ * Expense rules shared by single writes and bulk imports, so an imported row is accepted
+ * exactly when the same expense would be accepted by {@code POST /v1/expense}.
+ */
+final class ExpenseValidator {
+
+    static final int MAX_CATEGORY_LENGTH = 50;
+    static final int MAX_PAYEE_LENGTH = 100;
+
+    private ExpenseValidator() {
+    }
+
+    static void validate(Expense expense) {
+        if (Objects.isNull(expense) || Objects.isNull(expense.getLedgerId())) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Expense or ledgerId cannot be null.");
+        }
+
+        if (Objects.isNull(expense.getAmountMinor())) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Expense amount cannot be null.");
+        }
+
+        if (Objects.isNull(expense.getOccurredAt())) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Expense occurredAt cannot be null.");
+        }
+
+        if (Objects.isNull(expense.getCategory()) || expense.getCategory().isBlank()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Expense category cannot be blank.");
+        }
+
+        if (expense.getCategory().length() > MAX_CATEGORY_LENGTH) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Expense category cannot exceed " + MAX_CATEGORY_LENGTH + " characters.");
+        }
+
+        if (Objects.nonNull(expense.getPayee()) && expense.getPayee().length() > MAX_PAYEE_LENGTH) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Expense payee cannot exceed " + MAX_PAYEE_LENGTH + " characters.");
+        }
+    }
+
+}
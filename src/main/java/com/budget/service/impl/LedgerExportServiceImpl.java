@@ -0,0 +1,267 @@
+package com.budget.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.budget.config.LedgerExportProperties;
+import com.budget.dto.LedgerDetail;
+import com.budget.dto.LedgerExportReport;
+import com.budget.exception.ApiException;
+import com.budget.export.LedgerExportFormat;
+import com.budget.export.LedgerExportWriter;
+import com.budget.service.LedgerExportService;
+import com.budget.shard.ShardKey;
+import com.budget.shard.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@EnableConfigurationProperties(LedgerExportProperties.class)
+public class LedgerExportServiceImpl implements LedgerExportService {
+
+    private static final String SELECT_LEDGER_SQL = "SELECT ledger_id, person_id, name, description, currency, "
+            + "version, created_at, updated_at, deleted FROM ledger ";
+
+    // A null limit binds as LIMIT NULL, which PostgreSQL treats as no limit.
+    private static final String PERSON_LEDGERS_SQL = SELECT_LEDGER_SQL
+            + "WHERE person_id = ? AND deleted = false AND ledger_id > ? ORDER BY ledger_id LIMIT ?";
+
+    private static final String ALL_LEDGERS_SQL = SELECT_LEDGER_SQL
+            + "WHERE deleted = false AND ledger_id > ? ORDER BY ledger_id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter jsonWriter;
+    private final LedgerExportProperties properties;
+    private final ObjectProvider<ShardRouter> shardRouter;
+
+    @Autowired
+    public LedgerExportServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper, LedgerExportProperties properties, ObjectProvider<ShardRouter> shardRouter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // PostgreSQL only fetches in batches inside a transaction; without one the driver
+        // reads the whole result set into memory.
+        this.transactionTemplate.setReadOnly(true);
+        this.jsonWriter = objectMapper.writer();
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public LedgerExportReport exportLedgers(@ShardKey(readOnly = true) Long personId, LedgerExportFormat format, boolean gzip, Long afterLedgerId,
+            Long limit, WritableByteChannel channel) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        ExportProgress progress = new ExportProgress();
+        LedgerExportWriter writer = format.open(channel, gzip, properties, jsonWriter);
+        scan(PERSON_LEDGERS_SQL, writer, progress, personId, cursor(afterLedgerId), limit);
+        writer.finish();
+
+        log.info("Exported {} ledgers for personId {} after ledgerId {}", progress.rows, personId, afterLedgerId);
+        return new LedgerExportReport(null, progress.rows, progress.lastLedgerId, System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Writes to a {@code .part} file that is renamed once the trailer is written, so a file
+     * under its final name is always complete. A failed export leaves nothing behind; the
+     * previous report's {@code lastLedgerId} is still the place to resume from. With
+     * sharding, the shards are merged in ledger id order, so that cursor covers all of them.
+     */
+    @Override
+    public LedgerExportReport exportAllLedgersToFile(LedgerExportFormat format, boolean gzip, Long afterLedgerId,
+            Long limit) {
+        long startedAt = System.currentTimeMillis();
+        Path file = Path.of(properties.getDirectory(),
+                format.fileName("ledgers-after-" + cursor(afterLedgerId) + "-" + startedAt, gzip));
+        Path partFile = file.resolveSibling(file.getFileName() + ".part");
+        ExportProgress progress = new ExportProgress();
+
+        try {
+            try (FileChannel channel = FileChannel.open(partFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                LedgerExportWriter writer = format.open(channel, gzip, properties, jsonWriter);
+                ShardRouter router = shardRouter.getIfAvailable();
+                if (Objects.isNull(router)) {
+                    scan(ALL_LEDGERS_SQL, writer, progress, cursor(afterLedgerId), limit);
+                } else {
+                    mergeShards(router, writer, progress, cursor(afterLedgerId), limit);
+                }
+                writer.finish();
+                channel.force(false);
+            }
+            Files.move(partFile, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | DataAccessException e) {
+            deleteQuietly(partFile);
+            log.error("Export to {} failed after {} rows", file, progress.rows, e);
+            throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Export failed after " + progress.rows + " rows.", e);
+        }
+
+        log.info("Exported {} ledgers after ledgerId {} to {}", progress.rows, afterLedgerId, file);
+        return new LedgerExportReport(file.toString(), progress.rows, progress.lastLedgerId,
+                System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Walks the rows through a forward-only cursor, fetching {@code fetchSize} at a time and
+     * handing each straight to the writer, so no list of ledgers is ever built.
+     */
+    private void scan(String sql, LedgerExportWriter writer, ExportProgress progress, Object... parameters)
+            throws IOException {
+        RowCallbackHandler rowHandler = resultSet -> {
+            LedgerDetail ledger = toLedgerDetail(resultSet);
+            try {
+                writer.write(ledger);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            progress.rows++;
+            progress.lastLedgerId = ledger.ledgerId();
+        };
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(properties.getFetchSize());
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i], Types.BIGINT);
+                }
+                return statement;
+            }, rowHandler));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Merges keyset pages of {@code fetchSize} rows from every shard by ledger id. Each page
+     * is a short query of its own, so no shard holds a cursor open while the others are read.
+     * A person being moved between shards has rows on both for a moment; the second copy of
+     * a ledger is skipped.
+     */
+    private void mergeShards(ShardRouter router, LedgerExportWriter writer, ExportProgress progress, long afterLedgerId,
+            Long limit) throws IOException {
+        PriorityQueue<ShardPages> heads = new PriorityQueue<>(Comparator.comparing(pages -> pages.peek().ledgerId()));
+        for (String shard : router.getShards()) {
+            ShardPages pages = new ShardPages(router.jdbcTemplate(shard), afterLedgerId);
+            if (pages.fill()) {
+                heads.add(pages);
+            }
+        }
+
+        while (!heads.isEmpty() && (Objects.isNull(limit) || progress.rows < limit)) {
+            ShardPages pages = heads.poll();
+            LedgerDetail ledger = pages.next();
+            if (!Objects.equals(ledger.ledgerId(), progress.lastLedgerId)) {
+                writer.write(ledger);
+                progress.rows++;
+                progress.lastLedgerId = ledger.ledgerId();
+            }
+            if (pages.fill()) {
+                heads.add(pages);
+            }
+        }
+    }
+
+    private static LedgerDetail toLedgerDetail(ResultSet resultSet) throws SQLException {
+        return new LedgerDetail(resultSet.getLong("ledger_id"), resultSet.getLong("person_id"),
+                resultSet.getString("name"), resultSet.getString("description"), resultSet.getString("currency"),
+                resultSet.getLong("version"), resultSet.getObject("created_at", LocalDateTime.class),
+                resultSet.getObject("updated_at", LocalDateTime.class), resultSet.getBoolean("deleted"));
+    }
+
+    private static long cursor(Long afterLedgerId) {
+        return Objects.isNull(afterLedgerId) ? 0L : afterLedgerId;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete partial export {}", path, e);
+        }
+    }
+
+    /**
+     * One shard's rows in ledger id order, read a page at a time.
+     */
+    private final class ShardPages {
+
+        private final JdbcTemplate shardTemplate;
+        private final Deque<LedgerDetail> page = new ArrayDeque<>();
+        private long cursor;
+        private boolean exhausted;
+
+        private ShardPages(JdbcTemplate shardTemplate, long afterLedgerId) {
+            this.shardTemplate = shardTemplate;
+            this.cursor = afterLedgerId;
+        }
+
+        /**
+         * @return false once the shard has no rows left
+         */
+        private boolean fill() {
+            if (!page.isEmpty()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+
+            int pageSize = properties.getFetchSize();
+            page.addAll(shardTemplate.query(ALL_LEDGERS_SQL, (resultSet, rowNum) -> toLedgerDetail(resultSet), cursor,
+                    pageSize));
+            exhausted = page.size() < pageSize;
+            if (!page.isEmpty()) {
+                cursor = page.peekLast().ledgerId();
+            }
+            return !page.isEmpty();
+        }
+
+        private LedgerDetail peek() {
+            return page.peekFirst();
+        }
+
+        private LedgerDetail next() {
+            return page.pollFirst();
+        }
+
+    }
+
+    private static final class ExportProgress {
+
+        private long rows;
+        private Long lastLedgerId;
+
+    }
+
+}
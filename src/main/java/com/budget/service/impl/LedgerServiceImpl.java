@@ -1,37 +1,90 @@
 package com.budget.service.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.budget.config.CacheConfig;
+import com.budget.currency.CurrencyTable;
+import com.budget.currency.CurrencyUnit;
 import com.budget.dao.LedgerDao;
+import com.budget.datasource.ReplicaRoutingContext;
+import com.budget.dto.LedgerBatchResponse;
+import com.budget.dto.LedgerBatchResult;
+import com.budget.dto.LedgerDetail;
+import com.budget.dto.LedgerListItem;
+import com.budget.dto.LedgerListing;
+import com.budget.dto.LedgerListVersion;
+import com.budget.dto.LedgerPage;
+import com.budget.dto.LedgerVersion;
+import com.budget.event.LedgerChangedEvent;
 import com.budget.exception.ApiException;
 import com.budget.model.Ledger;
 import com.budget.service.LedgerService;
+import com.budget.shard.ShardKey;
+import com.budget.shard.ShardKey.Kind;
+import com.budget.shard.SnowflakeIdGenerator;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@Timed(value = "ledger.service", description = "Ledger service calls by method")
 public class LedgerServiceImpl implements LedgerService {
 
-    private static final String LEDGER_NOT_FOUND = "Ledger not found.";
+    static final String LEDGER_NOT_FOUND = "Ledger not found.";
+    static final String LEDGER_NAME_EXISTS = "Ledger name already exists.";
+    static final String LEDGER_MODIFIED = "Ledger was modified by another request.";
+    static final String LEDGER_NAME_UNIQUE_INDEX = "ux_ledger_person_normalized_name";
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_NAME_LENGTH = 20;
 
     private final LedgerDao ledgerDao;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SnowflakeIdGenerator ledgerIdGenerator;
 
     @Autowired
-    public LedgerServiceImpl(LedgerDao ledgerDao) {
+    public LedgerServiceImpl(LedgerDao ledgerDao, ApplicationEventPublisher eventPublisher,
+            SnowflakeIdGenerator ledgerIdGenerator) {
         this.ledgerDao = ledgerDao;
+        this.eventPublisher = eventPublisher;
+        this.ledgerIdGenerator = ledgerIdGenerator;
     }
 
+    /**
+     * Cache fills read from the primary, like the other two cached reads below. A lagging
+     * replica could still return the row a write just replaced, and once cached after the
+     * write's eviction it would be served until it expires.
+     */
+    @Cacheable(cacheNames = CacheConfig.LEDGER_BY_ID, key = "#ledgerId")
+    @Transactional(readOnly = true)
     @Override
-    public Ledger getLedgerById(Long ledgerId) {
-        Optional<Ledger> ledger = ledgerDao.findByIdAndDeletedFalse(ledgerId);
+    public Ledger getLedgerById(@ShardKey(Kind.LEDGER) Long ledgerId) {
+        Optional<Ledger> ledger = ReplicaRoutingContext.onPrimary(() -> ledgerDao.findByIdAndDeletedFalse(ledgerId));
 
         return ledger.orElseThrow(() -> { 
             log.error("Ledger not found for ledgerId {}", ledgerId); 
@@ -39,38 +92,205 @@ public class LedgerServiceImpl implements LedgerService {
         });
     }
 
+    @Cacheable(cacheNames = CacheConfig.LEDGER_DETAIL_BY_ID, key = "#ledgerId")
+    @Transactional(readOnly = true)
     @Override
-    public List<Ledger> getAllLedgersByPersonId(Long personId) {
-        return ledgerDao.findAllByPersonIdAndDeletedFalse(personId);
+    public LedgerDetail getLedgerDetail(@ShardKey(Kind.LEDGER) Long ledgerId) {
+        return loadLedgerDetail(ledgerId);
+    }
+
+    /**
+     * Replaces a cached detail that no longer matches the row, such as one cached before a
+     * write served by another instance.
+     */
+    @CachePut(cacheNames = CacheConfig.LEDGER_DETAIL_BY_ID, key = "#ledgerId")
+    @Transactional(readOnly = true)
+    @Override
+    public LedgerDetail refreshLedgerDetail(@ShardKey(Kind.LEDGER) Long ledgerId) {
+        return loadLedgerDetail(ledgerId);
+    }
+
+    /**
+     * Reads only the columns behind the ETag, so a conditional GET that ends in a 304
+     * never loads the ledger itself. A 200 checks the cached body against it. Read from
+     * the primary like the bodies, since a lagging replica would put an old tag on a
+     * fresh body and fail If-Match checks made with the current one.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public LedgerVersion getLedgerVersion(@ShardKey(Kind.LEDGER) Long ledgerId) {
+        return ReplicaRoutingContext.onPrimary(() -> ledgerDao.findVersionById(ledgerId)).orElseThrow(() -> {
+            log.error("Ledger not found for ledgerId {}", ledgerId);
+            return new ApiException(HttpStatus.NOT_FOUND, LEDGER_NOT_FOUND);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public LedgerListVersion getLedgerListVersion(@ShardKey Long personId) {
+        return ReplicaRoutingContext.onPrimary(() -> ledgerDao.findListVersionByPersonId(personId));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.LEDGERS_BY_PERSON_ID, key = "#personId")
+    @Transactional(readOnly = true)
+    @Override
+    public LedgerListing getAllLedgersByPersonId(@ShardKey Long personId) {
+        return loadLedgerListing(personId);
+    }
+
+    @CachePut(cacheNames = CacheConfig.LEDGERS_BY_PERSON_ID, key = "#personId")
+    @Transactional(readOnly = true)
+    @Override
+    public LedgerListing refreshLedgersByPersonId(@ShardKey Long personId) {
+        return loadLedgerListing(personId);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public LedgerPage getLedgersPage(@ShardKey Long personId, Long afterLedgerId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+
+        // Fetch one extra row to know whether another page exists without a count query.
+        long after = Objects.isNull(afterLedgerId) ? 0L : afterLedgerId;
+        List<LedgerListItem> ledgers = ledgerDao.findListItemPageByPersonId(personId, after, PageRequest.of(0, limit + 1));
+        if (ledgers.size() <= limit) {
+            return new LedgerPage(ledgers, null);
+        }
+
+        List<LedgerListItem> page = ledgers.subList(0, limit);
+        return new LedgerPage(page, page.get(limit - 1).ledgerId());
+    }
+
+    /**
+     * Rows are pulled through a server-side cursor straight into list items, so nothing
+     * enters the persistence context however many ledgers the person has.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void streamLedgersByPersonId(@ShardKey Long personId, Consumer<LedgerListItem> ledgerConsumer) {
+        try (Stream<LedgerListItem> ledgers = ledgerDao.streamListItemsByPersonId(personId)) {
+            ledgers.forEach(ledgerConsumer);
+        }
     }
 
     @Transactional
     @Override
-    public Ledger saveLedger(Ledger ledgerModel) {
+    public Ledger saveLedger(@ShardKey Ledger ledgerModel) {
         validateLedger(ledgerModel);
         checkDuplicateLedgerName(ledgerModel.getLedgerId(), ledgerModel.getPersonId(), ledgerModel.getName());
-        return ledgerDao.save(ledgerModel);
+        ledgerModel.setLedgerId(ledgerIdGenerator.nextId());
+        Ledger savedLedger = saveAndFlush(ledgerModel);
+
+        eventPublisher.publishEvent(LedgerChangedEvent.created(savedLedger));
+        return savedLedger;
     }
 
+    /**
+     * Changes are copied onto the managed ledger, so a version sent by the client is
+     * compared here and the stored version guards the UPDATE itself.
+     */
     @Transactional
     @Override
-    public Ledger updateLedger(Ledger ledgerModel) {
-        getLedgerById(ledgerModel.getLedgerId());
+    public Ledger updateLedger(@ShardKey Ledger ledgerModel) {
+        Ledger ledger = getLedgerById(ledgerModel.getLedgerId());
+        Long previousPersonId = ledger.getPersonId();
         validateLedger(ledgerModel);
         checkDuplicateLedgerName(ledgerModel.getLedgerId(), ledgerModel.getPersonId(), ledgerModel.getName());
-        return ledgerDao.save(ledgerModel);
+        if (isStaleVersion(ledger, ledgerModel)) {
+            log.error("Ledger {} update rejected, version {} is no longer current.", ledger.getLedgerId(), ledgerModel.getVersion());
+            throw new ApiException(HttpStatus.PRECONDITION_FAILED, LEDGER_MODIFIED);
+        }
+
+        applyChanges(ledger, ledgerModel);
+        Ledger savedLedger = saveAndFlush(ledger);
+
+        eventPublisher.publishEvent(LedgerChangedEvent.updated(savedLedger, previousPersonId));
+        return savedLedger;
+    }
+
+    /**
+     * Validates the whole batch in memory, resolves existing ledgers and name clashes with
+     * one query each, then writes every valid item in JDBC batches. Invalid items are
+     * reported per index and do not stop the rest of the batch.
+     */
+    @Transactional
+    @Override
+    public LedgerBatchResponse saveLedgers(@ShardKey List<Ledger> ledgerModels) {
+        if (Objects.isNull(ledgerModels) || ledgerModels.isEmpty() || ledgerModels.size() > MAX_BATCH_SIZE) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Batch must contain between 1 and " + MAX_BATCH_SIZE + " ledgers.");
+        }
+
+        LedgerBatchResult[] results = new LedgerBatchResult[ledgerModels.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < ledgerModels.size(); i++) {
+            try {
+                validateLedger(ledgerModels.get(i));
+                validIndexes.add(i);
+            } catch (ApiException e) {
+                results[i] = LedgerBatchResult.failure(i, e.getStatus(), e.getMessage());
+            }
+        }
+
+        Map<Long, Ledger> existingLedgers = findExistingLedgers(ledgerModels, validIndexes);
+        Map<LedgerNameKey, Long> takenNames = findTakenNames(ledgerModels, validIndexes);
+
+        List<Ledger> ledgersToInsert = new ArrayList<>();
+        List<LedgerChangedEvent> events = new ArrayList<>();
+        for (int i : validIndexes) {
+            Ledger ledgerModel = ledgerModels.get(i);
+            Long ledgerId = ledgerModel.getLedgerId();
+            Ledger existingLedger = Objects.isNull(ledgerId) ? null : existingLedgers.get(ledgerId);
+
+            if (Objects.nonNull(ledgerId) && Objects.isNull(existingLedger)) {
+                results[i] = LedgerBatchResult.failure(i, HttpStatus.NOT_FOUND, LEDGER_NOT_FOUND);
+                continue;
+            }
+
+            if (Objects.nonNull(existingLedger) && isStaleVersion(existingLedger, ledgerModel)) {
+                results[i] = LedgerBatchResult.failure(i, HttpStatus.PRECONDITION_FAILED, LEDGER_MODIFIED);
+                continue;
+            }
+
+            // Claiming the name up front also catches clashes between items of the same batch.
+            LedgerNameKey nameKey = new LedgerNameKey(ledgerModel.getPersonId(), Ledger.normalizeName(ledgerModel.getName()));
+            Long owner = takenNames.putIfAbsent(nameKey, Objects.isNull(ledgerId) ? -(i + 1L) : ledgerId);
+            if (Objects.nonNull(owner) && !Objects.equals(owner, ledgerId)) {
+                results[i] = LedgerBatchResult.failure(i, HttpStatus.BAD_REQUEST, LEDGER_NAME_EXISTS);
+                continue;
+            }
+
+            if (Objects.isNull(existingLedger)) {
+                ledgerModel.setLedgerId(ledgerIdGenerator.nextId());
+                ledgersToInsert.add(ledgerModel);
+                results[i] = LedgerBatchResult.success(i, HttpStatus.CREATED, ledgerModel);
+                events.add(LedgerChangedEvent.created(ledgerModel));
+            } else {
+                Long previousPersonId = existingLedger.getPersonId();
+                applyChanges(existingLedger, ledgerModel);
+                results[i] = LedgerBatchResult.success(i, HttpStatus.OK, existingLedger);
+                events.add(LedgerChangedEvent.updated(existingLedger, previousPersonId));
+            }
+        }
+
+        flushBatch(ledgersToInsert);
+        events.forEach(eventPublisher::publishEvent);
+        return LedgerBatchResponse.of(Arrays.asList(results));
     }
 
     @Transactional
     @Override
-    public void deleteLedger(Long ledgerId) {
+    public void deleteLedger(@ShardKey(Kind.LEDGER) Long ledgerId) {
         Ledger ledger = getLedgerById(ledgerId);
 
         ledger.setDeleted(true);
         ledgerDao.save(ledger);
+
+        eventPublisher.publishEvent(LedgerChangedEvent.deleted(ledger));
     }
 
-    private void validateLedger(Ledger ledger) {
+    static void validateLedger(Ledger ledger) {
         if (Objects.isNull(ledger) || Objects.isNull(ledger.getPersonId())) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Ledger or personId cannot be null.");
         }
@@ -79,25 +299,135 @@ public class LedgerServiceImpl implements LedgerService {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Ledger name cannot be null.");
         }
 
+        if (ledger.getName().isBlank()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Ledger name cannot be blank.");
+        }
+
+        if (ledger.getName().length() > MAX_NAME_LENGTH) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Ledger name cannot exceed " + MAX_NAME_LENGTH + " characters.");
+        }
+
         if (Objects.isNull(ledger.getCurrency())) {
             throw new ApiException(HttpStatus.BAD_REQUEST, "Ledger currency cannot be null.");
         }
+
+        CurrencyUnit currency = CurrencyTable.find(ledger.getCurrency());
+        if (Objects.isNull(currency)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Ledger currency must be an ISO 4217 code.");
+        }
+        // Store the table's interned code, so all ledgers in one currency share the string.
+        ledger.setCurrency(currency.code());
+    }
+
+    static boolean isStaleVersion(Ledger storedLedger, Ledger ledgerModel) {
+        return Objects.nonNull(ledgerModel.getVersion()) && !ledgerModel.getVersion().equals(storedLedger.getVersion());
+    }
+
+    private LedgerDetail loadLedgerDetail(Long ledgerId) {
+        return ReplicaRoutingContext.onPrimary(() -> ledgerDao.findDetailById(ledgerId)).orElseThrow(() -> {
+            log.error("Ledger not found for ledgerId {}", ledgerId);
+            return new ApiException(HttpStatus.NOT_FOUND, LEDGER_NOT_FOUND);
+        });
+    }
+
+    /**
+     * Reads the version before the ledgers, so a write landing in between leaves the
+     * version behind the ledgers and the next conditional GET refreshes them.
+     */
+    private LedgerListing loadLedgerListing(Long personId) {
+        return ReplicaRoutingContext.onPrimary(() -> {
+            LedgerListVersion version = ledgerDao.findListVersionByPersonId(personId);
+            return new LedgerListing(version, ledgerDao.findListItemsByPersonId(personId));
+        });
+    }
+
+    private Map<Long, Ledger> findExistingLedgers(List<Ledger> ledgerModels, List<Integer> validIndexes) {
+        Set<Long> ledgerIds = validIndexes.stream()
+                .map(i -> ledgerModels.get(i).getLedgerId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ledgerIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return ledgerDao.findAllByIdInAndDeletedFalse(ledgerIds).stream()
+                .collect(Collectors.toMap(Ledger::getLedgerId, Function.identity()));
+    }
+
+    private Map<LedgerNameKey, Long> findTakenNames(List<Ledger> ledgerModels, List<Integer> validIndexes) {
+        Set<Long> personIds = new HashSet<>();
+        Set<String> normalizedNames = new HashSet<>();
+        for (int i : validIndexes) {
+            personIds.add(ledgerModels.get(i).getPersonId());
+            normalizedNames.add(Ledger.normalizeName(ledgerModels.get(i).getName()));
+        }
+
+        Map<LedgerNameKey, Long> takenNames = new HashMap<>();
+        if (personIds.isEmpty()) {
+            return takenNames;
+        }
+
+        for (Ledger ledger : ledgerDao.findActiveByPersonIdsAndNormalizedNames(personIds, normalizedNames)) {
+            takenNames.put(new LedgerNameKey(ledger.getPersonId(), ledger.getNormalizedName()), ledger.getLedgerId());
+        }
+        return takenNames;
+    }
+
+    private void flushBatch(List<Ledger> ledgersToInsert) {
+        try {
+            ledgerDao.saveAll(ledgersToInsert);
+            ledgerDao.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateLedgerNameViolation(e)) {
+                log.error("Ledger batch rejected, a ledger name was taken concurrently.");
+                throw new ApiException(HttpStatus.BAD_REQUEST, LEDGER_NAME_EXISTS, e);
+            }
+            throw e;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.error("Ledger batch rejected, a ledger was updated concurrently.");
+            throw new ApiException(HttpStatus.PRECONDITION_FAILED, LEDGER_MODIFIED, e);
+        }
+    }
+
+    static void applyChanges(Ledger target, Ledger source) {
+        target.setPersonId(source.getPersonId());
+        target.setName(source.getName());
+        target.setDescription(source.getDescription());
+        target.setCurrency(source.getCurrency());
     }
 
     private void checkDuplicateLedgerName(Long ledgerId, Long personId, String ledgerName) {
-        if(hasDuplicateLedgerName(ledgerId, personId, ledgerName)) {
+        if (ledgerDao.existsActiveLedgerName(personId, ledgerName, ledgerId)) {
             log.error("Ledger name - {} for personId {} already exists.", ledgerName, personId);
-            throw new ApiException(HttpStatus.BAD_REQUEST, "Ledger name already exists.");
+            throw new ApiException(HttpStatus.BAD_REQUEST, LEDGER_NAME_EXISTS);
         }
     }
 
-    private boolean hasDuplicateLedgerName(Long ledgerId, Long personId, String ledgerName) {
-        List<Ledger> ledgerList = getAllLedgersByPersonId(personId);
+    /**
+     * Flushes immediately so a concurrent duplicate rejected by the unique index
+     * surfaces here as a 400 instead of failing later at commit.
+     */
+    private Ledger saveAndFlush(Ledger ledger) {
+        try {
+            return ledgerDao.saveAndFlush(ledger);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateLedgerNameViolation(e)) {
+                log.error("Ledger name - {} for personId {} already exists.", ledger.getName(), ledger.getPersonId());
+                throw new ApiException(HttpStatus.BAD_REQUEST, LEDGER_NAME_EXISTS, e);
+            }
+            throw e;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.error("Ledger {} was updated concurrently.", ledger.getLedgerId());
+            throw new ApiException(HttpStatus.PRECONDITION_FAILED, LEDGER_MODIFIED, e);
+        }
+    }
 
-        return ledgerList.stream()
-                .filter(ledger -> !Objects.equals(ledger.getLedgerId(), ledgerId)) // Exclude current ledger if updating
-                .map(Ledger::getName)
-                .anyMatch(name -> name.trim().equalsIgnoreCase(ledgerName));
+    private boolean isDuplicateLedgerNameViolation(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && LEDGER_NAME_UNIQUE_INDEX.equalsIgnoreCase(violation.getConstraintName());
     }
-    
+
+    private record LedgerNameKey(Long personId, String normalizedName) {
+    }
+
 }
@@ -0,0 +1,151 @@
+package com.budget.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.budget.currency.CurrencyTable;
+import com.budget.currency.CurrencyUnit;
+import com.budget.currency.ExchangeRates;
+import com.budget.currency.FxRateSnapshot;
+import com.budget.dao.LedgerMonthlySummaryDao;
+import com.budget.dao.LedgerSummaryDao;
+import com.budget.dto.ExpenseDelta;
+import com.budget.dto.LedgerBalance;
+import com.budget.dto.LedgerSummaryResponse;
+import com.budget.dto.PersonTotalsResponse;
+import com.budget.event.ExpenseTotalsChangedEvent;
+import com.budget.exception.ApiException;
+import com.budget.model.Ledger;
+import com.budget.model.LedgerSummary;
+import com.budget.service.LedgerService;
+import com.budget.service.LedgerSummaryService;
+import com.budget.shard.ShardKey;
+import com.budget.shard.ShardKey.Kind;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class LedgerSummaryServiceImpl implements LedgerSummaryService {
+
+    private static final Comparator<ExpenseDelta> DELTA_ORDER = Comparator.comparing(ExpenseDelta::ledgerId)
+            .thenComparing(ExpenseDelta::month)
+            .thenComparing(ExpenseDelta::category);
+
+    private final LedgerSummaryDao ledgerSummaryDao;
+    private final LedgerMonthlySummaryDao ledgerMonthlySummaryDao;
+    private final LedgerService ledgerService;
+    private final ExchangeRates exchangeRates;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public LedgerSummaryServiceImpl(LedgerSummaryDao ledgerSummaryDao, LedgerMonthlySummaryDao ledgerMonthlySummaryDao,
+            LedgerService ledgerService, ExchangeRates exchangeRates, ApplicationEventPublisher eventPublisher) {
+        this.ledgerSummaryDao = ledgerSummaryDao;
+        this.ledgerMonthlySummaryDao = ledgerMonthlySummaryDao;
+        this.ledgerService = ledgerService;
+        this.exchangeRates = exchangeRates;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Folds the deltas per summary row and applies them as atomic upserts in the caller's
+     * transaction. Rows are touched in key order so concurrent writers cannot deadlock.
+     * Each changed ledger is first locked against a summary rebuild, which would otherwise
+     * reinsert a row this upsert has just created. The folded monthly deltas are published
+     * for the budget rules.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void applyDeltas(Collection<ExpenseDelta> deltas) {
+        Map<ExpenseDelta, ExpenseDelta> monthlyDeltas = new TreeMap<>(DELTA_ORDER);
+        Map<Long, ExpenseDelta> ledgerDeltas = new TreeMap<>();
+        for (ExpenseDelta delta : deltas) {
+            monthlyDeltas.merge(delta, delta, ExpenseDelta::plus);
+            ledgerDeltas.merge(delta.ledgerId(), delta, ExpenseDelta::plus);
+        }
+
+        List<ExpenseDelta> appliedDeltas = monthlyDeltas.values().stream()
+                .filter(delta -> delta.amountMinor() != 0 || delta.entryCount() != 0)
+                .toList();
+        // A ledger whose total changed also has a changed month, and the deltas are in ledger order.
+        appliedDeltas.stream()
+                .map(ExpenseDelta::ledgerId)
+                .distinct()
+                .forEach(ledgerSummaryDao::lockForSummaryWrite);
+
+        ledgerDeltas.values().stream()
+                .filter(delta -> delta.amountMinor() != 0 || delta.entryCount() != 0)
+                .forEach(delta -> ledgerSummaryDao.addToLedgerSummary(delta.ledgerId(), delta.amountMinor(), delta.entryCount()));
+        appliedDeltas.forEach(this::addToMonthlySummary);
+        if (!appliedDeltas.isEmpty()) {
+            eventPublisher.publishEvent(new ExpenseTotalsChangedEvent(appliedDeltas));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public LedgerSummaryResponse getLedgerSummary(@ShardKey(Kind.LEDGER) Long ledgerId) {
+        Ledger ledger = ledgerService.getLedgerById(ledgerId);
+        LedgerSummary summary = ledgerSummaryDao.findByLedgerId(ledger.getLedgerId()).orElse(null);
+        long balanceMinor = summary == null ? 0L : summary.getBalanceMinor();
+        long entryCount = summary == null ? 0L : summary.getEntryCount();
+
+        return new LedgerSummaryResponse(ledger.getLedgerId(), ledger.getCurrency(), balanceMinor, entryCount,
+                ledgerMonthlySummaryDao.findAllByLedgerId(ledger.getLedgerId()));
+    }
+
+    /**
+     * Converts every ledger balance with one rate snapshot, so all ledgers in the total use
+     * the same day's rates even if a refresh lands mid-request.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public PersonTotalsResponse getPersonTotals(@ShardKey Long personId, String currency) {
+        String currencyCode = Objects.nonNull(currency) ? currency : ledgerSummaryDao.findHomeCurrencyByPersonId(personId)
+                .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Person not found."));
+        CurrencyUnit target = CurrencyTable.find(currencyCode);
+        if (Objects.isNull(target)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Currency must be an ISO 4217 code.");
+        }
+
+        FxRateSnapshot rates = exchangeRates.current();
+        List<LedgerBalance> balances = ledgerSummaryDao.findBalancesByPersonId(personId);
+        List<PersonTotalsResponse.ConvertedBalance> converted = new ArrayList<>(balances.size());
+        long totalMinor = 0;
+        try {
+            for (LedgerBalance balance : balances) {
+                long convertedMinor = rates.convert(balance.balanceMinor(), CurrencyTable.of(balance.currency()), target);
+                totalMinor = Math.addExact(totalMinor, convertedMinor);
+                converted.add(new PersonTotalsResponse.ConvertedBalance(balance.ledgerId(), balance.name(),
+                        balance.currency(), balance.balanceMinor(), convertedMinor));
+            }
+        } catch (IllegalArgumentException e) {
+            log.error("Cannot convert ledgers of personId {} to {}: {}", personId, target.code(), e.getMessage());
+            throw new ApiException(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage(), e);
+        } catch (ArithmeticException e) {
+            log.error("Total of ledgers of personId {} in {} overflows", personId, target.code());
+            throw new ApiException(HttpStatus.UNPROCESSABLE_ENTITY, "Total in " + target.code() + " is out of range.", e);
+        }
+
+        return new PersonTotalsResponse(personId, target.code(), rates.asOf(), totalMinor, converted);
+    }
+
+    private void addToMonthlySummary(ExpenseDelta delta) {
+        ledgerMonthlySummaryDao.addToMonthlySummary(delta.ledgerId(), delta.month(), delta.category(), delta.amountMinor(),
+                delta.entryCount());
+    }
+
+}
@@ -0,0 +1,217 @@
+package com.budget.service.impl;
+
+import static com.budget.service.impl.LedgerServiceImpl.LEDGER_MODIFIED;
+import static com.budget.service.impl.LedgerServiceImpl.LEDGER_NAME_EXISTS;
+import static com.budget.service.impl.LedgerServiceImpl.LEDGER_NOT_FOUND;
+import static com.budget.service.impl.LedgerServiceImpl.MAX_BATCH_SIZE;
+import static com.budget.service.impl.LedgerServiceImpl.MAX_PAGE_SIZE;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.budget.dao.ReactiveLedgerDao;
+import com.budget.dto.LedgerBatchResponse;
+import com.budget.dto.LedgerBatchResult;
+import com.budget.dto.LedgerChangeMessage;
+import com.budget.dto.LedgerDetail;
+import com.budget.dto.LedgerListItem;
+import com.budget.dto.LedgerListVersion;
+import com.budget.dto.LedgerPage;
+import com.budget.dto.LedgerVersion;
+import com.budget.event.LedgerChangedEvent;
+import com.budget.exception.ApiException;
+import com.budget.model.Ledger;
+import com.budget.service.ReactiveLedgerService;
+import com.budget.shard.SnowflakeIdGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies the validation, duplicate-name and version rules of {@link LedgerServiceImpl}
+ * over R2DBC. Outbox rows are written in the same R2DBC transaction as the ledger change,
+ * because application events only reach the JPA transaction's listeners.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+public class ReactiveLedgerServiceImpl implements ReactiveLedgerService {
+
+    private final ReactiveLedgerDao ledgerDao;
+    private final TransactionalOperator transactionalOperator;
+    private final ObjectMapper objectMapper;
+    private final SnowflakeIdGenerator ledgerIdGenerator;
+
+    @Autowired
+    public ReactiveLedgerServiceImpl(ReactiveLedgerDao ledgerDao, TransactionalOperator transactionalOperator,
+            ObjectMapper objectMapper, SnowflakeIdGenerator ledgerIdGenerator) {
+        this.ledgerDao = ledgerDao;
+        this.transactionalOperator = transactionalOperator;
+        this.objectMapper = objectMapper;
+        this.ledgerIdGenerator = ledgerIdGenerator;
+    }
+
+    @Override
+    public Mono<LedgerDetail> getLedgerDetail(Long ledgerId) {
+        return ledgerDao.findDetailById(ledgerId).switchIfEmpty(notFound(ledgerId));
+    }
+
+    @Override
+    public Mono<LedgerVersion> getLedgerVersion(Long ledgerId) {
+        return ledgerDao.findVersionById(ledgerId).switchIfEmpty(notFound(ledgerId));
+    }
+
+    @Override
+    public Mono<LedgerListVersion> getLedgerListVersion(Long personId) {
+        return ledgerDao.findListVersionByPersonId(personId);
+    }
+
+    @Override
+    public Flux<LedgerListItem> getAllLedgersByPersonId(Long personId) {
+        return ledgerDao.findListItemsByPersonId(personId);
+    }
+
+    @Override
+    public Mono<LedgerPage> getLedgersPage(Long personId, Long afterLedgerId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new ApiException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_PAGE_SIZE + "."));
+        }
+
+        // Fetch one extra row to know whether another page exists without a count query.
+        long after = Objects.isNull(afterLedgerId) ? 0L : afterLedgerId;
+        return ledgerDao.findListItemPageByPersonId(personId, after, limit + 1).collectList().map(ledgers -> {
+            if (ledgers.size() <= limit) {
+                return new LedgerPage(ledgers, null);
+            }
+            List<LedgerListItem> page = ledgers.subList(0, limit);
+            return new LedgerPage(page, page.get(limit - 1).ledgerId());
+        });
+    }
+
+    @Override
+    public Mono<Ledger> saveLedger(Ledger ledgerModel) {
+        return create(ledgerModel)
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DuplicateKeyException.class, ReactiveLedgerServiceImpl::nameTaken);
+    }
+
+    @Override
+    public Mono<Ledger> updateLedger(Ledger ledgerModel) {
+        return update(ledgerModel)
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DuplicateKeyException.class, ReactiveLedgerServiceImpl::nameTaken);
+    }
+
+    /**
+     * Items are written one after another in a single transaction, so each one sees the
+     * names claimed by the items before it. A rejected item is reported at its index and
+     * does not stop the rest of the batch.
+     */
+    @Override
+    public Mono<LedgerBatchResponse> saveLedgers(List<Ledger> ledgerModels) {
+        if (Objects.isNull(ledgerModels) || ledgerModels.isEmpty() || ledgerModels.size() > MAX_BATCH_SIZE) {
+            return Mono.error(new ApiException(HttpStatus.BAD_REQUEST,
+                    "Batch must contain between 1 and " + MAX_BATCH_SIZE + " ledgers."));
+        }
+
+        return Flux.range(0, ledgerModels.size())
+                .concatMap(i -> saveBatchItem(i, ledgerModels.get(i)))
+                .collectList()
+                .map(LedgerBatchResponse::of)
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DuplicateKeyException.class, ReactiveLedgerServiceImpl::nameTaken);
+    }
+
+    @Override
+    public Mono<Void> deleteLedger(Long ledgerId) {
+        return ledgerDao.softDelete(ledgerId, LocalDateTime.now())
+                .switchIfEmpty(notFound(ledgerId))
+                .flatMap(ledger -> writeOutbox(LedgerChangedEvent.deleted(ledger)))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<LedgerBatchResult> saveBatchItem(int index, Ledger ledgerModel) {
+        boolean creating = Objects.isNull(ledgerModel.getLedgerId());
+        Mono<Ledger> write = creating ? create(ledgerModel) : update(ledgerModel);
+        return write
+                .map(ledger -> LedgerBatchResult.success(index, creating ? HttpStatus.CREATED : HttpStatus.OK, ledger))
+                .onErrorResume(ApiException.class, e -> Mono.just(LedgerBatchResult.failure(index, e.getStatus(), e.getMessage())));
+    }
+
+    private Mono<Ledger> create(Ledger ledgerModel) {
+        return Mono.fromRunnable(() -> LedgerServiceImpl.validateLedger(ledgerModel))
+                .then(checkDuplicateLedgerName(null, ledgerModel))
+                .then(Mono.defer(() -> {
+                    ledgerModel.setLedgerId(ledgerIdGenerator.nextId());
+                    return ledgerDao.insert(ledgerModel, LocalDateTime.now());
+                }))
+                .flatMap(saved -> writeOutbox(LedgerChangedEvent.created(saved)).thenReturn(saved));
+    }
+
+    private Mono<Ledger> update(Ledger ledgerModel) {
+        return ledgerDao.findByIdAndDeletedFalse(ledgerModel.getLedgerId())
+                .switchIfEmpty(notFound(ledgerModel.getLedgerId()))
+                .flatMap(ledger -> {
+                    LedgerServiceImpl.validateLedger(ledgerModel);
+                    if (LedgerServiceImpl.isStaleVersion(ledger, ledgerModel)) {
+                        log.error("Ledger {} update rejected, version {} is no longer current.", ledger.getLedgerId(),
+                                ledgerModel.getVersion());
+                        return Mono.error(new ApiException(HttpStatus.PRECONDITION_FAILED, LEDGER_MODIFIED));
+                    }
+
+                    Long previousPersonId = ledger.getPersonId();
+                    LedgerServiceImpl.applyChanges(ledger, ledgerModel);
+                    return checkDuplicateLedgerName(ledger.getLedgerId(), ledger)
+                            .then(Mono.defer(() -> ledgerDao.update(ledger, ledger.getVersion(), LocalDateTime.now())))
+                            .switchIfEmpty(Mono.error(() -> new ApiException(HttpStatus.PRECONDITION_FAILED, LEDGER_MODIFIED)))
+                            .flatMap(saved -> writeOutbox(LedgerChangedEvent.updated(saved, previousPersonId)).thenReturn(saved));
+                });
+    }
+
+    private Mono<Void> checkDuplicateLedgerName(Long ledgerId, Ledger ledger) {
+        return Mono.defer(() -> ledgerDao.existsActiveLedgerName(ledger.getPersonId(), ledger.getName(), ledgerId))
+                .flatMap(exists -> {
+                    if (Boolean.TRUE.equals(exists)) {
+                        log.error("Ledger name - {} for personId {} already exists.", ledger.getName(), ledger.getPersonId());
+                        return Mono.error(new ApiException(HttpStatus.BAD_REQUEST, LEDGER_NAME_EXISTS));
+                    }
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> writeOutbox(LedgerChangedEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(LedgerChangeMessage.of(event));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        return ledgerDao.insertOutboxEntry(event.ledgerId(), event.changeType(), payload, LocalDateTime.now());
+    }
+
+    private static <T> Mono<T> notFound(Long ledgerId) {
+        return Mono.error(() -> {
+            log.error("Ledger not found for ledgerId {}", ledgerId);
+            return new ApiException(HttpStatus.NOT_FOUND, LEDGER_NOT_FOUND);
+        });
+    }
+
+    /**
+     * A concurrent writer took the name between the existence check and the write.
+     */
+    private static ApiException nameTaken(Throwable e) {
+        return new ApiException(HttpStatus.BAD_REQUEST, LEDGER_NAME_EXISTS, e);
+    }
+
+}
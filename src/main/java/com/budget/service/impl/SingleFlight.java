@@ -0,0 +1,78 @@
+package com.budget.service.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Lets concurrent calls for the same key share one execution. The first caller runs it on
+ * its own thread; callers arriving while it runs wait for its result or exception
+ * instead of running it again. Only callers of the same key ever wait on each other.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    SingleFlight(String method, MeterRegistry meterRegistry) {
+        this.leaders = counter(meterRegistry, method, "leader");
+        this.followers = counter(meterRegistry, method, "follower");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String method, String role) {
+        return Counter.builder("ledger.reads.coalescing")
+                .description("Ledger reads that ran the query (leader) or shared a running one (follower)")
+                .tag("method", method)
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = flights.putIfAbsent(key, flight);
+        if (running != null) {
+            followers.increment();
+            return await(running);
+        }
+
+        leaders.increment();
+        try {
+            V value = call.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Later calls for the key start a new execution. Callers already waiting keep the
+     * result of the one they joined, which started before they did.
+     */
+    void forget(K key) {
+        flights.remove(key);
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+}
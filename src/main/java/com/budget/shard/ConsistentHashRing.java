@@ -0,0 +1,53 @@
+package com.budget.shard;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Maps a key to one of a fixed set of shards. Each shard owns {@code virtualNodes} points
+ * on a 64-bit ring, and a key belongs to the first point at or after its hash. Adding a
+ * shard therefore only takes keys from the arc before each of its points, roughly
+ * 1/(N+1) of the keyspace, instead of reshuffling everything as {@code key % N} would.
+ */
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final List<String> shards;
+
+    public ConsistentHashRing(List<String> shards, int virtualNodes) {
+        if (shards.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A ring needs at least one shard and one virtual node per shard.");
+        }
+        this.shards = List.copyOf(shards);
+        for (String shard : this.shards) {
+            long shardHash = hash(shard.hashCode());
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.putIfAbsent(hash(shardHash + i), shard);
+            }
+        }
+    }
+
+    public String locate(long key) {
+        Map.Entry<Long, String> owner = ring.ceilingEntry(hash(key));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    public List<String> getShards() {
+        return shards;
+    }
+
+    /**
+     * MurmurHash3's 64-bit finalizer. Sequential person ids land far apart on the ring.
+     */
+    static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.budget.shard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a {@code void} method, typically a scheduled job, once against every shard in
+ * turn. Without sharding the method runs once as usual.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ForEachShard {
+}
@@ -0,0 +1,32 @@
+package com.budget.shard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the service parameter that decides which shard a call runs on. A {@code Long} is
+ * read as the given {@link Kind}; a {@code Ledger} or {@code Expense} routes by its own
+ * ids, and a list of ledgers must resolve to a single shard.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+
+    Kind value() default Kind.PERSON;
+
+    /**
+     * Lets the call through while the person is being moved. Methods annotated with
+     * {@code @Transactional(readOnly = true)} are read-only already; set this on reads that
+     * run without a transaction.
+     */
+    boolean readOnly() default false;
+
+    enum Kind {
+        PERSON,
+        LEDGER,
+        EXPENSE
+    }
+
+}
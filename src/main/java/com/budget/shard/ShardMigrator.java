@@ -0,0 +1,62 @@
+package com.budget.shard;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies the Flyway migrations of the directory shard to every other shard. Expense ids
+ * still come from a sequence per shard, so each shard draws from the 2^48 block set by its
+ * configured id range, which lets a moved person keep its expense ids. The range is a
+ * property of the shard rather than its position in the list, so reordering or removing
+ * shards does not move a shard's sequence into another shard's block.
+ */
+@Slf4j
+public final class ShardMigrator {
+
+    private static final int EXPENSE_ID_RANGE_BITS = 48;
+    private static final String LAST_EXPENSE_ID_SQL = "SELECT last_value FROM expense_expense_id_seq";
+    private static final String RESERVE_EXPENSE_IDS_SQL = "SELECT setval('expense_expense_id_seq', ?)";
+
+    private ShardMigrator() {
+    }
+
+    public static void migrate(Flyway directoryFlyway, ShardRoutingDataSource shards, Map<String, Integer> idRanges) {
+        for (Map.Entry<String, DataSource> entry : shards.getShards().entrySet()) {
+            String shard = entry.getKey();
+            DataSource dataSource = entry.getValue();
+            if (!shard.equals(shards.getDirectoryShard())) {
+                log.info("Migrating shard {}", shard);
+                Flyway.configure()
+                        .configuration(directoryFlyway.getConfiguration())
+                        .dataSource(dataSource)
+                        .load()
+                        .migrate();
+            }
+            reserveExpenseIds(shard, new JdbcTemplate(dataSource), idRanges.get(shard));
+        }
+    }
+
+    /**
+     * Moves the sequence up into the shard's block if it is still below it. A sequence past
+     * the end of the block means the shard's id range was changed after it issued ids.
+     */
+    private static void reserveExpenseIds(String shard, JdbcTemplate jdbcTemplate, int idRange) {
+        long firstExpenseId = (long) idRange << EXPENSE_ID_RANGE_BITS;
+        long nextRangeStart = (long) (idRange + 1) << EXPENSE_ID_RANGE_BITS;
+        long lastExpenseId = jdbcTemplate.queryForObject(LAST_EXPENSE_ID_SQL, Long.class);
+        if (lastExpenseId >= nextRangeStart) {
+            throw new IllegalStateException("Shard " + shard + " already issued expense ids above id-range " + idRange
+                    + "; the id-range of a shard must not change.");
+        }
+        if (lastExpenseId < firstExpenseId) {
+            jdbcTemplate.queryForObject(RESERVE_EXPENSE_IDS_SQL, Long.class, firstExpenseId);
+        }
+    }
+
+}
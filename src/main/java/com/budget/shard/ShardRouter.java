@@ -0,0 +1,177 @@
+package com.budget.shard;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.budget.exception.ApiException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides which shard holds a person's ledgers. A person is placed by the hash ring of the
+ * active shards unless the directory table on the directory shard says otherwise, which
+ * is the case while and after a person is moved by {@code ShardRebalanceJob}.
+ * <p>
+ * Ledger and expense ids are resolved to their person by asking each shard once; the
+ * answer is cached, since a ledger only changes person within its shard.
+ */
+@Slf4j
+public class ShardRouter {
+
+    static final String MOVING = "Ledgers of this person are being moved between shards, retry shortly.";
+
+    private static final String FIND_PLACEMENT_SQL = "SELECT shard, moving FROM ledger_person_shard WHERE person_id = ?";
+    private static final String UPSERT_PLACEMENT_SQL = "INSERT INTO ledger_person_shard (person_id, shard, moving, updated_at) "
+            + "VALUES (?, ?, ?, CURRENT_TIMESTAMP) "
+            + "ON CONFLICT (person_id) DO UPDATE SET shard = EXCLUDED.shard, moving = EXCLUDED.moving, updated_at = EXCLUDED.updated_at";
+    private static final String DELETE_PLACEMENT_SQL = "DELETE FROM ledger_person_shard WHERE person_id = ?";
+    private static final String FIND_LEDGER_PERSON_SQL = "SELECT person_id FROM ledger WHERE ledger_id = ?";
+    private static final String FIND_EXPENSE_LEDGER_SQL = "SELECT ledger_id FROM expense WHERE expense_id = ?";
+
+    private final ShardRoutingDataSource dataSource;
+    private final ConsistentHashRing activeRing;
+    private final ConsistentHashRing targetRing;
+    private final JdbcTemplate directory;
+    private final Map<String, JdbcTemplate> shardTemplates = new LinkedHashMap<>();
+    private final Cache<Long, Optional<Placement>> placements;
+    private final Cache<Long, Long> ledgerPersons;
+    private final Cache<Long, Long> expenseLedgers;
+
+    /**
+     * @param joiningShards shards on the target ring only, see {@code ledger.sharding.shards[].joining}
+     */
+    public ShardRouter(ShardRoutingDataSource dataSource, List<String> joiningShards, int virtualNodes,
+            Duration placementCacheTtl) {
+        this.dataSource = dataSource;
+        List<String> shards = new ArrayList<>(dataSource.getShards().keySet());
+        List<String> activeShards = shards.stream().filter(shard -> !joiningShards.contains(shard)).toList();
+        this.activeRing = new ConsistentHashRing(activeShards, virtualNodes);
+        this.targetRing = new ConsistentHashRing(shards, virtualNodes);
+        for (Map.Entry<String, DataSource> shard : dataSource.getShards().entrySet()) {
+            shardTemplates.put(shard.getKey(), new JdbcTemplate(shard.getValue()));
+        }
+        this.directory = shardTemplates.get(dataSource.getDirectoryShard());
+        this.placements = Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(placementCacheTtl).build();
+        this.ledgerPersons = Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(Duration.ofMinutes(10)).build();
+        this.expenseLedgers = Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(Duration.ofMinutes(10)).build();
+    }
+
+    public String shardForPerson(Long personId, boolean write) {
+        if (Objects.isNull(personId)) {
+            return dataSource.getDirectoryShard();
+        }
+        Placement placement = placement(personId);
+        if (write && placement.moving()) {
+            log.warn("Write for personId {} rejected while it moves off shard {}", personId, placement.shard());
+            throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, MOVING);
+        }
+        return placement.shard();
+    }
+
+    /**
+     * An unknown ledger routes to the directory shard, where the service reports it missing.
+     */
+    public String shardForLedger(Long ledgerId, boolean write) {
+        return shardForPerson(ledgerOwner(ledgerId), write);
+    }
+
+    /**
+     * @return the person of the ledger, or null when no shard has it
+     */
+    public Long ledgerOwner(Long ledgerId) {
+        return Objects.isNull(ledgerId) ? null : ledgerPersons.get(ledgerId, this::findLedgerPerson);
+    }
+
+    public String shardForExpense(Long expenseId, boolean write) {
+        Long ledgerId = Objects.isNull(expenseId) ? null : expenseLedgers.get(expenseId, this::findExpenseLedger);
+        return shardForLedger(ledgerId, write);
+    }
+
+    public Placement placement(Long personId) {
+        return placements.get(personId, this::findPlacement)
+                .orElseGet(() -> new Placement(activeRing.locate(personId), false));
+    }
+
+    public String activeShard(Long personId) {
+        return activeRing.locate(personId);
+    }
+
+    public String targetShard(Long personId) {
+        return targetRing.locate(personId);
+    }
+
+    public void pin(Long personId, String shard, boolean moving) {
+        dataSource.getShard(shard);
+        directory.update(UPSERT_PLACEMENT_SQL, personId, shard, moving);
+        placements.invalidate(personId);
+    }
+
+    public void unpin(Long personId) {
+        directory.update(DELETE_PLACEMENT_SQL, personId);
+        placements.invalidate(personId);
+    }
+
+    public void forgetLedger(Long ledgerId) {
+        ledgerPersons.invalidate(ledgerId);
+    }
+
+    public List<String> getShards() {
+        return List.copyOf(shardTemplates.keySet());
+    }
+
+    public JdbcTemplate jdbcTemplate(String shard) {
+        JdbcTemplate jdbcTemplate = shardTemplates.get(shard);
+        if (Objects.isNull(jdbcTemplate)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Unknown shard " + shard + ".");
+        }
+        return jdbcTemplate;
+    }
+
+    public JdbcTemplate directory() {
+        return directory;
+    }
+
+    private Optional<Placement> findPlacement(Long personId) {
+        return directory.query(FIND_PLACEMENT_SQL,
+                (rs, rowNum) -> new Placement(rs.getString("shard"), rs.getBoolean("moving")), personId)
+                .stream()
+                .findFirst();
+    }
+
+    private Long findLedgerPerson(Long ledgerId) {
+        return findOnAnyShard(FIND_LEDGER_PERSON_SQL, ledgerId);
+    }
+
+    private Long findExpenseLedger(Long expenseId) {
+        return findOnAnyShard(FIND_EXPENSE_LEDGER_SQL, expenseId);
+    }
+
+    private Long findOnAnyShard(String sql, Long id) {
+        for (JdbcTemplate jdbcTemplate : shardTemplates.values()) {
+            List<Long> found = jdbcTemplate.queryForList(sql, Long.class, id);
+            if (!found.isEmpty()) {
+                return found.get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param moving writes are refused until the move has finished
+     */
+    public record Placement(String shard, boolean moving) {
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.budget.shard;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.budget.exception.ApiException;
+import com.budget.model.Expense;
+import com.budget.model.Ledger;
+
+/**
+ * Selects the shard for service methods with a {@link ShardKey} parameter and runs
+ * {@link ForEachShard} methods once per shard. It runs before the transaction and cache
+ * interceptors, so the transaction's connection already comes from the chosen shard.
+ * A nested service call stays on the shard of the outer call.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ShardRoutingAspect {
+
+    private static final int NO_SHARD_KEY = -1;
+
+    private final ShardRouter shardRouter;
+    private final Map<Method, Integer> shardKeyIndexes = new ConcurrentHashMap<>();
+
+    public ShardRoutingAspect(ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    @Around("execution(public * com.budget.service.impl.*ServiceImpl.*(..))")
+    public Object routeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (Objects.nonNull(ShardRoutingContext.currentShard())) {
+            return joinPoint.proceed();
+        }
+
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                joinPoint.getTarget().getClass());
+        int index = shardKeyIndexes.computeIfAbsent(method, ShardRoutingAspect::findShardKeyIndex);
+        if (index == NO_SHARD_KEY) {
+            return joinPoint.proceed();
+        }
+
+        ShardKey shardKey = findShardKey(method.getParameterAnnotations()[index]);
+        Object key = joinPoint.getArgs()[index];
+        String previous = ShardRoutingContext.route(resolveShard(key, shardKey.value(), !(shardKey.readOnly() || isReadOnly(method))));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardRoutingContext.restore(previous);
+            if (key instanceof Ledger ledger && Objects.nonNull(ledger.getLedgerId())) {
+                // The update may have handed the ledger to another person on the same shard.
+                shardRouter.forgetLedger(ledger.getLedgerId());
+            }
+        }
+    }
+
+    @Around("@annotation(com.budget.shard.ForEachShard)")
+    public Object runOnEachShard(ProceedingJoinPoint joinPoint) throws Throwable {
+        for (String shard : shardRouter.getShards()) {
+            String previous = ShardRoutingContext.route(shard);
+            try {
+                joinPoint.proceed();
+            } finally {
+                ShardRoutingContext.restore(previous);
+            }
+        }
+        return null;
+    }
+
+    String resolveShard(Object key, ShardKey.Kind kind, boolean write) {
+        if (key instanceof Ledger ledger) {
+            return resolveLedgerShard(ledger, write);
+        }
+        if (key instanceof Expense expense) {
+            return Objects.nonNull(expense.getExpenseId())
+                    ? shardRouter.shardForExpense(expense.getExpenseId(), write)
+                    : shardRouter.shardForLedger(expense.getLedgerId(), write);
+        }
+        if (key instanceof Collection<?> ledgers) {
+            Set<String> shards = ledgers.stream()
+                    .map(ledger -> resolveShard(ledger, kind, write))
+                    .collect(Collectors.toSet());
+            if (shards.size() > 1) {
+                throw new ApiException(HttpStatus.BAD_REQUEST, "A batch cannot span persons on different shards.");
+            }
+            return shards.isEmpty() ? shardRouter.shardForPerson(null, write) : shards.iterator().next();
+        }
+
+        Long id = (Long) key;
+        return switch (kind) {
+            case PERSON -> shardRouter.shardForPerson(id, write);
+            case LEDGER -> shardRouter.shardForLedger(id, write);
+            case EXPENSE -> shardRouter.shardForExpense(id, write);
+        };
+    }
+
+    private String resolveLedgerShard(Ledger ledger, boolean write) {
+        if (Objects.isNull(ledger)) {
+            return shardRouter.shardForPerson(null, write);
+        }
+        String personShard = shardRouter.shardForPerson(ledger.getPersonId(), write);
+        if (Objects.isNull(ledger.getLedgerId())) {
+            return personShard;
+        }
+
+        Long ownerId = shardRouter.ledgerOwner(ledger.getLedgerId());
+        if (Objects.isNull(ownerId)) {
+            return personShard;
+        }
+        String ledgerShard = shardRouter.shardForPerson(ownerId, write);
+        if (Objects.nonNull(ledger.getPersonId()) && !ledgerShard.equals(personShard)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "A ledger cannot be moved to a person on another shard.");
+        }
+        return ledgerShard;
+    }
+
+    private static boolean isReadOnly(Method method) {
+        Transactional transactional = AnnotatedElementUtils.findMergedAnnotation(method, Transactional.class);
+        return Objects.nonNull(transactional) && transactional.readOnly();
+    }
+
+    private static int findShardKeyIndex(Method method) {
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            if (Objects.nonNull(findShardKey(parameterAnnotations[i]))) {
+                return i;
+            }
+        }
+        return NO_SHARD_KEY;
+    }
+
+    private static ShardKey findShardKey(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof ShardKey shardKey) {
+                return shardKey;
+            }
+        }
+        return null;
+    }
+
+}
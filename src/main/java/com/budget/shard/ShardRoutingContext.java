@@ -0,0 +1,52 @@
+package com.budget.shard;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Shard chosen for the current thread by {@link ShardRoutingAspect}. It is set before the
+ * transaction starts, so every connection of that transaction comes from the same shard.
+ */
+public final class ShardRoutingContext {
+
+    private static final ThreadLocal<String> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardRoutingContext() {
+    }
+
+    public static String currentShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    /**
+     * @return the shard that was selected before, to hand back to {@link #restore(String)}
+     */
+    public static String route(String shard) {
+        String previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        return previous;
+    }
+
+    public static void restore(String previous) {
+        if (previous == null) {
+            CURRENT_SHARD.remove();
+        } else {
+            CURRENT_SHARD.set(previous);
+        }
+    }
+
+    /**
+     * Carries the current shard over to a task that runs on another thread.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        String shard = CURRENT_SHARD.get();
+        return () -> {
+            String previous = route(shard);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+}
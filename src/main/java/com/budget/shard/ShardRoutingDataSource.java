@@ -0,0 +1,72 @@
+package com.budget.shard;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Hands out connections from the shard selected in {@link ShardRoutingContext}. Work that
+ * is not tied to a person, such as Flyway and the shard directory itself, goes to the
+ * directory shard.
+ */
+public class ShardRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final Map<String, DataSource> shards;
+    private final String directoryShard;
+
+    public ShardRoutingDataSource(Map<String, DataSource> shards, String directoryShard) {
+        if (!shards.containsKey(directoryShard)) {
+            throw new IllegalArgumentException("Directory shard " + directoryShard + " is not configured.");
+        }
+        this.shards = new LinkedHashMap<>(shards);
+        this.directoryShard = directoryShard;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return currentDataSource().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return currentDataSource().getConnection(username, password);
+    }
+
+    public DataSource getShard(String shard) {
+        DataSource dataSource = shards.get(shard);
+        if (Objects.isNull(dataSource)) {
+            throw new IllegalArgumentException("Unknown shard " + shard + ".");
+        }
+        return dataSource;
+    }
+
+    public Map<String, DataSource> getShards() {
+        return shards;
+    }
+
+    public String getDirectoryShard() {
+        return directoryShard;
+    }
+
+    @Override
+    public void close() {
+        shards.values().stream()
+                .filter(HikariDataSource.class::isInstance)
+                .map(HikariDataSource.class::cast)
+                .forEach(HikariDataSource::close);
+    }
+
+    DataSource currentDataSource() {
+        String shard = ShardRoutingContext.currentShard();
+        return getShard(Objects.isNull(shard) ? directoryShard : shard);
+    }
+
+}
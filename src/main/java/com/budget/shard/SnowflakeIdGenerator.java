@@ -0,0 +1,120 @@
+package com.budget.shard;
+
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Snowflake-style ledger ids: 41 bits of milliseconds since 2024-01-01, 7 bits of worker
+ * id and a 5-bit sequence within the millisecond. Ids are unique across shards as long
+ * as every running instance has its own {@code ledger.ids.worker-id}, and they grow with
+ * time, so keyset pages by ledger id stay in creation order.
+ * <p>
+ * The 53 bits in total keep ids exact as JSON numbers in JavaScript clients. That leaves
+ * 128 workers and 32 ids per millisecond each, which is plenty for ledgers and budgets.
+ */
+@Slf4j
+@Component
+public class SnowflakeIdGenerator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int WORKER_BITS = 7;
+    static final int SEQUENCE_BITS = 5;
+    static final long MAX_WORKER_ID = (1L << WORKER_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    /** A clock that moved back further than this is treated as broken rather than waited out. */
+    private static final long MAX_BACKWARD_MILLIS = 5_000;
+
+    private final long workerId;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long lastMillis = -1L;
+    private long sequence;
+
+    @Autowired
+    public SnowflakeIdGenerator(@Value("${ledger.ids.worker-id:#{null}}") Long workerId,
+            ObjectProvider<ShardRouter> shardRouter) {
+        this(resolveWorkerId(workerId, shardRouter.getIfAvailable() != null), System::currentTimeMillis);
+    }
+
+    public SnowflakeIdGenerator(long workerId) {
+        this(workerId, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long workerId, LongSupplier clock) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("ledger.ids.worker-id must be between 0 and " + MAX_WORKER_ID + ".");
+        }
+        this.workerId = workerId;
+        this.clock = clock;
+    }
+
+    /**
+     * A single instance may leave the worker id unset. With sharding there are several
+     * instances by design, and two on the same default would issue the same ids.
+     */
+    static long resolveWorkerId(Long workerId, boolean sharded) {
+        if (workerId != null) {
+            return workerId;
+        }
+        if (sharded) {
+            throw new IllegalStateException("ledger.ids.worker-id must be set when sharding is enabled.");
+        }
+        log.warn("ledger.ids.worker-id is not set, using 0; every running instance needs its own");
+        return 0L;
+    }
+
+    /**
+     * The critical section is a few arithmetic operations. A lock rather than
+     * {@code synchronized} keeps virtual threads from pinning their carrier.
+     */
+    public long nextId() {
+        lock.lock();
+        try {
+            return next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long next() {
+        long now = clock.getAsLong();
+        if (now < lastMillis) {
+            if (lastMillis - now > MAX_BACKWARD_MILLIS) {
+                throw new IllegalStateException("Clock moved back by " + (lastMillis - now) + " ms, refusing to issue ids.");
+            }
+            log.warn("Clock moved back by {} ms, waiting before issuing ids", lastMillis - now);
+            now = waitUntilAfter(lastMillis - 1);
+        }
+
+        if (now == lastMillis) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                now = waitUntilAfter(lastMillis);
+            }
+        } else {
+            sequence = 0;
+        }
+        lastMillis = now;
+
+        return ((now - EPOCH_MILLIS) << (WORKER_BITS + SEQUENCE_BITS)) | (workerId << SEQUENCE_BITS) | sequence;
+    }
+
+    private long waitUntilAfter(long millis) {
+        long now = clock.getAsLong();
+        while (now <= millis) {
+            Thread.onSpinWait();
+            now = clock.getAsLong();
+        }
+        return now;
+    }
+
+}
@@ -0,0 +1,9 @@
+ALTER TABLE person ADD COLUMN home_currency VARCHAR(3) NOT NULL DEFAULT 'USD';
+
+-- Daily reference rates: units of each currency per one unit of ledger.fx.base-currency.
+CREATE TABLE fx_rate (
+    rate_date DATE NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    rate NUMERIC(24, 10) NOT NULL CHECK (rate > 0),
+    PRIMARY KEY (rate_date, currency)
+);
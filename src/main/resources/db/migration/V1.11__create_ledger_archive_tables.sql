@@ -0,0 +1,37 @@
+-- Soft-deleted ledgers and their expenses are moved here once past ledger.archive.retention,
+-- keeping the hot tables and their partial indexes limited to rows that can still be read.
+CREATE TABLE ledger_archive (
+    ledger_id BIGINT PRIMARY KEY,
+    person_id BIGINT NOT NULL,
+    name VARCHAR(20) NOT NULL,
+    description TEXT,
+    currency VARCHAR(3) NOT NULL,
+    version BIGINT NOT NULL,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (person_id) REFERENCES person(person_id) ON DELETE CASCADE
+);
+
+CREATE TABLE expense_archive (
+    expense_id BIGINT PRIMARY KEY,
+    ledger_id BIGINT NOT NULL,
+    amount_minor BIGINT NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    payee VARCHAR(100),
+    description TEXT,
+    occurred_at TIMESTAMP NOT NULL,
+    deleted BOOLEAN NOT NULL,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (ledger_id) REFERENCES ledger_archive(ledger_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_expense_archive_ledger_id
+    ON expense_archive (ledger_id);
+
+-- Finds archival candidates without scanning live ledgers.
+CREATE INDEX idx_ledger_deleted_updated_at
+    ON ledger (updated_at)
+    WHERE deleted = true;
@@ -0,0 +1,17 @@
+-- Ledger ids are Snowflake ids assigned by the application (SnowflakeIdGenerator), so they
+-- stay unique across shards. They start far above any id the old sequence handed out.
+ALTER TABLE ledger ALTER COLUMN ledger_id DROP DEFAULT;
+DROP SEQUENCE ledger_ledger_id_seq;
+
+-- Persons placed away from their hash-ring shard, read on the directory shard only. A row
+-- with moving = true blocks writes for the person while ShardRebalanceJob copies it.
+CREATE TABLE ledger_person_shard (
+    person_id BIGINT PRIMARY KEY,
+    shard VARCHAR(50) NOT NULL,
+    moving BOOLEAN NOT NULL DEFAULT false,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Lists the persons on a shard for rebalancing.
+CREATE INDEX idx_ledger_archive_person_id
+    ON ledger_archive (person_id);
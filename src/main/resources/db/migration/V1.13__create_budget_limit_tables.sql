@@ -0,0 +1,57 @@
+-- Monthly spending limits on one category of a ledger, or on the whole ledger when
+-- category is NULL, in minor units of the ledger currency. Ids are Snowflake ids like
+-- ledger ids, so they stay unique across shards. LedgerArchiveJob moves a ledger's limits
+-- and usage to the archive tables below before it deletes the ledger, and moves them back
+-- on restore. The foreign key makes sure no path deletes a ledger with its limits.
+CREATE TABLE budget_limit (
+    budget_limit_id BIGINT PRIMARY KEY,
+    ledger_id BIGINT NOT NULL,
+    category VARCHAR(50),
+    limit_minor BIGINT NOT NULL CHECK (limit_minor > 0),
+    warn_percent INTEGER NOT NULL DEFAULT 80 CHECK (warn_percent BETWEEN 1 AND 100),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (ledger_id) REFERENCES ledger(ledger_id) ON DELETE RESTRICT
+);
+
+CREATE UNIQUE INDEX ux_budget_limit_ledger_id_category
+    ON budget_limit (ledger_id, COALESCE(category, ''));
+
+-- Running totals the rule engine evaluated and the alert level it last raised, written
+-- periodically by BudgetUsageFlusher. ledger_monthly_summary stays the source of truth
+-- for the totals; the level keeps a restart from raising the same alert again.
+CREATE TABLE budget_usage (
+    budget_limit_id BIGINT NOT NULL,
+    month DATE NOT NULL,
+    spent_minor BIGINT NOT NULL,
+    alert_level VARCHAR(10) NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (budget_limit_id, month),
+    FOREIGN KEY (budget_limit_id) REFERENCES budget_limit(budget_limit_id) ON DELETE CASCADE
+);
+
+CREATE TABLE budget_limit_archive (
+    budget_limit_id BIGINT PRIMARY KEY,
+    ledger_id BIGINT NOT NULL,
+    category VARCHAR(50),
+    limit_minor BIGINT NOT NULL,
+    warn_percent INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (ledger_id) REFERENCES ledger_archive(ledger_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_budget_limit_archive_ledger_id
+    ON budget_limit_archive (ledger_id);
+
+CREATE TABLE budget_usage_archive (
+    budget_limit_id BIGINT NOT NULL,
+    month DATE NOT NULL,
+    spent_minor BIGINT NOT NULL,
+    alert_level VARCHAR(10) NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (budget_limit_id, month),
+    FOREIGN KEY (budget_limit_id) REFERENCES budget_limit_archive(budget_limit_id) ON DELETE CASCADE
+);
@@ -0,0 +1,13 @@
+-- Dispatchers lease a ledger's pending entries while they deliver them outside the
+-- claiming transaction. Another dispatcher may take the ledger over once the lease runs out.
+ALTER TABLE ledger_outbox ADD COLUMN leased_until TIMESTAMP;
+
+-- Entries are delivered in outbox_id order per ledger, so ids must follow commit order.
+-- Blocks reserved by the pooled optimizer did not, and the R2DBC insert could draw an id
+-- inside a block another instance still held. Skip past any block handed out so far.
+ALTER SEQUENCE ledger_outbox_outbox_id_seq INCREMENT BY 1;
+SELECT setval('ledger_outbox_outbox_id_seq', nextval('ledger_outbox_outbox_id_seq') + 50);
+
+CREATE INDEX idx_ledger_outbox_done_processed_at
+    ON ledger_outbox (processed_at)
+    WHERE status = 'DONE';
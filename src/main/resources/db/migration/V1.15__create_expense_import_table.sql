@@ -0,0 +1,10 @@
+-- Progress of imports sent with an import id, written in the same transaction as each
+-- chunk. A retry under the same id continues after last_line.
+CREATE TABLE expense_import (
+    ledger_id BIGINT NOT NULL,
+    import_id VARCHAR(64) NOT NULL,
+    last_line BIGINT NOT NULL,
+    imported_rows BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (ledger_id, import_id)
+);
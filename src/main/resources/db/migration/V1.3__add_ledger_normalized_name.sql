@@ -0,0 +1,30 @@
+-- Names used to be compared without trimming or case folding, so active ledgers that only
+-- differ that way may already exist. Stop here with the offending rows rather than fail
+-- half-way on the unique index; rename or delete them and run the migration again.
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    SELECT string_agg(format('person_id %s: %s', person_id, ledger_ids), '; ')
+    INTO duplicates
+    FROM (
+        SELECT person_id, string_agg(format('%s (%s)', ledger_id, name), ', ' ORDER BY ledger_id) AS ledger_ids
+        FROM ledger
+        WHERE deleted = false
+        GROUP BY person_id, LOWER(TRIM(name))
+        HAVING COUNT(*) > 1
+        ORDER BY person_id
+        LIMIT 50
+    ) collisions;
+
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'Active ledgers share a name once trimmed and lower-cased; rename or delete all but one per group: %', duplicates;
+    END IF;
+END $$;
+
+ALTER TABLE ledger
+    ADD COLUMN normalized_name VARCHAR(20) GENERATED ALWAYS AS (LOWER(TRIM(name))) STORED;
+
+CREATE UNIQUE INDEX ux_ledger_person_normalized_name
+    ON ledger (person_id, normalized_name)
+    WHERE deleted = false;
@@ -0,0 +1,3 @@
+CREATE INDEX idx_ledger_person_id_ledger_id
+    ON ledger (person_id, ledger_id)
+    WHERE deleted = false;
@@ -0,0 +1,3 @@
+-- Reserves 50 ids per nextval for the pooled id generator that batch inserts used at
+-- the time. V1.12 moves ledgers to Snowflake ids and drops this sequence.
+ALTER SEQUENCE ledger_ledger_id_seq INCREMENT BY 50;
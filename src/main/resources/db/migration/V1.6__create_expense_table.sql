@@ -0,0 +1,26 @@
+CREATE TABLE expense (
+    expense_id BIGSERIAL PRIMARY KEY,
+    ledger_id BIGINT NOT NULL,
+    amount_minor BIGINT NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    payee VARCHAR(100),
+    description TEXT,
+    occurred_at TIMESTAMP NOT NULL,
+    deleted BOOLEAN NOT NULL DEFAULT false,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (ledger_id) REFERENCES ledger(ledger_id)
+);
+
+-- Matches the per-ledger time-range query, so range scans only touch active rows of one ledger.
+CREATE INDEX idx_expense_ledger_id_occurred_at
+    ON expense (ledger_id, occurred_at)
+    WHERE deleted = false;
+
+-- Entries are mostly appended in time order, so a BRIN index keeps cross-ledger
+-- time scans (archival, reporting) cheap at a fraction of a B-tree's size.
+CREATE INDEX brin_expense_occurred_at
+    ON expense USING BRIN (occurred_at);
+
+-- Pooled optimizer on Expense, see V1.5.
+ALTER SEQUENCE expense_expense_id_seq INCREMENT BY 50;
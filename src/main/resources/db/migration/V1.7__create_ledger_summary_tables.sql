@@ -0,0 +1,18 @@
+-- Running totals maintained in the same transaction as every expense write.
+CREATE TABLE ledger_summary (
+    ledger_id BIGINT PRIMARY KEY,
+    balance_minor BIGINT NOT NULL DEFAULT 0,
+    entry_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (ledger_id) REFERENCES ledger(ledger_id)
+);
+
+CREATE TABLE ledger_monthly_summary (
+    ledger_id BIGINT NOT NULL,
+    month DATE NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    total_minor BIGINT NOT NULL DEFAULT 0,
+    entry_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (ledger_id, month, category),
+    FOREIGN KEY (ledger_id) REFERENCES ledger(ledger_id)
+);
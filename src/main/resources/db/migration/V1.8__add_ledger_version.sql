@@ -0,0 +1,7 @@
+ALTER TABLE ledger
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Covers MAX(updated_at) and the active row count behind the listing ETag.
+CREATE INDEX idx_ledger_person_id_updated_at
+    ON ledger (person_id, updated_at)
+    INCLUDE (deleted);
@@ -0,0 +1,24 @@
+CREATE TABLE ledger_outbox (
+    outbox_id BIGSERIAL PRIMARY KEY,
+    ledger_id BIGINT NOT NULL,
+    change_type VARCHAR(10) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(10) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP
+);
+
+-- Only pending rows are ever polled, so the index stays small however much history is kept.
+CREATE INDEX idx_ledger_outbox_pending
+    ON ledger_outbox (available_at, outbox_id)
+    WHERE status = 'PENDING';
+
+CREATE INDEX idx_ledger_outbox_pending_ledger_id
+    ON ledger_outbox (ledger_id, outbox_id)
+    WHERE status = 'PENDING';
+
+-- Pooled optimizer on LedgerOutboxEntry, see V1.5.
+ALTER SEQUENCE ledger_outbox_outbox_id_seq INCREMENT BY 50;
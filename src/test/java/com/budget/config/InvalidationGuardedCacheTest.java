@@ -0,0 +1,68 @@
+package com.budget.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+class InvalidationGuardedCacheTest {
+
+    private InvalidationGuardedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new InvalidationGuardedCache(CacheConfig.LEDGER_BY_ID, Caffeine.newBuilder().build(), false);
+    }
+
+    @Test
+    void put_FillAfterMissIsStored() {
+        assertNull(cache.get(1L));
+
+        cache.put(1L, "ledger 1");
+
+        assertEquals("ledger 1", cache.get(1L).get());
+    }
+
+    @Test
+    void put_FillReadBeforeAnEvictionIsDropped() {
+        assertNull(cache.get(1L));
+        // The writer commits and evicts while the reader still holds the old row.
+        cache.evict(1L);
+
+        cache.put(1L, "old ledger 1");
+
+        assertNull(cache.get(1L));
+        cache.put(1L, "new ledger 1");
+        assertEquals("new ledger 1", cache.get(1L).get());
+    }
+
+    @Test
+    void put_FillReadBeforeClearIsDropped() {
+        assertNull(cache.get(1L));
+        cache.clear();
+
+        cache.put(1L, "old ledger 1");
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void put_WithoutMissIsStored() {
+        cache.put(1L, "ledger 1");
+
+        assertEquals("ledger 1", cache.get(1L).get());
+    }
+
+    @Test
+    void put_ForAnotherKeyThanTheMissIsSkipped() {
+        assertNull(cache.get(1L));
+
+        cache.put(2L, "ledger 2");
+
+        assertNull(cache.get(2L));
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.budget.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.budget.dao.LedgerDao;
+import com.budget.dto.LedgerChangeMessage;
+import com.budget.dto.LedgerDetail;
+import com.budget.model.Ledger;
+
+class LedgerRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    LedgerRuntimeHintsTest() {
+        new LedgerRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registersJpqlProjectionConstructors() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(LedgerDetail.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    void registersLombokAccessorsForJackson() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Ledger.class.getMethod("getName")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Ledger.class.getMethod("setName", String.class))
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(LedgerChangeMessage.class).test(hints));
+    }
+
+    @Test
+    void registersRepositoryProxies() {
+        assertTrue(RuntimeHintsPredicates.proxies()
+                .forInterfaces(AopProxyUtils.completeJdkProxyInterfaces(LedgerDao.class)).test(hints));
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.budget.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+class RateLimitConfigTest {
+
+    private final List<PathPattern> patterns = Stream.of(RateLimitConfig.LEDGER_PATHS)
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+
+    @Test
+    void ledgerPaths_CoverLedgerControllerEndpoints() {
+        Stream.of("/v1/ledger", "/v1/ledger/1", "/v1/ledger/1/delete", "/v1/ledgers/7", "/v1/ledgers:batch",
+                "/v2/ledgers/7", "/v2/ledgers/7/stream")
+                .forEach(path -> assertTrue(matches(path), path));
+    }
+
+    @Test
+    void ledgerPaths_LeaveLedgerSubResourcesAlone() {
+        Stream.of("/v1/ledger/1/expenses", "/v1/ledger/1/expenses:import", "/v1/ledger/1/summary",
+                "/v1/ledger/1/budgets", "/v1/ledgers/7/totals", "/v1/ledgers/7/export", "/v1/admin/ledgers:archive")
+                .forEach(path -> assertFalse(matches(path), path));
+    }
+
+    private boolean matches(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        return patterns.stream().anyMatch(pattern -> pattern.matches(container));
+    }
+
+}
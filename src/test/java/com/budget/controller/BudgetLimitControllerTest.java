@@ -0,0 +1,90 @@
+package com.budget.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.budget.dto.BudgetLimitStatus;
+import com.budget.model.BudgetLimit;
+import com.budget.model.BudgetUsage;
+import com.budget.service.BudgetLimitService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@WebMvcTest(BudgetLimitController.class)
+@Import(SimpleMeterRegistry.class)
+class BudgetLimitControllerTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2026, 3, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BudgetLimitService budgetLimitService;
+
+    @Test
+    void testCreateBudgetLimit() throws Exception {
+        BudgetLimit saved = new BudgetLimit();
+        saved.setBudgetLimitId(10L);
+        saved.setLedgerId(1L);
+        saved.setCategory("Groceries");
+        saved.setLimitMinor(40000L);
+        when(budgetLimitService.saveBudgetLimit(eq(1L), any(BudgetLimit.class))).thenReturn(saved);
+
+        mockMvc.perform(post("/v1/ledger/1/budgets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"category\":\"Groceries\",\"limitMinor\":40000}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.budgetLimitId").value(10))
+                .andExpect(jsonPath("$.warnPercent").value(80));
+    }
+
+    @Test
+    void testCreateBudgetLimitWithoutLimit() throws Exception {
+        mockMvc.perform(post("/v1/ledger/1/budgets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"category\":\"Groceries\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(budgetLimitService);
+    }
+
+    @Test
+    void testGetBudgetStatus() throws Exception {
+        when(budgetLimitService.getBudgetStatus(1L, MARCH)).thenReturn(List.of(
+                new BudgetLimitStatus(10L, "Groceries", 40000L, 80, MARCH, 41000L, BudgetUsage.Level.EXCEEDED)));
+
+        mockMvc.perform(get("/v1/ledger/1/budgets/status?month=2026-03-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].spentMinor").value(41000))
+                .andExpect(jsonPath("$[0].alertLevel").value("EXCEEDED"));
+    }
+
+    @Test
+    void testDeleteBudgetLimit() throws Exception {
+        mockMvc.perform(put("/v1/ledger/1/budgets/10/delete"))
+                .andExpect(status().isNoContent());
+
+        verify(budgetLimitService).deleteBudgetLimit(1L, 10L);
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.budget.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.budget.model.Expense;
+import com.budget.service.ExpenseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@WebMvcTest(ExpenseController.class)
+@Import(SimpleMeterRegistry.class)
+class ExpenseControllerTest {
+
+    private static final String EXPENSE_URL = "/v1/expense";
+    private static final LocalDateTime OCCURRED_AT = LocalDateTime.of(2026, 3, 14, 12, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Expense testExpense;
+
+    @BeforeEach
+    void setup() {
+        testExpense = new Expense();
+        testExpense.setExpenseId(10L);
+        testExpense.setLedgerId(1L);
+        testExpense.setAmountMinor(1250L);
+        testExpense.setCategory("Groceries");
+        testExpense.setOccurredAt(OCCURRED_AT);
+        testExpense.setDeleted(false);
+    }
+
+    @Test
+    void testGetExpenseById() throws Exception {
+        when(expenseService.getExpenseById(10L)).thenReturn(testExpense);
+
+        mockMvc.perform(get(EXPENSE_URL + "/10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expenseId").value(10))
+                .andExpect(jsonPath("$.amountMinor").value(1250))
+                .andExpect(jsonPath("$.category").value("Groceries"));
+
+        verify(expenseService, times(1)).getExpenseById(10L);
+    }
+
+    @Test
+    void testGetExpensesByLedgerId() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2026, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 4, 1, 0, 0);
+        when(expenseService.getExpensesByLedgerId(1L, from, to, 100)).thenReturn(List.of(testExpense));
+
+        mockMvc.perform(get("/v1/ledger/1/expenses?from=2026-03-01T00:00:00&to=2026-04-01T00:00:00&limit=100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].expenseId").value(10));
+
+        verify(expenseService, times(1)).getExpensesByLedgerId(1L, from, to, 100);
+    }
+
+    @Test
+    void testCreateExpense() throws Exception {
+        when(expenseService.saveExpense(any(Expense.class))).thenReturn(testExpense);
+
+        mockMvc.perform(post(EXPENSE_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testExpense)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.expenseId").value(10));
+
+        verify(expenseService, times(1)).saveExpense(any(Expense.class));
+    }
+
+    @Test
+    void testCreateExpenseWithInvalidData() throws Exception {
+        testExpense.setAmountMinor(null);
+
+        mockMvc.perform(post(EXPENSE_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testExpense)))
+                .andExpect(status().isBadRequest());
+
+        verify(expenseService, times(0)).saveExpense(any(Expense.class));
+    }
+
+    @Test
+    void testUpdateExpense() throws Exception {
+        when(expenseService.updateExpense(any(Expense.class))).thenReturn(testExpense);
+
+        mockMvc.perform(put(EXPENSE_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testExpense)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expenseId").value(10));
+
+        verify(expenseService, times(1)).updateExpense(any(Expense.class));
+    }
+
+    @Test
+    void testDeleteExpense() throws Exception {
+        mockMvc.perform(put(EXPENSE_URL + "/10/delete"))
+                .andExpect(status().isNoContent());
+
+        verify(expenseService, times(1)).deleteExpense(10L);
+    }
+}
@@ -0,0 +1,67 @@
+package com.budget.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.InputStream;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.budget.dto.ExpenseImportReport;
+import com.budget.importer.ExpenseImportFormat;
+import com.budget.service.ExpenseImportService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@WebMvcTest(ExpenseImportController.class)
+@Import(SimpleMeterRegistry.class)
+class ExpenseImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExpenseImportService expenseImportService;
+
+    @Test
+    void testImportExpenses() throws Exception {
+        ExpenseImportReport report = new ExpenseImportReport(3, 2, 1, 0,
+                List.of(new ExpenseImportReport.RowError(4, "Expense category cannot be blank.")), 12L);
+        when(expenseImportService.importExpenses(eq(1L), eq("march"), eq(ExpenseImportFormat.OFX), any(InputStream.class)))
+                .thenReturn(report);
+
+        mockMvc.perform(post("/v1/ledger/1/expenses:import?format=ofx&importId=march")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content("<OFX></OFX>"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedRows").value(2))
+                .andExpect(jsonPath("$.rejectedRows").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(4));
+
+        verify(expenseImportService).importExpenses(eq(1L), eq("march"), eq(ExpenseImportFormat.OFX), any(InputStream.class));
+    }
+
+    @Test
+    void testImportExpenses_UnknownFormat() throws Exception {
+        mockMvc.perform(post("/v1/ledger/1/expenses:import?format=qif")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content("!Type:Bank"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(expenseImportService);
+    }
+
+}
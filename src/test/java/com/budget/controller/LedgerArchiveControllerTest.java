@@ -0,0 +1,66 @@
+package com.budget.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.budget.dto.LedgerArchiveReport;
+import com.budget.exception.ApiException;
+import com.budget.job.LedgerArchiveJob;
+import com.budget.model.Ledger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@WebMvcTest(LedgerArchiveController.class)
+@Import(SimpleMeterRegistry.class)
+class LedgerArchiveControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LedgerArchiveJob ledgerArchiveJob;
+
+    @Test
+    void testArchiveLedgers() throws Exception {
+        when(ledgerArchiveJob.archive()).thenReturn(new LedgerArchiveReport(2, 700L, 15000L, 1200L));
+
+        mockMvc.perform(post("/v1/admin/ledgers:archive"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.batches").value(2))
+                .andExpect(jsonPath("$.ledgers").value(700))
+                .andExpect(jsonPath("$.expenses").value(15000));
+    }
+
+    @Test
+    void testRestoreLedger() throws Exception {
+        Ledger ledger = new Ledger();
+        ledger.setLedgerId(5L);
+        ledger.setPersonId(1L);
+        ledger.setName("Travel");
+        when(ledgerArchiveJob.restore(5L)).thenReturn(ledger);
+
+        mockMvc.perform(post("/v1/admin/ledgers/5:restore"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ledgerId").value(5))
+                .andExpect(jsonPath("$.name").value("Travel"));
+    }
+
+    @Test
+    void testRestoreLedger_NotFound() throws Exception {
+        when(ledgerArchiveJob.restore(9L)).thenThrow(new ApiException(HttpStatus.NOT_FOUND, "Ledger not found."));
+
+        mockMvc.perform(post("/v1/admin/ledgers/9:restore"))
+                .andExpect(status().isNotFound());
+    }
+
+}
@@ -1,36 +1,65 @@
 package com.budget.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
-
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.budget.dto.LedgerBatchResponse;
+import com.budget.dto.LedgerBatchResult;
+import com.budget.dto.LedgerDetail;
+import com.budget.dto.LedgerListItem;
+import com.budget.dto.LedgerListVersion;
+import com.budget.dto.LedgerListing;
+import com.budget.dto.LedgerPage;
+import com.budget.dto.LedgerVersion;
+import com.budget.exception.ApiException;
 import com.budget.model.Ledger;
 import com.budget.service.LedgerService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @WebMvcTest(LedgerController.class)
+@Import(SimpleMeterRegistry.class)
 class LedgerControllerTest {
 
     private static final String TEST_LEDGER_NAME = "Test Ledger";
     private static final String LEDGER_URL = "/v1/ledger";
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 3, 14, 12, 0);
 
     @Autowired
     private MockMvc mockMvc;
@@ -41,8 +70,12 @@ class LedgerControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private Ledger testLedger;
     private List<Ledger> testLedgerList;
+    private List<LedgerListItem> testListItems;
 
     @BeforeEach
     void setup() {
@@ -52,6 +85,8 @@ class LedgerControllerTest {
         testLedger.setName(TEST_LEDGER_NAME);
         testLedger.setPersonId(100L);
         testLedger.setDeleted(false);
+        testLedger.setVersion(3L);
+        testLedger.setUpdatedAt(UPDATED_AT);
 
         Ledger secondLedger = new Ledger();
         secondLedger.setLedgerId(2L);
@@ -60,11 +95,14 @@ class LedgerControllerTest {
         secondLedger.setDeleted(false);
 
         testLedgerList = Arrays.asList(testLedger, secondLedger);
+        testListItems = List.of(new LedgerListItem(1L, 100L, TEST_LEDGER_NAME, "USD", UPDATED_AT, UPDATED_AT, false),
+                new LedgerListItem(2L, 100L, "Another Ledger", "USD", UPDATED_AT, UPDATED_AT, false));
     }
 
     @Test
     void testGetLedgerById() throws Exception {
-        when(ledgerService.getLedgerById(1L)).thenReturn(testLedger);
+        when(ledgerService.getLedgerVersion(1L)).thenReturn(LedgerVersion.of(testLedger));
+        when(ledgerService.getLedgerDetail(1L)).thenReturn(detail(3L, UPDATED_AT));
 
         mockMvc.perform(get(LEDGER_URL + "/1")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -72,14 +110,60 @@ class LedgerControllerTest {
                 .andExpect(jsonPath("$.ledgerId").value(1))
                 .andExpect(jsonPath("$.name").value(TEST_LEDGER_NAME))
                 .andExpect(jsonPath("$.personId").value(100))
-                .andExpect(jsonPath("$.deleted").value(false));
+                .andExpect(jsonPath("$.description").value("Monthly spending"))
+                .andExpect(jsonPath("$.deleted").value(false))
+                .andExpect(header().string(HttpHeaders.ETAG, LedgerVersion.of(testLedger).etag()));
+
+        verify(ledgerService, times(1)).getLedgerDetail(1L);
+        verify(ledgerService, never()).refreshLedgerDetail(any());
+    }
+
+    @Test
+    void testGetLedgerByIdRefreshesStaleCachedBody() throws Exception {
+        when(ledgerService.getLedgerVersion(1L)).thenReturn(LedgerVersion.of(testLedger));
+        when(ledgerService.getLedgerDetail(1L)).thenReturn(detail(2L, UPDATED_AT.minusMinutes(1)));
+        when(ledgerService.refreshLedgerDetail(1L)).thenReturn(detail(3L, UPDATED_AT));
+
+        mockMvc.perform(get(LEDGER_URL + "/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(3))
+                .andExpect(header().string(HttpHeaders.ETAG, LedgerVersion.of(testLedger).etag()));
+
+        verify(ledgerService).refreshLedgerDetail(1L);
+    }
+
+    @Test
+    void testGetLedgerByIdNotModified() throws Exception {
+        String etag = LedgerVersion.of(testLedger).etag();
+        when(ledgerService.getLedgerVersion(1L)).thenReturn(LedgerVersion.of(testLedger));
+
+        mockMvc.perform(get(LEDGER_URL + "/1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        verify(ledgerService, never()).getLedgerDetail(any());
+    }
+
+    @Test
+    void testGetLedgerByIdNotFoundIsCounted() throws Exception {
+        when(ledgerService.getLedgerVersion(9L)).thenThrow(new ApiException(HttpStatus.NOT_FOUND, "Ledger not found."));
+        double before = meterRegistry.counter("ledger.api.exceptions", "status", "404").count();
+
+        mockMvc.perform(get(LEDGER_URL + "/9")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Ledger not found."));
 
-        verify(ledgerService, times(1)).getLedgerById(1L);
+        assertEquals(before + 1, meterRegistry.counter("ledger.api.exceptions", "status", "404").count());
     }
 
     @Test
     void testGetAllLedgersByPersonId() throws Exception {
-        when(ledgerService.getAllLedgersByPersonId(100L)).thenReturn(testLedgerList);
+        LedgerListVersion listVersion = new LedgerListVersion(2L, UPDATED_AT);
+        when(ledgerService.getLedgerListVersion(100L)).thenReturn(listVersion);
+        when(ledgerService.getAllLedgersByPersonId(100L)).thenReturn(new LedgerListing(listVersion, testListItems));
 
         mockMvc.perform(get("/v1/ledgers/100")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -88,9 +172,75 @@ class LedgerControllerTest {
                 .andExpect(jsonPath("$[0].ledgerId").value(1))
                 .andExpect(jsonPath("$[0].name").value(TEST_LEDGER_NAME))
                 .andExpect(jsonPath("$[1].ledgerId").value(2))
-                .andExpect(jsonPath("$[1].name").value("Another Ledger"));
+                .andExpect(jsonPath("$[1].name").value("Another Ledger"))
+                .andExpect(jsonPath("$[0].deleted").value(false))
+                .andExpect(jsonPath("$[0].createdAt").exists())
+                .andExpect(jsonPath("$[0].updatedAt").exists())
+                .andExpect(jsonPath("$[0].description").doesNotExist());
 
         verify(ledgerService, times(1)).getAllLedgersByPersonId(100L);
+        verify(ledgerService, never()).refreshLedgersByPersonId(any());
+    }
+
+    @Test
+    void testGetAllLedgersByPersonIdRefreshesStaleCachedList() throws Exception {
+        LedgerListVersion listVersion = new LedgerListVersion(1L, UPDATED_AT);
+        when(ledgerService.getLedgerListVersion(100L)).thenReturn(listVersion);
+        when(ledgerService.getAllLedgersByPersonId(100L))
+                .thenReturn(new LedgerListing(new LedgerListVersion(2L, UPDATED_AT.minusMinutes(1)), testListItems));
+        when(ledgerService.refreshLedgersByPersonId(100L))
+                .thenReturn(new LedgerListing(listVersion, testListItems.subList(0, 1)));
+
+        mockMvc.perform(get("/v1/ledgers/100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string(HttpHeaders.ETAG, listVersion.etag()));
+    }
+
+    @Test
+    void testGetAllLedgersByPersonIdNotModified() throws Exception {
+        LedgerListVersion listVersion = new LedgerListVersion(2L, UPDATED_AT);
+        when(ledgerService.getLedgerListVersion(100L)).thenReturn(listVersion);
+
+        mockMvc.perform(get("/v1/ledgers/100")
+                .header(HttpHeaders.IF_NONE_MATCH, listVersion.etag()))
+                .andExpect(status().isNotModified());
+
+        verify(ledgerService, never()).getAllLedgersByPersonId(any());
+    }
+
+    @Test
+    void testGetLedgersPage() throws Exception {
+        when(ledgerService.getLedgersPage(100L, 1L, 1)).thenReturn(new LedgerPage(List.of(testListItems.get(1)), 2L));
+
+        mockMvc.perform(get("/v2/ledgers/100?after=1&limit=1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ledgers.length()").value(1))
+                .andExpect(jsonPath("$.ledgers[0].ledgerId").value(2))
+                .andExpect(jsonPath("$.nextCursor").value(2));
+
+        verify(ledgerService, times(1)).getLedgersPage(100L, 1L, 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStreamLedgers() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<LedgerListItem> consumer = invocation.getArgument(1);
+            testListItems.forEach(consumer);
+            return null;
+        }).when(ledgerService).streamLedgersByPersonId(eq(100L), any(Consumer.class));
+
+        MvcResult mvcResult = mockMvc.perform(get("/v2/ledgers/100/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(testListItems.get(0)) + "\n"
+                        + objectMapper.writeValueAsString(testListItems.get(1)) + "\n"));
     }
 
     @Test
@@ -118,9 +268,62 @@ class LedgerControllerTest {
                 .content(objectMapper.writeValueAsString(testLedger)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.ledgerId").value(1))
-                .andExpect(jsonPath("$.name").value(TEST_LEDGER_NAME));
+                .andExpect(jsonPath("$.name").value(TEST_LEDGER_NAME))
+                .andExpect(header().string(HttpHeaders.ETAG, LedgerVersion.of(testLedger).etag()));
 
         verify(ledgerService, times(1)).updateLedger(any(Ledger.class));
+        verify(ledgerService, never()).getLedgerVersion(any());
+    }
+
+    @Test
+    void testUpdateLedgerIfMatchPassesVersion() throws Exception {
+        when(ledgerService.getLedgerVersion(1L)).thenReturn(LedgerVersion.of(testLedger));
+        when(ledgerService.updateLedger(any(Ledger.class))).thenReturn(testLedger);
+        testLedger.setVersion(null);
+
+        mockMvc.perform(put(LEDGER_URL)
+                .header(HttpHeaders.IF_MATCH, "\"stale\", " + new LedgerVersion(1L, 3L, UPDATED_AT).etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testLedger)))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<Ledger> ledgerCaptor = ArgumentCaptor.forClass(Ledger.class);
+        verify(ledgerService).updateLedger(ledgerCaptor.capture());
+        assertEquals(3L, ledgerCaptor.getValue().getVersion());
+    }
+
+    @Test
+    void testUpdateLedgerIfMatchStale() throws Exception {
+        when(ledgerService.getLedgerVersion(1L)).thenReturn(new LedgerVersion(1L, 4L, UPDATED_AT.plusMinutes(1)));
+
+        mockMvc.perform(put(LEDGER_URL)
+                .header(HttpHeaders.IF_MATCH, LedgerVersion.of(testLedger).etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testLedger)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(content().string("Ledger was modified by another request."));
+
+        verify(ledgerService, never()).updateLedger(any(Ledger.class));
+    }
+
+    @Test
+    void testSaveLedgers() throws Exception {
+        LedgerBatchResponse batchResponse = LedgerBatchResponse.of(List.of(
+                LedgerBatchResult.success(0, HttpStatus.CREATED, testLedger),
+                LedgerBatchResult.failure(1, HttpStatus.BAD_REQUEST, "Ledger name already exists.")));
+        when(ledgerService.saveLedgers(any())).thenReturn(batchResponse);
+
+        mockMvc.perform(post("/v1/ledgers:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testLedgerList)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[0].ledger.ledgerId").value(1))
+                .andExpect(jsonPath("$.results[1].error").value("Ledger name already exists."));
+
+        verify(ledgerService, times(1)).saveLedgers(any());
     }
 
     @Test
@@ -168,4 +371,9 @@ class LedgerControllerTest {
         // Service should not be called for invalid data
         verify(ledgerService, times(0)).updateLedger(any(Ledger.class));
     }
-}
\ No newline at end of file
+
+    private static LedgerDetail detail(Long version, LocalDateTime updatedAt) {
+        return new LedgerDetail(1L, 100L, TEST_LEDGER_NAME, "Monthly spending", "USD", version, null, updatedAt, false);
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.budget.controller;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.budget.dto.LedgerExportReport;
+import com.budget.export.LedgerExportFormat;
+import com.budget.service.LedgerExportService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@WebMvcTest(LedgerExportController.class)
+@Import(SimpleMeterRegistry.class)
+class LedgerExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LedgerExportService ledgerExportService;
+
+    @Test
+    void testExportLedgers() throws Exception {
+        doAnswer(invocation -> {
+            WritableByteChannel channel = invocation.getArgument(5);
+            channel.write(ByteBuffer.wrap("ledgerId\r\n42\r\n".getBytes(StandardCharsets.UTF_8)));
+            return new LedgerExportReport(null, 1, 42L, 3L);
+        }).when(ledgerExportService).exportLedgers(eq(100L), eq(LedgerExportFormat.CSV), eq(false), eq(41L), isNull(),
+                any(WritableByteChannel.class));
+
+        MvcResult mvcResult = mockMvc.perform(get("/v1/ledgers/100/export?after=41"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("text/csv")))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"ledgers-100.csv\""))
+                .andExpect(content().string("ledgerId\r\n42\r\n"));
+    }
+
+    @Test
+    void testExportLedgers_Gzip() throws Exception {
+        when(ledgerExportService.exportLedgers(eq(100L), eq(LedgerExportFormat.COLUMNAR), eq(true), isNull(), isNull(),
+                any(WritableByteChannel.class))).thenReturn(new LedgerExportReport(null, 0, null, 1L));
+
+        mockMvc.perform(get("/v1/ledgers/100/export?format=columnar&gzip=true"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("application/gzip")))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"ledgers-100.lcol.gz\""));
+    }
+
+    @Test
+    void testExportLedgers_InvalidParameters() throws Exception {
+        mockMvc.perform(get("/v1/ledgers/100/export?format=xlsx"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/v1/ledgers/100/export?limit=0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(ledgerExportService);
+    }
+
+    @Test
+    void testExportAllLedgers() throws Exception {
+        when(ledgerExportService.exportAllLedgersToFile(LedgerExportFormat.COLUMNAR, true, 500L, 1000L))
+                .thenReturn(new LedgerExportReport("/tmp/ledgers-after-500.lcol.gz", 1000, 1731L, 250L));
+
+        mockMvc.perform(post("/v1/admin/ledgers:export?after=500&limit=1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(1000))
+                .andExpect(jsonPath("$.lastLedgerId").value(1731));
+    }
+
+}
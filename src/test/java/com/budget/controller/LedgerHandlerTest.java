@@ -0,0 +1,159 @@
+package com.budget.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.budget.dto.LedgerDetail;
+import com.budget.dto.LedgerListItem;
+import com.budget.dto.LedgerListVersion;
+import com.budget.dto.LedgerVersion;
+import com.budget.exception.ApiException;
+import com.budget.model.Ledger;
+import com.budget.service.ReactiveLedgerService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class LedgerHandlerTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private ReactiveLedgerService ledgerService;
+    private SimpleMeterRegistry meterRegistry;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        ledgerService = mock(ReactiveLedgerService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        LedgerHandler handler = new LedgerHandler(ledgerService,
+                Validation.buildDefaultValidatorFactory().getValidator(), meterRegistry);
+        client = WebTestClient.bindToRouterFunction(new LedgerRouter().ledgerRoutes(handler)).build();
+    }
+
+    @Test
+    void getLedgerById_ReturnsDetailWithValidators() {
+        LedgerVersion version = new LedgerVersion(1L, 3L, UPDATED_AT);
+        when(ledgerService.getLedgerVersion(1L)).thenReturn(Mono.just(version));
+        when(ledgerService.getLedgerDetail(1L)).thenReturn(Mono.just(
+                new LedgerDetail(1L, 100L, "Personal Budget", null, "USD", 3L, UPDATED_AT, UPDATED_AT, false)));
+
+        client.get().uri("/v1/ledger/1").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, version.etag())
+                .expectBody().jsonPath("$.name").isEqualTo("Personal Budget");
+    }
+
+    @Test
+    void getLedgerById_NotModifiedSkipsTheDetailQuery() {
+        LedgerVersion version = new LedgerVersion(1L, 3L, UPDATED_AT);
+        when(ledgerService.getLedgerVersion(1L)).thenReturn(Mono.just(version));
+
+        client.get().uri("/v1/ledger/1").header(HttpHeaders.IF_NONE_MATCH, version.etag()).exchange()
+                .expectStatus().isNotModified();
+        verify(ledgerService, never()).getLedgerDetail(any());
+    }
+
+    @Test
+    void getLedgerById_NotFoundUsesPlainTextBodyAndCountsIt() {
+        when(ledgerService.getLedgerVersion(1L))
+                .thenReturn(Mono.error(new ApiException(HttpStatus.NOT_FOUND, "Ledger not found.")));
+
+        client.get().uri("/v1/ledger/1").exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("Ledger not found.");
+        assertEquals(1.0, meterRegistry.counter("ledger.api.exceptions", "status", "404").count());
+    }
+
+    @Test
+    void getLedgerById_InvalidIdIsBadRequest() {
+        client.get().uri("/v1/ledger/abc").exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getAllLedgersByPersonId_ReturnsList() {
+        when(ledgerService.getLedgerListVersion(100L)).thenReturn(Mono.just(new LedgerListVersion(1L, UPDATED_AT)));
+        when(ledgerService.getAllLedgersByPersonId(100L))
+                .thenReturn(Flux.just(new LedgerListItem(1L, 100L, "Personal Budget", "USD", null, null, false)));
+
+        client.get().uri("/v1/ledgers/100").exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody().jsonPath("$[0].ledgerId").isEqualTo(1);
+    }
+
+    @Test
+    void createLedger_BeanValidationRejectsBlankName() {
+        client.post().uri("/v1/ledger").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"personId\":100,\"name\":\"\",\"currency\":\"USD\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Ledger name is required.");
+        verify(ledgerService, never()).saveLedger(any());
+    }
+
+    @Test
+    void createLedger_ReturnsCreated() {
+        Ledger saved = new Ledger();
+        saved.setLedgerId(1L);
+        saved.setPersonId(100L);
+        saved.setName("Personal Budget");
+        when(ledgerService.saveLedger(any())).thenReturn(Mono.just(saved));
+
+        client.post().uri("/v1/ledger").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"personId\":100,\"name\":\"Personal Budget\",\"currency\":\"USD\"}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().jsonPath("$.ledgerId").isEqualTo(1);
+    }
+
+    @Test
+    void updateLedger_StaleIfMatchIsPreconditionFailed() {
+        when(ledgerService.getLedgerVersion(1L)).thenReturn(Mono.just(new LedgerVersion(1L, 3L, UPDATED_AT)));
+
+        client.put().uri("/v1/ledger").contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"1-2-0\"")
+                .bodyValue("{\"ledgerId\":1,\"personId\":100,\"name\":\"Renamed\",\"currency\":\"USD\"}")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        verify(ledgerService, never()).updateLedger(any());
+    }
+
+    @Test
+    void streamLedgers_WritesNdjson() {
+        when(ledgerService.getAllLedgersByPersonId(100L)).thenReturn(Flux.fromIterable(List.of(
+                new LedgerListItem(1L, 100L, "A", "USD", null, null, false),
+                new LedgerListItem(2L, 100L, "B", "USD", null, null, false))));
+
+        client.get().uri("/v2/ledgers/100/stream").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(LedgerListItem.class).hasSize(2);
+    }
+
+    @Test
+    void deleteLedger_ReturnsNoContent() {
+        when(ledgerService.deleteLedger(1L)).thenReturn(Mono.empty());
+
+        client.put().uri("/v1/ledger/1/delete").exchange()
+                .expectStatus().isNoContent();
+    }
+
+}
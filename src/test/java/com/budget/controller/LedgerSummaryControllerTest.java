@@ -0,0 +1,86 @@
+package com.budget.controller;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.budget.dto.LedgerSummaryResponse;
+import com.budget.dto.PersonTotalsResponse;
+import com.budget.dto.SummaryRebuildReport;
+import com.budget.job.LedgerSummaryRebuildJob;
+import com.budget.model.LedgerMonthlySummary;
+import com.budget.service.LedgerSummaryService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@WebMvcTest(LedgerSummaryController.class)
+@Import(SimpleMeterRegistry.class)
+class LedgerSummaryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LedgerSummaryService ledgerSummaryService;
+
+    @MockBean
+    private LedgerSummaryRebuildJob ledgerSummaryRebuildJob;
+
+    @Test
+    void testGetLedgerSummary() throws Exception {
+        LedgerMonthlySummary march = new LedgerMonthlySummary();
+        march.setLedgerId(1L);
+        march.setMonth(LocalDate.of(2026, 3, 1));
+        march.setCategory("Groceries");
+        march.setTotalMinor(1250L);
+        march.setEntryCount(1L);
+        when(ledgerSummaryService.getLedgerSummary(1L))
+                .thenReturn(new LedgerSummaryResponse(1L, "USD", 1250L, 1L, List.of(march)));
+
+        mockMvc.perform(get("/v1/ledger/1/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balanceMinor").value(1250))
+                .andExpect(jsonPath("$.entryCount").value(1))
+                .andExpect(jsonPath("$.months[0].category").value("Groceries"));
+    }
+
+    @Test
+    void testGetPersonTotals() throws Exception {
+        when(ledgerSummaryService.getPersonTotals(100L, "EUR")).thenReturn(new PersonTotalsResponse(100L, "EUR",
+                LocalDate.of(2026, 3, 13), 15000L, List.of(
+                        new PersonTotalsResponse.ConvertedBalance(2L, "Travel", "USD", 10843L, 10000L))));
+
+        mockMvc.perform(get("/v1/ledgers/100/totals?currency=EUR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMinor").value(15000))
+                .andExpect(jsonPath("$.ratesAsOf").value("2026-03-13"))
+                .andExpect(jsonPath("$.ledgers[0].convertedMinor").value(10000));
+    }
+
+    @Test
+    void testRebuildLedgerSummaries_VerifyOnly() throws Exception {
+        when(ledgerSummaryRebuildJob.rebuild(true)).thenReturn(new SummaryRebuildReport(3, 2L, false, 40L));
+
+        mockMvc.perform(post("/v1/admin/ledger-summaries:rebuild?verifyOnly=true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.chunks").value(3))
+                .andExpect(jsonPath("$.driftedLedgers").value(2))
+                .andExpect(jsonPath("$.repaired").value(false));
+
+        verify(ledgerSummaryRebuildJob).rebuild(true);
+    }
+
+}
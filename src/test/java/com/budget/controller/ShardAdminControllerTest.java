@@ -0,0 +1,72 @@
+package com.budget.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.budget.dto.ShardMoveReport;
+import com.budget.dto.ShardRebalanceReport;
+import com.budget.exception.ApiException;
+import com.budget.job.ShardRebalanceJob;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@WebMvcTest(controllers = ShardAdminController.class,
+        properties = "ledger.sharding.shards[0].url=jdbc:postgresql://localhost:5432/budget")
+@Import(SimpleMeterRegistry.class)
+class ShardAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ShardRebalanceJob shardRebalanceJob;
+
+    @Test
+    void testMovePerson() throws Exception {
+        when(shardRebalanceJob.move(7L, "b")).thenReturn(new ShardMoveReport(7L, "a", "b", 3L, 120L, 5200L));
+
+        mockMvc.perform(post("/v1/admin/persons/7:move").param("shard", "b"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromShard").value("a"))
+                .andExpect(jsonPath("$.toShard").value("b"))
+                .andExpect(jsonPath("$.ledgers").value(3))
+                .andExpect(jsonPath("$.expenses").value(120));
+    }
+
+    @Test
+    void testMovePerson_AlreadyMoving() throws Exception {
+        when(shardRebalanceJob.move(7L, "b"))
+                .thenThrow(new ApiException(HttpStatus.CONFLICT, "Person 7 is already being moved."));
+
+        mockMvc.perform(post("/v1/admin/persons/7:move").param("shard", "b"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testMovePerson_MissingShard() throws Exception {
+        mockMvc.perform(post("/v1/admin/persons/7:move"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testRebalanceShards() throws Exception {
+        when(shardRebalanceJob.rebalance()).thenReturn(new ShardRebalanceReport(40, 1, 12, 31000L));
+
+        mockMvc.perform(post("/v1/admin/shards:rebalance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.moved").value(40))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.pruned").value(12));
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.budget.currency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class CurrencyTableTest {
+
+    @Test
+    void find_ReturnsOneInternedUnitPerCode() {
+        CurrencyUnit usd = CurrencyTable.find("USD");
+
+        assertSame(usd, CurrencyTable.find("usd"));
+        assertSame("USD", usd.code());
+        assertEquals(2, usd.fractionDigits());
+        assertEquals(0, CurrencyTable.find("JPY").fractionDigits());
+        assertEquals(3, CurrencyTable.find("KWD").fractionDigits());
+    }
+
+    @Test
+    void find_RejectsNonIsoCodes() {
+        assertNull(CurrencyTable.find(null));
+        assertNull(CurrencyTable.find("US"));
+        assertNull(CurrencyTable.find("U$D"));
+        assertNull(CurrencyTable.find("ABC"));
+        // Gold has no minor unit, so ledgers cannot use it.
+        assertNull(CurrencyTable.find("XAU"));
+    }
+
+    @Test
+    void of_ThrowsForUnknownCode() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> CurrencyTable.of("ABC"));
+        assertEquals("'ABC' is not an ISO 4217 currency code.", exception.getMessage());
+    }
+
+}
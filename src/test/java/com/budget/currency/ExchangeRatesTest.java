@@ -0,0 +1,69 @@
+package com.budget.currency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.budget.config.FxRateProperties;
+
+class ExchangeRatesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void refresh_LoadsLatestDateFromFile() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("rates.csv"), """
+                date,currency,rate
+                2026-03-12,USD,1.0800
+                2026-03-13,USD,1.0843
+                2026-03-13,JPY,161.52
+                2026-03-13,ZZZ,1.0
+                2026-03-12,GBP,0.8500
+                """);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        ExchangeRates exchangeRates = new ExchangeRates(jdbcTemplate, properties(file));
+
+        exchangeRates.refresh();
+
+        FxRateSnapshot snapshot = exchangeRates.current();
+        assertEquals(LocalDate.of(2026, 3, 13), snapshot.asOf());
+        assertEquals("EUR", snapshot.base().code());
+        assertEquals(10843L, snapshot.convert(10000L, CurrencyTable.of("EUR"), CurrencyTable.of("USD")));
+        assertTrue(snapshot.hasRate(CurrencyTable.of("JPY")));
+        assertFalse(snapshot.hasRate(CurrencyTable.of("GBP")));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void refresh_KeepsPreviousSnapshotWhenFileIsBad() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("rates.csv"), "date,currency,rate\n2026-03-13,USD,1.0843\n");
+        ExchangeRates exchangeRates = new ExchangeRates(mock(JdbcTemplate.class), properties(file));
+        exchangeRates.refresh();
+        FxRateSnapshot loaded = exchangeRates.current();
+
+        Files.writeString(file, "date,currency,rate\n2026-03-14,USD,not-a-rate\n");
+        exchangeRates.refresh();
+
+        assertSame(loaded, exchangeRates.current());
+    }
+
+    private static FxRateProperties properties(Path file) {
+        FxRateProperties properties = new FxRateProperties();
+        properties.setFilePath(file.toString());
+        return properties;
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.budget.currency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class FxRateSnapshotTest {
+
+    private static final CurrencyUnit EUR = CurrencyTable.of("EUR");
+    private static final CurrencyUnit USD = CurrencyTable.of("USD");
+    private static final CurrencyUnit JPY = CurrencyTable.of("JPY");
+    private static final CurrencyUnit GBP = CurrencyTable.of("GBP");
+
+    private final FxRateSnapshot rates = FxRateSnapshot.of(LocalDate.of(2026, 3, 13), EUR,
+            Map.of(USD, new BigDecimal("1.0843"), JPY, new BigDecimal("161.52")));
+
+    @Test
+    void convert_UsesMinorUnitsOfBothCurrencies() {
+        assertEquals(10843L, rates.convert(10000L, EUR, USD));
+        assertEquals(62L, rates.convert(100L, JPY, EUR));
+        assertEquals(1490L, rates.convert(1000L, USD, JPY));
+    }
+
+    @Test
+    void convert_RoundsHalfAwayFromZero() {
+        assertEquals(-1490L, rates.convert(-1000L, USD, JPY));
+        assertEquals(0L, rates.convert(0L, USD, JPY));
+    }
+
+    @Test
+    void convert_FallsBackWhenProductOverflows() {
+        assertEquals(10000902300087580L, rates.convert(Long.MAX_VALUE / 1000, EUR, USD));
+    }
+
+    @Test
+    void convert_ThrowsWhenResultOverflows() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> rates.convert(Long.MAX_VALUE, EUR, JPY));
+        assertEquals("Amount of " + Long.MAX_VALUE + " EUR minor units is out of range in JPY.", exception.getMessage());
+    }
+
+    @Test
+    void convert_NeedsNoRateForSameCurrency() {
+        assertEquals(1250L, FxRateSnapshot.EMPTY.convert(1250L, GBP, GBP));
+        assertTrue(FxRateSnapshot.EMPTY.isEmpty());
+    }
+
+    @Test
+    void convert_ThrowsForMissingRate() {
+        assertFalse(rates.hasRate(GBP));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> rates.convert(100L, GBP, EUR));
+        assertEquals("No exchange rate for GBP.", exception.getMessage());
+    }
+
+    @Test
+    void of_RejectsNonPositiveRate() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FxRateSnapshot.of(LocalDate.of(2026, 3, 13), EUR, Map.of(USD, BigDecimal.ZERO)));
+    }
+
+}
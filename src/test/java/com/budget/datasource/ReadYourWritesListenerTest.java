@@ -0,0 +1,89 @@
+package com.budget.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+
+class ReadYourWritesListenerTest {
+
+    private final ReadYourWritesListener listener = new ReadYourWritesListener(Duration.ofMillis(1500));
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void afterCommit_PinsRequestAndSetsCookieAfterWrite() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        listener.afterCommit(transaction(false), null);
+
+        assertTrue(ReplicaRoutingContext.isPinnedToPrimary());
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertEquals(2, cookie.getMaxAge());
+        assertTrue(Long.parseLong(cookie.getValue()) > System.currentTimeMillis());
+    }
+
+    @Test
+    void afterCommit_IgnoresReadOnlyTransactions() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        listener.afterCommit(transaction(true), null);
+
+        assertFalse(ReplicaRoutingContext.isPinnedToPrimary());
+        assertNull(response.getCookie(ReadYourWritesFilter.COOKIE_NAME));
+    }
+
+    @Test
+    void afterCommit_IgnoresWritesOutsideRequests() {
+        listener.afterCommit(transaction(false), null);
+
+        assertFalse(ReplicaRoutingContext.isPinnedToPrimary());
+    }
+
+    @Test
+    void filter_PinsRequestWhileCookieIsFresh() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME,
+                Long.toString(System.currentTimeMillis() + 60_000)));
+        AtomicBoolean pinnedInChain = new AtomicBoolean();
+
+        FilterChain filterChain = (servletRequest, servletResponse) ->
+                pinnedInChain.set(ReplicaRoutingContext.isPinnedToPrimary());
+
+        new ReadYourWritesFilter().doFilter(request, response, filterChain);
+
+        assertTrue(pinnedInChain.get());
+        assertFalse(ReplicaRoutingContext.isPinnedToPrimary());
+    }
+
+    private static TransactionExecution transaction(boolean readOnly) {
+        TransactionExecution transaction = mock(TransactionExecution.class);
+        when(transaction.isReadOnly()).thenReturn(readOnly);
+        when(transaction.isNewTransaction()).thenReturn(true);
+        return transaction;
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.budget.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.budget.config.ReplicaDataSourceProperties.Balancing;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource firstReplica = mock(DataSource.class);
+    private final DataSource secondReplica = mock(DataSource.class);
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstReplicaConnection = mock(Connection.class);
+    private final Connection secondReplicaConnection = mock(Connection.class);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(firstReplica.getConnection()).thenReturn(firstReplicaConnection);
+        when(secondReplica.getConnection()).thenReturn(secondReplicaConnection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void getConnection_UsesPrimaryOutsideReadOnlyTransactions() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routing(Balancing.ROUND_ROBIN);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_OnPrimaryPinsOnlyTheGivenRead() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routing(Balancing.ROUND_ROBIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Connection pinned = ReplicaRoutingContext.onPrimary(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertSame(primaryConnection, pinned);
+        assertSame(firstReplicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void onPrimary_KeepsARequestWidePin() {
+        ReplicaRoutingContext.pinToPrimary();
+
+        ReplicaRoutingContext.onPrimary(() -> null);
+
+        assertTrue(ReplicaRoutingContext.isPinnedToPrimary());
+    }
+
+    @Test
+    void getConnection_RoundRobinsReadOnlyTransactions() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routing(Balancing.ROUND_ROBIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(firstReplicaConnection, dataSource.getConnection());
+        assertSame(secondReplicaConnection, dataSource.getConnection());
+        assertSame(firstReplicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_UsesPrimaryWhenPinned() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routing(Balancing.ROUND_ROBIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingContext.pinToPrimary();
+
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_FallsBackToPrimaryWhenReplicaFails() throws SQLException {
+        when(firstReplica.getConnection()).thenThrow(new SQLTransientConnectionException("replica-1 timed out"));
+        ReplicaRoutingDataSource dataSource = routing(Balancing.ROUND_ROBIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void selectReplica_PicksLeastBusyPool() {
+        HikariDataSource busy = hikari(5);
+        HikariDataSource quiet = hikari(1);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(busy, quiet),
+                Balancing.LEAST_CONNECTIONS);
+
+        assertSame(quiet, dataSource.selectReplica());
+        assertSame(quiet, dataSource.selectReplica());
+    }
+
+    private ReplicaRoutingDataSource routing(Balancing balancing) {
+        return new ReplicaRoutingDataSource(primary, List.of(firstReplica, secondReplica), balancing);
+    }
+
+    private static HikariDataSource hikari(int activeConnections) {
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(pool.getActiveConnections()).thenReturn(activeConnections);
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        return dataSource;
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.budget.event;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.budget.config.CacheConfig;
+import com.budget.model.Ledger;
+
+class LedgerCacheEvictionListenerTest {
+
+    private CacheManager cacheManager;
+    private LedgerCacheEvictionListener listener;
+    private Ledger ledger;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.LEDGER_BY_ID, CacheConfig.LEDGER_DETAIL_BY_ID,
+                CacheConfig.LEDGERS_BY_PERSON_ID);
+        listener = new LedgerCacheEvictionListener(cacheManager);
+
+        ledger = new Ledger();
+        ledger.setLedgerId(1L);
+        ledger.setPersonId(100L);
+
+        cacheManager.getCache(CacheConfig.LEDGER_BY_ID).put(1L, ledger);
+        cacheManager.getCache(CacheConfig.LEDGER_BY_ID).put(2L, new Ledger());
+        cacheManager.getCache(CacheConfig.LEDGER_DETAIL_BY_ID).put(1L, "detail of 1");
+        cacheManager.getCache(CacheConfig.LEDGERS_BY_PERSON_ID).put(100L, "ledgers of 100");
+        cacheManager.getCache(CacheConfig.LEDGERS_BY_PERSON_ID).put(200L, "ledgers of 200");
+    }
+
+    @Test
+    void onLedgerChanged_EvictsOnlyAffectedKeys() {
+        listener.onLedgerChanged(LedgerChangedEvent.deleted(ledger));
+
+        assertNull(cacheManager.getCache(CacheConfig.LEDGER_BY_ID).get(1L));
+        assertNull(cacheManager.getCache(CacheConfig.LEDGER_DETAIL_BY_ID).get(1L));
+        assertNull(cacheManager.getCache(CacheConfig.LEDGERS_BY_PERSON_ID).get(100L));
+        assertNotNull(cacheManager.getCache(CacheConfig.LEDGER_BY_ID).get(2L));
+        assertNotNull(cacheManager.getCache(CacheConfig.LEDGERS_BY_PERSON_ID).get(200L));
+    }
+
+    @Test
+    void onLedgerChanged_EvictsPreviousOwnerListing() {
+        listener.onLedgerChanged(LedgerChangedEvent.updated(ledger, 200L));
+
+        assertNull(cacheManager.getCache(CacheConfig.LEDGERS_BY_PERSON_ID).get(100L));
+        assertNull(cacheManager.getCache(CacheConfig.LEDGERS_BY_PERSON_ID).get(200L));
+    }
+}
@@ -0,0 +1,46 @@
+package com.budget.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.budget.dao.LedgerOutboxDao;
+import com.budget.dto.LedgerChangeMessage;
+import com.budget.event.LedgerChangedEvent.ChangeType;
+import com.budget.model.Ledger;
+import com.budget.model.LedgerOutboxEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class LedgerOutboxWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void onLedgerChanged_QueuesPendingEntryWithPayload() throws Exception {
+        LedgerOutboxDao ledgerOutboxDao = mock(LedgerOutboxDao.class);
+        LedgerOutboxWriter writer = new LedgerOutboxWriter(ledgerOutboxDao, objectMapper);
+        Ledger ledger = new Ledger();
+        ledger.setLedgerId(1L);
+        ledger.setPersonId(100L);
+        ledger.setName("Personal Budget");
+        ledger.setVersion(2L);
+
+        writer.onLedgerChanged(LedgerChangedEvent.updated(ledger, 200L));
+
+        ArgumentCaptor<LedgerOutboxEntry> entryCaptor = ArgumentCaptor.forClass(LedgerOutboxEntry.class);
+        verify(ledgerOutboxDao).save(entryCaptor.capture());
+        LedgerOutboxEntry entry = entryCaptor.getValue();
+        assertEquals(1L, entry.getLedgerId());
+        assertEquals(ChangeType.UPDATED, entry.getChangeType());
+        assertEquals(LedgerOutboxEntry.Status.PENDING, entry.getStatus());
+
+        LedgerChangeMessage message = objectMapper.readValue(entry.getPayload(), LedgerChangeMessage.class);
+        assertEquals(200L, message.previousPersonId());
+        assertEquals(100L, message.personId());
+        assertEquals(2L, message.version());
+    }
+}
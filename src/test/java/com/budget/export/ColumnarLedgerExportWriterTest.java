@@ -0,0 +1,106 @@
+package com.budget.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.budget.config.LedgerExportProperties;
+import com.budget.dto.LedgerDetail;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ColumnarLedgerExportWriterTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_000);
+
+    @Test
+    void finish_RoundTripsAcrossRowGroups() throws IOException {
+        List<LedgerDetail> ledgers = ledgers(7);
+
+        byte[] bytes = export(ledgers, false, ledgers.size());
+
+        assertEquals(ledgers, readAll(bytes));
+    }
+
+    @Test
+    void finish_RoundTripsThroughGzip() throws IOException {
+        List<LedgerDetail> ledgers = ledgers(5);
+
+        byte[] bytes = export(ledgers, true, ledgers.size());
+
+        assertEquals(ledgers, readAll(new GZIPInputStream(new ByteArrayInputStream(bytes)).readAllBytes()));
+    }
+
+    @Test
+    void next_DetectsTruncatedExport() throws IOException {
+        List<LedgerDetail> ledgers = ledgers(7);
+        byte[] bytes = export(ledgers, false, ledgers.size());
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+
+        try (ColumnarLedgerExportReader reader = new ColumnarLedgerExportReader(new ByteArrayInputStream(truncated))) {
+            // The first two groups of three are complete and readable.
+            for (int i = 0; i < 6; i++) {
+                assertEquals(ledgers.get(i), reader.next());
+            }
+            assertThrows(EOFException.class, reader::next);
+        }
+    }
+
+    @Test
+    void finish_WritesEmptyExport() throws IOException {
+        byte[] bytes = export(List.of(), false, 0);
+
+        assertEquals(List.of(), readAll(bytes));
+    }
+
+    private static byte[] export(List<LedgerDetail> ledgers, boolean gzip, int count) throws IOException {
+        LedgerExportProperties properties = new LedgerExportProperties();
+        properties.setRowGroupSize(3);
+        properties.setBufferSize(16);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        LedgerExportWriter writer = LedgerExportFormat.COLUMNAR.open(Channels.newChannel(outputStream), gzip, properties,
+                new ObjectMapper().writer());
+        for (LedgerDetail ledger : ledgers.subList(0, count)) {
+            writer.write(ledger);
+        }
+        writer.finish();
+        return outputStream.toByteArray();
+    }
+
+    private static List<LedgerDetail> readAll(byte[] bytes) throws IOException {
+        List<LedgerDetail> ledgers = new ArrayList<>();
+        try (ColumnarLedgerExportReader reader = new ColumnarLedgerExportReader(new ByteArrayInputStream(bytes))) {
+            LedgerDetail ledger;
+            while ((ledger = reader.next()) != null) {
+                ledgers.add(ledger);
+            }
+            assertNull(reader.next());
+        }
+        return ledgers;
+    }
+
+    private static List<LedgerDetail> ledgers(int count) {
+        List<LedgerDetail> ledgers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Person ids go down as well as up, and some optional values are null.
+            ledgers.add(new LedgerDetail(100L + i * 3, i % 2 == 0 ? 7L : 2L, "Ledger " + i,
+                    i % 3 == 0 ? null : "Notes, \"quoted\" " + i, "USD", null,
+                    CREATED_AT.plusDays(i), i == 4 ? null : CREATED_AT.minusHours(i), false));
+        }
+        return ledgers;
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.budget.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.budget.config.LedgerExportProperties;
+import com.budget.dto.LedgerDetail;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class CsvLedgerExportWriterTest {
+
+    @Test
+    void write_QuotesFieldsThatNeedIt() throws IOException {
+        LedgerExportProperties properties = new LedgerExportProperties();
+        properties.setBufferSize(8);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        LedgerExportWriter writer = LedgerExportFormat.CSV.open(Channels.newChannel(outputStream), false, properties,
+                new ObjectMapper().writer());
+        writer.write(new LedgerDetail(1L, 100L, "Household", "Rent, \"utilities\"\nand food", "EUR", 4L,
+                LocalDateTime.of(2026, 3, 14, 9, 30), null, false));
+        writer.write(new LedgerDetail(2L, 100L, "Travel", null, "USD", 1L, null, null, false));
+        writer.finish();
+
+        assertEquals(CsvLedgerExportWriter.HEADER
+                + "1,100,Household,\"Rent, \"\"utilities\"\"\nand food\",EUR,2026-03-14T09:30,\r\n"
+                + "2,100,Travel,,USD,,\r\n", outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.budget.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.budget.model.Expense;
+
+class CsvExpenseRowReaderTest {
+
+    @Test
+    void next_ParsesRowsWithQuotedFields() throws IOException {
+        String csv = "Date,Amount,Category,Payee,Description,Balance\n"
+                + "2026-03-14,12.50,Groceries,\"Corner Store, Main St\",\"Said \"\"hi\"\"\",100.00\n"
+                + "\n"
+                + "2026-03-15T08:30:00,-3,Refunds,,\"two\nlines\",97.00\n";
+
+        try (CsvExpenseRowReader reader = reader(csv, "USD")) {
+            ImportedRow first = reader.next();
+            assertEquals(2, first.line());
+            Expense expense = first.expense();
+            assertEquals(1L, expense.getLedgerId());
+            assertEquals(1250L, expense.getAmountMinor());
+            assertEquals(LocalDateTime.of(2026, 3, 14, 0, 0), expense.getOccurredAt());
+            assertEquals("Corner Store, Main St", expense.getPayee());
+            assertEquals("Said \"hi\"", expense.getDescription());
+
+            ImportedRow second = reader.next();
+            assertEquals(4, second.line());
+            assertEquals(-300L, second.expense().getAmountMinor());
+            assertNull(second.expense().getPayee());
+            assertEquals("two\nlines", second.expense().getDescription());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void next_RejectsAmountWithTooManyDecimals() throws IOException {
+        try (CsvExpenseRowReader reader = reader("date,amount,category\n2026-03-14,12.5,Food\n", "JPY")) {
+            ImportedRow row = reader.next();
+            assertNull(row.expense());
+            assertEquals("Amount '12.5' has more than 0 decimals.", row.error());
+        }
+    }
+
+    @Test
+    void next_RejectsUnparseableDate() throws IOException {
+        try (CsvExpenseRowReader reader = reader("date,amount,category\n14/03/2026,1.00,Food\n", "USD")) {
+            assertEquals("Date '14/03/2026' is not an ISO date or date-time.", reader.next().error());
+        }
+    }
+
+    @Test
+    void constructor_RequiresHeaderColumns() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> reader("date,amount\n", "USD"));
+        assertEquals("CSV header must contain date, amount and category columns.", exception.getMessage());
+    }
+
+    private static CsvExpenseRowReader reader(String csv, String currency) throws IOException {
+        return new CsvExpenseRowReader(new BufferedReader(new StringReader(csv)), 1L, currency);
+    }
+}
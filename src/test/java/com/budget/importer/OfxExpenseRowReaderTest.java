@@ -0,0 +1,96 @@
+package com.budget.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.budget.model.Expense;
+
+class OfxExpenseRowReaderTest {
+
+    private static final String SGML_STATEMENT = """
+            OFXHEADER:100
+            DATA:OFXSGML
+
+            <OFX>
+            <BANKMSGSRSV1><STMTTRNRS><STMTRS>
+            <CURDEF>USD
+            <BANKTRANLIST>
+            <STMTTRN>
+            <TRNTYPE>DEBIT
+            <DTPOSTED>20260314120000.000[-5:EST]
+            <TRNAMT>-12.50
+            <NAME>Corner Store &amp; Deli
+            <MEMO>Weekly shop
+            </STMTTRN>
+            <STMTTRN>
+            <TRNTYPE>CREDIT
+            <DTPOSTED>20260315
+            <TRNAMT>4.00
+            </STMTTRN>
+            <STMTTRN>
+            <TRNTYPE>DEBIT
+            <TRNAMT>-1.00
+            </STMTTRN>
+            </BANKTRANLIST>
+            </STMTRS></STMTTRNRS></BANKMSGSRSV1>
+            </OFX>
+            """;
+
+    @Test
+    void next_ParsesSgmlTransactions() throws IOException {
+        try (OfxExpenseRowReader reader = reader(SGML_STATEMENT, "USD")) {
+            ImportedRow debit = reader.next();
+            assertEquals(8, debit.line());
+            Expense expense = debit.expense();
+            assertEquals(1250L, expense.getAmountMinor());
+            assertEquals(LocalDateTime.of(2026, 3, 14, 12, 0), expense.getOccurredAt());
+            assertEquals("DEBIT", expense.getCategory());
+            assertEquals("Corner Store & Deli", expense.getPayee());
+            assertEquals("Weekly shop", expense.getDescription());
+
+            ImportedRow credit = reader.next();
+            assertEquals(-400L, credit.expense().getAmountMinor());
+            assertEquals(LocalDateTime.of(2026, 3, 15, 0, 0), credit.expense().getOccurredAt());
+
+            ImportedRow incomplete = reader.next();
+            assertNull(incomplete.expense());
+            assertEquals("Transaction has no TRNAMT or DTPOSTED.", incomplete.error());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void next_ParsesXmlTransactions() throws IOException {
+        String xml = "<?xml version=\"1.0\"?><OFX><CURDEF>EUR</CURDEF><STMTTRN><TRNTYPE>POS</TRNTYPE>"
+                + "<DTPOSTED>20260301093000</DTPOSTED><TRNAMT>-7.25</TRNAMT><NAME>Bakery</NAME></STMTTRN></OFX>";
+
+        try (OfxExpenseRowReader reader = reader(xml, "EUR")) {
+            Expense expense = reader.next().expense();
+            assertEquals(725L, expense.getAmountMinor());
+            assertEquals("POS", expense.getCategory());
+            assertEquals("Bakery", expense.getPayee());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void next_RejectsStatementInAnotherCurrency() throws IOException {
+        try (OfxExpenseRowReader reader = reader(SGML_STATEMENT, "EUR")) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, reader::next);
+            assertEquals("Statement currency USD does not match ledger currency EUR.", exception.getMessage());
+        }
+    }
+
+    private static OfxExpenseRowReader reader(String ofx, String currency) {
+        return new OfxExpenseRowReader(new BufferedReader(new StringReader(ofx)), 1L, currency);
+    }
+}
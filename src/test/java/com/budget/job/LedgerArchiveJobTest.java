@@ -0,0 +1,174 @@
+package com.budget.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.budget.config.LedgerArchiveProperties;
+import com.budget.dao.LedgerDao;
+import com.budget.dto.LedgerArchiveReport;
+import com.budget.event.LedgerChangedEvent;
+import com.budget.exception.ApiException;
+import com.budget.model.Ledger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LedgerArchiveJobTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private LedgerDao ledgerDao;
+    private ApplicationEventPublisher eventPublisher;
+    private SimpleMeterRegistry meterRegistry;
+    private LedgerArchiveJob job;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        ledgerDao = mock(LedgerDao.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        LedgerArchiveProperties properties = new LedgerArchiveProperties();
+        properties.setBatchSize(2);
+        job = new LedgerArchiveJob(jdbcTemplate, mock(PlatformTransactionManager.class), ledgerDao, eventPublisher,
+                properties, meterRegistry);
+    }
+
+    @Test
+    void archive_MovesBatchesUntilOneComesBackShort() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(jdbcTemplate.update(contains("INSERT INTO expense_archive"), any(PreparedStatementSetter.class)))
+                .thenReturn(10, 4);
+        when(jdbcTemplate.update(contains("INSERT INTO ledger_archive"), any(PreparedStatementSetter.class)))
+                .thenReturn(2, 1);
+
+        LedgerArchiveReport report = job.archive();
+
+        assertEquals(2, report.batches());
+        assertEquals(3L, report.ledgers());
+        assertEquals(14L, report.expenses());
+        assertEquals(3.0, meterRegistry.get("ledger.archive.rows").tag("table", "ledger").summary().totalAmount());
+        assertEquals(14.0, meterRegistry.get("ledger.archive.rows").tag("table", "expense").summary().totalAmount());
+        verify(jdbcTemplate, times(2)).update(contains("INSERT INTO budget_limit_archive"),
+                any(PreparedStatementSetter.class));
+        verify(jdbcTemplate, times(2)).update(contains("INSERT INTO budget_usage_archive"),
+                any(PreparedStatementSetter.class));
+        verify(jdbcTemplate, times(2)).update(contains("DELETE FROM budget_limit WHERE"),
+                any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    void archive_CopiesLedgersBeforeTheirChildrenAndDeletesThemLast() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(), any())).thenReturn(List.of(1L));
+
+        job.archive();
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).update(contains("INSERT INTO ledger_archive"), any(PreparedStatementSetter.class));
+        order.verify(jdbcTemplate).update(contains("INSERT INTO expense_archive"), any(PreparedStatementSetter.class));
+        order.verify(jdbcTemplate).update(contains("INSERT INTO budget_limit_archive"),
+                any(PreparedStatementSetter.class));
+        order.verify(jdbcTemplate).update(contains("INSERT INTO budget_usage_archive"),
+                any(PreparedStatementSetter.class));
+        order.verify(jdbcTemplate).update(contains("DELETE FROM budget_limit WHERE"), any(PreparedStatementSetter.class));
+        order.verify(jdbcTemplate).update(contains("DELETE FROM ledger WHERE"), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    void archive_StopsWhenNothingIsDue() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(), any())).thenReturn(List.of());
+
+        LedgerArchiveReport report = job.archive();
+
+        assertEquals(0, report.batches());
+        assertEquals(0L, report.ledgers());
+        verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    void restore_UndeletesSoftDeletedLedger() {
+        Ledger ledger = ledger(5L);
+        when(jdbcTemplate.update(contains("SET deleted = false"), eq(5L))).thenReturn(1);
+        when(ledgerDao.findById(5L)).thenReturn(Optional.of(ledger));
+
+        assertSame(ledger, job.restore(5L));
+
+        verify(jdbcTemplate, never()).update(contains("FROM ledger_archive"), anyLong());
+        verify(eventPublisher).publishEvent(LedgerChangedEvent.created(ledger));
+    }
+
+    @Test
+    void restore_MovesArchivedLedgerBack() {
+        Ledger ledger = ledger(5L);
+        when(jdbcTemplate.update(contains("INSERT INTO ledger ("), eq(5L))).thenReturn(1);
+        when(ledgerDao.findById(5L)).thenReturn(Optional.of(ledger));
+
+        assertSame(ledger, job.restore(5L));
+
+        verify(jdbcTemplate).update(contains("INSERT INTO expense ("), eq(5L));
+        verify(jdbcTemplate).update(contains("INSERT INTO budget_limit ("), eq(5L));
+        verify(jdbcTemplate).update(contains("INSERT INTO budget_usage ("), eq(5L));
+        verify(jdbcTemplate).update(contains("INSERT INTO ledger_summary"), eq(5L));
+        verify(eventPublisher).publishEvent(LedgerChangedEvent.created(ledger));
+        assertEquals(1.0, meterRegistry.counter("ledger.archive.restored").count());
+    }
+
+    @Test
+    void restore_UnknownLedger() {
+        ApiException exception = assertThrows(ApiException.class, () -> job.restore(9L));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    void restore_LedgerThatIsNotDeleted() {
+        when(ledgerDao.existsById(5L)).thenReturn(true);
+
+        ApiException exception = assertThrows(ApiException.class, () -> job.restore(5L));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void restore_NameTakenByActiveLedger() {
+        when(jdbcTemplate.update(contains("SET deleted = false"), eq(5L))).thenThrow(new DuplicateKeyException("dup"));
+
+        ApiException exception = assertThrows(ApiException.class, () -> job.restore(5L));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verify(eventPublisher, never()).publishEvent(any(LedgerChangedEvent.class));
+    }
+
+    private static Ledger ledger(Long ledgerId) {
+        Ledger ledger = new Ledger();
+        ledger.setLedgerId(ledgerId);
+        ledger.setPersonId(1L);
+        ledger.setName("Travel");
+        return ledger;
+    }
+
+}
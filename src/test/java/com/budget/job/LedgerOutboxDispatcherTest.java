@@ -0,0 +1,174 @@
+package com.budget.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.budget.config.LedgerOutboxProperties;
+import com.budget.dao.LedgerOutboxDao;
+import com.budget.dto.LedgerChangeMessage;
+import com.budget.event.LedgerChangeConsumer;
+import com.budget.event.LedgerChangedEvent.ChangeType;
+import com.budget.model.LedgerOutboxEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LedgerOutboxDispatcherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final List<LedgerChangeMessage> delivered = Collections.synchronizedList(new ArrayList<>());
+
+    private LedgerOutboxDao ledgerOutboxDao;
+    private LedgerChangeConsumer consumer;
+    private LedgerOutboxProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private LedgerOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ledgerOutboxDao = mock(LedgerOutboxDao.class);
+        consumer = delivered::add;
+        properties = new LedgerOutboxProperties();
+        properties.setMaxAttempts(3);
+        properties.setRetryBackoff(Duration.ofSeconds(10));
+        meterRegistry = new SimpleMeterRegistry();
+
+        ObjectProvider<LedgerChangeConsumer> consumers = mock(ObjectProvider.class);
+        when(consumers.orderedStream()).thenAnswer(invocation -> Stream.of(
+                (LedgerChangeConsumer) message -> consumer.accept(message)));
+        dispatcher = new LedgerOutboxDispatcher(ledgerOutboxDao, consumers, objectMapper,
+                mock(PlatformTransactionManager.class), properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void dispatchBatch_DeliversAndMarksDone() throws Exception {
+        LedgerOutboxEntry first = entry(1L, 1L, 1L);
+        LedgerOutboxEntry second = entry(2L, 2L, 1L);
+        claim(first, second);
+
+        assertEquals(2, dispatcher.dispatchBatch());
+
+        assertEquals(2, delivered.size());
+        assertEquals(LedgerOutboxEntry.Status.DONE, first.getStatus());
+        assertEquals(LedgerOutboxEntry.Status.DONE, second.getStatus());
+        assertNotNull(first.getProcessedAt());
+        assertEquals(2.0, meterRegistry.counter("ledger.outbox.dispatched", "outcome", "done").count());
+        verify(ledgerOutboxDao).markProcessed(eq(List.of(1L, 2L)), eq(LedgerOutboxEntry.Status.DONE), any());
+    }
+
+    @Test
+    void dispatchBatch_LeasesClaimedEntriesUntilAfterTheTimeout() throws Exception {
+        LedgerOutboxEntry entry = entry(1L, 1L, 1L);
+        List<LocalDateTime> leasesSeenByConsumer = new ArrayList<>();
+        consumer = message -> leasesSeenByConsumer.add(entry.getLeasedUntil());
+        claim(entry);
+
+        dispatcher.dispatchBatch();
+
+        assertTrue(leasesSeenByConsumer.get(0).isAfter(LocalDateTime.now().plus(properties.getDispatchTimeout())));
+    }
+
+    @Test
+    void dispatchBatch_FailureHoldsBackLaterChangesOfSameLedger() throws Exception {
+        LedgerOutboxEntry first = entry(1L, 1L, 1L);
+        LedgerOutboxEntry second = entry(2L, 1L, 2L);
+        claim(first, second);
+        consumer = mock(LedgerChangeConsumer.class);
+        doThrow(new IllegalStateException("queue down")).when(consumer).accept(any());
+
+        dispatcher.dispatchBatch();
+
+        assertEquals(LedgerOutboxEntry.Status.PENDING, first.getStatus());
+        assertEquals(1, first.getAttempts());
+        assertTrue(first.getAvailableAt().isAfter(LocalDateTime.now().plusSeconds(5)));
+        assertEquals("java.lang.IllegalStateException: queue down", first.getLastError());
+        assertEquals(0, second.getAttempts());
+        assertEquals(LedgerOutboxEntry.Status.PENDING, second.getStatus());
+        assertNull(first.getLeasedUntil());
+        verify(ledgerOutboxDao).saveAll(List.of(first));
+        verify(ledgerOutboxDao).releaseLeases(List.of(2L));
+        verify(ledgerOutboxDao, never()).markProcessed(any(), any(), any());
+    }
+
+    @Test
+    void dispatchBatch_ParksEntryAfterMaxAttempts() throws Exception {
+        LedgerOutboxEntry entry = entry(1L, 1L, 1L);
+        entry.setAttempts(2);
+        claim(entry);
+        consumer = message -> {
+            throw new IllegalStateException("queue down");
+        };
+
+        dispatcher.dispatchBatch();
+
+        assertEquals(LedgerOutboxEntry.Status.DEAD, entry.getStatus());
+        assertEquals(3, entry.getAttempts());
+        assertEquals(1.0, meterRegistry.counter("ledger.outbox.dispatched", "outcome", "dead").count());
+    }
+
+    @Test
+    void dispatchBatch_NothingPending() {
+        when(ledgerOutboxDao.claimLedgers(100)).thenReturn(List.of());
+
+        assertEquals(0, dispatcher.dispatchBatch());
+        verify(ledgerOutboxDao, never()).findPendingByLedgerIds(any(), anyInt());
+    }
+
+    @Test
+    void purgeDelivered_DeletesInBatchesUntilOneComesBackShort() {
+        properties.setPurgeBatchSize(2);
+        when(ledgerOutboxDao.deleteDeliveredBefore(any(), eq(2))).thenReturn(2, 1);
+
+        dispatcher.purgeDelivered();
+
+        verify(ledgerOutboxDao, times(2)).deleteDeliveredBefore(any(), eq(2));
+    }
+
+    private void claim(LedgerOutboxEntry... entries) {
+        List<Long> ledgerIds = Stream.of(entries).map(LedgerOutboxEntry::getLedgerId).distinct().toList();
+        when(ledgerOutboxDao.claimLedgers(100)).thenReturn(ledgerIds);
+        when(ledgerOutboxDao.findPendingByLedgerIds(ledgerIds, 100)).thenReturn(List.of(entries));
+    }
+
+    private LedgerOutboxEntry entry(Long outboxId, Long ledgerId, Long version) throws Exception {
+        LedgerOutboxEntry entry = new LedgerOutboxEntry();
+        entry.setOutboxId(outboxId);
+        entry.setLedgerId(ledgerId);
+        entry.setChangeType(ChangeType.UPDATED);
+        entry.setPayload(objectMapper.writeValueAsString(
+                new LedgerChangeMessage(ChangeType.UPDATED, ledgerId, 100L, 100L, "Ledger", "USD", version, null)));
+        entry.setAvailableAt(LocalDateTime.now());
+        return entry;
+    }
+}
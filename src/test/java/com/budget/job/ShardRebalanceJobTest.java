@@ -0,0 +1,115 @@
+package com.budget.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.budget.config.ShardingProperties;
+import com.budget.dto.ShardMoveReport;
+import com.budget.exception.ApiException;
+import com.budget.shard.ShardRouter;
+import com.budget.shard.ShardRouter.Placement;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ShardRebalanceJobTest {
+
+    private ShardRouter shardRouter;
+    private JdbcTemplate source;
+    private JdbcTemplate target;
+    private SimpleMeterRegistry meterRegistry;
+    private ShardRebalanceJob job;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        shardRouter = mock(ShardRouter.class);
+        source = shardTemplate();
+        target = shardTemplate();
+        when(shardRouter.jdbcTemplate("a")).thenReturn(source);
+        when(shardRouter.jdbcTemplate("b")).thenReturn(target);
+        when(shardRouter.activeShard(7L)).thenReturn("a");
+
+        meterRegistry = new SimpleMeterRegistry();
+        ShardingProperties properties = new ShardingProperties();
+        properties.setPlacementCacheTtl(Duration.ZERO);
+        job = new ShardRebalanceJob(shardRouter, properties, meterRegistry);
+    }
+
+    @Test
+    void move_BlocksWritesCopiesThenSwitchesThePerson() {
+        when(shardRouter.placement(7L)).thenReturn(new Placement("a", false));
+
+        ShardMoveReport report = job.move(7L, "b");
+
+        assertEquals("a", report.fromShard());
+        assertEquals("b", report.toShard());
+        InOrder order = inOrder(shardRouter, source);
+        order.verify(shardRouter).pin(7L, "a", true);
+        order.verify(shardRouter).pin(7L, "b", false);
+        order.verify(source).update("DELETE FROM ledger WHERE person_id = ?", 7L);
+        assertEquals(1.0, meterRegistry.counter("ledger.shard.moves", "outcome", "moved").count());
+    }
+
+    @Test
+    void move_FailedCopyLeavesThePersonWhereItWas() throws SQLException {
+        when(shardRouter.placement(7L)).thenReturn(new Placement("a", false));
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(target.getDataSource()).thenReturn(unreachable);
+
+        ApiException e = assertThrows(ApiException.class, () -> job.move(7L, "b"));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, e.getStatus());
+        verify(shardRouter).unpin(7L);
+        verify(shardRouter, never()).pin(7L, "b", false);
+        verify(source, never()).update(anyString(), anyLong());
+        assertEquals(1.0, meterRegistry.counter("ledger.shard.moves", "outcome", "failed").count());
+    }
+
+    @Test
+    void move_RejectsPersonAlreadyMoving() {
+        when(shardRouter.placement(7L)).thenReturn(new Placement("a", true));
+
+        ApiException e = assertThrows(ApiException.class, () -> job.move(7L, "b"));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatus());
+        verify(shardRouter, never()).pin(anyLong(), anyString(), anyBoolean());
+    }
+
+    @Test
+    void move_RejectsMoveToTheCurrentShard() {
+        when(shardRouter.placement(7L)).thenReturn(new Placement("b", false));
+
+        ApiException e = assertThrows(ApiException.class, () -> job.move(7L, "b"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+    }
+
+    private static JdbcTemplate shardTemplate() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(mock(Connection.class));
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
+        return jdbcTemplate;
+    }
+
+}
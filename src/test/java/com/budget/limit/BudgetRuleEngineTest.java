@@ -0,0 +1,201 @@
+package com.budget.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.budget.dto.BudgetAlert;
+import com.budget.dto.BudgetLimitStatus;
+import com.budget.dto.ExpenseDelta;
+import com.budget.event.BudgetLimitChangedEvent;
+import com.budget.model.BudgetUsage.Level;
+import com.budget.service.BudgetLimitService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BudgetRuleEngineTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2026, 3, 1);
+    private static final LocalDate APRIL = LocalDate.of(2026, 4, 1);
+
+    private BudgetLimitService budgetLimitService;
+    private InMemoryBudgetAlertSink alertSink;
+    private SimpleMeterRegistry meterRegistry;
+    private BudgetRuleEngine engine;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        budgetLimitService = mock(BudgetLimitService.class);
+        alertSink = new InMemoryBudgetAlertSink(100);
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectProvider<BudgetAlertSink> sinks = mock(ObjectProvider.class);
+        when(sinks.orderedStream()).thenReturn(Stream.of(alertSink));
+        engine = new BudgetRuleEngine(budgetLimitService, sinks, meterRegistry);
+    }
+
+    @Test
+    void apply_SeedsFromTheSummaryWithoutCountingTheWriteTwice() {
+        // The summary read after commit already contains the first write.
+        when(budgetLimitService.getBudgetStatus(1L, MARCH))
+                .thenReturn(List.of(status(10L, "Groceries", 1000L, 850L, Level.NONE)));
+
+        engine.apply(List.of(delta("Groceries", 100L)));
+        engine.apply(List.of(delta("Groceries", 200L)));
+
+        List<BudgetAlert> alerts = alertSink.getAlerts();
+        assertEquals(2, alerts.size());
+        assertEquals(Level.WARNING, alerts.get(0).level());
+        assertEquals(850L, alerts.get(0).spentMinor());
+        assertEquals(Level.EXCEEDED, alerts.get(1).level());
+        assertEquals(1050L, alerts.get(1).spentMinor());
+        verify(budgetLimitService, times(1)).getBudgetStatus(1L, MARCH);
+    }
+
+    @Test
+    void apply_ChecksOnlyTheCategoryAndLedgerRules() {
+        when(budgetLimitService.getBudgetStatus(1L, MARCH)).thenReturn(List.of(
+                status(10L, "Groceries", 1000L, 100L, Level.NONE),
+                status(11L, "Rent", 5000L, 0L, Level.NONE),
+                status(12L, null, 3000L, 100L, Level.NONE)));
+        engine.apply(List.of(delta("Groceries", 100L)));
+
+        engine.apply(List.of(delta("Rent", 4000L)));
+
+        List<BudgetAlert> alerts = alertSink.getAlerts();
+        assertEquals(2, alerts.size());
+        assertEquals(11L, alerts.get(0).budgetLimitId());
+        assertEquals(Level.WARNING, alerts.get(0).level());
+        assertEquals(12L, alerts.get(1).budgetLimitId());
+        assertEquals(Level.EXCEEDED, alerts.get(1).level());
+        assertEquals(4100L, alerts.get(1).spentMinor());
+    }
+
+    @Test
+    void apply_RefundBelowTheLimitReArmsTheAlert() {
+        when(budgetLimitService.getBudgetStatus(1L, MARCH))
+                .thenReturn(List.of(status(10L, "Groceries", 1000L, 1000L, Level.NONE)));
+
+        engine.apply(List.of(delta("Groceries", 1000L)));
+        engine.apply(List.of(delta("Groceries", -500L)));
+        engine.apply(List.of(delta("Groceries", 600L)));
+
+        assertEquals(List.of(Level.EXCEEDED, Level.EXCEEDED),
+                alertSink.getAlerts().stream().map(BudgetAlert::level).toList());
+    }
+
+    @Test
+    void apply_KeepsTheStoredAlertLevel() {
+        when(budgetLimitService.getBudgetStatus(1L, MARCH))
+                .thenReturn(List.of(status(10L, "Groceries", 1000L, 1200L, Level.EXCEEDED)));
+
+        engine.apply(List.of(delta("Groceries", 100L)));
+
+        assertTrue(alertSink.getAlerts().isEmpty());
+    }
+
+    @Test
+    void apply_DoesNotReadLedgerWithoutLimitsAgain() {
+        when(budgetLimitService.getBudgetStatus(any(), any())).thenReturn(List.of());
+
+        engine.apply(List.of(delta("Groceries", 100L)));
+        engine.apply(List.of(new ExpenseDelta(1L, APRIL, "Groceries", 100L, 1)));
+
+        verify(budgetLimitService, times(1)).getBudgetStatus(any(), any());
+    }
+
+    @Test
+    void apply_FailedSeedIsCountedAndRetriedOnTheNextWrite() {
+        when(budgetLimitService.getBudgetStatus(1L, MARCH))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of(status(10L, "Groceries", 1000L, 1100L, Level.NONE)));
+
+        engine.apply(List.of(delta("Groceries", 100L)));
+        engine.apply(List.of(delta("Groceries", 1000L)));
+
+        assertEquals(1, meterRegistry.get("budget.evaluation.failed").counter().count());
+        assertEquals(1, alertSink.getAlerts().size());
+    }
+
+    @Test
+    void drain_HandsOverChangedTotalsAndDropsIdleLedgers() {
+        when(budgetLimitService.getBudgetStatus(1L, MARCH))
+                .thenReturn(List.of(status(10L, "Groceries", 1000L, 100L, Level.NONE)));
+        engine.apply(List.of(delta("Groceries", 100L)));
+        engine.apply(List.of(delta("Groceries", 750L)));
+
+        assertEquals(List.of(new BudgetUsageSnapshot(1L, 10L, MARCH, 850L, Level.WARNING)), engine.drain());
+        assertEquals(1, meterRegistry.get("budget.ledgers").gauge().value());
+
+        assertTrue(engine.drain().isEmpty());
+        assertEquals(0, meterRegistry.get("budget.ledgers").gauge().value());
+    }
+
+    @Test
+    void drain_ReseedsActiveLedgersOnTheirNextWrite() {
+        when(budgetLimitService.getBudgetStatus(1L, MARCH))
+                .thenReturn(List.of(status(10L, "Groceries", 1000L, 100L, Level.NONE)));
+        engine.apply(List.of(delta("Groceries", 100L)));
+
+        engine.drain();
+        engine.apply(List.of(delta("Groceries", 100L)));
+
+        verify(budgetLimitService, times(2)).getBudgetStatus(1L, MARCH);
+    }
+
+    @Test
+    void onBudgetLimitChanged_ReloadsTheRulesOnTheNextWrite() {
+        when(budgetLimitService.getBudgetStatus(1L, MARCH))
+                .thenReturn(List.of(status(10L, "Groceries", 1000L, 100L, Level.NONE)))
+                .thenReturn(List.of(status(10L, "Groceries", 150L, 200L, Level.NONE)));
+        engine.apply(List.of(delta("Groceries", 100L)));
+
+        engine.onBudgetLimitChanged(new BudgetLimitChangedEvent(1L));
+        engine.apply(List.of(delta("Groceries", 100L)));
+
+        assertEquals(Level.EXCEEDED, alertSink.getAlerts().get(0).level());
+        assertEquals(150L, alertSink.getAlerts().get(0).limitMinor());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void apply_FailingSinkDoesNotStopTheOthers() throws Exception {
+        BudgetAlertSink failingSink = mock(BudgetAlertSink.class);
+        doThrow(new IllegalStateException("down")).when(failingSink).accept(any());
+        ObjectProvider<BudgetAlertSink> sinks = mock(ObjectProvider.class);
+        when(sinks.orderedStream()).thenReturn(Stream.of(failingSink, alertSink));
+        engine = new BudgetRuleEngine(budgetLimitService, sinks, meterRegistry);
+        when(budgetLimitService.getBudgetStatus(1L, MARCH))
+                .thenReturn(List.of(status(10L, "Groceries", 1000L, 1000L, Level.NONE)));
+
+        engine.apply(List.of(delta("Groceries", 1000L)));
+
+        assertEquals(1, alertSink.getAlerts().size());
+        assertEquals(1, meterRegistry.get("budget.alerts.failed").counter().count());
+        assertEquals(1, meterRegistry.get("budget.alerts").tag("level", "EXCEEDED").counter().count());
+    }
+
+    private static ExpenseDelta delta(String category, long amountMinor) {
+        return new ExpenseDelta(1L, MARCH, category, amountMinor, 1);
+    }
+
+    private static BudgetLimitStatus status(Long budgetLimitId, String category, long limitMinor, long spentMinor,
+            Level alertLevel) {
+        return new BudgetLimitStatus(budgetLimitId, category, limitMinor, 80, MARCH, spentMinor, alertLevel);
+    }
+
+}
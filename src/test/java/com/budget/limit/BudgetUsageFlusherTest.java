@@ -0,0 +1,124 @@
+package com.budget.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.budget.model.BudgetUsage.Level;
+import com.budget.shard.ShardRouter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BudgetUsageFlusherTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2026, 3, 1);
+    private static final LocalDate APRIL = LocalDate.of(2026, 4, 1);
+
+    private BudgetRuleEngine engine;
+    private JdbcTemplate jdbcTemplate;
+    private ObjectProvider<ShardRouter> shardRouter;
+    private SimpleMeterRegistry meterRegistry;
+    private BudgetUsageFlusher flusher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        engine = mock(BudgetRuleEngine.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        shardRouter = mock(ObjectProvider.class);
+        meterRegistry = new SimpleMeterRegistry();
+        flusher = new BudgetUsageFlusher(engine, jdbcTemplate, mock(PlatformTransactionManager.class), shardRouter,
+                meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WritesRowsInKeyOrder() {
+        BudgetUsageSnapshot april = new BudgetUsageSnapshot(1L, 10L, APRIL, 300L, Level.NONE);
+        BudgetUsageSnapshot march = new BudgetUsageSnapshot(1L, 10L, MARCH, 900L, Level.WARNING);
+        BudgetUsageSnapshot other = new BudgetUsageSnapshot(2L, 5L, MARCH, 100L, Level.NONE);
+        when(engine.drain()).thenReturn(List.of(april, march, other));
+
+        flusher.flush();
+
+        ArgumentCaptor<List<BudgetUsageSnapshot>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), eq(3), any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(List.of(other, march, april), rows.getValue());
+        assertEquals(3, meterRegistry.get("budget.usage.flushed").summary().totalAmount());
+    }
+
+    @Test
+    void flush_WithoutChangesWritesNothing() {
+        when(engine.drain()).thenReturn(List.of());
+
+        flusher.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_GroupsRowsByShard() {
+        ShardRouter router = mock(ShardRouter.class);
+        when(shardRouter.getIfAvailable()).thenReturn(router);
+        when(router.shardForLedger(1L, false)).thenReturn("a");
+        when(router.shardForLedger(2L, false)).thenReturn("b");
+        when(engine.drain()).thenReturn(List.of(new BudgetUsageSnapshot(1L, 10L, MARCH, 900L, Level.WARNING),
+                new BudgetUsageSnapshot(2L, 20L, MARCH, 100L, Level.NONE)));
+
+        flusher.flush();
+
+        verify(jdbcTemplate, times(2))
+                .batchUpdate(anyString(), any(List.class), eq(1), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_FailureHandsRowsBackForTheNextFlush() {
+        List<BudgetUsageSnapshot> rows = List.of(new BudgetUsageSnapshot(1L, 10L, MARCH, 900L, Level.WARNING));
+        when(engine.drain()).thenReturn(rows);
+        when(jdbcTemplate.batchUpdate(anyString(), any(List.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        flusher.flush();
+
+        verify(engine).requeue(rows);
+        assertEquals(0, meterRegistry.get("budget.usage.flushed").summary().totalAmount());
+    }
+
+    @Test
+    void flush_RoutingFailureHandsAllRowsBack() {
+        ShardRouter router = mock(ShardRouter.class);
+        when(shardRouter.getIfAvailable()).thenReturn(router);
+        when(router.shardForLedger(1L, false)).thenThrow(new QueryTimeoutException("timeout"));
+        List<BudgetUsageSnapshot> rows = List.of(new BudgetUsageSnapshot(1L, 10L, MARCH, 900L, Level.WARNING));
+        when(engine.drain()).thenReturn(rows);
+
+        flusher.flush();
+
+        verify(engine).requeue(rows);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(List.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.budget.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.budget.dto.BudgetAlert;
+import com.budget.model.BudgetUsage.Level;
+
+class InMemoryBudgetAlertSinkTest {
+
+    @Test
+    void accept_DropsTheOldestAlertWhenFull() {
+        InMemoryBudgetAlertSink sink = new InMemoryBudgetAlertSink(2);
+
+        sink.accept(alert(10L));
+        sink.accept(alert(11L));
+        sink.accept(alert(12L));
+
+        assertEquals(List.of(11L, 12L), sink.getAlerts().stream().map(BudgetAlert::budgetLimitId).toList());
+    }
+
+    @Test
+    void clear_EmptiesTheBuffer() {
+        InMemoryBudgetAlertSink sink = new InMemoryBudgetAlertSink(2);
+        sink.accept(alert(10L));
+
+        sink.clear();
+
+        assertTrue(sink.getAlerts().isEmpty());
+    }
+
+    @Test
+    void constructor_RejectsEmptyBuffer() {
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryBudgetAlertSink(0));
+    }
+
+    private static BudgetAlert alert(Long budgetLimitId) {
+        return new BudgetAlert(1L, budgetLimitId, "Groceries", LocalDate.of(2026, 3, 1), Level.WARNING, 850L, 1000L,
+                LocalDateTime.of(2026, 3, 14, 12, 0));
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.budget.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Timer acquireTimer = Timer.builder("hikaricp.connections.acquire")
+            .tag("pool", "HikariPool-1")
+            .register(meterRegistry);
+
+    @Test
+    void tryAcquire_RejectsAtLimitUntilReleased() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 1, 2, Duration.ofMillis(50));
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void adjust_CutsLimitWhenPoolWaitIsHigh() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 10, 100, Duration.ofMillis(50));
+        acquireTimer.record(Duration.ofMillis(200));
+        acquireTimer.record(Duration.ofMillis(100));
+
+        limiter.adjust();
+
+        assertEquals(80, limiter.getLimit());
+    }
+
+    @Test
+    void adjust_NeverGoesBelowMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 10, 12, Duration.ofMillis(50));
+
+        for (int i = 0; i < 5; i++) {
+            acquireTimer.record(Duration.ofSeconds(1));
+            limiter.adjust();
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void adjust_GrowsBackByOneWhenPoolWaitIsLow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 10, 100, Duration.ofMillis(50));
+        acquireTimer.record(Duration.ofSeconds(1));
+        limiter.adjust();
+
+        // Only waits recorded since the last adjustment count.
+        acquireTimer.record(Duration.ofMillis(5));
+        limiter.adjust();
+        limiter.adjust();
+
+        assertEquals(82, limiter.getLimit());
+    }
+
+}
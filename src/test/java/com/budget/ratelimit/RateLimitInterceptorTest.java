@@ -0,0 +1,113 @@
+package com.budget.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+
+class RateLimitInterceptorTest {
+
+    private final TokenBucketRateLimiter rateLimiter = mock(TokenBucketRateLimiter.class);
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter = mock(AdaptiveConcurrencyLimiter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, concurrencyLimiter,
+            meterRegistry);
+
+    @Test
+    void preHandle_KeysPersonScopedPathsByPerson() throws Exception {
+        MockHttpServletRequest request = personRequest();
+        request.setUserPrincipal(() -> "alice");
+        when(concurrencyLimiter.tryAcquire()).thenReturn(true);
+
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+        verify(rateLimiter).tryAcquire("person:7");
+    }
+
+    @Test
+    void preHandle_KeysByAuthenticatedPrincipal() throws Exception {
+        MockHttpServletRequest request = request();
+        request.setUserPrincipal(() -> "alice");
+        when(concurrencyLimiter.tryAcquire()).thenReturn(true);
+
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+        verify(rateLimiter).tryAcquire("user:alice");
+    }
+
+    @Test
+    void preHandle_IgnoresClientChosenHeaders() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader("X-API-Key", "k1");
+        when(concurrencyLimiter.tryAcquire()).thenReturn(true);
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        verify(rateLimiter).tryAcquire("addr:127.0.0.1");
+    }
+
+    @Test
+    void preHandle_RejectsWith429AndRetryAfter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(rateLimiter.tryAcquire("addr:127.0.0.1")).thenReturn(1_500_000_000L);
+
+        assertFalse(interceptor.preHandle(request(), response, null));
+
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("ledger.requests.rejected").tag("reason", "rate_limited").counter().count());
+        verify(concurrencyLimiter, never()).tryAcquire();
+    }
+
+    @Test
+    void preHandle_ShedsWith503WhenOverloaded() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request(), response, null));
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("ledger.requests.rejected").tag("reason", "overloaded").counter().count());
+    }
+
+    @Test
+    void afterCompletion_ReleasesSlotOnceAcrossAsyncDispatch() throws Exception {
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(concurrencyLimiter.tryAcquire()).thenReturn(true);
+        interceptor.preHandle(request, response, null);
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        assertTrue(interceptor.preHandle(request, response, null));
+        interceptor.afterCompletion(request, response, null, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        verify(rateLimiter).tryAcquire("addr:127.0.0.1");
+        verify(concurrencyLimiter).release();
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/ledger/3");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("ledgerId", "3"));
+        return request;
+    }
+
+    private static MockHttpServletRequest personRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/ledgers/7");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("personId", "7"));
+        return request;
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.budget.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(42 * SECOND);
+    // 10 per second: one token every 100ms, up to 3 at once.
+    private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 3, clock::get);
+
+    @Test
+    void tryAcquire_AdmitsBurstThenRejects() {
+        assertEquals(0L, limiter.tryAcquire("a"));
+        assertEquals(0L, limiter.tryAcquire("a"));
+        assertEquals(0L, limiter.tryAcquire("a"));
+
+        assertEquals(SECOND / 10, limiter.tryAcquire("a"));
+    }
+
+    @Test
+    void tryAcquire_RefillsOverTime() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        clock.addAndGet(SECOND / 20);
+        assertEquals(SECOND / 20, limiter.tryAcquire("a"));
+
+        clock.addAndGet(SECOND / 20);
+        assertEquals(0L, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void tryAcquire_KeepsKeysApart() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0L, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void evictIdle_DropsOnlyFullBuckets() {
+        limiter.tryAcquire("a");
+        clock.addAndGet(SECOND / 20);
+        limiter.tryAcquire("b");
+
+        clock.addAndGet(SECOND / 20);
+        limiter.evictIdle();
+
+        assertEquals(1, limiter.size());
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.budget.service.impl;
+
+import com.budget.dao.BudgetLimitDao;
+import com.budget.dao.BudgetUsageDao;
+import com.budget.dao.LedgerMonthlySummaryDao;
+import com.budget.dto.BudgetLimitStatus;
+import com.budget.event.BudgetLimitChangedEvent;
+import com.budget.exception.ApiException;
+import com.budget.model.BudgetLimit;
+import com.budget.model.BudgetUsage;
+import com.budget.model.Ledger;
+import com.budget.model.LedgerMonthlySummary;
+import com.budget.service.LedgerService;
+import com.budget.shard.SnowflakeIdGenerator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetLimitServiceImplTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private BudgetLimitDao budgetLimitDao;
+
+    @Mock
+    private BudgetUsageDao budgetUsageDao;
+
+    @Mock
+    private LedgerMonthlySummaryDao ledgerMonthlySummaryDao;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SnowflakeIdGenerator budgetLimitIdGenerator;
+
+    @InjectMocks
+    private BudgetLimitServiceImpl budgetLimitService;
+
+    @Test
+    void getBudgetStatus_SumsTheMonthPerCategoryAndLedger() {
+        when(ledgerService.getLedgerById(1L)).thenReturn(new Ledger());
+        when(budgetLimitDao.findAllByLedgerId(1L)).thenReturn(List.of(
+                budgetLimit(10L, "Groceries", 1000L), budgetLimit(11L, "Travel", 5000L), budgetLimit(12L, null, 3000L)));
+        when(ledgerMonthlySummaryDao.findAllByLedgerIdAndMonth(1L, MARCH)).thenReturn(List.of(
+                monthlySummary("Groceries", 850L), monthlySummary("Rent", 2000L)));
+        BudgetUsage usage = new BudgetUsage();
+        usage.setBudgetLimitId(10L);
+        usage.setAlertLevel(BudgetUsage.Level.WARNING);
+        when(budgetUsageDao.findAllByBudgetLimitIdsAndMonth(List.of(10L, 11L, 12L), MARCH)).thenReturn(List.of(usage));
+
+        List<BudgetLimitStatus> statuses = budgetLimitService.getBudgetStatus(1L, LocalDate.of(2026, 3, 17));
+
+        assertEquals(List.of(
+                new BudgetLimitStatus(10L, "Groceries", 1000L, 80, MARCH, 850L, BudgetUsage.Level.WARNING),
+                new BudgetLimitStatus(11L, "Travel", 5000L, 80, MARCH, 0L, BudgetUsage.Level.NONE),
+                new BudgetLimitStatus(12L, null, 3000L, 80, MARCH, 2850L, BudgetUsage.Level.NONE)), statuses);
+    }
+
+    @Test
+    void getBudgetStatus_LedgerWithoutLimitsReadsNoTotals() {
+        when(ledgerService.getLedgerById(1L)).thenReturn(new Ledger());
+        when(budgetLimitDao.findAllByLedgerId(1L)).thenReturn(List.of());
+
+        assertTrue(budgetLimitService.getBudgetStatus(1L, MARCH).isEmpty());
+        verifyNoInteractions(ledgerMonthlySummaryDao, budgetUsageDao);
+    }
+
+    @Test
+    void saveBudgetLimit_AssignsIdAndPublishesChange() {
+        when(budgetLimitIdGenerator.nextId()).thenReturn(10L);
+        when(budgetLimitDao.saveAndFlush(any(BudgetLimit.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BudgetLimit saved = budgetLimitService.saveBudgetLimit(1L, budgetLimit(null, "Groceries", 1000L));
+
+        assertEquals(10L, saved.getBudgetLimitId());
+        assertEquals(1L, saved.getLedgerId());
+        verify(ledgerService).getLedgerById(1L);
+        verify(eventPublisher).publishEvent(new BudgetLimitChangedEvent(1L));
+    }
+
+    @Test
+    void saveBudgetLimit_SecondLimitOnCategoryIsRejected() {
+        when(budgetLimitDao.saveAndFlush(any(BudgetLimit.class)))
+                .thenThrow(new DataIntegrityViolationException("ux_budget_limit_ledger_id_category"));
+
+        ApiException exception = assertThrows(ApiException.class,
+                () -> budgetLimitService.saveBudgetLimit(1L, budgetLimit(null, "Groceries", 1000L)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals(BudgetLimitServiceImpl.BUDGET_LIMIT_EXISTS, exception.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void saveBudgetLimit_InvalidLimitIsRejected() {
+        BudgetLimit budgetLimit = budgetLimit(null, "Groceries", 0L);
+
+        ApiException exception = assertThrows(ApiException.class, () -> budgetLimitService.saveBudgetLimit(1L, budgetLimit));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verifyNoInteractions(budgetLimitDao);
+    }
+
+    @Test
+    void updateBudgetLimit_CopiesChangesOntoStoredLimit() {
+        BudgetLimit stored = budgetLimit(10L, "Groceries", 1000L);
+        stored.setLedgerId(1L);
+        when(budgetLimitDao.findByIdAndLedgerId(10L, 1L)).thenReturn(Optional.of(stored));
+        when(budgetLimitDao.saveAndFlush(stored)).thenReturn(stored);
+        BudgetLimit changes = budgetLimit(10L, "Groceries", 1500L);
+        changes.setWarnPercent(90);
+
+        BudgetLimit updated = budgetLimitService.updateBudgetLimit(1L, changes);
+
+        assertEquals(1500L, updated.getLimitMinor());
+        assertEquals(90, updated.getWarnPercent());
+        verify(eventPublisher).publishEvent(new BudgetLimitChangedEvent(1L));
+    }
+
+    @Test
+    void deleteBudgetLimit_LimitOfAnotherLedgerIsNotFound() {
+        when(budgetLimitDao.findByIdAndLedgerId(10L, 2L)).thenReturn(Optional.empty());
+
+        ApiException exception = assertThrows(ApiException.class, () -> budgetLimitService.deleteBudgetLimit(2L, 10L));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        verify(budgetLimitDao, never()).delete(any());
+    }
+
+    private static BudgetLimit budgetLimit(Long budgetLimitId, String category, long limitMinor) {
+        BudgetLimit budgetLimit = new BudgetLimit();
+        budgetLimit.setBudgetLimitId(budgetLimitId);
+        budgetLimit.setCategory(category);
+        budgetLimit.setLimitMinor(limitMinor);
+        return budgetLimit;
+    }
+
+    private static LedgerMonthlySummary monthlySummary(String category, long totalMinor) {
+        LedgerMonthlySummary summary = new LedgerMonthlySummary();
+        summary.setLedgerId(1L);
+        summary.setMonth(MARCH);
+        summary.setCategory(category);
+        summary.setTotalMinor(totalMinor);
+        summary.setEntryCount(1L);
+        return summary;
+    }
+
+}
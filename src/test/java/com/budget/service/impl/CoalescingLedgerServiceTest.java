@@ -0,0 +1,108 @@
+package com.budget.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.budget.dto.LedgerListItem;
+import com.budget.dto.LedgerListVersion;
+import com.budget.dto.LedgerListing;
+import com.budget.event.LedgerChangedEvent;
+import com.budget.model.Ledger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CoalescingLedgerServiceTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private LedgerServiceImpl delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private CoalescingLedgerService ledgerService;
+    private Ledger ledger;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(LedgerServiceImpl.class);
+        meterRegistry = new SimpleMeterRegistry();
+        ledgerService = new CoalescingLedgerService(delegate, meterRegistry);
+
+        ledger = new Ledger();
+        ledger.setLedgerId(1L);
+        ledger.setPersonId(100L);
+        ledger.setName("Personal Budget");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getLedgerById_RunsThroughTheFlight() {
+        when(delegate.getLedgerById(1L)).thenReturn(ledger);
+
+        assertSame(ledger, ledgerService.getLedgerById(1L));
+        assertEquals(1.0, meterRegistry.get("ledger.reads.coalescing").tag("method", "getLedgerById")
+                .tag("role", "leader").counter().count());
+    }
+
+    @Test
+    void getAllLedgersByPersonId_InsideATransactionGoesStraightToTheDelegate() {
+        LedgerListing ledgers = new LedgerListing(new LedgerListVersion(1L, null),
+                List.of(new LedgerListItem(1L, 100L, "Personal Budget", "USD", null, null, false)));
+        when(delegate.getAllLedgersByPersonId(100L)).thenReturn(ledgers);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertSame(ledgers, ledgerService.getAllLedgersByPersonId(100L));
+        assertEquals(0.0, meterRegistry.get("ledger.reads.coalescing").tag("method", "getAllLedgersByPersonId")
+                .tag("role", "leader").counter().count());
+    }
+
+    @Test
+    void onLedgerChanged_LaterReadsDoNotJoinAQueryStartedBeforeTheWrite() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Ledger stale = new Ledger();
+        when(delegate.getLedgerById(1L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return stale;
+        }).thenReturn(ledger);
+
+        Future<Ledger> before = executor.submit(() -> ledgerService.getLedgerById(1L));
+        started.await(5, TimeUnit.SECONDS);
+        ledgerService.onLedgerChanged(LedgerChangedEvent.updated(ledger, 100L));
+
+        assertSame(ledger, ledgerService.getLedgerById(1L));
+        release.countDown();
+        assertSame(stale, before.get(5, TimeUnit.SECONDS));
+        verify(delegate, times(2)).getLedgerById(1L);
+    }
+
+    @Test
+    void writesPassThrough() {
+        when(delegate.saveLedger(ledger)).thenReturn(ledger);
+
+        assertSame(ledger, ledgerService.saveLedger(ledger));
+        ledgerService.deleteLedger(1L);
+
+        verify(delegate).deleteLedger(1L);
+    }
+
+}
@@ -0,0 +1,226 @@
+package com.budget.service.impl;
+
+import com.budget.config.ExpenseImportProperties;
+import com.budget.dto.ExpenseDelta;
+import com.budget.dto.ExpenseImportReport;
+import com.budget.exception.ApiException;
+import com.budget.importer.ExpenseImportFormat;
+import com.budget.model.Expense;
+import com.budget.model.Ledger;
+import com.budget.service.LedgerService;
+import com.budget.service.LedgerSummaryService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseImportServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private LedgerSummaryService ledgerSummaryService;
+
+    private ExpenseImportServiceImpl expenseImportService;
+
+    @BeforeEach
+    void setUp() {
+        ExpenseImportProperties properties = new ExpenseImportProperties();
+        properties.setChunkSize(2);
+        properties.setParallelism(2);
+        properties.setMaxReportedErrors(1);
+        expenseImportService = new ExpenseImportServiceImpl(jdbcTemplate, transactionManager, ledgerService,
+                ledgerSummaryService, properties);
+
+        Ledger ledger = new Ledger();
+        ledger.setLedgerId(1L);
+        ledger.setCurrency("USD");
+        when(ledgerService.getLedgerById(1L)).thenReturn(ledger);
+    }
+
+    @AfterEach
+    void tearDown() {
+        expenseImportService.shutdown();
+    }
+
+    @Test
+    void importExpenses_WritesValidRowsInChunks() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        stubExpenseIdBlocks();
+
+        ExpenseImportReport report = expenseImportService.importExpenses(1L, null, ExpenseImportFormat.CSV, csv(
+                "date,amount,category\n"
+                        + "2026-03-01,1.00,Groceries\n"
+                        + "2026-03-02,2.00,\n"
+                        + "2026-03-03,abc,Groceries\n"
+                        + "2026-03-04,4.00,Rent\n"
+                        + "2026-03-05,5.00,Rent\n"));
+
+        assertEquals(5, report.totalRows());
+        assertEquals(3, report.importedRows());
+        assertEquals(2, report.rejectedRows());
+        assertEquals(List.of(new ExpenseImportReport.RowError(3, "Expense category cannot be blank.")), report.errors());
+
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyList(), anyInt(), any());
+        verify(transactionManager, times(3)).commit(any());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ExpenseDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(ledgerSummaryService, times(3)).applyDeltas(deltas.capture());
+        assertEquals(500L, deltas.getAllValues().get(2).get(0).amountMinor());
+    }
+
+    @Test
+    void importExpenses_StopsOnDatabaseFailure() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        stubExpenseIdBlocks();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any()))
+                .thenThrow(new DataIntegrityViolationException("ledger_id"));
+
+        ApiException exception = assertThrows(ApiException.class, () -> expenseImportService.importExpenses(1L, null,
+                ExpenseImportFormat.CSV, csv("date,amount,category\n2026-03-01,1.00,Groceries\n")));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatus());
+        assertEquals("Import failed. 0 rows were imported, through line 0.", exception.getMessage());
+        verifyNoInteractions(ledgerSummaryService);
+    }
+
+    @Test
+    void importExpenses_ParseErrorReportsCommittedRows() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        stubExpenseIdBlocks();
+
+        ApiException exception = assertThrows(ApiException.class, () -> expenseImportService.importExpenses(1L, null,
+                ExpenseImportFormat.CSV, csv("date,amount,category\n"
+                        + "2026-03-01,1.00,Groceries\n"
+                        + "2026-03-02,2.00,Groceries\n"
+                        + "2026-03-03,3.00,Groceries\n"
+                        + "2026-03-04,4.00,Rent\n"
+                        + "2026-03-05,5.00,Rent\n"
+                        + "2026-03-06,6.00,Rent\n"
+                        + "2026-03-07,\"7.00,Rent\n")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Unterminated quoted field at line 8. 2 rows were imported, through line 3.", exception.getMessage());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void importExpenses_ResumesAfterCommittedLines() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1L), eq("march"))).thenReturn(List.of(3L));
+        when(jdbcTemplate.update(anyString(), eq(1L), eq("march"), eq(5L), eq(2), any(), eq(4L))).thenReturn(1);
+        stubExpenseIdBlocks();
+
+        ExpenseImportReport report = expenseImportService.importExpenses(1L, "march", ExpenseImportFormat.CSV, csv(
+                "date,amount,category\n"
+                        + "2026-03-01,1.00,Groceries\n"
+                        + "2026-03-02,2.00,Groceries\n"
+                        + "2026-03-03,3.00,Rent\n"
+                        + "2026-03-04,4.00,Rent\n"));
+
+        assertEquals(2, report.skippedRows());
+        assertEquals(2, report.totalRows());
+        assertEquals(2, report.importedRows());
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList(), anyInt(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importExpenses_TakesOneSequenceValuePerBlockOfIds() {
+        ExpenseImportProperties properties = new ExpenseImportProperties();
+        properties.setChunkSize(60);
+        ExpenseImportServiceImpl service = new ExpenseImportServiceImpl(jdbcTemplate, transactionManager, ledgerService,
+                ledgerSummaryService, properties);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(2))).thenReturn(List.of(1L, 51L));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1))).thenReturn(List.of(101L));
+
+        StringBuilder file = new StringBuilder("date,amount,category\n");
+        for (int i = 0; i < 60; i++) {
+            file.append("2026-03-01,1.00,Groceries\n");
+        }
+        try {
+            service.importExpenses(1L, null, ExpenseImportFormat.CSV, csv(file.toString()));
+        } finally {
+            service.shutdown();
+        }
+
+        ArgumentCaptor<List<Expense>> expenses = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), expenses.capture(), anyInt(), any());
+        List<Long> ids = expenses.getValue().stream().map(Expense::getExpenseId).toList();
+        assertEquals(LongStream.rangeClosed(1, 60).boxed().toList(), ids);
+    }
+
+    @Test
+    void importExpenses_ConcurrentRunOfSameImportIsRejected() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1L), eq("march"))).thenReturn(List.of());
+
+        ApiException exception = assertThrows(ApiException.class, () -> expenseImportService.importExpenses(1L, "march",
+                ExpenseImportFormat.CSV, csv("date,amount,category\n2026-03-01,1.00,Groceries\n")));
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        verify(transactionManager).rollback(any());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any());
+    }
+
+    @Test
+    void importExpenses_RejectsOverlongImportId() {
+        ApiException exception = assertThrows(ApiException.class, () -> expenseImportService.importExpenses(1L,
+                "x".repeat(65), ExpenseImportFormat.CSV, csv("")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void importExpenses_RejectsFileWithoutHeader() {
+        ApiException exception = assertThrows(ApiException.class,
+                () -> expenseImportService.importExpenses(1L, null, ExpenseImportFormat.CSV, csv("")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    /** Answers every nextval with the next block top, 50 apart. */
+    private void stubExpenseIdBlocks() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), anyInt())).thenAnswer(invocation ->
+                LongStream.rangeClosed(1, invocation.<Integer>getArgument(2)).map(block -> block * 50).boxed().toList());
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,172 @@
+package com.budget.service.impl;
+
+import com.budget.dao.ExpenseDao;
+import com.budget.dto.ExpenseDelta;
+import com.budget.exception.ApiException;
+import com.budget.model.Expense;
+import com.budget.service.LedgerService;
+import com.budget.service.LedgerSummaryService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseServiceImplTest {
+
+    private static final LocalDateTime OCCURRED_AT = LocalDateTime.of(2026, 3, 14, 12, 0);
+
+    @Mock
+    private ExpenseDao expenseDao;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private LedgerSummaryService ledgerSummaryService;
+
+    @InjectMocks
+    private ExpenseServiceImpl expenseService;
+
+    private Expense expense;
+
+    @BeforeEach
+    void setUp() {
+        expense = new Expense();
+        expense.setExpenseId(10L);
+        expense.setLedgerId(1L);
+        expense.setAmountMinor(1250L);
+        expense.setCategory("Groceries");
+        expense.setPayee("Corner Store");
+        expense.setOccurredAt(OCCURRED_AT);
+        expense.setDeleted(false);
+    }
+
+    @Test
+    void getExpenseById_Success() {
+        when(expenseDao.findByIdAndDeletedFalse(10L)).thenReturn(Optional.of(expense));
+
+        Expense result = expenseService.getExpenseById(10L);
+
+        assertEquals(1250L, result.getAmountMinor());
+        verify(expenseDao).findByIdAndDeletedFalse(10L);
+    }
+
+    @Test
+    void getExpenseById_NotFound() {
+        when(expenseDao.findByIdAndDeletedFalse(10L)).thenReturn(Optional.empty());
+
+        ApiException exception = assertThrows(ApiException.class, () -> expenseService.getExpenseById(10L));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        assertEquals("Expense not found.", exception.getMessage());
+    }
+
+    @Test
+    void getExpensesByLedgerId_Success() {
+        LocalDateTime from = OCCURRED_AT.minusDays(1);
+        LocalDateTime to = OCCURRED_AT.plusDays(1);
+        when(expenseDao.findByLedgerIdAndOccurredAtBetween(1L, from, to, PageRequest.of(0, 100))).thenReturn(List.of(expense));
+
+        List<Expense> result = expenseService.getExpensesByLedgerId(1L, from, to, 100);
+
+        assertEquals(List.of(expense), result);
+        verify(ledgerService).getLedgerById(1L);
+    }
+
+    @Test
+    void getExpensesByLedgerId_InvalidRange() {
+        ApiException exception = assertThrows(ApiException.class,
+                () -> expenseService.getExpensesByLedgerId(1L, OCCURRED_AT, OCCURRED_AT, 100));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Range start must be before range end.", exception.getMessage());
+        verifyNoInteractions(expenseDao);
+    }
+
+    @Test
+    void saveExpense_Success() {
+        when(expenseDao.save(expense)).thenReturn(expense);
+
+        Expense result = expenseService.saveExpense(expense);
+
+        assertNotNull(result);
+        verify(ledgerService).getLedgerById(1L);
+        verify(expenseDao).save(expense);
+        verify(ledgerSummaryService).applyDeltas(List.of(
+                new ExpenseDelta(1L, LocalDate.of(2026, 3, 1), "Groceries", 1250L, 1)));
+    }
+
+    @Test
+    void saveExpense_LedgerNotFound() {
+        when(ledgerService.getLedgerById(1L)).thenThrow(new ApiException(HttpStatus.NOT_FOUND, "Ledger not found."));
+
+        ApiException exception = assertThrows(ApiException.class, () -> expenseService.saveExpense(expense));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        verifyNoInteractions(expenseDao, ledgerSummaryService);
+    }
+
+    @Test
+    void saveExpense_NullAmount() {
+        expense.setAmountMinor(null);
+
+        ApiException exception = assertThrows(ApiException.class, () -> expenseService.saveExpense(expense));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Expense amount cannot be null.", exception.getMessage());
+        verifyNoInteractions(expenseDao, ledgerService);
+    }
+
+    @Test
+    void saveExpense_BlankCategory() {
+        expense.setCategory(" ");
+
+        ApiException exception = assertThrows(ApiException.class, () -> expenseService.saveExpense(expense));
+        assertEquals("Expense category cannot be blank.", exception.getMessage());
+    }
+
+    @Test
+    void updateExpense_CopiesChangesOntoStoredExpense() {
+        Expense stored = new Expense();
+        stored.setExpenseId(10L);
+        stored.setLedgerId(1L);
+        stored.setAmountMinor(500L);
+        stored.setCategory("Dining");
+        stored.setOccurredAt(OCCURRED_AT.minusDays(3));
+        when(expenseDao.findByIdAndDeletedFalse(10L)).thenReturn(Optional.of(stored));
+        when(expenseDao.save(stored)).thenReturn(stored);
+
+        Expense result = expenseService.updateExpense(expense);
+
+        assertSame(stored, result);
+        assertEquals(1250L, stored.getAmountMinor());
+        assertEquals("Groceries", stored.getCategory());
+        assertEquals(OCCURRED_AT, stored.getOccurredAt());
+        verifyNoInteractions(ledgerService);
+        verify(ledgerSummaryService).applyDeltas(List.of(
+                new ExpenseDelta(1L, LocalDate.of(2026, 3, 1), "Dining", -500L, -1),
+                new ExpenseDelta(1L, LocalDate.of(2026, 3, 1), "Groceries", 1250L, 1)));
+    }
+
+    @Test
+    void deleteExpense_Success() {
+        when(expenseDao.findByIdAndDeletedFalse(10L)).thenReturn(Optional.of(expense));
+
+        expenseService.deleteExpense(10L);
+
+        assertTrue(expense.getDeleted());
+        verify(expenseDao).save(expense);
+        verify(ledgerSummaryService).applyDeltas(List.of(
+                new ExpenseDelta(1L, LocalDate.of(2026, 3, 1), "Groceries", -1250L, -1)));
+    }
+}
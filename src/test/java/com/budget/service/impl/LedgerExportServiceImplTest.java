@@ -0,0 +1,103 @@
+package com.budget.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.budget.config.LedgerExportProperties;
+import com.budget.dto.LedgerDetail;
+import com.budget.dto.LedgerExportReport;
+import com.budget.export.LedgerExportFormat;
+import com.budget.shard.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class LedgerExportServiceImplTest {
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcTemplate shardA;
+    private JdbcTemplate shardB;
+    private LedgerExportServiceImpl exportService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        shardA = mock(JdbcTemplate.class);
+        shardB = mock(JdbcTemplate.class);
+        ShardRouter shardRouter = mock(ShardRouter.class);
+        when(shardRouter.getShards()).thenReturn(List.of("a", "b"));
+        when(shardRouter.jdbcTemplate("a")).thenReturn(shardA);
+        when(shardRouter.jdbcTemplate("b")).thenReturn(shardB);
+        ObjectProvider<ShardRouter> shardRouterProvider = mock(ObjectProvider.class);
+        when(shardRouterProvider.getIfAvailable()).thenReturn(shardRouter);
+
+        LedgerExportProperties properties = new LedgerExportProperties();
+        properties.setFetchSize(2);
+        properties.setDirectory(directory.toString());
+        exportService = new LedgerExportServiceImpl(jdbcTemplate, mock(PlatformTransactionManager.class),
+                new ObjectMapper(), properties, shardRouterProvider);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportAllLedgersToFile_MergesShardsInLedgerIdOrder() throws Exception {
+        when(shardA.query(anyString(), any(RowMapper.class), eq(0L), eq(2))).thenReturn(List.of(ledger(1L), ledger(4L)));
+        when(shardA.query(anyString(), any(RowMapper.class), eq(4L), eq(2))).thenReturn(List.of(ledger(5L)));
+        // Ledger 4 belongs to a person that is being moved, so both shards hold it.
+        when(shardB.query(anyString(), any(RowMapper.class), eq(0L), eq(2))).thenReturn(List.of(ledger(2L), ledger(4L)));
+        when(shardB.query(anyString(), any(RowMapper.class), eq(4L), eq(2))).thenReturn(List.of());
+
+        LedgerExportReport report = exportService.exportAllLedgersToFile(LedgerExportFormat.CSV, false, null, null);
+
+        assertEquals(4L, report.rows());
+        assertEquals(5L, report.lastLedgerId());
+        assertEquals(List.of("1", "2", "4", "5"), exportedIds(report));
+        verify(jdbcTemplate, never()).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportAllLedgersToFile_StopsAtTheLimitAcrossShards() throws Exception {
+        when(shardA.query(anyString(), any(RowMapper.class), eq(10L), eq(2))).thenReturn(List.of(ledger(11L), ledger(13L)));
+        when(shardB.query(anyString(), any(RowMapper.class), eq(10L), eq(2))).thenReturn(List.of(ledger(12L)));
+
+        LedgerExportReport report = exportService.exportAllLedgersToFile(LedgerExportFormat.CSV, false, 10L, 2L);
+
+        assertEquals(List.of("11", "12"), exportedIds(report));
+        assertEquals(12L, report.lastLedgerId());
+    }
+
+    private static List<String> exportedIds(LedgerExportReport report) throws Exception {
+        return Files.readAllLines(Path.of(report.file())).stream()
+                .skip(1)
+                .map(line -> line.substring(0, line.indexOf(',')))
+                .toList();
+    }
+
+    private static LedgerDetail ledger(Long ledgerId) {
+        return new LedgerDetail(ledgerId, 100L, "Ledger " + ledgerId, null, "USD", 1L, null, null, false);
+    }
+
+}
@@ -1,20 +1,41 @@
 package com.budget.service.impl;
 
 import com.budget.dao.LedgerDao;
+import com.budget.datasource.ReplicaRoutingContext;
+import com.budget.dto.LedgerBatchResponse;
+import com.budget.dto.LedgerDetail;
+import com.budget.dto.LedgerListItem;
+import com.budget.dto.LedgerListVersion;
+import com.budget.dto.LedgerListing;
+import com.budget.dto.LedgerPage;
+import com.budget.dto.LedgerVersion;
+import com.budget.event.LedgerChangedEvent;
 import com.budget.exception.ApiException;
 import com.budget.model.Ledger;
+import com.budget.shard.SnowflakeIdGenerator;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,11 +48,19 @@ class LedgerServiceImplTest {
     @Mock
     private LedgerDao ledgerDao;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SnowflakeIdGenerator ledgerIdGenerator;
+
     @InjectMocks
     private LedgerServiceImpl ledgerService;
 
     private Ledger ledger;
 
+    private LedgerListItem listItem;
+
     @BeforeEach
     void setUp() {
         ledger = new Ledger();
@@ -40,6 +69,7 @@ class LedgerServiceImplTest {
         ledger.setName("Personal Budget");
         ledger.setCurrency(USD_CURRENCY);
         ledger.setDeleted(false);
+        listItem = new LedgerListItem(1L, 100L, "Personal Budget", USD_CURRENCY, null, null, false);
     }
 
     @Test
@@ -53,6 +83,18 @@ class LedgerServiceImplTest {
         verify(ledgerDao).findByIdAndDeletedFalse(1L);
     }
 
+    @Test
+    void getLedgerById_ReadsFromPrimary() {
+        when(ledgerDao.findByIdAndDeletedFalse(1L)).thenAnswer(invocation -> {
+            assertTrue(ReplicaRoutingContext.isPinnedToPrimary());
+            return Optional.of(ledger);
+        });
+
+        ledgerService.getLedgerById(1L);
+
+        assertFalse(ReplicaRoutingContext.isPinnedToPrimary());
+    }
+
     @Test
     void getLedgerById_NotFound() {
         when(ledgerDao.findByIdAndDeletedFalse(1L)).thenReturn(Optional.empty());
@@ -63,39 +105,125 @@ class LedgerServiceImplTest {
         verify(ledgerDao).findByIdAndDeletedFalse(1L);
     }
 
+    @Test
+    void getLedgerDetail_Success() {
+        LedgerDetail detail = new LedgerDetail(1L, 100L, "Personal Budget", "Monthly spending", USD_CURRENCY, 3L, null,
+                null, false);
+        when(ledgerDao.findDetailById(1L)).thenReturn(Optional.of(detail));
+
+        LedgerDetail result = ledgerService.getLedgerDetail(1L);
+
+        assertSame(detail, result);
+        verify(ledgerDao, never()).findByIdAndDeletedFalse(any());
+    }
+
+    @Test
+    void getLedgerDetail_NotFound() {
+        when(ledgerDao.findDetailById(1L)).thenReturn(Optional.empty());
+
+        ApiException exception = assertThrows(ApiException.class, () -> ledgerService.getLedgerDetail(1L));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        assertEquals("Ledger not found.", exception.getMessage());
+    }
+
+    @Test
+    void refreshLedgerDetail_ReadsTheRowAgain() {
+        LedgerDetail detail = new LedgerDetail(1L, 100L, "Personal Budget", null, USD_CURRENCY, 4L, null, null, false);
+        when(ledgerDao.findDetailById(1L)).thenReturn(Optional.of(detail));
+
+        assertSame(detail, ledgerService.refreshLedgerDetail(1L));
+    }
+
     @Test
     void getAllLedgersByPersonId_Success() {
-        List<Ledger> ledgerList = Collections.singletonList(ledger);
-        when(ledgerDao.findAllByPersonIdAndDeletedFalse(100L)).thenReturn(ledgerList);
+        List<LedgerListItem> ledgerList = Collections.singletonList(listItem);
+        LedgerListVersion listVersion = new LedgerListVersion(1L, LocalDateTime.of(2026, 3, 14, 12, 0));
+        when(ledgerDao.findListVersionByPersonId(100L)).thenReturn(listVersion);
+        when(ledgerDao.findListItemsByPersonId(100L)).thenReturn(ledgerList);
 
-        List<Ledger> result = ledgerService.getAllLedgersByPersonId(100L);
+        LedgerListing result = ledgerService.getAllLedgersByPersonId(100L);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(100L, result.get(0).getPersonId());
-        verify(ledgerDao).findAllByPersonIdAndDeletedFalse(100L);
+        assertEquals(listVersion, result.version());
+        assertEquals(1, result.ledgers().size());
+        assertEquals(100L, result.ledgers().get(0).personId());
+        verify(ledgerDao).findListItemsByPersonId(100L);
     }
 
     @Test
     void getAllLedgersByPersonId_Empty() {
-        when(ledgerDao.findAllByPersonIdAndDeletedFalse(200L)).thenReturn(Collections.emptyList());
+        when(ledgerDao.findListVersionByPersonId(200L)).thenReturn(new LedgerListVersion(0L, null));
+        when(ledgerDao.findListItemsByPersonId(200L)).thenReturn(Collections.emptyList());
 
-        List<Ledger> result = ledgerService.getAllLedgersByPersonId(200L);
+        LedgerListing result = ledgerService.getAllLedgersByPersonId(200L);
 
         assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(ledgerDao).findAllByPersonIdAndDeletedFalse(200L);
+        assertTrue(result.ledgers().isEmpty());
+        verify(ledgerDao).findListItemsByPersonId(200L);
+    }
+
+    @Test
+    void getAllLedgersByPersonId_ReadsTheVersionBeforeTheLedgers() {
+        when(ledgerDao.findListVersionByPersonId(100L)).thenReturn(new LedgerListVersion(1L, null));
+        when(ledgerDao.findListItemsByPersonId(100L)).thenReturn(List.of(listItem));
+
+        ledgerService.refreshLedgersByPersonId(100L);
+
+        InOrder order = inOrder(ledgerDao);
+        order.verify(ledgerDao).findListVersionByPersonId(100L);
+        order.verify(ledgerDao).findListItemsByPersonId(100L);
+    }
+
+    @Test
+    void getLedgersPage_ReturnsCursorWhenMoreRowsExist() {
+        LedgerListItem second = new LedgerListItem(2L, 100L, "Savings", USD_CURRENCY, null, null, false);
+        when(ledgerDao.findListItemPageByPersonId(100L, 0L, PageRequest.of(0, 2))).thenReturn(List.of(listItem, second));
+
+        LedgerPage result = ledgerService.getLedgersPage(100L, null, 1);
+
+        assertEquals(List.of(listItem), result.ledgers());
+        assertEquals(1L, result.nextCursor());
+    }
+
+    @Test
+    void getLedgersPage_LastPageHasNoCursor() {
+        when(ledgerDao.findListItemPageByPersonId(100L, 1L, PageRequest.of(0, 11))).thenReturn(List.of(listItem));
+
+        LedgerPage result = ledgerService.getLedgersPage(100L, 1L, 10);
+
+        assertEquals(1, result.ledgers().size());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void getLedgersPage_InvalidLimit() {
+        ApiException exception = assertThrows(ApiException.class, () -> ledgerService.getLedgersPage(100L, null, 0));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verifyNoInteractions(ledgerDao);
+    }
+
+    @Test
+    void streamLedgersByPersonId_PassesEachListItem() {
+        when(ledgerDao.streamListItemsByPersonId(100L)).thenReturn(Stream.of(listItem));
+        List<LedgerListItem> consumed = new ArrayList<>();
+
+        ledgerService.streamLedgersByPersonId(100L, consumed::add);
+
+        assertEquals(List.of(listItem), consumed);
     }
 
     @Test
     void saveLedger_Success() {
-        when(ledgerDao.save(ledger)).thenReturn(ledger);
+        when(ledgerIdGenerator.nextId()).thenReturn(1L);
+        when(ledgerDao.saveAndFlush(ledger)).thenReturn(ledger);
 
         Ledger result = ledgerService.saveLedger(ledger);
 
         assertNotNull(result);
         assertEquals(1L, result.getLedgerId());
-        verify(ledgerDao).save(ledger);
+        verify(ledgerDao).existsActiveLedgerName(100L, "Personal Budget", 1L);
+        verify(ledgerDao).saveAndFlush(ledger);
+        verify(eventPublisher).publishEvent(LedgerChangedEvent.created(ledger));
     }
 
     @Test
@@ -141,35 +269,233 @@ class LedgerServiceImplTest {
         verifyNoInteractions(ledgerDao);
     }
 
+    @Test
+    void saveLedger_InvalidCurrency() {
+        Ledger invalidLedger = new Ledger();
+        invalidLedger.setPersonId(100L);
+        invalidLedger.setName("Test");
+        invalidLedger.setCurrency("DOLLARS");
+
+        ApiException exception = assertThrows(ApiException.class, () -> ledgerService.saveLedger(invalidLedger));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Ledger currency must be an ISO 4217 code.", exception.getMessage());
+
+        verifyNoInteractions(ledgerDao);
+    }
+
     @Test
     void saveLedger_DuplicateName() {
+        when(ledgerDao.existsActiveLedgerName(100L, "Personal Budget", 1L)).thenReturn(true);
+
+        ApiException exception = assertThrows(ApiException.class, () -> ledgerService.saveLedger(ledger));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Ledger name already exists.", exception.getMessage());
+        verify(ledgerDao).existsActiveLedgerName(100L, "Personal Budget", 1L);
+        verifyNoMoreInteractions(ledgerDao);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void saveLedger_ConcurrentDuplicateRejectedByIndex() {
+        ConstraintViolationException violation = new ConstraintViolationException("duplicate key", new SQLException(),
+                "ux_ledger_person_normalized_name");
+        when(ledgerDao.saveAndFlush(ledger)).thenThrow(new DataIntegrityViolationException("duplicate key", violation));
+
+        ApiException exception = assertThrows(ApiException.class, () -> ledgerService.saveLedger(ledger));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Ledger name already exists.", exception.getMessage());
+    }
+
+    @Test
+    void saveLedger_OtherConstraintViolationIsRethrown() {
+        ConstraintViolationException violation = new ConstraintViolationException("fk violation", new SQLException(),
+                "ledger_person_id_fkey");
+        when(ledgerDao.saveAndFlush(ledger)).thenThrow(new DataIntegrityViolationException("fk violation", violation));
+
+        assertThrows(DataIntegrityViolationException.class, () -> ledgerService.saveLedger(ledger));
+    }
+
+    @Test
+    void saveLedger_BlankName() {
+        ledger.setName("   ");
+
+        ApiException exception = assertThrows(ApiException.class, () -> ledgerService.saveLedger(ledger));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Ledger name cannot be blank.", exception.getMessage());
+        verifyNoInteractions(ledgerDao);
+    }
+
+    @Test
+    void saveLedgers_ReportsPerItemResults() {
+        Ledger newLedger = new Ledger();
+        newLedger.setPersonId(100L);
+        newLedger.setName("Travel");
+        Ledger clashingLedger = new Ledger();
+        clashingLedger.setPersonId(100L);
+        clashingLedger.setName(" travel ");
+        Ledger invalidLedger = new Ledger();
+        invalidLedger.setPersonId(100L);
+        Ledger missingLedger = new Ledger();
+        missingLedger.setLedgerId(99L);
+        missingLedger.setPersonId(100L);
+        missingLedger.setName("Gone");
+        Ledger updatedLedger = new Ledger();
+        updatedLedger.setLedgerId(1L);
+        updatedLedger.setPersonId(100L);
+        updatedLedger.setName("Household");
+
+        when(ledgerDao.findAllByIdInAndDeletedFalse(any())).thenReturn(List.of(ledger));
+        when(ledgerDao.findActiveByPersonIdsAndNormalizedNames(any(), any())).thenReturn(Collections.emptyList());
+        when(ledgerIdGenerator.nextId()).thenReturn(500L);
+
+        LedgerBatchResponse response = ledgerService.saveLedgers(
+                List.of(newLedger, clashingLedger, invalidLedger, missingLedger, updatedLedger));
+
+        assertEquals(2, response.succeeded());
+        assertEquals(3, response.failed());
+        assertEquals(201, response.results().get(0).status());
+        assertEquals("Ledger name already exists.", response.results().get(1).error());
+        assertEquals("Ledger name cannot be null.", response.results().get(2).error());
+        assertEquals(404, response.results().get(3).status());
+        assertEquals(200, response.results().get(4).status());
+        assertEquals("Household", ledger.getName());
+        assertEquals(500L, newLedger.getLedgerId());
+        verify(ledgerDao).saveAll(List.of(newLedger));
+        verify(ledgerDao).flush();
+        verify(eventPublisher).publishEvent(LedgerChangedEvent.created(newLedger));
+        verify(eventPublisher).publishEvent(LedgerChangedEvent.updated(ledger, 100L));
+    }
+
+    @Test
+    void saveLedgers_NameTakenInDatabase() {
         Ledger existingLedger = new Ledger();
         existingLedger.setLedgerId(2L);
         existingLedger.setPersonId(100L);
-        existingLedger.setName("Personal Budget");
-        existingLedger.setCurrency(USD_CURRENCY);
-        existingLedger.setDeleted(false);
+        existingLedger.setNormalizedName("travel");
+        Ledger newLedger = new Ledger();
+        newLedger.setPersonId(100L);
+        newLedger.setName("Travel");
+        when(ledgerDao.findActiveByPersonIdsAndNormalizedNames(any(), any())).thenReturn(List.of(existingLedger));
 
-        when(ledgerDao.findAllByPersonIdAndDeletedFalse(100L)).thenReturn(List.of(existingLedger));
+        LedgerBatchResponse response = ledgerService.saveLedgers(List.of(newLedger));
 
-        ApiException exception = assertThrows(ApiException.class, () -> ledgerService.saveLedger(ledger));
+        assertEquals(0, response.succeeded());
+        assertEquals("Ledger name already exists.", response.results().get(0).error());
+        verify(ledgerDao).saveAll(Collections.emptyList());
+    }
+
+    @Test
+    void saveLedgers_EmptyBatch() {
+        ApiException exception = assertThrows(ApiException.class, () -> ledgerService.saveLedgers(List.of()));
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
-        assertEquals("Ledger name already exists.", exception.getMessage());
-        verify(ledgerDao).findAllByPersonIdAndDeletedFalse(100L);
-        verifyNoMoreInteractions(ledgerDao);
+        verifyNoInteractions(ledgerDao);
     }
 
     @Test
     void updateLedger_Success() {
         when(ledgerDao.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(ledger));
-        when(ledgerDao.save(ledger)).thenReturn(ledger);
+        when(ledgerDao.saveAndFlush(ledger)).thenReturn(ledger);
 
         Ledger result = ledgerService.updateLedger(ledger);
 
         assertNotNull(result);
         assertEquals(1L, result.getLedgerId());
         verify(ledgerDao).findByIdAndDeletedFalse(1L);
-        verify(ledgerDao).save(ledger);
+        verify(ledgerDao).saveAndFlush(ledger);
+        verify(eventPublisher).publishEvent(LedgerChangedEvent.updated(ledger, 100L));
+    }
+
+    @Test
+    void updateLedger_MovedToAnotherPersonReportsPreviousOwner() {
+        Ledger existingLedger = new Ledger();
+        existingLedger.setLedgerId(1L);
+        existingLedger.setPersonId(200L);
+        when(ledgerDao.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(existingLedger));
+        when(ledgerDao.saveAndFlush(existingLedger)).thenReturn(existingLedger);
+
+        ledgerService.updateLedger(ledger);
+
+        ArgumentCaptor<LedgerChangedEvent> eventCaptor = ArgumentCaptor.forClass(LedgerChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(200L, eventCaptor.getValue().previousPersonId());
+        assertTrue(eventCaptor.getValue().ownerChanged());
+    }
+
+    @Test
+    void updateLedger_CopiesChangesOntoStoredLedger() {
+        Ledger storedLedger = new Ledger();
+        storedLedger.setLedgerId(1L);
+        storedLedger.setPersonId(100L);
+        storedLedger.setName("Old Name");
+        storedLedger.setVersion(2L);
+        ledger.setDescription("Updated");
+        when(ledgerDao.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(storedLedger));
+        when(ledgerDao.saveAndFlush(storedLedger)).thenReturn(storedLedger);
+
+        Ledger result = ledgerService.updateLedger(ledger);
+
+        assertSame(storedLedger, result);
+        assertEquals("Personal Budget", storedLedger.getName());
+        assertEquals("Updated", storedLedger.getDescription());
+        assertEquals(2L, storedLedger.getVersion());
+    }
+
+    @Test
+    void updateLedger_StaleVersion() {
+        Ledger storedLedger = new Ledger();
+        storedLedger.setLedgerId(1L);
+        storedLedger.setPersonId(100L);
+        storedLedger.setVersion(3L);
+        ledger.setVersion(2L);
+        when(ledgerDao.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(storedLedger));
+
+        ApiException exception = assertThrows(ApiException.class, () -> ledgerService.updateLedger(ledger));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatus());
+        assertEquals("Ledger was modified by another request.", exception.getMessage());
+        verify(ledgerDao, never()).saveAndFlush(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateLedger_ConcurrentUpdateRejectedByVersionColumn() {
+        when(ledgerDao.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(ledger));
+        when(ledgerDao.saveAndFlush(ledger)).thenThrow(new ObjectOptimisticLockingFailureException(Ledger.class, 1L));
+
+        ApiException exception = assertThrows(ApiException.class, () -> ledgerService.updateLedger(ledger));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatus());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void getLedgerVersion_ReadsFromPrimary() {
+        LedgerVersion version = new LedgerVersion(1L, 3L, LocalDateTime.of(2026, 3, 14, 12, 0));
+        when(ledgerDao.findVersionById(1L)).thenAnswer(invocation -> {
+            assertTrue(ReplicaRoutingContext.isPinnedToPrimary());
+            return Optional.of(version);
+        });
+
+        assertEquals(version, ledgerService.getLedgerVersion(1L));
+        assertFalse(ReplicaRoutingContext.isPinnedToPrimary());
+    }
+
+    @Test
+    void getLedgerListVersion_ReadsFromPrimary() {
+        LedgerListVersion version = new LedgerListVersion(2L, null);
+        when(ledgerDao.findListVersionByPersonId(100L)).thenAnswer(invocation -> {
+            assertTrue(ReplicaRoutingContext.isPinnedToPrimary());
+            return version;
+        });
+
+        assertEquals(version, ledgerService.getLedgerListVersion(100L));
+        assertFalse(ReplicaRoutingContext.isPinnedToPrimary());
+    }
+
+    @Test
+    void getLedgerVersion_NotFound() {
+        when(ledgerDao.findVersionById(1L)).thenReturn(Optional.empty());
+
+        ApiException exception = assertThrows(ApiException.class, () -> ledgerService.getLedgerVersion(1L));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
     }
 
     @Test
@@ -191,6 +517,7 @@ class LedgerServiceImplTest {
         assertTrue(ledger.getDeleted());
         verify(ledgerDao).findByIdAndDeletedFalse(1L);
         verify(ledgerDao).save(ledger);
+        verify(eventPublisher).publishEvent(LedgerChangedEvent.deleted(ledger));
     }
 
     @Test
@@ -0,0 +1,194 @@
+package com.budget.service.impl;
+
+import com.budget.currency.CurrencyTable;
+import com.budget.currency.ExchangeRates;
+import com.budget.currency.FxRateSnapshot;
+import com.budget.dao.LedgerMonthlySummaryDao;
+import com.budget.dao.LedgerSummaryDao;
+import com.budget.dto.ExpenseDelta;
+import com.budget.dto.LedgerBalance;
+import com.budget.dto.LedgerSummaryResponse;
+import com.budget.dto.PersonTotalsResponse;
+import com.budget.event.ExpenseTotalsChangedEvent;
+import com.budget.exception.ApiException;
+import com.budget.model.Ledger;
+import com.budget.service.LedgerService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerSummaryServiceImplTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2026, 3, 1);
+    private static final LocalDate APRIL = LocalDate.of(2026, 4, 1);
+
+    @Mock
+    private LedgerSummaryDao ledgerSummaryDao;
+
+    @Mock
+    private LedgerMonthlySummaryDao ledgerMonthlySummaryDao;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private ExchangeRates exchangeRates;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private LedgerSummaryServiceImpl ledgerSummaryService;
+
+    @Test
+    void applyDeltas_FoldsDeltasPerRow() {
+        ledgerSummaryService.applyDeltas(List.of(
+                new ExpenseDelta(1L, MARCH, "Groceries", -500L, -1),
+                new ExpenseDelta(1L, APRIL, "Groceries", 500L, 1),
+                new ExpenseDelta(1L, MARCH, "Groceries", 200L, 1)));
+
+        verify(ledgerSummaryDao).addToLedgerSummary(1L, 200L, 1L);
+        InOrder inOrder = inOrder(ledgerMonthlySummaryDao);
+        inOrder.verify(ledgerMonthlySummaryDao).addToMonthlySummary(1L, MARCH, "Groceries", -300L, 0L);
+        inOrder.verify(ledgerMonthlySummaryDao).addToMonthlySummary(1L, APRIL, "Groceries", 500L, 1L);
+    }
+
+    @Test
+    void applyDeltas_SkipsNoOpUpdate() {
+        ledgerSummaryService.applyDeltas(List.of(
+                new ExpenseDelta(1L, MARCH, "Groceries", -1250L, -1),
+                new ExpenseDelta(1L, MARCH, "Groceries", 1250L, 1)));
+
+        verifyNoInteractions(ledgerSummaryDao, ledgerMonthlySummaryDao, eventPublisher);
+    }
+
+    @Test
+    void applyDeltas_PublishesFoldedMonthlyDeltas() {
+        ledgerSummaryService.applyDeltas(List.of(
+                new ExpenseDelta(1L, MARCH, "Groceries", -500L, -1),
+                new ExpenseDelta(1L, MARCH, "Groceries", 200L, 1),
+                new ExpenseDelta(1L, MARCH, "Rent", 90000L, 1)));
+
+        verify(eventPublisher).publishEvent(new ExpenseTotalsChangedEvent(List.of(
+                new ExpenseDelta(1L, MARCH, "Groceries", -300L, 0),
+                new ExpenseDelta(1L, MARCH, "Rent", 90000L, 1))));
+    }
+
+    @Test
+    void applyDeltas_TouchesLedgersInIdOrder() {
+        ledgerSummaryService.applyDeltas(List.of(
+                new ExpenseDelta(2L, MARCH, "Rent", 90000L, 1),
+                new ExpenseDelta(1L, MARCH, "Groceries", 1250L, 1)));
+
+        InOrder inOrder = inOrder(ledgerSummaryDao);
+        inOrder.verify(ledgerSummaryDao).addToLedgerSummary(1L, 1250L, 1L);
+        inOrder.verify(ledgerSummaryDao).addToLedgerSummary(2L, 90000L, 1L);
+    }
+
+    @Test
+    void applyDeltas_LocksEachChangedLedgerBeforeWriting() {
+        ledgerSummaryService.applyDeltas(List.of(
+                new ExpenseDelta(2L, MARCH, "Rent", 90000L, 1),
+                new ExpenseDelta(1L, MARCH, "Groceries", 1250L, 1),
+                new ExpenseDelta(1L, APRIL, "Groceries", 300L, 1),
+                new ExpenseDelta(3L, MARCH, "Travel", 400L, 1),
+                new ExpenseDelta(3L, MARCH, "Travel", -400L, -1)));
+
+        InOrder inOrder = inOrder(ledgerSummaryDao, ledgerMonthlySummaryDao);
+        inOrder.verify(ledgerSummaryDao).lockForSummaryWrite(1L);
+        inOrder.verify(ledgerSummaryDao).lockForSummaryWrite(2L);
+        inOrder.verify(ledgerSummaryDao).addToLedgerSummary(1L, 1550L, 2L);
+        inOrder.verify(ledgerMonthlySummaryDao).addToMonthlySummary(1L, MARCH, "Groceries", 1250L, 1L);
+        verify(ledgerSummaryDao, never()).lockForSummaryWrite(3L);
+    }
+
+    @Test
+    void getLedgerSummary_DefaultsToZeroWithoutEntries() {
+        Ledger ledger = new Ledger();
+        ledger.setLedgerId(1L);
+        ledger.setCurrency("USD");
+        when(ledgerService.getLedgerById(1L)).thenReturn(ledger);
+        when(ledgerSummaryDao.findByLedgerId(1L)).thenReturn(Optional.empty());
+        when(ledgerMonthlySummaryDao.findAllByLedgerId(1L)).thenReturn(Collections.emptyList());
+
+        LedgerSummaryResponse result = ledgerSummaryService.getLedgerSummary(1L);
+
+        assertEquals(0L, result.balanceMinor());
+        assertEquals(0L, result.entryCount());
+        assertEquals("USD", result.currency());
+        assertTrue(result.months().isEmpty());
+    }
+
+    @Test
+    void getPersonTotals_ConvertsToHomeCurrency() {
+        when(ledgerSummaryDao.findHomeCurrencyByPersonId(100L)).thenReturn(Optional.of("EUR"));
+        when(ledgerSummaryDao.findBalancesByPersonId(100L)).thenReturn(List.of(
+                new LedgerBalance(1L, "Household", "EUR", 5000L),
+                new LedgerBalance(2L, "Travel", "USD", 10843L)));
+        when(exchangeRates.current()).thenReturn(rates());
+
+        PersonTotalsResponse result = ledgerSummaryService.getPersonTotals(100L, null);
+
+        assertEquals("EUR", result.currency());
+        assertEquals(LocalDate.of(2026, 3, 13), result.ratesAsOf());
+        assertEquals(15000L, result.totalMinor());
+        assertEquals(10000L, result.ledgers().get(1).convertedMinor());
+    }
+
+    @Test
+    void getPersonTotals_RejectsLedgerWithoutRate() {
+        when(ledgerSummaryDao.findBalancesByPersonId(100L)).thenReturn(List.of(
+                new LedgerBalance(1L, "Savings", "GBP", 5000L)));
+        when(exchangeRates.current()).thenReturn(rates());
+
+        ApiException exception = assertThrows(ApiException.class, () -> ledgerSummaryService.getPersonTotals(100L, "usd"));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+        assertEquals("No exchange rate for GBP.", exception.getMessage());
+        verify(ledgerSummaryDao, never()).findHomeCurrencyByPersonId(any());
+    }
+
+    @Test
+    void getPersonTotals_RejectsTotalOutOfRange() {
+        when(ledgerSummaryDao.findBalancesByPersonId(100L)).thenReturn(List.of(
+                new LedgerBalance(1L, "Savings", "EUR", Long.MAX_VALUE),
+                new LedgerBalance(2L, "Household", "EUR", 1L)));
+        when(exchangeRates.current()).thenReturn(rates());
+
+        ApiException exception = assertThrows(ApiException.class, () -> ledgerSummaryService.getPersonTotals(100L, "EUR"));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+        assertEquals("Total in EUR is out of range.", exception.getMessage());
+    }
+
+    @Test
+    void getPersonTotals_PersonNotFound() {
+        when(ledgerSummaryDao.findHomeCurrencyByPersonId(100L)).thenReturn(Optional.empty());
+
+        ApiException exception = assertThrows(ApiException.class, () -> ledgerSummaryService.getPersonTotals(100L, null));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    private static FxRateSnapshot rates() {
+        return FxRateSnapshot.of(LocalDate.of(2026, 3, 13), CurrencyTable.of("EUR"),
+                Map.of(CurrencyTable.of("USD"), new BigDecimal("1.0843")));
+    }
+}
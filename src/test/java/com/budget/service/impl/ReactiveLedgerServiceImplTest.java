@@ -0,0 +1,211 @@
+package com.budget.service.impl;
+
+import com.budget.dao.ReactiveLedgerDao;
+import com.budget.dto.LedgerListItem;
+import com.budget.event.LedgerChangedEvent.ChangeType;
+import com.budget.exception.ApiException;
+import com.budget.model.Ledger;
+import com.budget.shard.SnowflakeIdGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveLedgerServiceImplTest {
+
+    @Mock
+    private ReactiveLedgerDao ledgerDao;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private SnowflakeIdGenerator ledgerIdGenerator;
+
+    @InjectMocks
+    private ReactiveLedgerServiceImpl ledgerService;
+
+    private Ledger ledger;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+        lenient().when(ledgerDao.insertOutboxEntry(any(), any(), anyString(), any())).thenReturn(Mono.empty());
+
+        ledger = new Ledger();
+        ledger.setLedgerId(1L);
+        ledger.setPersonId(100L);
+        ledger.setName("Personal Budget");
+        ledger.setCurrency("USD");
+        ledger.setVersion(3L);
+    }
+
+    @Test
+    void getLedgerDetail_NotFound() {
+        when(ledgerDao.findDetailById(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(ledgerService.getLedgerDetail(1L))
+                .expectErrorSatisfies(e -> assertStatus(e, HttpStatus.NOT_FOUND, "Ledger not found."))
+                .verify();
+    }
+
+    @Test
+    void getLedgersPage_ReturnsCursorWhenMoreRowsExist() {
+        when(ledgerDao.findListItemPageByPersonId(100L, 0L, 3)).thenReturn(Flux.just(
+                new LedgerListItem(1L, 100L, "A", "USD", null, null, false),
+                new LedgerListItem(2L, 100L, "B", "USD", null, null, false),
+                new LedgerListItem(3L, 100L, "C", "USD", null, null, false)));
+
+        StepVerifier.create(ledgerService.getLedgersPage(100L, null, 2))
+                .assertNext(page -> {
+                    assertEquals(2, page.ledgers().size());
+                    assertEquals(2L, page.nextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getLedgersPage_RejectsOversizedLimit() {
+        StepVerifier.create(ledgerService.getLedgersPage(100L, null, LedgerServiceImpl.MAX_PAGE_SIZE + 1))
+                .expectErrorSatisfies(e -> assertEquals(HttpStatus.BAD_REQUEST, ((ApiException) e).getStatus()))
+                .verify();
+        verifyNoInteractions(ledgerDao);
+    }
+
+    @Test
+    void saveLedger_Success() {
+        Ledger newLedger = newLedger("Personal Budget");
+        when(ledgerDao.existsActiveLedgerName(100L, "Personal Budget", null)).thenReturn(Mono.just(false));
+        when(ledgerIdGenerator.nextId()).thenReturn(1L);
+        when(ledgerDao.insert(eq(newLedger), any())).thenReturn(Mono.just(ledger));
+
+        StepVerifier.create(ledgerService.saveLedger(newLedger))
+                .expectNext(ledger)
+                .verifyComplete();
+        assertEquals(1L, newLedger.getLedgerId());
+        verify(ledgerDao).insertOutboxEntry(eq(1L), eq(ChangeType.CREATED), anyString(), any());
+    }
+
+    @Test
+    void saveLedger_InvalidLedgerIsRejectedBeforeAnyQuery() {
+        StepVerifier.create(ledgerService.saveLedger(newLedger(" ")))
+                .expectErrorSatisfies(e -> assertStatus(e, HttpStatus.BAD_REQUEST, "Ledger name cannot be blank."))
+                .verify();
+        verifyNoInteractions(ledgerDao);
+    }
+
+    @Test
+    void saveLedger_DuplicateName() {
+        when(ledgerDao.existsActiveLedgerName(100L, "Personal Budget", null)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(ledgerService.saveLedger(newLedger("Personal Budget")))
+                .expectErrorSatisfies(e -> assertStatus(e, HttpStatus.BAD_REQUEST, "Ledger name already exists."))
+                .verify();
+        verify(ledgerDao, never()).insert(any(), any());
+    }
+
+    @Test
+    void saveLedger_ConcurrentDuplicateNameMapsToBadRequest() {
+        when(ledgerDao.existsActiveLedgerName(100L, "Personal Budget", null)).thenReturn(Mono.just(false));
+        when(ledgerDao.insert(any(), any())).thenReturn(Mono.error(new DuplicateKeyException("uk_ledger_person_name")));
+
+        StepVerifier.create(ledgerService.saveLedger(newLedger("Personal Budget")))
+                .expectErrorSatisfies(e -> assertStatus(e, HttpStatus.BAD_REQUEST, "Ledger name already exists."))
+                .verify();
+    }
+
+    @Test
+    void updateLedger_StaleVersion() {
+        Ledger update = newLedger("Renamed");
+        update.setLedgerId(1L);
+        update.setVersion(2L);
+        when(ledgerDao.findByIdAndDeletedFalse(1L)).thenReturn(Mono.just(ledger));
+
+        StepVerifier.create(ledgerService.updateLedger(update))
+                .expectErrorSatisfies(e -> assertStatus(e, HttpStatus.PRECONDITION_FAILED,
+                        "Ledger was modified by another request."))
+                .verify();
+        verify(ledgerDao, never()).update(any(), any(), any());
+    }
+
+    @Test
+    void updateLedger_ConcurrentWriteLosesTheVersionCheck() {
+        Ledger update = newLedger("Renamed");
+        update.setLedgerId(1L);
+        when(ledgerDao.findByIdAndDeletedFalse(1L)).thenReturn(Mono.just(ledger));
+        when(ledgerDao.existsActiveLedgerName(100L, "Renamed", 1L)).thenReturn(Mono.just(false));
+        when(ledgerDao.update(any(), eq(3L), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(ledgerService.updateLedger(update))
+                .expectErrorSatisfies(e -> assertEquals(HttpStatus.PRECONDITION_FAILED, ((ApiException) e).getStatus()))
+                .verify();
+    }
+
+    @Test
+    void saveLedgers_ReportsFailuresPerItem() {
+        Ledger duplicate = newLedger("Taken");
+        Ledger valid = newLedger("Personal Budget");
+        when(ledgerDao.existsActiveLedgerName(100L, "Taken", null)).thenReturn(Mono.just(true));
+        when(ledgerDao.existsActiveLedgerName(100L, "Personal Budget", null)).thenReturn(Mono.just(false));
+        when(ledgerDao.insert(eq(valid), any())).thenReturn(Mono.just(ledger));
+
+        StepVerifier.create(ledgerService.saveLedgers(List.of(duplicate, valid)))
+                .assertNext(response -> {
+                    assertEquals(1, response.succeeded());
+                    assertEquals(1, response.failed());
+                    assertEquals(HttpStatus.BAD_REQUEST.value(), response.results().get(0).status());
+                    assertEquals(HttpStatus.CREATED.value(), response.results().get(1).status());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void deleteLedger_NotFound() {
+        when(ledgerDao.softDelete(eq(1L), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(ledgerService.deleteLedger(1L))
+                .expectErrorSatisfies(e -> assertEquals(HttpStatus.NOT_FOUND, ((ApiException) e).getStatus()))
+                .verify();
+        verify(ledgerDao, never()).insertOutboxEntry(any(), any(), any(), any());
+    }
+
+    private static Ledger newLedger(String name) {
+        Ledger newLedger = new Ledger();
+        newLedger.setPersonId(100L);
+        newLedger.setName(name);
+        newLedger.setCurrency("USD");
+        return newLedger;
+    }
+
+    private static void assertStatus(Throwable e, HttpStatus status, String message) {
+        ApiException apiException = assertInstanceOf(ApiException.class, e);
+        assertEquals(status, apiException.getStatus());
+        assertEquals(message, apiException.getMessage());
+    }
+
+}
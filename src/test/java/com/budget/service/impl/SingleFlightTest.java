@@ -0,0 +1,139 @@
+package com.budget.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.budget.exception.ApiException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>("getLedgerById", meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_ConcurrentCallersShareOneExecution() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        List<Future<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            calls.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                executions.incrementAndGet();
+                await(release);
+                return "ledger";
+            })));
+        }
+        awaitFollowers(7);
+        release.countDown();
+
+        for (Future<String> call : calls) {
+            assertEquals("ledger", call.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1.0, count("leader"));
+        assertEquals(7.0, count("follower"));
+    }
+
+    @Test
+    void execute_DifferentKeysDoNotWaitOnEachOther() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> blocked = executor.submit(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            return "first";
+        }));
+
+        assertEquals("second", executor.submit(() -> singleFlight.execute(2L, () -> "second")).get(5, TimeUnit.SECONDS));
+
+        release.countDown();
+        assertEquals("first", blocked.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_FollowersGetTheLeadersException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ApiException notFound = new ApiException(HttpStatus.NOT_FOUND, "Ledger not found.");
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            throw notFound;
+        }));
+        awaitLeader();
+        Future<String> follower = executor.submit(() -> singleFlight.execute(1L, () -> "never runs"));
+        awaitFollowers(1);
+        release.countDown();
+
+        Exception e = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertSame(notFound, e.getCause());
+        assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertEquals("next", singleFlight.execute(1L, () -> "next"));
+    }
+
+    @Test
+    void forget_StartsANewExecutionForLaterCallers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> before = executor.submit(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            return "before the write";
+        }));
+        awaitLeader();
+
+        singleFlight.forget(1L);
+
+        assertEquals("after the write", singleFlight.execute(1L, () -> "after the write"));
+        release.countDown();
+        assertEquals("before the write", before.get(5, TimeUnit.SECONDS));
+        assertEquals(2.0, count("leader"));
+    }
+
+    private double count(String role) {
+        return meterRegistry.get("ledger.reads.coalescing").tag("role", role).counter().count();
+    }
+
+    private void awaitLeader() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("leader") < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(count("leader") >= 1);
+    }
+
+    private void awaitFollowers(int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("follower") < followers && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(followers, count("follower"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.budget.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void locate_IsStableForTheSameShards() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing sameRing = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+
+        for (long key = 1; key <= 1000; key++) {
+            assertEquals(ring.locate(key), sameRing.locate(key));
+        }
+    }
+
+    @Test
+    void locate_SpreadsSequentialKeysAcrossShards() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (long key = 1; key <= KEYS; key++) {
+            counts.merge(ring.locate(key), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        for (int count : counts.values()) {
+            assertTrue(Math.abs(count - KEYS / 3) < KEYS / 3 / 4, "Uneven spread " + counts);
+        }
+    }
+
+    @Test
+    void locate_AddingAShardOnlyMovesKeysOntoIt() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing grownRing = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+
+        int moved = 0;
+        for (long key = 1; key <= KEYS; key++) {
+            String before = ring.locate(key);
+            String after = grownRing.locate(key);
+            if (!before.equals(after)) {
+                assertEquals("d", after);
+                moved++;
+            }
+        }
+
+        // Roughly a quarter, where key % N would have moved three quarters.
+        assertTrue(moved > KEYS * 0.15 && moved < KEYS * 0.35, "Moved " + moved + " keys");
+    }
+
+    @Test
+    void constructor_RejectsEmptyRing() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(), 128));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of("a"), 0));
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.budget.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.budget.exception.ApiException;
+import com.budget.model.Expense;
+import com.budget.model.Ledger;
+
+class ShardRoutingAspectTest {
+
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private final ShardRoutingAspect aspect = new ShardRoutingAspect(shardRouter);
+
+    @Test
+    void resolveShard_RoutesIdsByKind() {
+        when(shardRouter.shardForPerson(1L, false)).thenReturn("a");
+        when(shardRouter.shardForLedger(2L, true)).thenReturn("b");
+        when(shardRouter.shardForExpense(3L, false)).thenReturn("c");
+
+        assertEquals("a", aspect.resolveShard(1L, ShardKey.Kind.PERSON, false));
+        assertEquals("b", aspect.resolveShard(2L, ShardKey.Kind.LEDGER, true));
+        assertEquals("c", aspect.resolveShard(3L, ShardKey.Kind.EXPENSE, false));
+    }
+
+    @Test
+    void resolveShard_NewLedgerGoesToItsPerson() {
+        when(shardRouter.shardForPerson(1L, true)).thenReturn("a");
+
+        assertEquals("a", aspect.resolveShard(ledger(null, 1L), ShardKey.Kind.PERSON, true));
+    }
+
+    @Test
+    void resolveShard_RejectsMovingALedgerToAnotherShard() {
+        when(shardRouter.shardForPerson(1L, true)).thenReturn("a");
+        when(shardRouter.ledgerOwner(10L)).thenReturn(2L);
+        when(shardRouter.shardForPerson(2L, true)).thenReturn("b");
+
+        ApiException e = assertThrows(ApiException.class,
+                () -> aspect.resolveShard(ledger(10L, 1L), ShardKey.Kind.PERSON, true));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+    }
+
+    @Test
+    void resolveShard_NewExpenseGoesToTheShardOfItsLedger() {
+        Expense expense = new Expense();
+        expense.setLedgerId(10L);
+        when(shardRouter.shardForLedger(10L, true)).thenReturn("b");
+
+        assertEquals("b", aspect.resolveShard(expense, ShardKey.Kind.PERSON, true));
+    }
+
+    @Test
+    void resolveShard_RejectsBatchesAcrossShards() {
+        when(shardRouter.shardForPerson(1L, true)).thenReturn("a");
+        when(shardRouter.shardForPerson(2L, true)).thenReturn("b");
+
+        assertEquals("a", aspect.resolveShard(List.of(ledger(null, 1L), ledger(null, 1L)), ShardKey.Kind.PERSON, true));
+        ApiException e = assertThrows(ApiException.class,
+                () -> aspect.resolveShard(List.of(ledger(null, 1L), ledger(null, 2L)), ShardKey.Kind.PERSON, true));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+    }
+
+    private static Ledger ledger(Long ledgerId, Long personId) {
+        Ledger ledger = new Ledger();
+        ledger.setLedgerId(ledgerId);
+        ledger.setPersonId(personId);
+        ledger.setName("Personal Budget");
+        return ledger;
+    }
+
+}
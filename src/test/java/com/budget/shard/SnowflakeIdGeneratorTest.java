@@ -0,0 +1,115 @@
+package com.budget.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class SnowflakeIdGeneratorTest {
+
+    private final AtomicLong clock = new AtomicLong(SnowflakeIdGenerator.EPOCH_MILLIS + 1_000);
+
+    @Test
+    void nextId_IsUniqueAndIncreasing() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, clock::get);
+
+        Set<Long> ids = new HashSet<>();
+        long previous = 0L;
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 20 == 0) {
+                clock.incrementAndGet();
+            }
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            assertTrue(ids.add(id));
+            previous = id;
+        }
+    }
+
+    @Test
+    void nextId_EncodesTimeAndWorker() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, clock::get);
+
+        long id = generator.nextId();
+
+        assertEquals(1_000L, id >>> (SnowflakeIdGenerator.WORKER_BITS + SnowflakeIdGenerator.SEQUENCE_BITS));
+        assertEquals(5L, (id >>> SnowflakeIdGenerator.SEQUENCE_BITS) & SnowflakeIdGenerator.MAX_WORKER_ID);
+    }
+
+    @Test
+    void nextId_DifferentWorkersNeverCollide() {
+        SnowflakeIdGenerator first = new SnowflakeIdGenerator(1, clock::get);
+        SnowflakeIdGenerator second = new SnowflakeIdGenerator(2, clock::get);
+
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            if (i % 20 == 0) {
+                clock.incrementAndGet();
+            }
+            assertTrue(ids.add(first.nextId()));
+            assertTrue(ids.add(second.nextId()));
+        }
+    }
+
+    @Test
+    void nextId_WaitsForTheNextMillisecondWhenTheSequenceRunsOut() {
+        AtomicLong reads = new AtomicLong();
+        long start = clock.get();
+        // Every 5000th read the clock ticks, so the generator has to spin once the
+        // 32 ids of the first millisecond are used up.
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, () -> start + reads.incrementAndGet() / 5000);
+
+        long last = 0L;
+        for (int i = 0; i <= 1 << SnowflakeIdGenerator.SEQUENCE_BITS; i++) {
+            last = generator.nextId();
+        }
+
+        assertEquals(start + 1 - SnowflakeIdGenerator.EPOCH_MILLIS,
+                last >>> (SnowflakeIdGenerator.WORKER_BITS + SnowflakeIdGenerator.SEQUENCE_BITS));
+        assertEquals(0L, last & ((1L << SnowflakeIdGenerator.SEQUENCE_BITS) - 1));
+    }
+
+    @Test
+    void nextId_RefusesWhenTheClockJumpsFarBack() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, clock::get);
+        generator.nextId();
+
+        clock.addAndGet(-60_000);
+
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    void nextId_StaysWithinJavaScriptSafeIntegers() {
+        // Last millisecond the 41 time bits can hold.
+        clock.set(SnowflakeIdGenerator.EPOCH_MILLIS + (1L << 41) - 1);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_WORKER_ID, clock::get);
+
+        long id = 0L;
+        for (int i = 0; i < 1 << SnowflakeIdGenerator.SEQUENCE_BITS; i++) {
+            id = generator.nextId();
+        }
+
+        assertEquals((1L << 53) - 1, id);
+    }
+
+    @Test
+    void resolveWorkerId_FailsWithoutWorkerIdWhenSharded() {
+        assertThrows(IllegalStateException.class, () -> SnowflakeIdGenerator.resolveWorkerId(null, true));
+        assertEquals(0L, SnowflakeIdGenerator.resolveWorkerId(null, false));
+        assertEquals(7L, SnowflakeIdGenerator.resolveWorkerId(7L, true));
+    }
+
+    @Test
+    void constructor_RejectsWorkerIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1, clock::get));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_WORKER_ID + 1, clock::get));
+    }
+
+}